@@ -0,0 +1,90 @@
+package oop.evolution.jmh;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import oop.evolution.World;
+import oop.evolution.config.Config;
+import oop.evolution.creatures.Creature;
+import oop.evolution.creatures.CreatureKind;
+
+/**
+ * Measures seeding an empty world with plants until the given share of the plant slots of the board is taken.
+ * <p>
+ * {@link #random()} places plants the way the creator used to, drawing random cells and retrying when a cell is full.
+ * {@link #bulk()} calls {@link World#spawn(CreatureKind, int, SplittableRandom)}, which draws from the cells
+ * with a free slot only. Both include taking the plants from the pool and activating them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkSpawnBenchmark {
+    /**
+     * The length of a side of the board.
+     */
+    @Param({"64", "256"})
+    public int boardSize;
+
+    /**
+     * The share of the plant slots of the board to fill, in percent.
+     */
+    @Param({"50", "99"})
+    public int fill;
+
+    /**
+     * The number of plants to spawn.
+     */
+    private int count;
+
+    /**
+     * The empty world to seed.
+     */
+    private World world;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        Worlds.configure(boardSize, 0, Integer.MAX_VALUE);
+        count = (int) ((long) boardSize * boardSize * Config.WORLD.cellPlants() * fill / 100);
+        world = new World(Worlds.SEED);
+    }
+
+    @Benchmark
+    public long random() {
+        SplittableRandom random = new SplittableRandom(Worlds.SEED);
+        int boardSize = world.getBoard().size();
+        long attempts = 0;
+
+        for (int spawned = 0; spawned < count; ++attempts) {
+            Creature plant = world.getCreaturePool().obtain(CreatureKind.PLANT);
+            int life = plant.getGeneration();
+
+            if (world.spawn(plant, random.nextInt(boardSize), random.nextInt(boardSize)))
+                ++spawned;
+            else
+                plant.discard(life);
+        }
+
+        return attempts;
+    }
+
+    @Benchmark
+    public int bulk() {
+        return world.spawn(CreatureKind.PLANT, count, new SplittableRandom(Worlds.SEED));
+    }
+}
@@ -0,0 +1,72 @@
+package oop.evolution.jmh;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import oop.evolution.World;
+import oop.evolution.WorldCell;
+import oop.evolution.creatures.Creature;
+import oop.evolution.creatures.CreatureKind;
+
+/**
+ * Measures {@link WorldCell#removeCreature} followed by {@link WorldCell#addAnimal} on the cell of a random animal,
+ * which is what every death and birth costs a cell, including the updates of the census and the spatial index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CellChurnBenchmark {
+    /**
+     * The length of a side of the board.
+     */
+    @Param({"64", "512"})
+    public int boardSize;
+
+    /**
+     * The number of animals on the board, capped by the room in the cells.
+     */
+    @Param({"1000", "10000"})
+    public int population;
+
+    /**
+     * The animals to churn.
+     */
+    private Creature[] animals;
+
+    /**
+     * The random stream choosing the animal to churn.
+     */
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        Worlds.configure(boardSize, population, 0);
+        random = new SplittableRandom(Worlds.SEED);
+        animals = Worlds.populate(new World(Worlds.SEED), CreatureKind.ANIMAL, population, random)
+                .toArray(new Creature[0]);
+    }
+
+    @Benchmark
+    public boolean churn() {
+        Creature animal = animals[random.nextInt(animals.length)];
+        WorldCell cell = animal.getPosition();
+
+        cell.removeCreature(animal);
+        return cell.addAnimal(animal);
+    }
+}
@@ -0,0 +1,76 @@
+package oop.evolution.jmh;
+
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import oop.evolution.World;
+import oop.evolution.creatures.CreatureKind;
+
+/**
+ * Compares {@link World#getCreatures}, which allocates maps for every cell, with {@link World#copyCensus},
+ * which fills a reused snapshot, at several board sizes. Half the population are plants, half are animals.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CensusBenchmark {
+    /**
+     * The length of a side of the board.
+     */
+    @Param({"16", "64", "256"})
+    public int boardSize;
+
+    /**
+     * The number of creatures on the board, capped by the room in the cells.
+     */
+    @Param({"100", "1000"})
+    public int population;
+
+    /**
+     * The world to take the census of.
+     */
+    private World world;
+
+    /**
+     * The snapshot reused by {@link #copyCensus()}.
+     */
+    private int[][] snapshot;
+
+    @Setup
+    public void setUp() {
+        Worlds.configure(boardSize, population / 2, population / 2);
+        world = new World(Worlds.SEED);
+
+        SplittableRandom random = new SplittableRandom(Worlds.SEED);
+        Worlds.populate(world, CreatureKind.PLANT, population / 2, random);
+        Worlds.populate(world, CreatureKind.ANIMAL, population / 2, random);
+        snapshot = world.newCensusSnapshot();
+    }
+
+    @Benchmark
+    public HashMap<String, HashMap<String, Integer>>[][] getCreatures() {
+        return world.getCreatures();
+    }
+
+    @Benchmark
+    public int[][] copyCensus() {
+        world.copyCensus(snapshot);
+        return snapshot;
+    }
+}
@@ -0,0 +1,119 @@
+package oop.evolution.jmh;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import oop.evolution.Checkpoint;
+import oop.evolution.ChunkedBoard;
+import oop.evolution.creatures.Creature;
+import oop.evolution.creatures.CreatureKind;
+import oop.evolution.creatures.Species;
+
+/**
+ * Measures the four stages of a checkpoint of a board watered everywhere and filled with creatures of every kind:
+ * capturing it, writing it, reading it back and restoring it into a board built from scratch, as when a run is resumed.
+ * Run it with a heap sized up front, e.g. {@code -jvmArgs -Xms3g}, so the times are not dominated by the heap growing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CheckpointBenchmark {
+    /**
+     * The length of a side of the board.
+     */
+    @Param({"256", "1024"})
+    public int boardSize;
+
+    /**
+     * The number of creatures on the board.
+     */
+    @Param({"10000", "100000"})
+    public int creatures;
+
+    /**
+     * The populated board.
+     */
+    private ChunkedBoard board;
+
+    /**
+     * A checkpoint of the board.
+     */
+    private Checkpoint checkpoint;
+
+    /**
+     * The file the checkpoint is written to.
+     */
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        board = new ChunkedBoard(boardSize);
+        board.rain(0, 0, boardSize, boardSize, 1);
+
+        SplittableRandom random = new SplittableRandom(Worlds.SEED);
+        CreatureKind[] kinds = CreatureKind.values();
+
+        for (int placed = 0; placed < creatures; ) {
+            Creature creature = kinds[random.nextInt(kinds.length)].create();
+            int x = random.nextInt(boardSize);
+            int y = random.nextInt(boardSize);
+
+            if (creature.getSpecies() == Species.PLANT
+                    ? board.get(x, y).addPlant(creature) : board.get(x, y).addAnimal(creature))
+                ++placed;
+            else
+                creature.discard(creature.getGeneration());
+        }
+
+        checkpoint = Checkpoint.capture(board, true, 0, Worlds.SEED);
+        file = Files.createTempFile("world", ".checkpoint");
+        checkpoint.write(file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public Checkpoint capture() {
+        return Checkpoint.capture(board, true, 0, Worlds.SEED);
+    }
+
+    @Benchmark
+    public Path write() throws IOException {
+        checkpoint.write(file);
+        return file;
+    }
+
+    @Benchmark
+    public Checkpoint read() throws IOException {
+        return Checkpoint.read(file);
+    }
+
+    @Benchmark
+    public int restore() {
+        ChunkedBoard restored = new ChunkedBoard(boardSize);
+        checkpoint.restoreWater(restored);
+        return checkpoint.restoreCreatures(restored, creature -> { });
+    }
+}
@@ -0,0 +1,96 @@
+package oop.evolution.jmh;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import oop.evolution.config.Config;
+import oop.evolution.scheduler.Scheduler;
+
+/**
+ * Measures the wall-clock time a started fast-forward scheduler takes to run one simulated second.
+ * Every simulated creature repeats four life processes on the periods of the plant configuration,
+ * each drawing a few random numbers as its work, as many events as {@code Creature.startLiving()} schedules.
+ * A real-time scheduler always takes one second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FastForwardBenchmark {
+    /**
+     * The number of random numbers drawn by one run of a life process.
+     */
+    private static final int WORK = 16;
+
+    /**
+     * The number of workers of the scheduler.
+     */
+    @Param({"1", "4"})
+    public int workers;
+
+    /**
+     * The number of simulated creatures.
+     */
+    @Param({"1000", "10000"})
+    public int creatures;
+
+    /**
+     * The scheduler running the life processes.
+     */
+    private Scheduler scheduler;
+
+    @Setup
+    public void setUp() {
+        int[] periods = {
+            Config.PLANTS.growPeriod(), Config.PLANTS.evolvePeriod(), Config.PLANTS.replicatePeriod(),
+            Config.PLANTS.feedPeriod()
+        };
+
+        scheduler = new Scheduler(workers, Config.WORLD.schedulerTick(), true);
+        SplittableRandom seeds = new SplittableRandom(Worlds.SEED);
+
+        for (int i = 0; i < creatures; ++i)
+            for (int period : periods) {
+                SplittableRandom random = seeds.split();
+
+                scheduler.repeat("life-process", period, () -> {
+                    for (int j = 0; j < WORK; ++j)
+                        random.nextInt();
+                    return period;
+                });
+            }
+
+        scheduler.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Benchmark
+    public long simulatedSecond() {
+        long target = scheduler.currentTimeMillis() + 1000;
+
+        while (scheduler.currentTimeMillis() < target)
+            LockSupport.parkNanos(100_000);
+
+        return scheduler.currentTimeMillis();
+    }
+}
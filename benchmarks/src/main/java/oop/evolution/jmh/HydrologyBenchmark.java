@@ -0,0 +1,75 @@
+package oop.evolution.jmh;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import oop.evolution.ChunkedBoard;
+import oop.evolution.Hydrology;
+
+/**
+ * Measures one {@link Hydrology} step on a fully materialized board, on pools of growing parallelism.
+ * A few cells start wetter than the rest, so the water keeps spreading.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HydrologyBenchmark {
+    /**
+     * The length of a side of the board.
+     */
+    @Param({"1024", "4096"})
+    public int boardSize;
+
+    /**
+     * The number of threads of the pool running the step.
+     */
+    @Param({"1", "4"})
+    public int parallelism;
+
+    /**
+     * The pool running the step.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * The hydrology of the board.
+     */
+    private Hydrology hydrology;
+
+    @Setup
+    public void setUp() {
+        ChunkedBoard board = new ChunkedBoard(boardSize);
+        for (int x = 0; x < boardSize; x += 97)
+            board.rain(x, x / 2, 1, 1, 12);
+        board.rain(0, 0, boardSize, boardSize, 0);
+
+        pool = new ForkJoinPool(parallelism);
+        hydrology = new Hydrology(board, 10, 5, pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public void step() {
+        hydrology.step();
+    }
+}
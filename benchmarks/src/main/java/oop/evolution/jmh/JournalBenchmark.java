@@ -0,0 +1,206 @@
+package oop.evolution.jmh;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import oop.evolution.journal.EventJournal;
+import oop.evolution.journal.EventType;
+import oop.evolution.journal.JournalReader;
+
+/**
+ * Measures recording an event in the journal from four threads at once, and reading the journal back.
+ * At one million events per second, a recording taking {@code t} nanoseconds uses {@code t / 10} percent of a core.
+ * <p>
+ * With {@code clock = step} the records are stamped like in the world, from a volatile step counter the writers
+ * advance every 4096 events; with {@code nanos} they are stamped with {@link System#nanoTime()}.
+ * Every iteration records into a new journal, which is closed and deleted after it.
+ * <p>
+ * {@link #shortLivedThreads()} stands in for the creatures of the thread execution modes, whose activity
+ * threads record a few events each and release their buffers when they end, all alive at the same time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JournalBenchmark {
+    /**
+     * The size of a segment, 64 MB.
+     */
+    private static final long SEGMENT_SIZE = 64L << 20;
+
+    /**
+     * The number of events in the journal read back by {@link #read()}.
+     */
+    private static final int READ_EVENTS = 1 << 20;
+
+    /**
+     * The number of threads started by {@link #shortLivedThreads()}.
+     */
+    private static final int SHORT_LIVED_THREADS = 4096;
+
+    /**
+     * The number of events recorded by each of the threads started by {@link #shortLivedThreads()}.
+     */
+    private static final int SHORT_LIVED_EVENTS = 2;
+
+    /**
+     * The clock stamping the records, {@code step} or {@code nanos}.
+     */
+    @Param({"step", "nanos"})
+    public String clock;
+
+    /**
+     * The step counter stamping the records, standing in for the epoch of the world.
+     */
+    private volatile long step;
+
+    /**
+     * The number of writer threads seen so far, giving every writer its own subject.
+     */
+    private final AtomicInteger writers = new AtomicInteger();
+
+    /**
+     * The directory holding the journals.
+     */
+    private Path directory;
+
+    /**
+     * The journal of the current iteration.
+     */
+    private EventJournal journal;
+
+    /**
+     * The journal read back by {@link #read()}.
+     */
+    private Path written;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal");
+        written = directory.resolve("read");
+
+        EventJournal journal = new EventJournal(written, SEGMENT_SIZE, () -> 0);
+        for (int i = 0; i < READ_EVENTS; ++i)
+            journal.record(EventType.MOVE, i, i & 1023, i >>> 10, 0, 0);
+        journal.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void openJournal() throws IOException {
+        LongSupplier stamp = clock.equals("nanos") ? System::nanoTime : () -> step;
+        journal = new EventJournal(Files.createTempDirectory(directory, "run"), SEGMENT_SIZE, stamp);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeJournal() {
+        journal.close();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * The state of a writer thread.
+     */
+    @State(Scope.Thread)
+    public static class Writer {
+        /**
+         * The subject of the events of the thread.
+         */
+        int subject;
+
+        /**
+         * The number of events the thread recorded.
+         */
+        int events;
+
+        @Setup
+        public void setUp(JournalBenchmark benchmark) {
+            subject = benchmark.writers.getAndIncrement();
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void record(Writer writer) {
+        int i = writer.events++;
+
+        journal.record(EventType.MOVE, writer.subject, i & 1023, i >>> 10, 0, 0);
+        if ((i & 4095) == 0)
+            ++step;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long read() throws IOException {
+        long read = 0;
+
+        try (JournalReader reader = new JournalReader(written)) {
+            while (reader.next())
+                read += reader.getSubject() >= 0 ? 1 : 0;
+        }
+
+        return read;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void shortLivedThreads() throws InterruptedException {
+        CountDownLatch recorded = new CountDownLatch(SHORT_LIVED_THREADS);
+        CountDownLatch ending = new CountDownLatch(1);
+        Thread[] threads = new Thread[SHORT_LIVED_THREADS];
+
+        for (int t = 0; t < SHORT_LIVED_THREADS; ++t) {
+            int subject = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < SHORT_LIVED_EVENTS; ++i)
+                    journal.record(EventType.MOVE, subject, i, 0, 0, 0);
+                recorded.countDown();
+
+                try {
+                    ending.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                journal.release();
+            });
+            threads[t].start();
+        }
+
+        recorded.await();
+        ending.countDown();
+
+        for (Thread thread : threads)
+            thread.join();
+    }
+}
@@ -0,0 +1,68 @@
+package oop.evolution.jmh;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import oop.evolution.World;
+import oop.evolution.config.Config;
+import oop.evolution.creatures.CreatureKind;
+
+/**
+ * Measures one step period of a whole world run on the calling thread with {@link World#runFor}:
+ * every creature grows, evolves, replicates and feeds, and the weather, the time and the creator act.
+ * The world is rebuilt before every iteration so iterations start from the same population.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LifeStepBenchmark {
+    /**
+     * The length of a side of the board.
+     */
+    @Param({"32", "128"})
+    public int boardSize;
+
+    /**
+     * The number of plants and of animals at the start of an iteration, which are also the limits of the world.
+     */
+    @Param({"100", "1000"})
+    public int population;
+
+    /**
+     * The world to run.
+     */
+    private World world;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Worlds.configure(boardSize, population, population);
+        world = new World(Worlds.SEED);
+
+        SplittableRandom random = new SplittableRandom(Worlds.SEED);
+        Worlds.populate(world, CreatureKind.PLANT, population, random);
+        Worlds.populate(world, CreatureKind.HERBIVOROUS, population / 2, random);
+        Worlds.populate(world, CreatureKind.PREDATOR, population - population / 2, random);
+    }
+
+    @Benchmark
+    public int step() {
+        world.runFor(Config.WORLD.stepPeriod());
+        return world.getPlantNumber().get();
+    }
+}
@@ -0,0 +1,117 @@
+package oop.evolution.jmh;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import oop.evolution.creatures.Species;
+import oop.evolution.metrics.Counter;
+import oop.evolution.metrics.LifeProcess;
+import oop.evolution.metrics.MetricsRegistry;
+
+/**
+ * Measures what the metrics add to a life process step. A step draws a few random numbers, about the work
+ * of a grow or feed step, and is run the way {@code Creature.step} runs it: it counts one event and is timed
+ * when the registry chooses it.
+ * <p>
+ * {@code none} runs the bare steps, {@code disabled} goes through the disabled registry,
+ * {@code sampled} times one step in 16 like the default configuration and {@code every} times every step,
+ * the upper bound of the cost. Run it with {@code -t 1} and {@code -t 4} to see the contention on the counters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+    /**
+     * How the steps are counted and timed: {@code none}, {@code disabled}, {@code sampled} or {@code every}.
+     */
+    @Param({"none", "disabled", "sampled", "every"})
+    public String mode;
+
+    /**
+     * The registry counting and timing the steps, or null for bare steps.
+     */
+    private MetricsRegistry metrics;
+
+    @Setup
+    public void setUp() {
+        switch (mode) {
+            case "none":
+                metrics = null;
+                break;
+            case "disabled":
+                metrics = MetricsRegistry.DISABLED;
+                break;
+            case "sampled":
+                metrics = new MetricsRegistry(4);
+                break;
+            case "every":
+                metrics = new MetricsRegistry(0);
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid mode: " + mode);
+        }
+    }
+
+    /**
+     * The state of a thread running steps.
+     */
+    @State(Scope.Thread)
+    public static class Stepper {
+        /**
+         * The random stream of the thread.
+         */
+        final SplittableRandom random = new SplittableRandom(Worlds.SEED);
+
+        /**
+         * The number of the next step of the thread.
+         */
+        int step = 1;
+    }
+
+    @Benchmark
+    public long step(Stepper stepper) {
+        if (metrics == null)
+            return work(stepper.random);
+
+        long sum;
+        if (metrics.isTimed(stepper.step++)) {
+            long begin = System.nanoTime();
+            sum = work(stepper.random);
+            metrics.recordLatency(LifeProcess.GROW, Species.HERB, System.nanoTime() - begin);
+        } else
+            sum = work(stepper.random);
+
+        metrics.count(Counter.MOVE, Species.HERB);
+        return sum;
+    }
+
+    /**
+     * The work of one step.
+     *
+     * @param random    The random stream of the thread.
+     * @return          A value depending on the draws.
+     */
+    private static long work(SplittableRandom random) {
+        long sum = 0;
+
+        for (int i = 0; i < 4; ++i)
+            sum += random.nextInt(100);
+
+        return sum;
+    }
+}
@@ -0,0 +1,69 @@
+package oop.evolution.jmh;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import oop.evolution.MonteCarloRunner;
+
+/**
+ * Measures running many independent worlds for a minute of simulated time each with the {@link MonteCarloRunner}.
+ * Dividing the number of runs by the time gives the runs, and the simulated seconds, the runner gets through
+ * per wall-clock second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class MonteCarloBenchmark {
+    /**
+     * The simulated time of every run, in milliseconds.
+     */
+    private static final long SIMULATED_MILLIS = 60_000;
+
+    /**
+     * The number of runs.
+     */
+    @Param({"200"})
+    public int runs;
+
+    /**
+     * The number of runs stepped at once.
+     */
+    @Param({"1", "4"})
+    public int parallelism;
+
+    /**
+     * The runner stepping the worlds.
+     */
+    private MonteCarloRunner runner;
+
+    @Setup
+    public void setUp() {
+        runner = new MonteCarloRunner(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        runner.shutdown();
+    }
+
+    @Benchmark
+    public List<MonteCarloRunner.Result> run() {
+        return runner.run(runs, Worlds.SEED, SIMULATED_MILLIS);
+    }
+}
@@ -0,0 +1,72 @@
+package oop.evolution.jmh;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import oop.evolution.World;
+import oop.evolution.creatures.Creature;
+import oop.evolution.creatures.CreatureKind;
+
+/**
+ * Measures {@link World#moveToNeighbourCell} with four threads moving random animals of one shared world.
+ * Dense populations on small boards make the threads collide on the same cells.
+ * Run with {@code -t} to change the number of threads; {@link MoveContentionBenchmark} sweeps the thread count
+ * and compares the cell locks with the global lock they replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class MoveBenchmark {
+    /**
+     * The length of a side of the board.
+     */
+    @Param({"128", "512"})
+    public int boardSize;
+
+    /**
+     * The number of animals moving around.
+     */
+    @Param({"1000", "10000"})
+    public int population;
+
+    /**
+     * The world the animals move in.
+     */
+    private World world;
+
+    /**
+     * The animals to move.
+     */
+    private Creature[] animals;
+
+    @Setup
+    public void setUp() {
+        Worlds.configure(boardSize, population, 0);
+        world = new World(Worlds.SEED);
+        animals = Worlds.populate(world, CreatureKind.ANIMAL, population, new SplittableRandom(Worlds.SEED))
+                .toArray(new Creature[0]);
+    }
+
+    @Benchmark
+    public boolean move() {
+        return world.moveToNeighbourCell(animals[ThreadLocalRandom.current().nextInt(animals.length)]);
+    }
+}
@@ -0,0 +1,194 @@
+package oop.evolution.jmh;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import oop.evolution.ChunkedBoard;
+import oop.evolution.World;
+import oop.evolution.WorldCell;
+import oop.evolution.creatures.Creature;
+import oop.evolution.creatures.CreatureKind;
+
+/**
+ * Measures animal moves per second under contention at 1, 4, 16 and 64 threads, one benchmark method per count.
+ * Each thread owns a share of the animals and keeps moving a random one of them to a random neighbouring cell;
+ * moves off the board or into a full cell count as operations too, as they take the same locks.
+ * <p>
+ * {@code global} is the scheme before ordered cell locking, kept as the baseline: every move holds one lock
+ * shared by the whole world, adds the animal to the destination and then removes it from the source.
+ * {@code ordered} uses {@link WorldCell#moveAnimal}, which only locks the two cells involved, in coordinate order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveContentionBenchmark {
+    /**
+     * The x offsets of the four directions an animal can move in.
+     */
+    private static final int[] DX = {-1, 0, 1, 0};
+
+    /**
+     * The y offsets of the four directions an animal can move in.
+     */
+    private static final int[] DY = {0, -1, 0, 1};
+
+    /**
+     * The length of a side of the board.
+     */
+    @Param({"256"})
+    public int boardSize;
+
+    /**
+     * The number of animals moving around.
+     */
+    @Param({"8192"})
+    public int population;
+
+    /**
+     * The locking scheme of a move, {@code global} or {@code ordered}.
+     */
+    @Param({"global", "ordered"})
+    public String scheme;
+
+    /**
+     * The lock shared by the whole world in the global scheme.
+     */
+    private final ReentrantLock globalLock = new ReentrantLock();
+
+    /**
+     * The board the animals move on.
+     */
+    private ChunkedBoard board;
+
+    /**
+     * The animals to move.
+     */
+    private Creature[] animals;
+
+    /**
+     * True for the ordered scheme, false for the global one.
+     */
+    private boolean ordered;
+
+    @Setup
+    public void setUp() {
+        if (!scheme.equals("global") && !scheme.equals("ordered"))
+            throw new IllegalArgumentException("Invalid scheme: " + scheme);
+
+        Worlds.configure(boardSize, population, 0);
+        World world = new World(Worlds.SEED);
+        board = world.getBoard();
+        animals = Worlds.populate(world, CreatureKind.ANIMAL, population, new SplittableRandom(Worlds.SEED))
+                .toArray(new Creature[0]);
+        ordered = scheme.equals("ordered");
+    }
+
+    /**
+     * The share of the animals moved by one thread, so no two threads move the same animal.
+     */
+    @State(Scope.Thread)
+    public static class Mover {
+        /**
+         * The first animal of the share.
+         */
+        int from;
+
+        /**
+         * The number of animals of the share.
+         */
+        int count;
+
+        @Setup
+        public void setUp(MoveContentionBenchmark benchmark, ThreadParams threads) {
+            int length = benchmark.animals.length;
+
+            from = (int) ((long) length * threads.getThreadIndex() / threads.getThreadCount());
+            count = (int) ((long) length * (threads.getThreadIndex() + 1) / threads.getThreadCount()) - from;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean threads1(Mover mover) {
+        return move(mover);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean threads4(Mover mover) {
+        return move(mover);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean threads16(Mover mover) {
+        return move(mover);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean threads64(Mover mover) {
+        return move(mover);
+    }
+
+    /**
+     * Moves a random animal of a share to a random neighbouring cell with the scheme of the benchmark.
+     *
+     * @param mover The share of the calling thread.
+     * @return      True if the animal was moved.
+     */
+    private boolean move(Mover mover) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Creature animal = animals[mover.from + random.nextInt(mover.count)];
+        WorldCell source = animal.getPosition();
+        int direction = random.nextInt(4);
+        int x = source.getX() + DX[direction];
+        int y = source.getY() + DY[direction];
+
+        if (x < 0 || x >= boardSize || y < 0 || y >= boardSize)
+            return false;
+
+        WorldCell destination = board.get(x, y);
+        return ordered ? WorldCell.moveAnimal(animal, source, destination) : moveGlobal(animal, source, destination);
+    }
+
+    /**
+     * Moves an animal the way the world did before ordered cell locking.
+     *
+     * @param animal        The animal to move.
+     * @param source        The cell the animal is in.
+     * @param destination   The cell to move the animal to.
+     * @return              True if the animal was moved.
+     */
+    private boolean moveGlobal(Creature animal, WorldCell source, WorldCell destination) {
+        globalLock.lock();
+        try {
+            if (!destination.addAnimal(animal))
+                return false;
+
+            source.removeCreature(animal);
+            return true;
+        } finally {
+            globalLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package oop.evolution.jmh;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import oop.evolution.World;
+import oop.evolution.environment.Weather;
+
+/**
+ * Measures the rain falling on regions of the board: {@link Weather#fall} draws a random area of at most
+ * {@code rainArea} cells per side, {@link World#rainOnArea} always waters a full {@code rainArea} square.
+ * Water levels saturate after a while, which is the steady state of a long run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RainBenchmark {
+    /**
+     * The length of a side of the board.
+     */
+    @Param({"64", "256", "1024"})
+    public int boardSize;
+
+    /**
+     * The largest length of a side of a rain area.
+     */
+    @Param({"7", "32"})
+    public int rainArea;
+
+    /**
+     * The world the rain falls on.
+     */
+    private World world;
+
+    /**
+     * The weather of the world.
+     */
+    private Weather weather;
+
+    /**
+     * The random stream placing the areas of {@link #rainOnArea()}.
+     */
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        Worlds.configure(boardSize, 0, 0);
+        System.setProperty("evolution.weather.RAIN_AREA", Integer.toString(Math.min(rainArea, boardSize)));
+        world = new World(Worlds.SEED);
+        weather = new Weather(world, world.newRandom());
+        random = new SplittableRandom(Worlds.SEED);
+    }
+
+    @Benchmark
+    public long fall() {
+        return weather.fall();
+    }
+
+    @Benchmark
+    public void rainOnArea() {
+        int area = Math.min(rainArea, boardSize);
+        world.rainOnArea(random.nextInt(boardSize - area + 1), random.nextInt(boardSize - area + 1), area, area, 1);
+    }
+}
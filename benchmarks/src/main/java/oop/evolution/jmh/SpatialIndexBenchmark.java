@@ -0,0 +1,166 @@
+package oop.evolution.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import oop.evolution.ChunkedBoard;
+import oop.evolution.SpatialIndex;
+import oop.evolution.WorldCell;
+import oop.evolution.creatures.Animal;
+import oop.evolution.creatures.Creature;
+import oop.evolution.creatures.Species;
+
+/**
+ * Measures a "nearest herbivore within a radius" query for growing radii.
+ * <p>
+ * {@link #scan()} looks at every cell of the square around the query, as a predator scanning its neighbourhood would.
+ * {@link #index()} asks the {@link SpatialIndex}, which skips the chunks and blocks without herbivores.
+ * Both must find a creature at the same distance for every query, which the setup checks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpatialIndexBenchmark {
+    /**
+     * The length of a side of the board.
+     */
+    private static final int BOARD_SIZE = 1024;
+
+    /**
+     * The number of animals on the board.
+     */
+    private static final int ANIMALS = 5000;
+
+    /**
+     * The number of distinct queries, asked in turn.
+     */
+    private static final int QUERIES = 1024;
+
+    /**
+     * The radius of the queries.
+     */
+    @Param({"4", "16", "64", "256"})
+    public int radius;
+
+    /**
+     * The board holding the animals.
+     */
+    private ChunkedBoard board;
+
+    /**
+     * The index of the board.
+     */
+    private SpatialIndex spatialIndex;
+
+    /**
+     * The x-coordinates of the queries.
+     */
+    private final int[] xs = new int[QUERIES];
+
+    /**
+     * The y-coordinates of the queries.
+     */
+    private final int[] ys = new int[QUERIES];
+
+    /**
+     * The number of queries asked so far.
+     */
+    private int query;
+
+    @Setup
+    public void setUp() {
+        board = new ChunkedBoard(BOARD_SIZE);
+        spatialIndex = new SpatialIndex(board);
+        SplittableRandom random = new SplittableRandom(Worlds.SEED);
+
+        for (int placed = 0; placed < ANIMALS; )
+            if (board.get(random.nextInt(BOARD_SIZE), random.nextInt(BOARD_SIZE)).addAnimal(new Animal()))
+                ++placed;
+
+        for (int i = 0; i < QUERIES; ++i) {
+            xs[i] = random.nextInt(BOARD_SIZE);
+            ys[i] = random.nextInt(BOARD_SIZE);
+        }
+
+        for (int i = 0; i < QUERIES; ++i) {
+            long scanned = scan(xs[i], ys[i]);
+            long indexed = nearest(xs[i], ys[i]);
+
+            if (scanned != indexed)
+                throw new IllegalStateException("Mismatch at query " + i + ": " + scanned + " != " + indexed);
+        }
+    }
+
+    @Benchmark
+    public long scan() {
+        int i = query++ & (QUERIES - 1);
+        return scan(xs[i], ys[i]);
+    }
+
+    @Benchmark
+    public long index() {
+        int i = query++ & (QUERIES - 1);
+        return nearest(xs[i], ys[i]);
+    }
+
+    /**
+     * Finds the squared distance to the nearest herbivore by looking at every cell within the radius.
+     *
+     * @param x The x-coordinate of the query.
+     * @param y The y-coordinate of the query.
+     * @return  The squared distance to the nearest herbivore, or -1 if there is none.
+     */
+    private long scan(int x, int y) {
+        List<Creature> residents = new ArrayList<>();
+        long best = -1;
+
+        for (int i = Math.max(0, x - radius); i <= Math.min(BOARD_SIZE - 1, x + radius); ++i)
+            for (int j = Math.max(0, y - radius); j <= Math.min(BOARD_SIZE - 1, y + radius); ++j) {
+                long squared = (long) (i - x) * (i - x) + (long) (j - y) * (j - y);
+                if (squared > (long) radius * radius || (best >= 0 && squared >= best))
+                    continue;
+
+                residents.clear();
+                board.peek(i, j).collectAnimals(residents);
+                if (!residents.isEmpty())
+                    best = squared;
+            }
+
+        return best;
+    }
+
+    /**
+     * Finds the squared distance to the nearest herbivore with the index.
+     *
+     * @param x The x-coordinate of the query.
+     * @param y The y-coordinate of the query.
+     * @return  The squared distance to the nearest herbivore, or -1 if there is none.
+     */
+    private long nearest(int x, int y) {
+        Creature nearest = spatialIndex.nearest(Species.HERB, x, y, radius);
+        if (nearest == null)
+            return -1;
+
+        WorldCell cell = nearest.getPosition();
+        long dx = cell.getX() - x;
+        long dy = cell.getY() - y;
+        return dx * dx + dy * dy;
+    }
+}
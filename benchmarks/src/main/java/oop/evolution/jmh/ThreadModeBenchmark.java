@@ -0,0 +1,175 @@
+package oop.evolution.jmh;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.management.ObjectName;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import oop.evolution.World;
+import oop.evolution.creatures.CreatureKind;
+import oop.evolution.scheduler.ExecutionMode;
+
+/**
+ * Measures spawning real plants into a world running on a {@link oop.evolution.scheduler.ThreadClock},
+ * so every plant runs its four life processes on threads of the given mode, and reports how many are kept alive
+ * and the memory they use.
+ * <p>
+ * The stacks of platform threads live outside the heap, so the teardown prints the resident set size of the process
+ * alongside the heap, and the memory of the threads as seen by native memory tracking; run it with
+ * {@code -jvmArgsAppend -XX:NativeMemoryTracking=summary} to get the latter. The setup refuses to run the virtual
+ * thread mode on a JDK without virtual threads, where the mode falls back to platform threads and both runs would
+ * measure the same thing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+public class ThreadModeBenchmark {
+    /**
+     * The number of plants a cell holds.
+     */
+    private static final int CELL_PLANTS = 3;
+
+    /**
+     * The time the life processes run for before the report, in milliseconds.
+     */
+    private static final long SETTLE_MILLIS = 5000;
+
+    /**
+     * The line of the native memory tracking summary giving the memory of the threads.
+     */
+    private static final Pattern NMT_THREADS = Pattern.compile("Thread \\(reserved=(\\d+)KB, committed=(\\d+)KB\\)");
+
+    /**
+     * The line of {@code /proc/self/status} giving the resident set size.
+     */
+    private static final Pattern VM_RSS = Pattern.compile("VmRSS:\\s+(\\d+) kB");
+
+    /**
+     * The execution mode of the life processes.
+     */
+    @Param({"PLATFORM_THREADS", "VIRTUAL_THREADS"})
+    public ExecutionMode mode;
+
+    /**
+     * The number of plants to spawn.
+     */
+    @Param({"10000", "100000"})
+    public int creatures;
+
+    /**
+     * The world holding the plants.
+     */
+    private World world;
+
+    /**
+     * The heap used before any plant was spawned, in bytes.
+     */
+    private long baselineHeap;
+
+    /**
+     * The resident set size before any plant was spawned, in bytes, or -1 if unknown.
+     */
+    private long baselineRss;
+
+    @Setup
+    public void setUp() {
+        if (mode == ExecutionMode.VIRTUAL_THREADS && !mode.isVirtual())
+            throw new IllegalStateException("Virtual threads are not available in this JDK (" + Runtime.version()
+                    + "), VIRTUAL_THREADS would run on platform threads: run it on JDK 21 or later");
+
+        int boardSize = (int) Math.ceil(Math.sqrt((double) creatures / CELL_PLANTS)) + 1;
+        Worlds.configure(boardSize, 0, creatures);
+        System.setProperty("evolution.world.EXECUTION_MODE", String.valueOf(mode.ordinal()));
+        System.setProperty("evolution.world.CELL_PLANTS", String.valueOf(CELL_PLANTS));
+
+        world = new World(Worlds.SEED);
+        baselineHeap = usedHeap();
+        baselineRss = residentSet();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        // Let the life processes run for a while, so the creatures that cannot keep up show
+        Thread.sleep(SETTLE_MILLIS);
+
+        int alive = world.getPlantNumber().get();
+        long heap = usedHeap() - baselineHeap;
+        long rss = baselineRss < 0 ? -1 : residentSet() - baselineRss;
+
+        System.out.printf("%nalive=%d heap=%.1fMB heapPerCreature=%d rss=%s rssPerCreature=%s threads=%s%n",
+                alive, heap / 1048576.0, alive == 0 ? 0 : heap / alive,
+                rss < 0 ? "n/a" : String.format("%.1fMB", rss / 1048576.0),
+                rss < 0 || alive == 0 ? "n/a" : String.valueOf(rss / alive), threadMemory());
+    }
+
+    @Benchmark
+    public int spawn() {
+        return world.spawn(CreatureKind.PLANT, creatures, new SplittableRandom(Worlds.SEED));
+    }
+
+    /**
+     * Returns the used heap after a garbage collection.
+     *
+     * @return  The used heap in bytes.
+     */
+    private static long usedHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Returns the resident set size of the process, which includes the stacks of the platform threads.
+     *
+     * @return  The resident set size in bytes, or -1 if the platform does not expose it.
+     */
+    private static long residentSet() {
+        try {
+            Matcher matcher = VM_RSS.matcher(Files.readString(Path.of("/proc/self/status")));
+            return matcher.find() ? Long.parseLong(matcher.group(1)) * 1024 : -1;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the memory of the threads as tracked by native memory tracking.
+     *
+     * @return  The committed and reserved memory of the threads, or "n/a" if native memory tracking is off.
+     */
+    private static String threadMemory() {
+        try {
+            String summary = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName("com.sun.management:type=DiagnosticCommand"), "vmNativeMemory",
+                    new Object[] {new String[] {"summary"}}, new String[] {String[].class.getName()});
+            Matcher matcher = NMT_THREADS.matcher(summary);
+
+            return matcher.find()
+                    ? String.format("%.1fMB/%.1fMB", Long.parseLong(matcher.group(2)) / 1024.0,
+                            Long.parseLong(matcher.group(1)) / 1024.0)
+                    : "n/a";
+        } catch (Exception e) {
+            return "n/a";
+        }
+    }
+}
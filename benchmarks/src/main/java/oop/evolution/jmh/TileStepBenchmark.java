@@ -0,0 +1,92 @@
+package oop.evolution.jmh;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import oop.evolution.ChunkedBoard;
+import oop.evolution.TileStepper;
+import oop.evolution.creatures.Animal;
+
+/**
+ * Measures how the tile-partitioned world step scales with the number of cores.
+ * A board is filled with plain animals, which are always awake, and stepped on pools of growing parallelism.
+ * The step returns the number of moves, so moves per second follow from the steps per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TileStepBenchmark {
+    /**
+     * The length of a side of the board.
+     */
+    @Param({"1000"})
+    public int boardSize;
+
+    /**
+     * The number of animals on the board.
+     */
+    @Param({"200000"})
+    public int animals;
+
+    /**
+     * The number of threads of the pool stepping the tiles.
+     */
+    @Param({"1", "2", "4"})
+    public int parallelism;
+
+    /**
+     * The length of a side of a tile.
+     */
+    @Param({"64"})
+    public int tileSize;
+
+    /**
+     * The pool stepping the tiles.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * The stepper of the board.
+     */
+    private TileStepper stepper;
+
+    @Setup
+    public void setUp() {
+        ChunkedBoard board = new ChunkedBoard(boardSize);
+        SplittableRandom random = new SplittableRandom(Worlds.SEED);
+
+        for (int placed = 0; placed < animals; )
+            if (board.get(random.nextInt(boardSize), random.nextInt(boardSize)).addAnimal(new Animal()))
+                ++placed;
+
+        pool = new ForkJoinPool(parallelism);
+        stepper = new TileStepper(board, tileSize, pool, Worlds.SEED);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int step() {
+        return stepper.step();
+    }
+}
@@ -0,0 +1,67 @@
+package oop.evolution.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import oop.evolution.World;
+import oop.evolution.creatures.Creature;
+import oop.evolution.creatures.CreatureKind;
+
+/**
+ * Helpers building the worlds the benchmarks run on.
+ * <p>
+ * The board size and the population limits are read once, when {@code Config} is first loaded, so
+ * {@link #configure} overrides them through system properties before any class of the simulation is touched.
+ * This works because JMH runs every combination of parameters in a fresh fork; a benchmark run with
+ * {@code -f 0} keeps the first combination's values for all the others.
+ */
+final class Worlds {
+    /**
+     * The seed of every world built by the benchmarks, so runs are comparable.
+     */
+    static final long SEED = 42;
+
+    private Worlds() {
+    }
+
+    /**
+     * Overrides the size of the board and the population limits of the worlds created afterwards.
+     *
+     * @param boardSize The length of a side of the board.
+     * @param animals   The maximum number of animals in a world.
+     * @param plants    The maximum number of plants in a world.
+     */
+    static void configure(int boardSize, int animals, int plants) {
+        System.setProperty("evolution.world.BOARD_SIZE", Integer.toString(boardSize));
+        System.setProperty("evolution.world.MAX_ANIMALS", Integer.toString(animals));
+        System.setProperty("evolution.world.MAX_PLANTS", Integer.toString(plants));
+    }
+
+    /**
+     * Spawns creatures of a kind on random cells of a world until the count is reached or the world is full.
+     * The creatures are activated but only live while the world runs, see {@link World#runFor}.
+     *
+     * @param world     The world to populate.
+     * @param kind      The kind of the creatures.
+     * @param count     The number of creatures to spawn.
+     * @param random    The random stream choosing the cells.
+     * @return          The creatures spawned, fewer than requested if the cells filled up.
+     */
+    static List<Creature> populate(World world, CreatureKind kind, int count, SplittableRandom random) {
+        List<Creature> creatures = new ArrayList<>(count);
+        int boardSize = world.getBoard().size();
+
+        for (int attempts = 0; creatures.size() < count && attempts < 8 * count && world.hasRoomFor(kind); ++attempts) {
+            Creature creature = world.getCreaturePool().obtain(kind);
+            int life = creature.getGeneration();
+
+            if (world.spawn(creature, random.nextInt(boardSize), random.nextInt(boardSize)))
+                creatures.add(creature);
+            else
+                creature.discard(life);
+        }
+
+        return creatures;
+    }
+}
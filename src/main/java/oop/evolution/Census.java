@@ -0,0 +1,56 @@
+package oop.evolution;
+
+import oop.evolution.creatures.Creature;
+import oop.evolution.creatures.Species;
+
+/**
+ * The layout of the census counters kept by every cell and copied by {@link World#copyCensus}.
+ * There is one counter per species and stage, at index {@code species.ordinal() * STAGES + stage}.
+ */
+public final class Census {
+    /**
+     * The stage of a creature that has not grown up yet.
+     */
+    public static final int CHILD = 0;
+
+    /**
+     * The stage of a grown up creature.
+     */
+    public static final int ADULT = 1;
+
+    /**
+     * The number of stages of a creature.
+     */
+    public static final int STAGES = 2;
+
+    /**
+     * The number of counters of a census.
+     */
+    public static final int SIZE = Species.values().length * STAGES;
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private Census() { }
+
+    /**
+     * Returns the index of the counter of a species and stage.
+     *
+     * @param species   The species.
+     * @param stage     The stage, {@link #CHILD} or {@link #ADULT}.
+     * @return          The index of the counter.
+     */
+    public static int index(Species species, int stage) {
+        return species.ordinal() * STAGES + stage;
+    }
+
+    /**
+     * Returns the index of the counter a creature currently belongs to.
+     *
+     * @param creature  The creature.
+     * @return          The index of the counter of its species and stage.
+     */
+    public static int index(Creature creature) {
+        return index(creature.getSpecies(), creature.isAdult() ? ADULT : CHILD);
+    }
+}
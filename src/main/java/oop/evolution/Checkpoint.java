@@ -0,0 +1,457 @@
+package oop.evolution;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import oop.evolution.creatures.Animal;
+import oop.evolution.creatures.Creature;
+import oop.evolution.creatures.CreatureKind;
+import oop.evolution.creatures.Trait;
+
+/**
+ * A snapshot of the full state of a world, and its binary file format.
+ * <p>
+ * A checkpoint holds the water grid of every materialized chunk and, for every creature on the board,
+ * its kind, adult flag, cell and traits, together with the day/night phase, the epoch and the seed the random
+ * stream of the world continues from. The creatures are stored column by column, like in the
+ * {@link oop.evolution.creatures.PopulationStore}, so every section of the file is a flat array of primitives
+ * that is written and read back in bulk through a direct buffer.
+ * <p>
+ * The file is little-endian and starts with a header:
+ * <pre>
+ * int magic "EVCK", int version, int board size, int day (0 or 1), long epoch, long random seed,
+ * int chunk count, int creature count
+ * </pre>
+ * followed by the chunk indices, the water grids of the chunks, one byte per creature holding its
+ * {@link CreatureKind} shifted left by one with the adult flag in the lowest bit, the x-coordinates,
+ * the y-coordinates and one column per {@link Trait}.
+ */
+public final class Checkpoint {
+    /**
+     * The first four bytes of every checkpoint, "EVCK" in little-endian order.
+     */
+    public static final int MAGIC = 0x4b435645;
+
+    /**
+     * The version of the format written by this class.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * The number of bytes of the header.
+     */
+    private static final int HEADER_SIZE = 40;
+
+    /**
+     * The number of bytes of the buffer every section goes through.
+     */
+    private static final int IO_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The number of cells of a chunk.
+     */
+    private static final int CELLS = ChunkedBoard.CHUNK_SIZE * ChunkedBoard.CHUNK_SIZE;
+
+    /**
+     * The trait columns, in the order they are stored.
+     */
+    private static final Trait[] TRAITS = Trait.values();
+
+    /**
+     * The number of cells on each side of the board.
+     */
+    private final int boardSize;
+
+    /**
+     * True if it was day.
+     */
+    private final boolean day;
+
+    /**
+     * The epoch of the world.
+     */
+    private final long epoch;
+
+    /**
+     * The seed of the random stream the world continues from.
+     */
+    private final long randomSeed;
+
+    /**
+     * The indices of the materialized chunks in the chunk directory of the board.
+     */
+    private final int[] chunks;
+
+    /**
+     * The water grid of each materialized chunk.
+     */
+    private final int[][] water;
+
+    /**
+     * The number of creatures.
+     */
+    private int count;
+
+    /**
+     * The kind and adult flag of each creature.
+     */
+    private byte[] kinds;
+
+    /**
+     * The x-coordinate of the cell of each creature.
+     */
+    private int[] xs;
+
+    /**
+     * The y-coordinate of the cell of each creature.
+     */
+    private int[] ys;
+
+    /**
+     * The trait columns, indexed by trait ordinal and creature.
+     */
+    private int[][] traits;
+
+    private Checkpoint(int boardSize, boolean day, long epoch, long randomSeed, int chunkCount, int capacity) {
+        this.boardSize = boardSize;
+        this.day = day;
+        this.epoch = epoch;
+        this.randomSeed = randomSeed;
+        this.chunks = new int[chunkCount];
+        this.water = new int[chunkCount][];
+        this.kinds = new byte[capacity];
+        this.xs = new int[capacity];
+        this.ys = new int[capacity];
+        this.traits = new int[TRAITS.length][capacity];
+    }
+
+    /**
+     * Copies the state of a board. The caller makes sure no creature changes meanwhile,
+     * see {@link oop.evolution.creatures.PopulationStore#lockAll()}.
+     * Creatures that are not on the board yet are not part of the checkpoint.
+     *
+     * @param board         The board to copy.
+     * @param day           True if it is day.
+     * @param epoch         The epoch of the world.
+     * @param randomSeed    The seed of the random stream the world continues from.
+     * @return              The checkpoint of the board.
+     */
+    public static Checkpoint capture(ChunkedBoard board, boolean day, long epoch, long randomSeed) {
+        int side = board.getChunksPerSide();
+        int[] materialized = new int[board.getMaterializedChunks()];
+        int chunkCount = 0;
+
+        for (int chunk = 0; chunk < side * side && chunkCount < materialized.length; ++chunk)
+            if (board.getChunk(chunk / side, chunk % side) != null)
+                materialized[chunkCount++] = chunk;
+
+        Checkpoint checkpoint = new Checkpoint(board.size(), day, epoch, randomSeed, chunkCount, 1024);
+        List<Creature> occupants = new ArrayList<>();
+
+        for (int k = 0; k < chunkCount; ++k) {
+            int chunk = materialized[k];
+            WorldCell[] cells = board.getChunk(chunk / side, chunk % side);
+
+            checkpoint.chunks[k] = chunk;
+            checkpoint.water[k] = cells[0].getWaterGrid().clone();
+
+            for (WorldCell cell : cells) {
+                occupants.clear();
+                cell.collectPlants(occupants);
+                cell.collectAnimals(occupants);
+
+                for (Creature creature : occupants)
+                    checkpoint.add(creature, cell);
+            }
+        }
+
+        return checkpoint;
+    }
+
+    /**
+     * Appends a creature to the columns, growing them when they are full.
+     *
+     * @param creature  The creature to append.
+     * @param cell      The cell of the creature.
+     */
+    private void add(Creature creature, WorldCell cell) {
+        if (count == xs.length) {
+            int capacity = count * 2;
+
+            kinds = Arrays.copyOf(kinds, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            for (int t = 0; t < TRAITS.length; ++t)
+                traits[t] = Arrays.copyOf(traits[t], capacity);
+        }
+
+        kinds[count] = (byte) (CreatureKind.of(creature).ordinal() << 1 | (creature.isAdult() ? 1 : 0));
+        xs[count] = cell.getX();
+        ys[count] = cell.getY();
+        for (int t = 0; t < TRAITS.length; ++t)
+            traits[t][count] = creature.getCreatureCharacteristic(TRAITS[t]);
+
+        ++count;
+    }
+
+    /**
+     * Writes the checkpoint to a file. The file is written next to the target and then moved over it,
+     * so a crash while writing never leaves a broken checkpoint behind.
+     *
+     * @param file          The file to write.
+     * @throws IOException  If the file cannot be written.
+     */
+    public void write(Path file) throws IOException {
+        Path partial = file.resolveSibling(file.getFileName() + ".partial");
+        ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(boardSize).putInt(day ? 1 : 0)
+                    .putLong(epoch).putLong(randomSeed).putInt(chunks.length).putInt(count).flip();
+            writeFully(channel, buffer);
+
+            writeInts(channel, buffer, chunks, chunks.length);
+            for (int[] grid : water)
+                writeInts(channel, buffer, grid, CELLS);
+
+            for (int from = 0; from < count; from += IO_BUFFER_SIZE) {
+                buffer.clear();
+                buffer.put(kinds, from, Math.min(IO_BUFFER_SIZE, count - from)).flip();
+                writeFully(channel, buffer);
+            }
+
+            writeInts(channel, buffer, xs, count);
+            writeInts(channel, buffer, ys, count);
+            for (int[] column : traits)
+                writeInts(channel, buffer, column, count);
+
+            channel.force(false);
+        }
+
+        Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a checkpoint from a file.
+     *
+     * @param file                      The file to read.
+     * @return                          The checkpoint.
+     * @throws IOException              If the file cannot be read or is truncated.
+     * @throws IllegalArgumentException If the file is not a checkpoint or has another version.
+     */
+    public static Checkpoint read(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer.limit(HEADER_SIZE);
+            readFully(channel, buffer);
+            buffer.flip();
+
+            if (buffer.getInt() != MAGIC)
+                throw new IllegalArgumentException("Invalid checkpoint: " + file);
+
+            int version = buffer.getInt();
+            if (version != VERSION)
+                throw new IllegalArgumentException("Invalid checkpoint version: " + version);
+
+            int boardSize = buffer.getInt();
+            boolean day = buffer.getInt() != 0;
+            long epoch = buffer.getLong();
+            long randomSeed = buffer.getLong();
+            int chunkCount = buffer.getInt();
+            int count = buffer.getInt();
+
+            if (boardSize <= 0 || chunkCount < 0 || count < 0)
+                throw new IllegalArgumentException("Invalid checkpoint: " + file);
+
+            Checkpoint checkpoint = new Checkpoint(boardSize, day, epoch, randomSeed, chunkCount, count);
+
+            readInts(channel, buffer, checkpoint.chunks, chunkCount);
+            for (int k = 0; k < chunkCount; ++k)
+                readInts(channel, buffer, checkpoint.water[k] = new int[CELLS], CELLS);
+
+            for (int from = 0; from < count; from += IO_BUFFER_SIZE) {
+                int length = Math.min(IO_BUFFER_SIZE, count - from);
+
+                buffer.clear().limit(length);
+                readFully(channel, buffer);
+                buffer.flip().get(checkpoint.kinds, from, length);
+            }
+
+            readInts(channel, buffer, checkpoint.xs, count);
+            readInts(channel, buffer, checkpoint.ys, count);
+            for (int[] column : checkpoint.traits)
+                readInts(channel, buffer, column, count);
+
+            checkpoint.count = count;
+            return checkpoint;
+        }
+    }
+
+    /**
+     * Copies the water grids of the checkpoint into a board of the same size, materializing their chunks.
+     *
+     * @param board                     The board to restore the water of.
+     * @throws IllegalArgumentException If the board has another size.
+     */
+    public void restoreWater(ChunkedBoard board) {
+        checkBoard(board);
+        int side = board.getChunksPerSide();
+
+        for (int k = 0; k < chunks.length; ++k) {
+            int chunkX = chunks[k] / side;
+            int chunkY = chunks[k] % side;
+
+            board.get(chunkX << ChunkedBoard.CHUNK_BITS, chunkY << ChunkedBoard.CHUNK_BITS);
+            System.arraycopy(water[k], 0, board.getWater(chunkX, chunkY), 0, CELLS);
+        }
+    }
+
+    /**
+     * Creates the creatures of the checkpoint in the shared world and places them on a board of the same size,
+     * see {@link #restoreCreatures(World, ChunkedBoard, Consumer)}.
+     *
+     * @param board                     The board to place the creatures on.
+     * @param placed                    Called with every creature that has been placed.
+     * @return                          The number of creatures placed.
+     * @throws IllegalArgumentException If the board has another size.
+     */
+    public int restoreCreatures(ChunkedBoard board, Consumer<Creature> placed) {
+        return restoreCreatures(World.getInstance(), board, placed);
+    }
+
+    /**
+     * Creates the creatures of the checkpoint in a world and places them on a board of the same size, in the order
+     * they were captured. Each creature is taken from the pool of the world and gets its traits and adult flag
+     * before it is placed, so the census of its cell counts it in the right stage. It is activated once placed;
+     * a creature that does not fit into its cell is discarded.
+     *
+     * @param world                     The world the creatures live in.
+     * @param board                     The board to place the creatures on.
+     * @param placed                    Called with every creature that has been placed.
+     * @return                          The number of creatures placed.
+     * @throws IllegalArgumentException If the board has another size.
+     */
+    public int restoreCreatures(World world, ChunkedBoard board, Consumer<Creature> placed) {
+        checkBoard(board);
+        int restored = 0;
+
+        for (int i = 0; i < count; ++i) {
+            Creature creature = world.getCreaturePool().obtain(CreatureKind.fromOrdinal(kinds[i] >>> 1));
+            int life = creature.getGeneration();
+
+            for (int t = 0; t < TRAITS.length; ++t)
+                creature.setCreatureCharacteristic(TRAITS[t], traits[t][i]);
+            if ((kinds[i] & 1) != 0)
+                world.getPopulation().setAdult(creature.getId(), true);
+
+            WorldCell cell = board.get(xs[i], ys[i]);
+            if (creature instanceof Animal ? cell.addAnimal(creature) : cell.addPlant(creature)) {
+                placed.accept(creature);
+                creature.activate(life);
+                ++restored;
+            } else
+                creature.discard(life);
+        }
+
+        return restored;
+    }
+
+    /**
+     * Checks that a board has the size of the checkpoint.
+     *
+     * @param board                     The board to check.
+     * @throws IllegalArgumentException If the board has another size.
+     */
+    private void checkBoard(ChunkedBoard board) {
+        if (board.size() != boardSize)
+            throw new IllegalArgumentException("Invalid checkpoint board size: " + boardSize);
+    }
+
+    /**
+     * Writes the first values of an array through the buffer.
+     *
+     * @param channel       The channel to write to.
+     * @param buffer        The buffer to go through.
+     * @param values        The values to write.
+     * @param length        The number of values to write.
+     * @throws IOException  If the channel cannot be written.
+     */
+    private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] values, int length) throws IOException {
+        for (int from = 0; from < length; from += IO_BUFFER_SIZE / Integer.BYTES) {
+            int chunk = Math.min(IO_BUFFER_SIZE / Integer.BYTES, length - from);
+
+            buffer.clear();
+            buffer.asIntBuffer().put(values, from, chunk);
+            buffer.limit(chunk * Integer.BYTES);
+            writeFully(channel, buffer);
+        }
+    }
+
+    /**
+     * Reads values into the first slots of an array through the buffer.
+     *
+     * @param channel       The channel to read from.
+     * @param buffer        The buffer to go through.
+     * @param values        The array to fill.
+     * @param length        The number of values to read.
+     * @throws IOException  If the channel cannot be read or ends too early.
+     */
+    private static void readInts(FileChannel channel, ByteBuffer buffer, int[] values, int length) throws IOException {
+        for (int from = 0; from < length; from += IO_BUFFER_SIZE / Integer.BYTES) {
+            int chunk = Math.min(IO_BUFFER_SIZE / Integer.BYTES, length - from);
+
+            buffer.clear().limit(chunk * Integer.BYTES);
+            readFully(channel, buffer);
+            buffer.flip();
+            buffer.asIntBuffer().get(values, from, chunk);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            if (channel.read(buffer) < 0)
+                throw new EOFException("Truncated checkpoint");
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public boolean isDay() {
+        return day;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    public int getCreatureCount() {
+        return count;
+    }
+
+    public int getChunkCount() {
+        return chunks.length;
+    }
+}
@@ -0,0 +1,258 @@
+package oop.evolution;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A square board of cells that only allocates the parts of the world that are used.
+ * The board is split into chunks of 64x64 cells. A chunk is materialized the first time a cell of it
+ * is written to, for example when a creature is placed there or rain falls on it.
+ * Until then every cell of the chunk reads as one shared, empty default cell, so a huge
+ * and mostly empty landscape costs one reference per chunk instead of one object graph per cell.
+ */
+public final class ChunkedBoard {
+    /**
+     * The number of bits of a coordinate selecting the cell within a chunk.
+     */
+    public static final int CHUNK_BITS = 6;
+
+    /**
+     * The number of cells on each side of a chunk.
+     */
+    public static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    /**
+     * The mask selecting the cell within a chunk.
+     */
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * The cell read in place of every cell of a chunk that has not been materialized.
+     * It is never written to: it holds no creatures and keeps the initial water level.
+     */
+    private static final WorldCell EMPTY_CELL = new WorldCell(-1, -1);
+
+    /**
+     * The number of cells on each side of the board.
+     */
+    private final int size;
+
+    /**
+     * The number of chunks on each side of the board.
+     */
+    private final int chunksPerSide;
+
+    /**
+     * The cells of the materialized chunks, indexed by chunk, or null for a chunk that has not been used yet.
+     */
+    private final AtomicReferenceArray<WorldCell[]> chunks;
+
+    /**
+     * The number of materialized chunks.
+     */
+    private final AtomicInteger materialized = new AtomicInteger(0);
+
+    /**
+     * Constructs a new board where every chunk is empty.
+     *
+     * @param size  The number of cells on each side of the board.
+     */
+    public ChunkedBoard(int size) {
+        if (size <= 0)
+            throw new IllegalArgumentException("Invalid board size: " + size);
+
+        this.size = size;
+        this.chunksPerSide = (size + CHUNK_MASK) >>> CHUNK_BITS;
+        this.chunks = new AtomicReferenceArray<>(chunksPerSide * chunksPerSide);
+    }
+
+    /**
+     * Returns the cell at the given coordinates, materializing its chunk if needed.
+     * Use it for every access that may change the cell.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @return  The cell at the coordinates.
+     */
+    public WorldCell get(int x, int y) {
+        int chunk = chunkIndex(x >>> CHUNK_BITS, y >>> CHUNK_BITS);
+        WorldCell[] cells = chunks.get(chunk);
+
+        if (cells == null)
+            cells = materialize(chunk, x >>> CHUNK_BITS, y >>> CHUNK_BITS);
+
+        return cells[((x & CHUNK_MASK) << CHUNK_BITS) | (y & CHUNK_MASK)];
+    }
+
+    /**
+     * Returns the cell at the given coordinates for reading only.
+     * A cell of a chunk that has not been materialized is returned as the shared empty default cell.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @return  The cell at the coordinates, or the shared empty cell.
+     */
+    public WorldCell peek(int x, int y) {
+        WorldCell[] cells = chunks.get(chunkIndex(x >>> CHUNK_BITS, y >>> CHUNK_BITS));
+
+        return cells == null ? EMPTY_CELL : cells[((x & CHUNK_MASK) << CHUNK_BITS) | (y & CHUNK_MASK)];
+    }
+
+    /**
+     * Returns the cells of a chunk, without materializing it.
+     * The cell at offset (i, j) within the chunk is at index {@code i * CHUNK_SIZE + j}.
+     *
+     * @param chunkX    The x-coordinate of the chunk.
+     * @param chunkY    The y-coordinate of the chunk.
+     * @return          The cells of the chunk, or null if the chunk has not been materialized.
+     */
+    public WorldCell[] getChunk(int chunkX, int chunkY) {
+        return chunks.get(chunkIndex(chunkX, chunkY));
+    }
+
+    /**
+     * Returns the water grid of a chunk, without materializing it.
+     * The water level of the cell at offset (i, j) within the chunk is at index {@code i * CHUNK_SIZE + j}.
+     *
+     * @param chunkX    The x-coordinate of the chunk.
+     * @param chunkY    The y-coordinate of the chunk.
+     * @return          The water grid of the chunk, or null if the chunk is outside the board or has not been materialized.
+     */
+    int[] getWater(int chunkX, int chunkY) {
+        if (chunkX < 0 || chunkY < 0 || chunkX >= chunksPerSide || chunkY >= chunksPerSide)
+            return null;
+
+        WorldCell[] cells = chunks.get(chunkIndex(chunkX, chunkY));
+        return cells == null ? null : cells[0].getWaterGrid();
+    }
+
+    /**
+     * Returns the occupant counts of the blocks of a chunk kept for the {@link SpatialIndex}, without materializing it.
+     *
+     * @param chunkX    The x-coordinate of the chunk.
+     * @param chunkY    The y-coordinate of the chunk.
+     * @return          The counts of the chunk, or null if the chunk is outside the board or has not been materialized.
+     */
+    int[] getCounts(int chunkX, int chunkY) {
+        if (chunkX < 0 || chunkY < 0 || chunkX >= chunksPerSide || chunkY >= chunksPerSide)
+            return null;
+
+        WorldCell[] cells = chunks.get(chunkIndex(chunkX, chunkY));
+        return cells == null ? null : cells[0].getCounts();
+    }
+
+    /**
+     * Returns the free-capacity bitmaps of a chunk kept for {@link FreeCells}, without materializing it.
+     * The bit of the cell at offset (i, j) within the chunk is bit j of word i of each bitmap.
+     *
+     * @param chunkX    The x-coordinate of the chunk.
+     * @param chunkY    The y-coordinate of the chunk.
+     * @return          The bitmaps of the chunk, the one for plants followed by the one for animals,
+     *                  or null if the chunk has not been materialized.
+     */
+    long[] getFreeBitmaps(int chunkX, int chunkY) {
+        WorldCell[] cells = chunks.get(chunkIndex(chunkX, chunkY));
+        return cells == null ? null : cells[0].getFreeBitmaps();
+    }
+
+    /**
+     * Adds water to every cell of a rectangle of the board, materializing the chunks it covers.
+     * The rectangle is applied chunk by chunk, as runs of consecutive cells of the chunk's water grid,
+     * and the cells that overflow are flooded in the same pass.
+     * The rectangle must lie within the board.
+     *
+     * @param x             The x-coordinate of the upper left cell of the rectangle.
+     * @param y             The y-coordinate of the upper left cell of the rectangle.
+     * @param width         The number of cells of the rectangle along the x-axis.
+     * @param height        The number of cells of the rectangle along the y-axis.
+     * @param waterQuantity The quantity of water to add to every cell.
+     */
+    public void rain(int x, int y, int width, int height, int waterQuantity) {
+        int toX = x + width;
+        int toY = y + height;
+
+        for (int chunkX = x >>> CHUNK_BITS; chunkX <= (toX - 1) >>> CHUNK_BITS; ++chunkX)
+            for (int chunkY = y >>> CHUNK_BITS; chunkY <= (toY - 1) >>> CHUNK_BITS; ++chunkY) {
+                int chunk = chunkIndex(chunkX, chunkY);
+                WorldCell[] cells = chunks.get(chunk);
+
+                if (cells == null)
+                    cells = materialize(chunk, chunkX, chunkY);
+
+                int fromJ = Math.max(y, chunkY << CHUNK_BITS) & CHUNK_MASK;
+                int toJ = ((Math.min(toY, (chunkY + 1) << CHUNK_BITS) - 1) & CHUNK_MASK) + 1;
+                int fromI = Math.max(x, chunkX << CHUNK_BITS) & CHUNK_MASK;
+                int toI = ((Math.min(toX, (chunkX + 1) << CHUNK_BITS) - 1) & CHUNK_MASK) + 1;
+
+                for (int i = fromI; i < toI; ++i)
+                    WorldCell.rain(cells, (i << CHUNK_BITS) + fromJ, (i << CHUNK_BITS) + toJ, waterQuantity);
+            }
+    }
+
+    /**
+     * Creates the cells of a chunk, unless another thread got there first.
+     *
+     * @param chunk     The index of the chunk.
+     * @param chunkX    The x-coordinate of the chunk.
+     * @param chunkY    The y-coordinate of the chunk.
+     * @return          The cells of the chunk.
+     */
+    private WorldCell[] materialize(int chunk, int chunkX, int chunkY) {
+        WorldCell[] cells = new WorldCell[CHUNK_SIZE * CHUNK_SIZE];
+        int[] water = WorldCell.newWaterGrid(CHUNK_SIZE * CHUNK_SIZE);
+        int[] counts = new int[SpatialIndex.COUNTS];
+        long[] free = WorldCell.newFreeBitmaps(CHUNK_SIZE * CHUNK_SIZE);
+        int x0 = chunkX << CHUNK_BITS;
+        int y0 = chunkY << CHUNK_BITS;
+
+        for (int i = 0; i < CHUNK_SIZE; ++i)
+            for (int j = 0; j < CHUNK_SIZE; ++j)
+                cells[(i << CHUNK_BITS) | j] = new WorldCell(x0 + i, y0 + j, water, (i << CHUNK_BITS) | j,
+                        counts, SpatialIndex.block(i, j), free);
+
+        if (chunks.compareAndSet(chunk, null, cells)) {
+            materialized.incrementAndGet();
+            return cells;
+        }
+
+        return chunks.get(chunk);
+    }
+
+    /**
+     * Returns the index of a chunk in the chunk directory.
+     *
+     * @param chunkX    The x-coordinate of the chunk.
+     * @param chunkY    The y-coordinate of the chunk.
+     * @return          The index of the chunk.
+     */
+    private int chunkIndex(int chunkX, int chunkY) {
+        return chunkX * chunksPerSide + chunkY;
+    }
+
+    /**
+     * Returns the number of cells on each side of the board.
+     *
+     * @return  The size of the board.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of chunks on each side of the board.
+     *
+     * @return  The number of chunks per side.
+     */
+    public int getChunksPerSide() {
+        return chunksPerSide;
+    }
+
+    /**
+     * Returns the number of chunks that have been materialized.
+     *
+     * @return  The number of materialized chunks.
+     */
+    public int getMaterializedChunks() {
+        return materialized.get();
+    }
+}
@@ -2,12 +2,13 @@ package oop.evolution;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 
 /**
- *  A interface that provides a method to load properties from a specified file path.
+ *  A interface that provides methods to load properties from a file or from the classpath.
  */
 public interface Customizable {
      /**
@@ -18,22 +19,93 @@ public interface Customizable {
      * @return                  The hashmap containing the properties loaded from the file.
      */
     static HashMap<String, Integer> loadProperties(String propertiesPath) {
+        try (FileInputStream inputStream = new FileInputStream(propertiesPath)) {
+            return parse(inputStream);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        return new HashMap<>();
+    }
+
+    /**
+     * Loads properties from a classpath resource and returns them as a {@code HashMap<String, Integer>}.
+     * If the resource is not on the classpath, the file of the same name under 'src/main/resources' is used.
+     * A system property named {@code evolution.<file>.<KEY>}, with the name of the file without its extension,
+     * replaces or adds the value of the key, e.g. {@code -Devolution.world.BOARD_SIZE=1024} in 'world.properties'.
+     *
+     * @param resourceName              The absolute name of the resource, e.g. {@code /world.properties}.
+     * @return                          The hashmap containing the properties loaded from the resource.
+     * @throws IllegalStateException    If the resource cannot be found or read.
+     * @throws IllegalArgumentException If a value is not an integer.
+     */
+    static HashMap<String, Integer> loadResource(String resourceName) {
+        HashMap<String, Integer> result = readResource(resourceName);
+        String fileName = resourceName.substring(resourceName.lastIndexOf('/') + 1);
+        String prefix = "evolution." + fileName.substring(0, fileName.lastIndexOf('.') < 0
+                ? fileName.length() : fileName.lastIndexOf('.')) + ".";
+
+        for (String name : System.getProperties().stringPropertyNames())
+            if (name.startsWith(prefix)) {
+                String key = name.substring(prefix.length());
+                String value = System.getProperty(name).trim();
+
+                try {
+                    result.put(key, Integer.parseInt(value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Property " + name + " is not an integer: " + value, e);
+                }
+            }
+
+        return result;
+    }
+
+    /**
+     * Reads a properties resource from the classpath, or from 'src/main/resources' if it is not on the classpath.
+     *
+     * @param resourceName              The absolute name of the resource.
+     * @return                          The hashmap containing the properties of the resource.
+     * @throws IllegalStateException    If the resource cannot be found or read.
+     */
+    private static HashMap<String, Integer> readResource(String resourceName) {
+        try (InputStream inputStream = Customizable.class.getResourceAsStream(resourceName)) {
+            if (inputStream != null)
+                return parse(inputStream);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read configuration: " + resourceName, e);
+        }
+
+        try (FileInputStream inputStream = new FileInputStream("src/main/resources" + resourceName)) {
+            return parse(inputStream);
+        } catch (IOException e) {
+            throw new IllegalStateException("Missing configuration: " + resourceName, e);
+        }
+    }
+
+    /**
+     * Parses a properties stream whose values are integers.
+     *
+     * @param inputStream               The stream to parse.
+     * @return                          The hashmap containing the parsed properties.
+     * @throws IOException              If the stream cannot be read.
+     * @throws IllegalArgumentException If a value is not an integer.
+     */
+    private static HashMap<String, Integer> parse(InputStream inputStream) throws IOException {
         HashMap<String, Integer> result = new HashMap<>();
         Properties properties = new Properties();
+        properties.load(inputStream);
 
-        try (FileInputStream inputStream = new FileInputStream(propertiesPath)) {
-            properties.load(inputStream);
-            
-            for (Map.Entry<Object, Object> entry : properties.entrySet()) {
-                String key = (String) entry.getKey();
-                String value = (String) entry.getValue();
+        for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+            String key = (String) entry.getKey();
+            String value = ((String) entry.getValue()).trim();
 
+            try {
                 result.put(key, Integer.parseInt(value));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Property " + key + " is not an integer: " + value, e);
             }
-        } catch (IOException e) {
-            e.printStackTrace();
         }
 
         return result;
     }
-}
\ No newline at end of file
+}
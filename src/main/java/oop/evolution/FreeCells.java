@@ -0,0 +1,158 @@
+package oop.evolution;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.SplittableRandom;
+
+/**
+ * A snapshot of the cells of a board that have a free plant slot or a free animal slot, to draw uniformly
+ * random free cells from without retrying full ones.
+ * <p>
+ * Every chunk keeps a bitmap per kind of slot, updated by its cells whenever they fill up or free a slot.
+ * The snapshot copies those bitmaps, one word per row of a chunk, and counts the free cells of every word
+ * in a Fenwick tree, so a cell is drawn and a cell that filled up is dropped in logarithmic time.
+ * A chunk that has not been materialized is empty and has room in every cell.
+ * The snapshot does not follow later changes of the board; cells freed meanwhile are simply not drawn.
+ */
+final class FreeCells {
+    /**
+     * Atomic access to the words of the free-capacity bitmaps.
+     */
+    private static final VarHandle FREE = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /**
+     * The number of chunks on each side of the board.
+     */
+    private final int chunksPerSide;
+
+    /**
+     * The bits of the free cells. Word {@code chunk * CHUNK_SIZE + i} holds the row i of a chunk,
+     * where chunks are indexed like in {@link ChunkedBoard}.
+     */
+    private final long[] words;
+
+    /**
+     * The Fenwick tree of the number of free cells of the words, indexed from 1.
+     */
+    private final int[] tree;
+
+    /**
+     * The number of free cells left in the snapshot.
+     */
+    private int total = 0;
+
+    /**
+     * Takes a snapshot of the cells of a board with a free slot of the given kind.
+     *
+     * @param board     The board.
+     * @param plants    True for the cells with room for a plant, false for the cells with room for an animal.
+     */
+    FreeCells(ChunkedBoard board, boolean plants) {
+        int size = board.size();
+        this.chunksPerSide = board.getChunksPerSide();
+        this.words = new long[chunksPerSide * chunksPerSide * ChunkedBoard.CHUNK_SIZE];
+        this.tree = new int[words.length + 1];
+
+        for (int chunkX = 0; chunkX < chunksPerSide; ++chunkX)
+            for (int chunkY = 0; chunkY < chunksPerSide; ++chunkY) {
+                long[] free = board.getFreeBitmaps(chunkX, chunkY);
+                int offset = plants || free == null ? 0 : free.length >>> 1;
+                int rows = Math.min(ChunkedBoard.CHUNK_SIZE, size - (chunkX << ChunkedBoard.CHUNK_BITS));
+                int columns = Math.min(ChunkedBoard.CHUNK_SIZE, size - (chunkY << ChunkedBoard.CHUNK_BITS));
+                long mask = columns == Long.SIZE ? -1L : (1L << columns) - 1;
+                int base = (chunkX * chunksPerSide + chunkY) << ChunkedBoard.CHUNK_BITS;
+
+                for (int i = 0; i < rows; ++i)
+                    words[base + i] = mask & (free == null ? -1L : (long) FREE.getVolatile(free, offset + i));
+            }
+
+        for (int word = 0; word < words.length; ++word) {
+            int node = word + 1;
+            tree[node] += Long.bitCount(words[word]);
+            total += Long.bitCount(words[word]);
+
+            int parent = node + (node & -node);
+            if (parent < tree.length)
+                tree[parent] += tree[node];
+        }
+    }
+
+    /**
+     * Draws a uniformly random cell among the free cells left in the snapshot. The cell stays in the snapshot.
+     *
+     * @param random    The random stream to draw from.
+     * @return          The drawn cell, to pass to {@link #x} and {@link #y}, or -1 if no free cell is left.
+     */
+    int draw(SplittableRandom random) {
+        if (total == 0)
+            return -1;
+
+        int rank = random.nextInt(total);
+        int word = 0;
+
+        for (int step = Integer.highestOneBit(words.length); step > 0; step >>>= 1)
+            if (word + step < tree.length && tree[word + step] <= rank) {
+                word += step;
+                rank -= tree[word];
+            }
+
+        long bits = words[word];
+        for (; rank > 0; --rank)
+            bits &= bits - 1;
+
+        return (word << ChunkedBoard.CHUNK_BITS) | Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Drops a cell that has no free slot anymore from the snapshot.
+     *
+     * @param cell  The cell, as returned by {@link #draw}.
+     */
+    void remove(int cell) {
+        int word = cell >>> ChunkedBoard.CHUNK_BITS;
+        long bit = 1L << cell;
+
+        if ((words[word] & bit) == 0)
+            return;
+
+        words[word] &= ~bit;
+        --total;
+
+        for (int node = word + 1; node < tree.length; node += node & -node)
+            --tree[node];
+    }
+
+    /**
+     * Returns the x-coordinate of a cell.
+     *
+     * @param cell  The cell, as returned by {@link #draw}.
+     * @return      The x-coordinate of the cell.
+     */
+    int x(int cell) {
+        int word = cell >>> ChunkedBoard.CHUNK_BITS;
+        int chunkX = (word >>> ChunkedBoard.CHUNK_BITS) / chunksPerSide;
+
+        return (chunkX << ChunkedBoard.CHUNK_BITS) | (word & (ChunkedBoard.CHUNK_SIZE - 1));
+    }
+
+    /**
+     * Returns the y-coordinate of a cell.
+     *
+     * @param cell  The cell, as returned by {@link #draw}.
+     * @return      The y-coordinate of the cell.
+     */
+    int y(int cell) {
+        int chunkY = (cell >>> (2 * ChunkedBoard.CHUNK_BITS)) % chunksPerSide;
+
+        return (chunkY << ChunkedBoard.CHUNK_BITS) | (cell & (ChunkedBoard.CHUNK_SIZE - 1));
+    }
+
+    /**
+     * Returns the number of free cells left in the snapshot.
+     *
+     * @return  The number of free cells.
+     */
+    int size() {
+        return total;
+    }
+}
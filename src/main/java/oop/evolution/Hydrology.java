@@ -0,0 +1,273 @@
+package oop.evolution;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import oop.evolution.config.HydrologyConfig;
+
+import static oop.evolution.ChunkedBoard.CHUNK_BITS;
+import static oop.evolution.ChunkedBoard.CHUNK_SIZE;
+
+/**
+ * Spreads water between neighbouring cells and evaporates it, once per world step.
+ * <p>
+ * Every cell evens out a fixed share of the difference with each of its four neighbours (a 5-point stencil)
+ * and then loses a fixed share of its water. Rates are applied in 16-bit fixed point. The flow between two cells
+ * is rounded symmetrically, so diffusion moves water around without creating or destroying any.
+ * The board edges and the chunks that have not been materialized do not exchange water:
+ * a missing neighbour is read as the cell itself, so no water leaks out of the used part of the world.
+ * <p>
+ * A step has two phases running the chunks in parallel on a {@link ForkJoinPool}. The first phase copies
+ * each chunk together with the four neighbours of every cell, each at the index of the cell, and computes
+ * the change of every cell in branch-free loops over primitive arrays. Reading every array at the same index
+ * lets the JIT compile the loops to SIMD instructions, which it does not do for shifted reads.
+ * The second phase adds the changes to the water grids atomically, so rain and plants drinking
+ * during the step are never overwritten.
+ */
+public final class Hydrology {
+    /**
+     * The number of fractional bits of the fixed-point rates.
+     */
+    private static final int SHIFT = 16;
+
+    /**
+     * Just under one half in fixed point, added before shifting to round to the nearest integer.
+     */
+    private static final int HALF = (1 << (SHIFT - 1)) - 1;
+
+    /**
+     * The number of cells of a chunk.
+     */
+    private static final int CELLS = CHUNK_SIZE * CHUNK_SIZE;
+
+    /**
+     * The number of chunks handled by one task.
+     */
+    private static final int CHUNKS_PER_TASK = 4;
+
+    /**
+     * The buffers of each worker: the water levels of a chunk, then the levels of the neighbour
+     * before and after each cell along x and along y, all at the index of the cell.
+     */
+    private static final ThreadLocal<int[][]> SCRATCH = ThreadLocal.withInitial(() -> new int[5][CELLS]);
+
+    /**
+     * The board whose water is spread.
+     */
+    private final ChunkedBoard board;
+
+    /**
+     * The share of the difference with its neighbours a cell evens out per step, in fixed point.
+     */
+    private final int diffusion;
+
+    /**
+     * The share of its water a cell loses per step, in fixed point.
+     */
+    private final int evaporation;
+
+    /**
+     * The pool running the chunks.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The change of every water level computed by the first phase, per chunk,
+     * or null for a chunk that was not materialized when it was last computed.
+     */
+    private final int[][] deltas;
+
+    /**
+     * Constructs a new hydrology for the given board.
+     *
+     * @param board             The board whose water is spread.
+     * @param diffusionRate     The percentage of the difference with its neighbours a cell evens out per step, at most 25.
+     * @param evaporationRate   The percentage of its water a cell loses per step.
+     * @param pool              The pool running the chunks.
+     */
+    public Hydrology(ChunkedBoard board, int diffusionRate, int evaporationRate, ForkJoinPool pool) {
+        if (diffusionRate < 0 || diffusionRate > HydrologyConfig.MAX_DIFFUSION_RATE)
+            throw new IllegalArgumentException("Invalid diffusion rate: " + diffusionRate);
+        if (evaporationRate < 0 || evaporationRate > 100)
+            throw new IllegalArgumentException("Invalid evaporation rate: " + evaporationRate);
+
+        this.board = board;
+        this.diffusion = (diffusionRate << SHIFT) / 100;
+        this.evaporation = (evaporationRate << SHIFT) / 100;
+        this.pool = pool;
+        this.deltas = new int[board.getChunksPerSide() * board.getChunksPerSide()][];
+    }
+
+    /**
+     * Spreads and evaporates the water of every materialized chunk once.
+     */
+    public void step() {
+        pool.invoke(new Phase(0, deltas.length, false));
+        pool.invoke(new Phase(0, deltas.length, true));
+    }
+
+    /**
+     * Computes the change of every water level of a chunk.
+     *
+     * @param chunk The index of the chunk.
+     */
+    private void compute(int chunk) {
+        int chunkX = chunk / board.getChunksPerSide();
+        int chunkY = chunk % board.getChunksPerSide();
+        int[] water = board.getWater(chunkX, chunkY);
+
+        if (water == null)
+            return;
+
+        int[] delta = deltas[chunk];
+        if (delta == null)
+            delta = deltas[chunk] = new int[CELLS];
+
+        int[][] scratch = SCRATCH.get();
+        int[] level = scratch[0];
+        int[] previousX = scratch[1];
+        int[] nextX = scratch[2];
+        int[] previousY = scratch[3];
+        int[] nextY = scratch[4];
+
+        int rows = Math.min(CHUNK_SIZE, board.size() - (chunkX << CHUNK_BITS));
+        int columns = Math.min(CHUNK_SIZE, board.size() - (chunkY << CHUNK_BITS));
+
+        System.arraycopy(water, 0, level, 0, CELLS);
+        copyNeighbours(chunkX, chunkY, level, rows, columns, scratch);
+
+        for (int k = 0; k < CELLS; ++k)
+            delta[k] = level[k] + scale(previousX[k] - level[k], diffusion) + scale(nextX[k] - level[k], diffusion);
+
+        for (int k = 0; k < CELLS; ++k)
+            delta[k] += scale(previousY[k] - level[k], diffusion) + scale(nextY[k] - level[k], diffusion);
+
+        for (int k = 0; k < CELLS; ++k) {
+            int evaporated = delta[k] - scale(delta[k], evaporation);
+            delta[k] = (evaporated & ~(evaporated >> 31)) - level[k];
+        }
+
+        if (rows < CHUNK_SIZE)
+            Arrays.fill(delta, rows << CHUNK_BITS, CELLS, 0);
+        if (columns < CHUNK_SIZE)
+            for (int i = 0; i < rows; ++i)
+                Arrays.fill(delta, (i << CHUNK_BITS) + columns, (i + 1) << CHUNK_BITS, 0);
+    }
+
+    /**
+     * Multiplies a value by a fixed-point rate and rounds the result to the nearest integer, halves toward zero.
+     * Scaling the negated value gives exactly the negated result, so the water one cell gives to a neighbour
+     * is always the water the neighbour receives.
+     *
+     * @param value The value to scale.
+     * @param rate  The rate in fixed point.
+     * @return      The rounded product.
+     */
+    private static int scale(int value, int rate) {
+        int product = value * rate;
+        return (product + HALF + (product >>> 31)) >> SHIFT;
+    }
+
+    /**
+     * Fills, for every cell of a chunk, the water level of each of its four neighbours, at the index of the cell.
+     * The neighbours across the edge of the chunk are taken from the neighbouring chunks.
+     * Where there is no neighbour, the cell itself is used, so the cell exchanges no water on that side.
+     *
+     * @param chunkX    The x-coordinate of the chunk.
+     * @param chunkY    The y-coordinate of the chunk.
+     * @param level     The copy of the water levels of the chunk.
+     * @param rows      The number of x-coordinates of the chunk within the board.
+     * @param columns   The number of y-coordinates of the chunk within the board.
+     * @param scratch   The buffers of the worker, filled from index 1 on.
+     */
+    private void copyNeighbours(int chunkX, int chunkY, int[] level, int rows, int columns, int[][] scratch) {
+        int[] previousX = scratch[1];
+        int[] nextX = scratch[2];
+        int[] previousY = scratch[3];
+        int[] nextY = scratch[4];
+
+        int[] previousChunkX = board.getWater(chunkX - 1, chunkY);
+        int[] nextChunkX = rows == CHUNK_SIZE ? board.getWater(chunkX + 1, chunkY) : null;
+        int[] previousChunkY = board.getWater(chunkX, chunkY - 1);
+        int[] nextChunkY = columns == CHUNK_SIZE ? board.getWater(chunkX, chunkY + 1) : null;
+
+        int last = (rows - 1) << CHUNK_BITS;
+
+        System.arraycopy(level, 0, previousX, CHUNK_SIZE, CELLS - CHUNK_SIZE);
+        System.arraycopy(previousChunkX != null ? previousChunkX : level, previousChunkX != null ? CELLS - CHUNK_SIZE : 0,
+                previousX, 0, CHUNK_SIZE);
+
+        System.arraycopy(level, CHUNK_SIZE, nextX, 0, CELLS - CHUNK_SIZE);
+        System.arraycopy(nextChunkX != null ? nextChunkX : level, nextChunkX != null ? 0 : last, nextX, last, CHUNK_SIZE);
+
+        System.arraycopy(level, 0, previousY, 1, CELLS - 1);
+        System.arraycopy(level, 1, nextY, 0, CELLS - 1);
+
+        for (int i = 0; i < rows; ++i) {
+            int first = i << CHUNK_BITS;
+            int end = first + columns - 1;
+
+            previousY[first] = previousChunkY != null ? previousChunkY[first + CHUNK_SIZE - 1] : level[first];
+            nextY[end] = nextChunkY != null ? nextChunkY[first] : level[end];
+        }
+    }
+
+    /**
+     * Adds the changes computed for a chunk to its water grid.
+     *
+     * @param chunk The index of the chunk.
+     */
+    private void apply(int chunk) {
+        int[] delta = deltas[chunk];
+
+        if (delta != null)
+            WorldCell.addWater(board.getWater(chunk / board.getChunksPerSide(), chunk % board.getChunksPerSide()), delta);
+    }
+
+    /**
+     * One phase of a step, splitting the chunks in halves until a few chunks are left.
+     */
+    private final class Phase extends RecursiveAction {
+        /**
+         * The serialization version of the task, which is never serialized but inherits Serializable.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The first chunk of this task.
+         */
+        private final int from;
+
+        /**
+         * The chunk after the last chunk of this task.
+         */
+        private final int to;
+
+        /**
+         * True for the phase applying the changes, false for the phase computing them.
+         */
+        private final boolean apply;
+
+        Phase(int from, int to, boolean apply) {
+            this.from = from;
+            this.to = to;
+            this.apply = apply;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNKS_PER_TASK) {
+                for (int chunk = from; chunk < to; ++chunk)
+                    if (apply)
+                        apply(chunk);
+                    else
+                        Hydrology.this.compute(chunk);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new Phase(from, middle, apply), new Phase(middle, to, apply));
+        }
+    }
+}
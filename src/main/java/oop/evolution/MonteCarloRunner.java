@@ -0,0 +1,175 @@
+package oop.evolution;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import oop.evolution.creatures.Species;
+
+/**
+ * Runs many independent worlds at once for statistical studies and collects their final populations.
+ * <p>
+ * Every run is a {@link World} of its own, with a seed drawn from the base seed, and runs on a worker of
+ * a work-stealing {@link ForkJoinPool} through {@link World#runFor}, so the number of threads does not depend
+ * on the number of runs. The runs share no state, so the same base seed gives the same results whatever the
+ * parallelism. The worlds must use the scheduled execution mode.
+ */
+public final class MonteCarloRunner {
+    /**
+     * The pool running the worlds.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a runner with its own pool.
+     *
+     * @param parallelism   The number of worlds run at the same time.
+     */
+    public MonteCarloRunner(int parallelism) {
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Invalid parallelism: " + parallelism);
+
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Runs independent worlds for the same simulated time and returns their final populations.
+     *
+     * @param runs              The number of worlds to run.
+     * @param baseSeed          The seed the seeds of the worlds are drawn from.
+     * @param simulatedMillis   The simulated time every world runs for, in milliseconds.
+     * @return                  The result of every run, in the order of their seeds.
+     */
+    public List<Result> run(int runs, long baseSeed, long simulatedMillis) {
+        if (runs < 0 || simulatedMillis < 0)
+            throw new IllegalArgumentException("Invalid Monte Carlo run: " + runs + " runs of " + simulatedMillis
+                    + " ms");
+
+        SplittableRandom seeds = new SplittableRandom(baseSeed);
+        long[] worldSeeds = new long[runs];
+        for (int i = 0; i < runs; ++i)
+            worldSeeds[i] = seeds.nextLong();
+
+        Result[] results = new Result[runs];
+        pool.invoke(new Batch(worldSeeds, simulatedMillis, results, 0, runs));
+
+        return List.of(results);
+    }
+
+    /**
+     * Stops the pool of the runner.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Creates a world, runs it and counts its population.
+     *
+     * @param seed              The seed of the world.
+     * @param simulatedMillis   The simulated time to run the world for.
+     * @return                  The result of the run.
+     */
+    private static Result runWorld(long seed, long simulatedMillis) {
+        World world = new World(seed);
+        world.runFor(simulatedMillis);
+
+        int[][] snapshot = world.newCensusSnapshot();
+        world.copyCensus(snapshot);
+
+        int[] census = new int[Census.SIZE];
+        for (int index = 0; index < Census.SIZE; ++index)
+            census[index] = Arrays.stream(snapshot[index]).sum();
+
+        return new Result(seed, world.getClock().currentTimeMillis(), census);
+    }
+
+    /**
+     * The final population of one run.
+     *
+     * @param seed              The seed of the world.
+     * @param simulatedMillis   The simulated time the world ran for, in milliseconds.
+     * @param census            The number of creatures of every species and stage,
+     *                          laid out as described by {@link Census}.
+     */
+    public record Result(long seed, long simulatedMillis, int[] census) {
+        /**
+         * Returns the number of creatures of a species in a stage.
+         *
+         * @param species   The species.
+         * @param stage     The stage, {@link Census#CHILD} or {@link Census#ADULT}.
+         * @return          The number of creatures.
+         */
+        public int count(Species species, int stage) {
+            return census[Census.index(species, stage)];
+        }
+
+        /**
+         * Returns the number of creatures of a species in every stage.
+         *
+         * @param species   The species.
+         * @return          The number of creatures.
+         */
+        public int total(Species species) {
+            return count(species, Census.CHILD) + count(species, Census.ADULT);
+        }
+    }
+
+    /**
+     * A range of runs, split in halves until a single run is left, so idle workers steal the remaining halves.
+     */
+    private static final class Batch extends RecursiveAction {
+        /**
+         * The serialization version of the task, which is never serialized but inherits Serializable.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The seeds of all runs.
+         */
+        private final long[] seeds;
+
+        /**
+         * The simulated time every world runs for.
+         */
+        private final long simulatedMillis;
+
+        /**
+         * The results of all runs, filled by index.
+         */
+        private final Result[] results;
+
+        /**
+         * The first run of this task.
+         */
+        private final int from;
+
+        /**
+         * The run after the last run of this task.
+         */
+        private final int to;
+
+        Batch(long[] seeds, long simulatedMillis, Result[] results, int from, int to) {
+            this.seeds = seeds;
+            this.simulatedMillis = simulatedMillis;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int run = from; run < to; ++run)
+                    results[run] = runWorld(seeds[run], simulatedMillis);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new Batch(seeds, simulatedMillis, results, from, middle),
+                    new Batch(seeds, simulatedMillis, results, middle, to));
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package oop.evolution;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+
+import oop.evolution.creatures.Creature;
+import oop.evolution.creatures.Species;
+
+import static oop.evolution.ChunkedBoard.CHUNK_BITS;
+import static oop.evolution.ChunkedBoard.CHUNK_SIZE;
+
+/**
+ * Answers neighbourhood queries over a board, such as the nearest herbivore within a radius
+ * or all plants in a rectangle, without scanning the whole area.
+ * <p>
+ * The index is a three-level pyramid of occupant counts per species: the census of every cell,
+ * the total of every block of 8x8 cells and the total of every chunk. The cells of a chunk share
+ * one array holding the counts of its blocks and of the chunk, like they share their water grid, and a cell adds
+ * to the counts of its block and chunk whenever a creature is put into or taken out of one of its slots,
+ * so moves, births and deaths update the index in constant time.
+ * <p>
+ * A query walks the chunks and blocks overlapping its area and skips every one without a creature of the species,
+ * so its cost follows the number of occupied blocks near the area rather than the size of the area.
+ * The counts are updated without any lock, so a query running alongside moves sees every creature
+ * that stays put during the query; creatures moving meanwhile may be missed or seen twice.
+ */
+public final class SpatialIndex {
+    /**
+     * The number of bits of a coordinate within a chunk selecting the block of the cell.
+     */
+    static final int BLOCK_BITS = 3;
+
+    /**
+     * The number of blocks on each side of a chunk.
+     */
+    private static final int BLOCKS_PER_SIDE = CHUNK_SIZE >>> BLOCK_BITS;
+
+    /**
+     * The number of blocks of a chunk.
+     */
+    private static final int BLOCKS = BLOCKS_PER_SIDE * BLOCKS_PER_SIDE;
+
+    /**
+     * The number of counts per species in the array of a chunk: one per block and the total of the chunk.
+     */
+    private static final int STRIDE = BLOCKS + 1;
+
+    /**
+     * The species counted by the index.
+     */
+    private static final Species[] SPECIES = Species.values();
+
+    /**
+     * The length of the count array of a chunk.
+     */
+    static final int COUNTS = SPECIES.length * STRIDE;
+
+    /**
+     * Atomic access to the counts of a chunk.
+     */
+    private static final VarHandle COUNT = MethodHandles.arrayElementVarHandle(int[].class);
+
+    /**
+     * The board the index answers queries over.
+     */
+    private final ChunkedBoard board;
+
+    /**
+     * Constructs an index over a board. The counts themselves are kept by the cells of the board.
+     *
+     * @param board The board to query.
+     */
+    public SpatialIndex(ChunkedBoard board) {
+        this.board = board;
+    }
+
+    /**
+     * Returns the index of the block of a cell within its chunk.
+     *
+     * @param i The x-offset of the cell within its chunk.
+     * @param j The y-offset of the cell within its chunk.
+     * @return  The index of the block.
+     */
+    static int block(int i, int j) {
+        return ((i >>> BLOCK_BITS) * BLOCKS_PER_SIDE) + (j >>> BLOCK_BITS);
+    }
+
+    /**
+     * Adds to the counts of a block and of its chunk for one species. Called by the cells.
+     *
+     * @param counts    The count array of the chunk.
+     * @param block     The index of the block.
+     * @param species   The species of the creature added or removed.
+     * @param delta     1 for a creature added, -1 for a creature removed.
+     */
+    static void add(int[] counts, int block, Species species, int delta) {
+        int base = species.ordinal() * STRIDE;
+
+        COUNT.getAndAdd(counts, base + block, delta);
+        COUNT.getAndAdd(counts, base + BLOCKS, delta);
+    }
+
+    /**
+     * Returns one count of a chunk.
+     *
+     * @param counts    The count array of the chunk.
+     * @param species   The species.
+     * @param block     The index of the block, or {@link #BLOCKS} for the total of the chunk.
+     * @return          The number of creatures of the species.
+     */
+    private static int count(int[] counts, Species species, int block) {
+        return (int) COUNT.getAcquire(counts, species.ordinal() * STRIDE + block);
+    }
+
+    /**
+     * Returns the number of creatures of a species in a cell, summed over both stages.
+     *
+     * @param cell      The cell.
+     * @param species   The species.
+     * @return          The number of creatures of the species in the cell.
+     */
+    private static int count(WorldCell cell, Species species) {
+        return cell.getCensus(Census.index(species, Census.CHILD)) + cell.getCensus(Census.index(species, Census.ADULT));
+    }
+
+    /**
+     * Appends every creature of a species in a rectangle of the board to a list.
+     * The parts of the rectangle outside the board are ignored.
+     *
+     * @param species   The species to look for.
+     * @param x         The x-coordinate of the upper left cell of the rectangle.
+     * @param y         The y-coordinate of the upper left cell of the rectangle.
+     * @param width     The number of cells of the rectangle along the x-axis.
+     * @param height    The number of cells of the rectangle along the y-axis.
+     * @param found     The list to append the creatures to.
+     * @return          The number of creatures appended.
+     */
+    public int collect(Species species, int x, int y, int width, int height, List<Creature> found) {
+        int fromX = Math.max(0, x);
+        int fromY = Math.max(0, y);
+        int toX = Math.min(board.size(), x + width);
+        int toY = Math.min(board.size(), y + height);
+        int before = found.size();
+
+        for (int chunkX = fromX >>> CHUNK_BITS; fromX < toX && chunkX <= (toX - 1) >>> CHUNK_BITS; ++chunkX)
+            for (int chunkY = fromY >>> CHUNK_BITS; fromY < toY && chunkY <= (toY - 1) >>> CHUNK_BITS; ++chunkY) {
+                int[] counts = board.getCounts(chunkX, chunkY);
+                if (counts == null || count(counts, species, BLOCKS) == 0)
+                    continue;
+
+                int x0 = chunkX << CHUNK_BITS;
+                int y0 = chunkY << CHUNK_BITS;
+                int fromI = Math.max(fromX, x0) - x0;
+                int toI = Math.min(toX, x0 + CHUNK_SIZE) - x0;
+                int fromJ = Math.max(fromY, y0) - y0;
+                int toJ = Math.min(toY, y0 + CHUNK_SIZE) - y0;
+
+                for (int blockI = fromI >>> BLOCK_BITS; blockI <= (toI - 1) >>> BLOCK_BITS; ++blockI)
+                    for (int blockJ = fromJ >>> BLOCK_BITS; blockJ <= (toJ - 1) >>> BLOCK_BITS; ++blockJ) {
+                        if (count(counts, species, blockI * BLOCKS_PER_SIDE + blockJ) == 0)
+                            continue;
+
+                        int endI = Math.min(toI, (blockI + 1) << BLOCK_BITS);
+                        int endJ = Math.min(toJ, (blockJ + 1) << BLOCK_BITS);
+
+                        for (int i = Math.max(fromI, blockI << BLOCK_BITS); i < endI; ++i)
+                            for (int j = Math.max(fromJ, blockJ << BLOCK_BITS); j < endJ; ++j) {
+                                WorldCell cell = board.peek(x0 + i, y0 + j);
+                                if (count(cell, species) > 0)
+                                    cell.collect(species, found);
+                            }
+                    }
+            }
+
+        return found.size() - before;
+    }
+
+    /**
+     * Finds the creature of a species nearest to a cell, within a radius.
+     * Distances are Euclidean between cell coordinates; of two cells at the same distance,
+     * the one with the smaller x, then the smaller y, wins. The cell itself is included.
+     *
+     * @param species   The species to look for.
+     * @param x         The x-coordinate of the cell.
+     * @param y         The y-coordinate of the cell.
+     * @param radius    The largest distance of the creature, in cells.
+     * @return          The nearest creature, or null if there is none within the radius.
+     */
+    public Creature nearest(Species species, int x, int y, int radius) {
+        int fromX = Math.max(0, x - radius);
+        int fromY = Math.max(0, y - radius);
+        int toX = Math.min(board.size(), x + radius + 1);
+        int toY = Math.min(board.size(), y + radius + 1);
+
+        long best = (long) radius * radius + 1;
+        WorldCell nearest = null;
+
+        for (int chunkX = fromX >>> CHUNK_BITS; fromX < toX && chunkX <= (toX - 1) >>> CHUNK_BITS; ++chunkX)
+            for (int chunkY = fromY >>> CHUNK_BITS; fromY < toY && chunkY <= (toY - 1) >>> CHUNK_BITS; ++chunkY) {
+                int[] counts = board.getCounts(chunkX, chunkY);
+                if (counts == null || count(counts, species, BLOCKS) == 0)
+                    continue;
+
+                int x0 = chunkX << CHUNK_BITS;
+                int y0 = chunkY << CHUNK_BITS;
+                int fromI = Math.max(fromX, x0) - x0;
+                int toI = Math.min(toX, x0 + CHUNK_SIZE) - x0;
+                int fromJ = Math.max(fromY, y0) - y0;
+                int toJ = Math.min(toY, y0 + CHUNK_SIZE) - y0;
+
+                for (int blockI = fromI >>> BLOCK_BITS; blockI <= (toI - 1) >>> BLOCK_BITS; ++blockI)
+                    for (int blockJ = fromJ >>> BLOCK_BITS; blockJ <= (toJ - 1) >>> BLOCK_BITS; ++blockJ) {
+                        int startI = Math.max(fromI, blockI << BLOCK_BITS);
+                        int endI = Math.min(toI, (blockI + 1) << BLOCK_BITS);
+                        int startJ = Math.max(fromJ, blockJ << BLOCK_BITS);
+                        int endJ = Math.min(toJ, (blockJ + 1) << BLOCK_BITS);
+
+                        if (count(counts, species, blockI * BLOCKS_PER_SIDE + blockJ) == 0
+                                || distance(x - x0, startI, endI - 1, y - y0, startJ, endJ - 1) >= best)
+                            continue;
+
+                        for (int i = startI; i < endI; ++i)
+                            for (int j = startJ; j < endJ; ++j) {
+                                long dx = x0 + i - x;
+                                long dy = y0 + j - y;
+                                long squared = dx * dx + dy * dy;
+
+                                if (squared < best && count(board.peek(x0 + i, y0 + j), species) > 0) {
+                                    best = squared;
+                                    nearest = board.peek(x0 + i, y0 + j);
+                                }
+                            }
+                    }
+            }
+
+        if (nearest == null)
+            return null;
+
+        List<Creature> residents = new ArrayList<>(1);
+        nearest.collect(species, residents);
+        return residents.isEmpty() ? null : residents.get(0);
+    }
+
+    /**
+     * Returns the squared distance from a cell to the nearest cell of a rectangle.
+     *
+     * @param x     The x-coordinate of the cell.
+     * @param fromX The smallest x-coordinate of the rectangle.
+     * @param toX   The largest x-coordinate of the rectangle.
+     * @param y     The y-coordinate of the cell.
+     * @param fromY The smallest y-coordinate of the rectangle.
+     * @param toY   The largest y-coordinate of the rectangle.
+     * @return      The squared distance, 0 if the cell is in the rectangle.
+     */
+    private static long distance(int x, int fromX, int toX, int y, int fromY, int toY) {
+        long dx = x < fromX ? fromX - x : x > toX ? x - toX : 0;
+        long dy = y < fromY ? fromY - y : y > toY ? y - toY : 0;
+
+        return dx * dx + dy * dy;
+    }
+}
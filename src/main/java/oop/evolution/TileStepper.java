@@ -0,0 +1,331 @@
+package oop.evolution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import oop.evolution.creatures.Animal;
+import oop.evolution.creatures.AnimalType;
+import oop.evolution.creatures.Creature;
+
+/**
+ * Steps the animals of a board in parallel by splitting the board into square tiles.
+ * <p>
+ * A step has two phases, each running every tile as a task on a {@link ForkJoinPool}.
+ * In the first phase every tile moves each of its awake animals to a random neighbouring cell.
+ * Moves that stay inside the tile are applied right away. Moves crossing an edge are written
+ * to the boundary buffer of the neighbouring tile for that direction, which has exactly one writer.
+ * In the second phase every tile drains its boundary buffers and applies the crossings into its own cells.
+ * No lock is shared by the whole board, so the throughput grows with the number of cores.
+ * <p>
+ * Every tile draws its directions from its own random stream, split from the seed of the stepper,
+ * so the tiles never contend on a shared generator. With one worker a seed always gives the same moves;
+ * with more workers only the crossings into a full cell depend on which tile reconciles first.
+ */
+public class TileStepper {
+    /**
+     * The x offsets of the four directions an animal can move in.
+     */
+    private static final int[] DX = {-1, 0, 1, 0};
+
+    /**
+     * The y offsets of the four directions an animal can move in.
+     */
+    private static final int[] DY = {0, -1, 0, 1};
+
+    /**
+     * The pool running the tiles.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * The tiles of the board.
+     */
+    private final Tile[] tiles;
+
+    /**
+     * Constructs a new stepper for the given board, with a random seed.
+     *
+     * @param board     The board to step.
+     * @param tileSize  The number of cells on each side of a tile.
+     * @param pool      The pool running the tiles.
+     */
+    public TileStepper(ChunkedBoard board, int tileSize, ForkJoinPool pool) {
+        this(board, tileSize, pool, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructs a new stepper for the given board.
+     *
+     * @param board     The board to step.
+     * @param tileSize  The number of cells on each side of a tile.
+     * @param pool      The pool running the tiles.
+     * @param seed      The seed the random streams of the tiles are split from.
+     */
+    public TileStepper(ChunkedBoard board, int tileSize, ForkJoinPool pool, long seed) {
+        if (tileSize <= 0)
+            throw new IllegalArgumentException("Invalid tile size: " + tileSize);
+
+        this.pool = pool;
+
+        int size = board.size();
+        int tilesPerSide = (size + tileSize - 1) / tileSize;
+        Tile[][] grid = new Tile[tilesPerSide][tilesPerSide];
+        SplittableRandom random = new SplittableRandom(seed);
+
+        for (int i = 0; i < tilesPerSide; ++i)
+            for (int j = 0; j < tilesPerSide; ++j)
+                grid[i][j] = new Tile(board, i * tileSize, j * tileSize,
+                        Math.min(size, (i + 1) * tileSize), Math.min(size, (j + 1) * tileSize), random.split());
+
+        this.tiles = new Tile[tilesPerSide * tilesPerSide];
+
+        for (int i = 0; i < tilesPerSide; ++i)
+            for (int j = 0; j < tilesPerSide; ++j) {
+                Tile tile = grid[i][j];
+
+                for (int direction = 0; direction < 4; ++direction) {
+                    int ni = i + DX[direction];
+                    int nj = j + DY[direction];
+
+                    if (ni >= 0 && ni < tilesPerSide && nj >= 0 && nj < tilesPerSide)
+                        tile.neighbours[direction] = grid[ni][nj];
+                }
+
+                tiles[i * tilesPerSide + j] = tile;
+            }
+    }
+
+    /**
+     * Runs one step of the board.
+     *
+     * @return  The number of animals that moved to another cell.
+     */
+    public int step() {
+        pool.invoke(new Phase(tiles, 0, tiles.length, false));
+        pool.invoke(new Phase(tiles, 0, tiles.length, true));
+
+        int moves = 0;
+        for (Tile tile : tiles)
+            moves += tile.moves;
+
+        return moves;
+    }
+
+    /**
+     * Returns the number of tiles of the board.
+     *
+     * @return  The number of tiles.
+     */
+    public int getTileCount() {
+        return tiles.length;
+    }
+
+    /**
+     * One phase of a step, splitting the tiles in halves until a single tile is left.
+     */
+    private static final class Phase extends RecursiveAction {
+        /**
+         * The serialization version of the task, which is never serialized but inherits Serializable.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The tiles of the board.
+         */
+        private final Tile[] tiles;
+
+        /**
+         * The first tile of this task.
+         */
+        private final int from;
+
+        /**
+         * The tile after the last tile of this task.
+         */
+        private final int to;
+
+        /**
+         * True for the reconciliation phase, false for the move phase.
+         */
+        private final boolean reconcile;
+
+        Phase(Tile[] tiles, int from, int to, boolean reconcile) {
+            this.tiles = tiles;
+            this.from = from;
+            this.to = to;
+            this.reconcile = reconcile;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                if (reconcile)
+                    tiles[from].reconcile();
+                else
+                    tiles[from].move();
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new Phase(tiles, from, middle, reconcile), new Phase(tiles, middle, to, reconcile));
+        }
+    }
+
+    /**
+     * A rectangular part of the board, stepped by one task at a time.
+     */
+    private static final class Tile {
+        /**
+         * The board the tile is part of.
+         */
+        private final ChunkedBoard board;
+
+        /**
+         * The first x-coordinate of the tile.
+         */
+        private final int x0;
+
+        /**
+         * The first y-coordinate of the tile.
+         */
+        private final int y0;
+
+        /**
+         * The x-coordinate after the last cell of the tile.
+         */
+        private final int x1;
+
+        /**
+         * The y-coordinate after the last cell of the tile.
+         */
+        private final int y1;
+
+        /**
+         * The neighbouring tiles, indexed by direction, or null at the edge of the board.
+         */
+        private final Tile[] neighbours = new Tile[4];
+
+        /**
+         * The crossings into this tile, indexed by the direction they travel in.
+         * Each buffer is only written by the neighbour on the opposite side during the move phase.
+         */
+        private final BoundaryBuffer[] inbound = {
+            new BoundaryBuffer(), new BoundaryBuffer(), new BoundaryBuffer(), new BoundaryBuffer()
+        };
+
+        /**
+         * The animals found in the tile at the start of the step, reused between steps.
+         */
+        private final List<Creature> residents = new ArrayList<>();
+
+        /**
+         * The number of animals that moved into a cell of this tile during the last step.
+         */
+        private int moves;
+
+        /**
+         * The random stream of the tile, only used by the task running the tile.
+         */
+        private final SplittableRandom random;
+
+        Tile(ChunkedBoard board, int x0, int y0, int x1, int y1, SplittableRandom random) {
+            this.board = board;
+            this.random = random;
+            this.x0 = x0;
+            this.y0 = y0;
+            this.x1 = x1;
+            this.y1 = y1;
+        }
+
+        /**
+         * Moves every awake animal of the tile one cell in a random direction.
+         * The residents are collected first, so an animal moving further into the tile is not moved twice.
+         * Chunks of the board that have not been materialized hold no animals and are skipped.
+         */
+        void move() {
+            moves = 0;
+            residents.clear();
+
+            for (int chunkX = x0 >>> ChunkedBoard.CHUNK_BITS; chunkX <= (x1 - 1) >>> ChunkedBoard.CHUNK_BITS; ++chunkX)
+                for (int chunkY = y0 >>> ChunkedBoard.CHUNK_BITS; chunkY <= (y1 - 1) >>> ChunkedBoard.CHUNK_BITS; ++chunkY) {
+                    WorldCell[] cells = board.getChunk(chunkX, chunkY);
+                    if (cells == null)
+                        continue;
+
+                    int originX = chunkX << ChunkedBoard.CHUNK_BITS;
+                    int originY = chunkY << ChunkedBoard.CHUNK_BITS;
+
+                    for (int x = Math.max(x0, originX); x < Math.min(x1, originX + ChunkedBoard.CHUNK_SIZE); ++x)
+                        for (int y = Math.max(y0, originY); y < Math.min(y1, originY + ChunkedBoard.CHUNK_SIZE); ++y)
+                            cells[(x - originX) * ChunkedBoard.CHUNK_SIZE + y - originY].collectAnimals(residents);
+                }
+
+            for (Creature creature : residents) {
+                if (!(creature instanceof Animal animal) || (animal instanceof AnimalType type && !type.isActive()))
+                    continue;
+
+                WorldCell source = animal.getPosition();
+                if (source == null)
+                    continue;
+
+                int direction = random.nextInt(4);
+                int x = source.getX() + DX[direction];
+                int y = source.getY() + DY[direction];
+
+                if (x >= x0 && x < x1 && y >= y0 && y < y1) {
+                    if (animal.moveTo(board.get(x, y)))
+                        ++moves;
+                } else if (x >= 0 && x < board.size() && y >= 0 && y < board.size())
+                    neighbours[direction].inbound[direction].add(animal, board.get(x, y));
+            }
+
+            residents.clear();
+        }
+
+        /**
+         * Applies the crossings written to the boundary buffers of the tile during the move phase.
+         */
+        void reconcile() {
+            for (BoundaryBuffer buffer : inbound) {
+                for (int i = 0; i < buffer.size(); ++i)
+                    if (buffer.animals.get(i).moveTo(buffer.destinations.get(i)))
+                        ++moves;
+
+                buffer.clear();
+            }
+        }
+    }
+
+    /**
+     * The animals crossing into a tile from one side, with the cells they move to.
+     * The lists keep their capacity between steps.
+     */
+    private static final class BoundaryBuffer {
+        /**
+         * The crossing animals.
+         */
+        private final List<Animal> animals = new ArrayList<>();
+
+        /**
+         * The cells the animals move to.
+         */
+        private final List<WorldCell> destinations = new ArrayList<>();
+
+        void add(Animal animal, WorldCell destination) {
+            animals.add(animal);
+            destinations.add(destination);
+        }
+
+        int size() {
+            return animals.size();
+        }
+
+        void clear() {
+            animals.clear();
+            destinations.clear();
+        }
+    }
+}
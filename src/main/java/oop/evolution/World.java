@@ -1,35 +1,65 @@
 package oop.evolution;
 
+import java.awt.GraphicsEnvironment;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.SplittableRandom;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 import oop.evolution.creatures.Animal;
 import oop.evolution.creatures.Creator;
 import oop.evolution.creatures.Creature;
+import oop.evolution.creatures.CreatureKind;
+import oop.evolution.creatures.CreaturePool;
 import oop.evolution.creatures.Plant;
+import oop.evolution.creatures.PopulationStore;
+import oop.evolution.config.Config;
 import oop.evolution.draw.DrawWorld;
+import oop.evolution.draw.FrameRenderer;
+import oop.evolution.draw.PngSequenceRecorder;
 import oop.evolution.environment.DayAndNight;
 import oop.evolution.environment.Weather;
+import oop.evolution.journal.EventJournal;
+import oop.evolution.journal.EventType;
+import oop.evolution.metrics.Counter;
+import oop.evolution.metrics.MetricsRegistry;
+import oop.evolution.metrics.MetricsReporter;
+import oop.evolution.scheduler.ExecutionMode;
+import oop.evolution.scheduler.Scheduler;
+import oop.evolution.scheduler.SimulationClock;
+import oop.evolution.scheduler.ThreadClock;
+import oop.evolution.server.FrameStreamServer;
+import oop.evolution.server.StatusServer;
 
 /**
- * A class that represents a singleton world grid containing cells that can hold water.
- * The world is initialized based on properties loaded from a file.
+ * A class that represents a world grid containing cells that can hold water.
+ * The world is initialized based on properties loaded from a file. The shared world shown on screen is reached
+ * through {@link #getInstance()}; independent worlds for parallel runs are constructed with a seed.
+ * <p>
+ * Creatures, the weather and the creator may run on virtual threads, see {@link ExecutionMode}, so the state
+ * they reach from those threads takes no monitor: the population counts are atomic, and the random stream
+ * of the world and the last rain are guarded by {@link ReentrantLock}s, which a waiting virtual thread does not
+ * pin its carrier for. The remaining monitors, {@link #getInstance()} and the start of the activities,
+ * are only entered by the threads creating and starting the world.
  */
 public class World {
     /**
-     * The singleton instance of the World class.
+     * The shared instance of the World class.
      */
     private static World instance;
-    /**
-     * The properties loaded from the properties file.
-     */
-    private static final HashMap<String, Integer> PROPERTIES = Customizable.loadProperties("src/main/resources/world.properties");
-    
     /**
      * An instance of the DayAndNight class representing the day and night cycle.
      */
@@ -38,11 +68,34 @@ public class World {
      * An instance of the Weather class representing the weather cycle.
      */
     private final Weather weather;
+    /**
+     * The scheduler running the life processes of all creatures in the world.
+     */
+    private final Scheduler scheduler;
+    /**
+     * The clock running the world steps, the environment and the life processes: the scheduler in scheduled mode,
+     * otherwise a real-time clock giving every activity its own thread.
+     */
+    private final SimulationClock clock;
+    /**
+     * The store holding the characteristics of every creature in the world.
+     */
+    private final PopulationStore population = new PopulationStore();
+    /**
+     * The way the life processes and the environment runnables are executed, as specified by the properties.
+     */
+    private final ExecutionMode executionMode;
 
     /**
      * The last rain information stored in a concurrent hash map.
+     * Cleared when a frame is published, so it holds the last rain of the current epoch.
+     * Its three entries are written and read together under {@link #rainLock}.
      */
     private ConcurrentHashMap<String, Integer> lastRain = new ConcurrentHashMap<>();
+    /**
+     * The lock guarding the entries of {@link #lastRain} as a whole.
+     */
+    private final ReentrantLock rainLock = new ReentrantLock();
     /**
      * An instance of the DrawWorld class representing the drawing tool.
      */
@@ -52,75 +105,664 @@ public class World {
      */
     private AtomicInteger plantNumber = new AtomicInteger(0);
     /**
-     * The number of animals in the world.
+     * The number of animals in the world. It is only raised by a compare-and-set below the limit,
+     * see {@link #addWorldAnimal}.
      */
-    private final AtomicInteger creatureNumber = new AtomicInteger(0);
+    private final AtomicInteger animalNumber = new AtomicInteger(0);
 
     /**
-     * The list of all animals that in the world.
+     * The pool recycling the creatures of the world once they die.
      */
-    private final List<Creature> animals = Collections.synchronizedList(new LinkedList<>());
+    private final CreaturePool creaturePool = new CreaturePool(this);
+
+    /**
+     * The seed of the world. The shared world takes it from the properties, or picks it at startup when it is 0.
+     */
+    private final long seed;
+
+    /**
+     * The stream every other random stream of the world is split from. Guarded by {@link #randomLock}.
+     * It is replaced by a stream seeded from itself at every checkpoint, so a restored world continues
+     * with the same stream as the world the checkpoint was taken from.
+     */
+    private SplittableRandom random;
+
+    /**
+     * The lock guarding {@link #random}.
+     */
+    private final ReentrantLock randomLock = new ReentrantLock();
 
     /**
      * The size of the board, as specified by the properties.
      */
-    private static final int BOARD_SIZE = PROPERTIES.get("BOARD_SIZE");
+    private static final int BOARD_SIZE = Config.WORLD.boardSize();
     /**
-     * The 2D array representing the cells in the world.
+     * The cells in the world. Only the chunks where something lives or rain has fallen are allocated.
      */
-    private final WorldCell[][] board = new WorldCell[BOARD_SIZE][BOARD_SIZE];
+    private final ChunkedBoard board = new ChunkedBoard(BOARD_SIZE);
 
-    {
-        for (int i = 0; i < BOARD_SIZE; ++i)
-            for (int j = 0; j < BOARD_SIZE; ++j)
-                board[i][j] = new WorldCell(i, j);
-    }
+    /**
+     * The index answering neighbourhood queries over the board.
+     */
+    private final SpatialIndex spatialIndex = new SpatialIndex(board);
+
+    /**
+     * The stepper moving the animals of the board tile by tile.
+     */
+    private final TileStepper stepper;
+
+    /**
+     * The hydrology spreading and evaporating the water of the board after every step.
+     */
+    private final Hydrology hydrology = new Hydrology(board, Config.HYDROLOGY.diffusionRate(),
+            Config.HYDROLOGY.evaporationRate(), ForkJoinPool.commonPool());
+
+    /**
+     * The two frames the world publishes in turn, allocated when a reader first asks for a frame.
+     * Guarded by the step lock.
+     */
+    private WorldFrame[] frames;
+
+    /**
+     * The listeners called with every published frame.
+     */
+    private final List<Consumer<WorldFrame>> frameListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * The latest published frame, or null while no reader has asked for one.
+     */
+    private volatile WorldFrame currentFrame;
+
+    /**
+     * The number of steps run so far, incremented at the end of every step whether or not frames are published.
+     * Written under the step lock or by a restore before the world starts, and read without the lock
+     * as the time of the journal records.
+     */
+    private volatile long epoch = 0;
+
+    /**
+     * The journal recording the events of the run, or the disabled journal.
+     */
+    private final EventJournal journal;
 
     /**
-     * Private constructor to prevent instantiation.
+     * The metrics of the run, or the disabled registry.
+     */
+    private final MetricsRegistry metrics;
+
+    /**
+     * The lock held for the whole of every step, so a checkpoint is never taken in the middle of one.
+     * Frames are published under it, so readers of frames never take it.
+     */
+    private final ReentrantLock stepLock = new ReentrantLock();
+
+    /**
+     * The thread writing the checkpoints in the background.
+     */
+    private final ExecutorService checkpointWriter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "checkpoint-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Flag indicating whether the steps, the weather, the time and the creator have been put on the clock.
+     */
+    private boolean started = false;
+
+    /**
+     * Constructs the shared world returned by {@link #getInstance()}, seeded from the properties.
      */
     private World() {
-        this.time = new DayAndNight();
-        this.weather = new Weather();
+        this(Config.WORLD.seed() != 0 ? Config.WORLD.seed() : new SplittableRandom().nextLong(), true,
+                Config.JOURNAL.enabled() ? Path.of(System.getProperty(JOURNAL_DIRECTORY_PROPERTY, "journal")) : null);
+    }
+
+    /**
+     * Constructs an independent world with the given seed. Many worlds can live in one JVM at once:
+     * creatures are created in a world by passing it to their constructors, and {@link #runFor} runs a world
+     * on the calling thread. An independent world keeps no metrics, and no journal unless it is given a directory.
+     *
+     * @param seed  The seed every random stream of the world is derived from.
+     */
+    public World(long seed) {
+        this(seed, false, null);
+    }
+
+    /**
+     * Constructs an independent world with the given seed, keeping an event journal in the given directory.
+     * The journal should be closed once the world has stopped.
+     *
+     * @param seed                      The seed every random stream of the world is derived from.
+     * @param journalDirectory          The directory of the journal.
+     * @throws IllegalStateException    If the journal directory cannot be created.
+     */
+    public World(long seed, Path journalDirectory) {
+        this(seed, false, journalDirectory);
+    }
+
+    /**
+     * Constructs a world.
+     *
+     * @param seed              The seed every random stream of the world is derived from.
+     * @param shared            True for the shared world, which keeps the configured metrics.
+     * @param journalDirectory  The directory of the journal, or null for a world that keeps no journal.
+     */
+    private World(long seed, boolean shared, Path journalDirectory) {
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+        this.stepper = new TileStepper(board, Config.WORLD.tileSize(), ForkJoinPool.commonPool(), random.nextLong());
+        this.journal = journalDirectory != null ? openJournal(journalDirectory) : EventJournal.DISABLED;
+        this.metrics = shared && Config.METRICS.enabled()
+                ? new MetricsRegistry(Config.METRICS.timingSampleBits()) : MetricsRegistry.DISABLED;
+        this.time = new DayAndNight(journal);
+        this.weather = new Weather(this, newRandom());
+        this.scheduler = new Scheduler(Config.WORLD.schedulerWorkers(), Config.WORLD.schedulerTick(),
+                Config.WORLD.fastForward());
+        this.executionMode = Config.WORLD.executionMode();
+        this.clock = executionMode == ExecutionMode.SCHEDULED
+                ? scheduler
+                : new ThreadClock(executionMode, journal::release);
+    }
+
+    /**
+     * Returns the seed every random stream of the world is derived from.
+     *
+     * @return  The seed of the world.
+     */
+    public long getSeed() {
+        return seed;
     }
 
     /**
-     * Starts the world by initializing and starting the weather, time, and creator threads,
+     * Splits a new random stream off the stream of the world, for a component or creature
+     * that draws its own random numbers. The streams are statistically independent,
+     * and the same seed gives the same streams in the same order.
+     *
+     * @return  A new random stream, to be used by one thread at a time.
+     */
+    public SplittableRandom newRandom() {
+        randomLock.lock();
+        try {
+            return random.split();
+        } finally {
+            randomLock.unlock();
+        }
+    }
+
+    /**
+     * The system property naming the directory the headless renderer writes its frames to.
+     */
+    public static final String FRAMES_DIRECTORY_PROPERTY = "evolution.frames";
+
+    /**
+     * The system property naming the directory the event journal is written to.
+     */
+    public static final String JOURNAL_DIRECTORY_PROPERTY = "evolution.journal";
+
+    /**
+     * The system property naming the file the metrics are written to.
+     */
+    public static final String METRICS_FILE_PROPERTY = "evolution.metrics";
+
+    /**
+     * Opens the event journal of the world in the given directory.
+     * The records are stamped with the epoch, so the events of a step carry the number of steps before it.
+     *
+     * @param directory                 The directory of the journal.
+     * @return                          The journal of the world.
+     * @throws IllegalStateException    If the journal directory cannot be created.
+     */
+    private EventJournal openJournal(Path directory) {
+        try {
+            return new EventJournal(directory, Config.JOURNAL.segmentSize() * 1024L, () -> epoch);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open the event journal", e);
+        }
+    }
+
+    /**
+     * Starts the world by repeating the steps, the weather, the time and the creator on the clock of the world,
      * and then displaying the world using the DrawWorld class.
+     * In scheduled mode the scheduler is started here; otherwise every activity runs on its own thread,
+     * virtual in {@link ExecutionMode#VIRTUAL_THREADS} mode.
      */
     public void startWorld() {
-        Creator creator = new Creator();
+        startActivities();
 
-        new Thread(weather).start();
-        new Thread(time).start();
-        new Thread(creator).start();
-        
-        drawWorld = new DrawWorld();
+        if (metrics.isEnabled())
+            startMetricsReporter();
+
+        if (executionMode == ExecutionMode.SCHEDULED)
+            scheduler.start();
+
+        if (journal.isEnabled())
+            Runtime.getRuntime().addShutdownHook(new Thread(journal::close, "journal-close"));
+
+        if (Config.SERVER.enabled())
+            startStatusServer();
+
+        if (Config.SERVER.streamEnabled())
+            startFrameStream();
+
+        if (Config.RENDER.renderEvery() > 0)
+            addFrameListener(new PngSequenceRecorder(new File(System.getProperty(FRAMES_DIRECTORY_PROPERTY, "frames")),
+                    Config.RENDER.renderEvery(), new FrameRenderer(BOARD_SIZE, Config.RENDER.cellSize())));
+
+        if (GraphicsEnvironment.isHeadless())
+            return;
+
+        drawWorld = new DrawWorld(this);
         drawWorld.show();
     }
 
+    /**
+     * Opens the metrics file and samples the metrics into it on the clock of the world,
+     * every configured interval and once more at shutdown.
+     *
+     * @throws IllegalStateException    If the metrics file cannot be created.
+     */
+    private void startMetricsReporter() {
+        MetricsReporter reporter;
+        int interval = Config.METRICS.sampleInterval();
+
+        try {
+            reporter = new MetricsReporter(metrics, Path.of(System.getProperty(METRICS_FILE_PROPERTY, "metrics.csv")),
+                    clock::currentTimeMillis);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open the metrics file", e);
+        }
+
+        clock.repeat("metrics", interval, () -> {
+            reporter.sample();
+            return interval;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(reporter::close, "metrics-close"));
+    }
+
+    /**
+     * Starts the local status server serving the statistics of the world and accepting pause, resume and step
+     * commands, until shutdown.
+     *
+     * @throws IllegalStateException    If the port of the server cannot be bound.
+     */
+    private void startStatusServer() {
+        StatusServer server;
+
+        try {
+            server = new StatusServer(this, Config.SERVER.port(), Config.SERVER.eventInterval());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot start the status server", e);
+        }
+
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "status-server-close"));
+    }
+
+    /**
+     * Starts the local frame stream sending a keyframe and then per-frame deltas of the board to remote viewers,
+     * until shutdown.
+     *
+     * @throws IllegalStateException    If the port of the stream cannot be bound.
+     */
+    private void startFrameStream() {
+        FrameStreamServer stream;
+
+        try {
+            stream = new FrameStreamServer(this, BOARD_SIZE, Config.SERVER.streamPort(), Config.SERVER.eventInterval());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot start the frame stream", e);
+        }
+
+        stream.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(stream::close, "frame-stream-close"));
+    }
+
+    /**
+     * Runs the world on the calling thread for the given simulated time, without starting any thread.
+     * The steps, the weather, the time, the creator and the life processes run inline in the order
+     * the scheduler dispatches them, so a world with the same seed always ends up the same.
+     * It can be called again to run the world further.
+     *
+     * @param simulatedMillis           The simulated time to run the world for, in milliseconds.
+     * @throws IllegalStateException    If the world is not in scheduled mode or its scheduler has been started.
+     */
+    public void runFor(long simulatedMillis) {
+        if (clock != scheduler)
+            throw new IllegalStateException("Only a world in scheduled mode can run on the calling thread");
+
+        startActivities();
+        scheduler.runUntil(scheduler.currentTimeMillis() + simulatedMillis);
+    }
+
+    /**
+     * Puts the steps, the weather, the time and the creator on the clock of the world, once.
+     */
+    private synchronized void startActivities() {
+        if (started)
+            return;
+        started = true;
+
+        Creator creator = new Creator(this);
+        int stepPeriod = Config.WORLD.stepPeriod();
+
+        clock.repeat("world-step", stepPeriod, () -> {
+            step();
+            return stepPeriod;
+        });
+        clock.repeat("weather", 0, weather::fall);
+        clock.repeat("day-and-night", 0, time::toggle);
+        clock.repeat("creator", 0, creator::create);
+    }
+
+    /**
+     * Pauses the world after the current tick of its scheduler. Creatures finish the life process steps
+     * they are running, and nothing else happens until the world is resumed or advanced.
+     *
+     * @throws IllegalStateException    If the world is not in scheduled mode.
+     */
+    public void pause() {
+        requireScheduled();
+        scheduler.pause();
+    }
+
+    /**
+     * Resumes a paused world.
+     *
+     * @throws IllegalStateException    If the world is not in scheduled mode.
+     */
+    public void resume() {
+        requireScheduled();
+        scheduler.resume();
+    }
+
+    /**
+     * Lets a paused world run for the given simulated time and pause again.
+     *
+     * @param simulatedMillis           The simulated time to run the world for, in milliseconds.
+     * @throws IllegalStateException    If the world is not in scheduled mode or is not paused.
+     */
+    public void advance(long simulatedMillis) {
+        requireScheduled();
+        scheduler.step(simulatedMillis);
+    }
+
+    /**
+     * Checks if the world has been paused.
+     *
+     * @return  True if the world is paused, otherwise false.
+     */
+    public boolean isPaused() {
+        return scheduler.isPaused();
+    }
+
+    /**
+     * Checks that the world runs on its scheduler, which is the only clock that can be paused.
+     *
+     * @throws IllegalStateException    If the world is not in scheduled mode.
+     */
+    private void requireScheduled() {
+        if (clock != scheduler)
+            throw new IllegalStateException("Only a world in scheduled mode can be paused");
+    }
+
+    /**
+     * Runs one step of the world, moving the awake animals of every tile in parallel.
+     *
+     * @return  The number of animals that moved to another cell.
+     */
+    public int step() {
+        stepLock.lock();
+        try {
+            int moves = stepper.step();
+            hydrology.step();
+
+            ++epoch;
+            publishFrame();
+            return moves;
+        } finally {
+            stepLock.unlock();
+        }
+    }
+
+    /**
+     * Takes a checkpoint of the world and writes it to a file in the background.
+     * The state is copied between two steps while every creature lock stripe is held, so no creature changes
+     * while it is copied, and the simulation goes on as soon as the copy is done.
+     * The random stream of the world is re-seeded, and the seed stored in the checkpoint along with the epoch,
+     * the number of steps run so far.
+     *
+     * @param file  The file to write the checkpoint to.
+     * @return      A future completed with the file once it has been written.
+     */
+    public CompletableFuture<Path> checkpoint(Path file) {
+        Checkpoint checkpoint;
+
+        stepLock.lock();
+        try {
+            population.lockAll();
+            try {
+                long randomSeed;
+                randomLock.lock();
+                try {
+                    randomSeed = random.nextLong();
+                    random = new SplittableRandom(randomSeed);
+                } finally {
+                    randomLock.unlock();
+                }
+
+                checkpoint = Checkpoint.capture(board, time.isDay(), epoch, randomSeed);
+            } finally {
+                population.unlockAll();
+            }
+        } finally {
+            stepLock.unlock();
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                checkpoint.write(file);
+                return file;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write checkpoint: " + file, e);
+            }
+        }, checkpointWriter);
+    }
+
+    /**
+     * Restores the state of a checkpoint into this world, which must not hold any creature yet.
+     * The water, the day/night phase and the epoch are restored, and the creatures are created again in the order
+     * of the checkpoint and put back into their cells. The random stream of the world is restored last, so the
+     * streams handed out from then on are the ones the checkpointed world hands out. It should be called before
+     * {@link #startWorld()}; in scheduled mode the life processes only start running with the scheduler.
+     *
+     * @param file                      The checkpoint file.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If the file is not a checkpoint of a board of the size of this world.
+     * @throws IllegalStateException    If the world already holds creatures.
+     */
+    public void restore(Path file) throws IOException {
+        if (population.size() != 0)
+            throw new IllegalStateException("Cannot restore a checkpoint into a populated world");
+
+        Checkpoint checkpoint = Checkpoint.read(file);
+        checkpoint.restoreWater(board);
+
+        time.setDay(checkpoint.isDay());
+        epoch = checkpoint.getEpoch();
+
+        checkpoint.restoreCreatures(this, board, creature -> {
+            if (creature instanceof Animal)
+                animalNumber.incrementAndGet();
+            else
+                plantNumber.incrementAndGet();
+        });
+
+        randomLock.lock();
+        try {
+            random = new SplittableRandom(checkpoint.getRandomSeed());
+        } finally {
+            randomLock.unlock();
+        }
+    }
+
+    /**
+     * Publishes a new frame tagged with the current epoch, if any reader has asked for frames.
+     * It is called with the step lock held. The frame that is not currently published is filled and then made
+     * current, so readers are never blocked. The last rain is taken and reset here, so each rain is shown
+     * in exactly one frame.
+     */
+    private void publishFrame() {
+        if (frames == null)
+            return;
+
+        int rainX;
+        int rainY;
+        int rainArea;
+
+        rainLock.lock();
+        try {
+            rainX = lastRain.getOrDefault("X", 0);
+            rainY = lastRain.getOrDefault("Y", 0);
+            rainArea = lastRain.getOrDefault("AREA", 0);
+            lastRain.clear();
+        } finally {
+            rainLock.unlock();
+        }
+
+        WorldFrame next = frames[0] == currentFrame ? frames[1] : frames[0];
+
+        next.invalidate();
+        next.fill(time.isDay(), rainX, rainY, rainArea, plantNumber.get(), animalNumber.get());
+        copyChunks(next);
+        summarizeWater(next);
+        next.publish(epoch);
+
+        currentFrame = next;
+
+        for (Consumer<WorldFrame> listener : frameListeners)
+            listener.accept(next);
+    }
+
+    /**
+     * Copies the water levels and census counters of the materialized chunks of the board into a frame,
+     * one chunk at a time. The water grids are copied without locking. The chunks that have not been materialized
+     * are not visited, so a mostly empty board costs little however large it is.
+     *
+     * @param frame The frame to fill.
+     */
+    private void copyChunks(WorldFrame frame) {
+        for (int chunkX = 0; chunkX < board.getChunksPerSide(); ++chunkX)
+            for (int chunkY = 0; chunkY < board.getChunksPerSide(); ++chunkY) {
+                WorldCell[] cells = board.getChunk(chunkX, chunkY);
+                if (cells == null)
+                    continue;
+
+                WorldFrame.Chunk chunk = frame.chunkToFill(chunkX, chunkY);
+                System.arraycopy(board.getWater(chunkX, chunkY), 0, chunk.water, 0, cells.length);
+
+                for (int offset = 0; offset < cells.length; ++offset)
+                    for (int index = 0; index < Census.SIZE; ++index)
+                        chunk.census[offset * Census.SIZE + index] = cells[offset].getCensus(index);
+            }
+    }
+
+    /**
+     * Fills the water statistics of a frame from its chunk snapshots. Every cell of a chunk without a snapshot
+     * counts with the initial water level.
+     *
+     * @param frame The frame to fill, whose chunks have been copied.
+     */
+    private static void summarizeWater(WorldFrame frame) {
+        long total = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+
+        for (int chunkX = 0; chunkX < frame.getChunksPerSide(); ++chunkX)
+            for (int chunkY = 0; chunkY < frame.getChunksPerSide(); ++chunkY) {
+                int rows = Math.min(ChunkedBoard.CHUNK_SIZE, BOARD_SIZE - chunkX * ChunkedBoard.CHUNK_SIZE);
+                int columns = Math.min(ChunkedBoard.CHUNK_SIZE, BOARD_SIZE - chunkY * ChunkedBoard.CHUNK_SIZE);
+                WorldFrame.Chunk chunk = frame.getChunk(chunkX, chunkY);
+
+                if (chunk == null) {
+                    total += (long) rows * columns * frame.getEmptyWater();
+                    min = Math.min(min, frame.getEmptyWater());
+                    max = Math.max(max, frame.getEmptyWater());
+                    continue;
+                }
+
+                for (int i = 0; i < rows; ++i)
+                    for (int j = 0; j < columns; ++j) {
+                        int level = chunk.getWater(i * ChunkedBoard.CHUNK_SIZE + j);
+                        total += level;
+                        min = Math.min(min, level);
+                        max = Math.max(max, level);
+                    }
+            }
+
+        frame.fillWater(total, min, max);
+    }
+
+    /**
+     * Registers a listener called on the simulation thread with every frame as soon as it is published.
+     * The frame is guaranteed not to change while the listener runs, so it should return quickly.
+     * Registering a listener starts the publication of frames.
+     *
+     * @param listener  The listener to call.
+     */
+    public void addFrameListener(Consumer<WorldFrame> listener) {
+        frameListeners.add(listener);
+        getFrame();
+    }
+
+    /**
+     * Returns the latest frame published by the world. The first call starts the publication of frames,
+     * and returns a frame of the current state taken right away between two steps, tagged with the current epoch.
+     *
+     * @return  The latest frame.
+     */
+    public WorldFrame getFrame() {
+        WorldFrame frame = currentFrame;
+        if (frame != null)
+            return frame;
+
+        stepLock.lock();
+        try {
+            if (frames == null) {
+                frames = new WorldFrame[] {
+                        new WorldFrame(BOARD_SIZE, board.getChunksPerSide(), Config.WORLD.cellWater()),
+                        new WorldFrame(BOARD_SIZE, board.getChunksPerSide(), Config.WORLD.cellWater())};
+                publishFrame();
+            }
+
+            return currentFrame;
+        } finally {
+            stepLock.unlock();
+        }
+    }
+
     /**
      * Moves a creature to a neighboring cell if there is room for it.
+     * Only the source and the destination cell are locked, see {@link WorldCell#moveAnimal}.
      * 
      * @param creature The creature to move.
      * @return True if the creature was moved to a neighboring cell, otherwise false.
      */
-    public synchronized boolean moveToNeighbourCell(Creature creature) {
-        int x = creature.getPosition().getX();
-        int y = creature.getPosition().getY();
-        List<int[]> neighbors = getNeighboringCells(x, y);
-
-        for (int[] neighbor : neighbors) {
-            int nx = neighbor[0];
-            int ny = neighbor[1];
+    public boolean moveToNeighbourCell(Creature creature) {
+        WorldCell source = creature.getPosition();
+        if (source == null)
+            return false;
 
-            if (board[nx][ny].addAnimal(creature)) {
-                creature.getPosition().removeCreature(creature);
-                creature.setPosition(board[nx][ny]);
+        List<int[]> neighbors = getNeighboringCells(source.getX(), source.getY());
 
+        for (int[] neighbor : neighbors)
+            if (WorldCell.moveAnimal(creature, source, board.get(neighbor[0], neighbor[1]))) {
+                journal.record(EventType.MOVE, creature.getId(), neighbor[0], neighbor[1], source.getX(), source.getY());
+                metrics.count(Counter.MOVE, creature.getSpecies());
                 return true;
             }
-        }
+
+        metrics.count(Counter.FAILED_MOVE, creature.getSpecies());
         return false;
     }
 
@@ -140,10 +782,10 @@ public class World {
     }
 
     /**
-     * Returns the singleton instance of the World class.
-     * If the instance does not exist, it is created.
+     * Returns the shared instance of the World class, the world shown on screen and used by creatures
+     * constructed without a world. If the instance does not exist, it is created.
      *
-     * @return  Тhe singleton instance of the World class.
+     * @return  Тhe shared instance of the World class.
      */
     public static synchronized World getInstance() {
         if (instance == null)
@@ -160,10 +802,7 @@ public class World {
      * @throws IllegalArgumentException If the key does not exist in the properties.
      */
     public static Integer getProperty(String key) {
-        if (!PROPERTIES.containsKey(key))
-            throw new IllegalArgumentException("Invalid key: " + key);
-        
-        return PROPERTIES.get(key);
+        return Config.getWorldProperty(key);
     }
 
     /**
@@ -187,23 +826,145 @@ public class World {
      */
     public void rainOnCell(int x, int y, int waterQuantity) {
         validateCoordinates(x, y);
-        board[x][y].rain(waterQuantity);
+        board.get(x, y).rain(waterQuantity);
+        journal.record(EventType.RAIN, waterQuantity, x, y, 1, 1);
     }
 
     /**
-     * Adds a new animal to the world.
+     * Adds water to every cell of a rectangular area. The area is validated once
+     * and the water is added in one pass over the board, flooding the cells that overflow.
      *
-     * @param newAnimal The animal to add.
-     * @return          True if the animal was successfully added, false if the maximum number of animals in the world has been reached.
+     * @param x                         The x-coordinate of the upper left cell of the area.
+     * @param y                         The y-coordinate of the upper left cell of the area.
+     * @param width                     The number of cells of the area along the x-axis.
+     * @param height                    The number of cells of the area along the y-axis.
+     * @param waterQuantity             The quantity of water to add to every cell.
+     * @throws IllegalArgumentException If the area is empty or not within the board.
+     */
+    public void rainOnArea(int x, int y, int width, int height, int waterQuantity) {
+        if (width <= 0 || height <= 0 || x < 0 || y < 0 || x > BOARD_SIZE - width || y > BOARD_SIZE - height)
+            throw new IllegalArgumentException("Invalid rain area");
+
+        board.rain(x, y, width, height, waterQuantity);
+        journal.record(EventType.RAIN, waterQuantity, x, y, width, height);
+    }
+
+    /**
+     * Checks if the world is below its limit for creatures of the given kind.
+     *
+     * @param kind  The kind of the creature.
+     * @return      True if a creature of the kind may be added, otherwise false.
+     */
+    public boolean hasRoomFor(CreatureKind kind) {
+        if (kind == CreatureKind.PLANT)
+            return plantNumber.get() < Config.WORLD.maxPlants();
+
+        return animalNumber.get() < Config.WORLD.maxAnimals();
+    }
+
+    /**
+     * Places an inert creature, taken from the creature pool, in the given cell and activates it.
+     * The creature is only activated once it has been placed, so a creature that does not fit
+     * never starts its life processes; the caller then discards it. The generation of the creature is read
+     * before it is placed, so a creature killed and reused by another thread in between is not activated.
+     *
+     * @param creature  The creature to place.
+     * @param x         The x-coordinate of the cell.
+     * @param y         The y-coordinate of the cell.
+     * @return          True if the creature was placed, false if the world or the cell is full.
      */
-    public synchronized boolean addWorldAnimal(Animal newAnimal) {
-        if (animals.size() >= getProperty("MAX_ANIMALS"))
+    public boolean spawn(Creature creature, int x, int y) {
+        int life = creature.getGeneration();
+
+        if (!place(creature, x, y))
             return false;
-        else {
-            animals.add(newAnimal);
-            creatureNumber.incrementAndGet();
-            return true;
+
+        creature.activate(life);
+        return true;
+    }
+
+    /**
+     * Places an inert creature, taken from the creature pool, in the given cell and counts it in the world,
+     * without activating it. Used by a parent placing an offspring under its own lock, which activates it
+     * once the lock has been released, see {@link Creature#activate(int)}.
+     *
+     * @param creature  The creature to place.
+     * @param x         The x-coordinate of the cell.
+     * @param y         The y-coordinate of the cell.
+     * @return          True if the creature was placed, false if the world or the cell is full.
+     */
+    public boolean place(Creature creature, int x, int y) {
+        if (creature instanceof Animal animal) {
+            if (!addWorldAnimal(animal))
+                return false;
+
+            if (!addAnimal(animal, x, y)) {
+                removeCreature(animal);
+                return false;
+            }
+        } else if (!addPlant(creature, x, y))
+            return false;
+
+        return true;
+    }
+
+    /**
+     * Spawns creatures of a kind, taken from the creature pool, into uniformly random cells with a free slot.
+     * The cells are drawn from a snapshot of the free-capacity bitmaps of the board and a cell is dropped
+     * from it as soon as it fills up, so no attempt is wasted on a full cell however crowded the board is.
+     * Stops early when the world has no room left for the kind or every cell is full.
+     *
+     * @param kind      The kind of the creatures.
+     * @param count     The number of creatures to spawn.
+     * @param random    The random stream choosing the cells.
+     * @return          The number of creatures spawned.
+     */
+    public int spawn(CreatureKind kind, int count, SplittableRandom random) {
+        if (count < 0)
+            throw new IllegalArgumentException("Invalid number of creatures: " + count);
+
+        FreeCells free = new FreeCells(board, kind == CreatureKind.PLANT);
+        int spawned = 0;
+
+        while (spawned < count && hasRoomFor(kind)) {
+            int cell = free.draw(random);
+            if (cell < 0)
+                break;
+
+            Creature creature = creaturePool.obtain(kind);
+            int life = creature.getGeneration();
+            WorldCell target = board.get(free.x(cell), free.y(cell));
+            boolean placed = spawn(creature, target.getX(), target.getY());
+
+            if (!placed || !target.hasSpaceFor(creature))
+                free.remove(cell);
+
+            if (placed)
+                ++spawned;
+            else
+                creature.discard(life);
         }
+
+        return spawned;
+    }
+
+    /**
+     * Adds a new animal to the world. The animal count is raised by a compare-and-set loop,
+     * so concurrent spawns cannot take the world past its animal limit.
+     *
+     * @param newAnimal The animal to add.
+     * @return          True if the animal was successfully added, false if the maximum number of animals in the world has been reached.
+     */
+    public boolean addWorldAnimal(Animal newAnimal) {
+        int animals;
+
+        do {
+            animals = animalNumber.get();
+            if (animals >= Config.WORLD.maxAnimals())
+                return false;
+        } while (!animalNumber.compareAndSet(animals, animals + 1));
+
+        return true;
     }
 
     /**
@@ -215,8 +976,10 @@ public class World {
      * @return          True if the animal was successfully added to the cell, false if the cell is full.
      */
     public boolean addAnimal(Creature animal, int x, int y) {
-        if (board[x][y].addAnimal(animal)) {
-            animal.setPosition(board[x][y]);
+        WorldCell cell = board.get(x, y);
+
+        if (cell.addAnimal(animal)) {
+            animal.setPosition(cell);
             return true;
         }
 
@@ -225,29 +988,49 @@ public class World {
 
     public void removeCreature(Creature creature) {
         if (creature instanceof Animal)
-            animals.remove(creature);
-        else if (creature instanceof Plant) 
+            animalNumber.decrementAndGet();
+        else if (creature instanceof Plant)
             plantNumber.decrementAndGet();
-               
-        creatureNumber.decrementAndGet();
     }
 
     /**
      * Adds a plant to the specified cell.
+     * A slot is reserved in the plant count before the plant is placed and given back if the cell is full,
+     * so concurrent spawns cannot take the world past its plant limit.
      *
      * @param plant The plant to add.
      * @param x     The x-coordinate of the cell.
      * @param y     The y-coordinate of the cell.
-     * @return True if the plant was added, false otherwise.
+     * @return True if the plant was added, false if the world has reached its plant limit or the cell is full.
      */
     public boolean addPlant(Creature plant, int x, int y) {
         validateCoordinates(x, y);
-        boolean added = board[x][y].addPlant(plant);
-        
-        if (added)
-            plantNumber.incrementAndGet();
 
-        return added;
+        if (!reservePlant())
+            return false;
+
+        if (board.get(x, y).addPlant(plant))
+            return true;
+
+        plantNumber.decrementAndGet();
+        return false;
+    }
+
+    /**
+     * Counts one more plant in the world unless it has reached its plant limit.
+     *
+     * @return  True if the plant was counted, false if the world is full.
+     */
+    private boolean reservePlant() {
+        int plants;
+
+        do {
+            plants = plantNumber.get();
+            if (plants >= Config.WORLD.maxPlants())
+                return false;
+        } while (!plantNumber.compareAndSet(plants, plants + 1));
+
+        return true;
     }
 
     /**
@@ -259,7 +1042,7 @@ public class World {
      */
     public int getCellWaterLevel(int x, int y) {
         validateCoordinates(x, y);
-        return board[x][y].getWaterLevel();
+        return board.peek(x, y).getWaterLevel();
     }
 
     /**
@@ -269,10 +1052,15 @@ public class World {
      * @param y     The y-coordinate of the upper left cell of the rain area.
      * @param area  The size of the rain area in number of cells.
      */
-    public synchronized void setLastRain(int x, int y, int area) {
-        lastRain.put("X", x);
-        lastRain.put("Y", y);
-        lastRain.put("AREA", area);
+    public void setLastRain(int x, int y, int area) {
+        rainLock.lock();
+        try {
+            lastRain.put("X", x);
+            lastRain.put("Y", y);
+            lastRain.put("AREA", area);
+        } finally {
+            rainLock.unlock();
+        }
     }
 
     /**
@@ -280,12 +1068,52 @@ public class World {
      *
      * @return  The HashMap copy of the last rain attribute.
      */
-    public synchronized HashMap<String, Integer> getLastRain() {
-        return new HashMap<>(lastRain);
+    public HashMap<String, Integer> getLastRain() {
+        rainLock.lock();
+        try {
+            return new HashMap<>(lastRain);
+        } finally {
+            rainLock.unlock();
+        }
+    }
+
+    /**
+     * Allocates a census snapshot for {@link #copyCensus}: one array per species and stage, laid out as described
+     * by {@link Census}, each holding one counter per cell at index {@code x * BOARD_SIZE + y}.
+     *
+     * @return  An empty census snapshot of the board.
+     */
+    public int[][] newCensusSnapshot() {
+        return new int[Census.SIZE][BOARD_SIZE * BOARD_SIZE];
+    }
+
+    /**
+     * Copies the census counters of every cell into a snapshot in a single pass over the board.
+     * Nothing is allocated, so the same snapshot can be reused for every frame.
+     * Cells of chunks that have not been materialized are copied as empty.
+     *
+     * @param snapshot  The snapshot to fill, as returned by {@link #newCensusSnapshot}.
+     */
+    public void copyCensus(int[][] snapshot) {
+        for (int chunkX = 0; chunkX < board.getChunksPerSide(); ++chunkX)
+            for (int chunkY = 0; chunkY < board.getChunksPerSide(); ++chunkY) {
+                WorldCell[] cells = board.getChunk(chunkX, chunkY);
+                int originX = chunkX * ChunkedBoard.CHUNK_SIZE;
+                int originY = chunkY * ChunkedBoard.CHUNK_SIZE;
+
+                for (int x = originX; x < Math.min(BOARD_SIZE, originX + ChunkedBoard.CHUNK_SIZE); ++x)
+                    for (int y = originY; y < Math.min(BOARD_SIZE, originY + ChunkedBoard.CHUNK_SIZE); ++y) {
+                        WorldCell cell = cells == null ? null : cells[(x - originX) * ChunkedBoard.CHUNK_SIZE + y - originY];
+
+                        for (int index = 0; index < Census.SIZE; ++index)
+                            snapshot[index][x * BOARD_SIZE + y] = cell == null ? 0 : cell.getCensus(index);
+                    }
+            }
     }
 
     /**
      * Retrieves information about the creatures present in each cell of the world.
+     * Allocates several maps per cell; prefer {@link #copyCensus} for anything called once per frame.
      *
      * @return  The 2D array representing creatures in each cell.
      */
@@ -293,11 +1121,29 @@ public class World {
         HashMap<String, HashMap<String, Integer>>[][] creatures = new HashMap[BOARD_SIZE][BOARD_SIZE];
         for (int i = 0; i < BOARD_SIZE; ++i)
             for (int j = 0; j < BOARD_SIZE; ++j)
-                creatures[i][j] = board[i][j].getCreatures();
+                creatures[i][j] = board.peek(i, j).getCreatures();
         
         return creatures;
     }
 
+    /**
+     * Returns the journal recording the events of the run.
+     *
+     * @return  The event journal, or {@link EventJournal#DISABLED} if the world keeps no journal.
+     */
+    public EventJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Returns the metrics of the run.
+     *
+     * @return  The metrics registry, or {@link MetricsRegistry#DISABLED} if the world keeps no metrics.
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
     /**
      * Retrieves the instance of the DayAndNight class representing the current time in the world.
      *
@@ -307,6 +1153,69 @@ public class World {
         return time;
     }
 
+    /**
+     * Retrieves the scheduler running the life processes of the creatures.
+     *
+     * @return  The scheduler of the world.
+     */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Retrieves the clock running the world steps, the environment and the life processes.
+     *
+     * @return  The clock of the world.
+     */
+    public SimulationClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Retrieves the store holding the characteristics of every creature in the world.
+     *
+     * @return  The population store of the world.
+     */
+    public PopulationStore getPopulation() {
+        return population;
+    }
+
+    /**
+     * Retrieves the execution mode of the life processes and the environment runnables.
+     *
+     * @return  The execution mode of the world.
+     */
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * Retrieves the board holding the cells of the world.
+     *
+     * @return  The chunked board of the world.
+     */
+    public ChunkedBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Retrieves the pool recycling the creatures of the world.
+     *
+     * @return  The creature pool of the world.
+     */
+    public CreaturePool getCreaturePool() {
+        return creaturePool;
+    }
+
+    /**
+     * Retrieves the index answering neighbourhood queries over the board.
+     *
+     * @return  The spatial index of the world.
+     */
+    public SpatialIndex getSpatialIndex() {
+        return spatialIndex;
+    }
+
     /**
      * Retrieves the current number of plants.
      *
@@ -1,14 +1,21 @@
 package oop.evolution;
 
-import java.util.Collections;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 import oop.evolution.creatures.Animal;
 import oop.evolution.creatures.Creature;
 import oop.evolution.creatures.Plant;
+import oop.evolution.creatures.Species;
+import oop.evolution.creatures.Trait;
+import oop.evolution.config.Config;
+import oop.evolution.metrics.Counter;
+import oop.evolution.metrics.MetricsRegistry;
 
 /**
  * A class that represents a cell in a world grid that can hold water.
@@ -20,37 +27,289 @@ public class WorldCell {
     private int y;
     
     /**
-     * The current water level in the cell.
+     * The water grid holding the water level of the cell. The cells of a chunk share one grid,
+     * so rain over an area is applied by walking a primitive array rather than the cells.
      */
-    private final AtomicInteger waterLevel;
+    private final int[] water;
+
+    /**
+     * The index of the water level of the cell in its water grid.
+     */
+    private final int waterIndex;
+
+    /**
+     * The occupant counts of the blocks of the chunk of the cell, kept for the {@link SpatialIndex}.
+     * The cells of a chunk share one array, like their water grid.
+     */
+    private final int[] counts;
+
+    /**
+     * The index of the block of the cell in its counts.
+     */
+    private final int block;
+
+    /**
+     * The free-capacity bitmaps of the chunk of the cell, first the one for plants and then the one for animals,
+     * each holding one bit per cell that is set while the cell has a free slot. Kept for {@link FreeCells}.
+     * The cells of a chunk share one array, like their water grid.
+     */
+    private final long[] free;
+
+    /**
+     * Atomic access to the words of the free-capacity bitmaps.
+     */
+    private static final VarHandle FREE = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /**
+     * Atomic access to the water levels of a water grid.
+     */
+    private static final VarHandle WATER = MethodHandles.arrayElementVarHandle(int[].class);
 
     /**
      * The maximum water level a cell can hold, loaded from the 'world.properties' file.
      */
-    private static int MAX_CELL_WATER_LEVEL;
+    private static final int MAX_CELL_WATER_LEVEL = Config.WORLD.maxCellWaterLevel();
+
+    /**
+     * The initial water level of a cell, also the base amount left after a flood.
+     */
+    private static final int CELL_WATER = Config.WORLD.cellWater();
+
+    /**
+     * The maximum number of plants in a cell.
+     */
+    private static final int CELL_PLANTS = Config.WORLD.cellPlants();
+
+    /**
+     * The maximum number of animals in a cell.
+     */
+    private static final int CELL_ANIMALS = Config.WORLD.cellAnimals();
 
     /**
-     * The properties loaded from the properties file.
+     * Atomic access to the slots of a cell.
      */
-    private static final HashMap<String, Integer> PROPERTIES = Customizable.loadProperties("src/main/resources/world.properties");
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Creature[].class);
 
     /**
-     * A thread-safe list to store plants in the cell.
+     * Atomic access to the number of plants of a cell.
      */
-    private final List<Creature> plants = Collections.synchronizedList(new LinkedList<>());
+    private static final VarHandle PLANT_COUNT;
 
     /**
-     * A thread-safe list to store animals in the cell.
+     * Atomic access to the number of animals of a cell.
      */
-    private final List<Creature> animals = Collections.synchronizedList(new LinkedList<>());
+    private static final VarHandle ANIMAL_COUNT;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            PLANT_COUNT = lookup.findVarHandle(WorldCell.class, "plantCount", int.class);
+            ANIMAL_COUNT = lookup.findVarHandle(WorldCell.class, "animalCount", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * The plant slots of the cell. An empty slot holds null.
+     */
+    private final Creature[] plants = new Creature[CELL_PLANTS];
+
+    /**
+     * The animal slots of the cell. An empty slot holds null.
+     */
+    private final Creature[] animals = new Creature[CELL_ANIMALS];
+
+    /**
+     * The number of claimed plant slots. A slot is counted before it is filled and after it is emptied,
+     * so the count never drops below the number of plants in the slots.
+     */
+    private volatile int plantCount = 0;
+
+    /**
+     * The number of claimed animal slots, counted like {@link #plantCount}.
+     */
+    private volatile int animalCount = 0;
+
+    /**
+     * Atomic access to the census counters of a cell.
+     */
+    private static final VarHandle COUNTER = MethodHandles.arrayElementVarHandle(int[].class);
+
+    /**
+     * The number of occupants of the cell per species and stage, laid out as described by {@link Census}.
+     * Updated when a creature is added, removed, killed or grows up, so reading it never walks the occupants.
+     */
+    private final int[] census = new int[Census.SIZE];
+
+    /**
+     * The lock serializing the operations that span several occupants or cells: moves, feeding and floods.
+     * Growing up also takes it, so a meal never reads the stage of a creature between its flag and its census.
+     * Adding and removing a single creature only uses the slots and never takes it.
+     * A {@link ReentrantLock} does not pin the carrier thread when a virtual thread has to wait for it.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
 
     /**
      * Constructor that initializes the water level with the value from the properties file.
      */
     public WorldCell(int x, int y) {
+        this(x, y, newWaterGrid(1), 0, new int[SpatialIndex.COUNTS], 0, newFreeBitmaps(1));
+    }
+
+    /**
+     * Constructs a cell whose water level is held in a shared water grid.
+     *
+     * @param x             The x-coordinate of the cell.
+     * @param y             The y-coordinate of the cell.
+     * @param water         The water grid, created by {@link #newWaterGrid}.
+     * @param waterIndex    The index of the water level of the cell in the grid.
+     * @param counts        The occupant counts of the chunk of the cell.
+     * @param block         The index of the block of the cell in the counts.
+     * @param free          The free-capacity bitmaps of the chunk of the cell, created by {@link #newFreeBitmaps},
+     *                      where the bit of the cell is the one at {@code waterIndex}.
+     */
+    WorldCell(int x, int y, int[] water, int waterIndex, int[] counts, int block, long[] free) {
         this.x = x;
         this.y = y;
-        this.waterLevel = new AtomicInteger(PROPERTIES.get("CELL_WATER"));
+        this.water = water;
+        this.waterIndex = waterIndex;
+        this.counts = counts;
+        this.block = block;
+        this.free = free;
+    }
+
+    /**
+     * Creates a water grid where every cell holds the initial water level.
+     *
+     * @param cells The number of cells of the grid.
+     * @return      The new water grid.
+     */
+    static int[] newWaterGrid(int cells) {
+        int[] water = new int[cells];
+        Arrays.fill(water, CELL_WATER);
+        return water;
+    }
+
+    /**
+     * Creates the free-capacity bitmaps of a group of cells, where every cell has free slots.
+     *
+     * @param cells The number of cells of the group.
+     * @return      The new bitmaps, the one for plants followed by the one for animals.
+     */
+    static long[] newFreeBitmaps(int cells) {
+        long[] free = new long[2 * ((cells + 63) >>> 6)];
+        Arrays.fill(free, -1L);
+        return free;
+    }
+
+    /**
+     * Claims one of the slots counted by the given count, if any is free.
+     *
+     * @param count     The count of the slots.
+     * @param capacity  The number of slots.
+     * @return          True if a slot was claimed, otherwise false.
+     */
+    private boolean reserve(VarHandle count, int capacity) {
+        int claimed;
+
+        do {
+            claimed = (int) count.getVolatile(this);
+            if (claimed >= capacity)
+                return false;
+        } while (!count.compareAndSet(this, claimed, claimed + 1));
+
+        if (claimed + 1 == capacity)
+            updateFree(count, capacity);
+
+        return true;
+    }
+
+    /**
+     * Gives back a slot claimed by {@link #reserve}.
+     *
+     * @param count     The count of the slots.
+     * @param capacity  The number of slots.
+     */
+    private void unreserve(VarHandle count, int capacity) {
+        if ((int) count.getAndAdd(this, -1) == capacity)
+            updateFree(count, capacity);
+    }
+
+    /**
+     * Makes the bit of the cell in a free-capacity bitmap agree with a count that has just filled up or freed a slot.
+     * Two threads crossing the capacity in opposite directions may write their bits in either order,
+     * so the bit is written again until the count read after the write still agrees with it.
+     *
+     * @param count     The count of the slots.
+     * @param capacity  The number of slots.
+     */
+    private void updateFree(VarHandle count, int capacity) {
+        int word = (count == PLANT_COUNT ? 0 : free.length >>> 1) + (waterIndex >>> 6);
+        long bit = 1L << waterIndex;
+        boolean room;
+
+        do {
+            room = (int) count.getVolatile(this) < capacity;
+
+            if (room)
+                FREE.getAndBitwiseOr(free, word, bit);
+            else
+                FREE.getAndBitwiseAnd(free, word, ~bit);
+        } while (room != (int) count.getVolatile(this) < capacity);
+    }
+
+    /**
+     * Puts a creature into an empty slot claimed by {@link #reserve}. The claim guarantees that such a slot exists.
+     *
+     * @param slots     The slots to fill.
+     * @param creature  The creature to put into the slot.
+     */
+    private void place(Creature[] slots, Creature creature) {
+        creature.setPosition(this);
+
+        for (int i = 0; ; i = i + 1 == slots.length ? 0 : i + 1)
+            if (SLOT.compareAndSet(slots, i, (Creature) null, creature)) {
+                COUNTER.getAndAdd(census, Census.index(creature), 1);
+                SpatialIndex.add(counts, block, creature.getSpecies(), 1);
+                return;
+            }
+    }
+
+    /**
+     * Empties the slot holding a creature and gives the slot back.
+     *
+     * @param slots     The slots to search.
+     * @param count     The count of the slots.
+     * @param creature  The creature to remove.
+     * @return          True if the creature was in one of the slots, otherwise false.
+     */
+    private boolean release(Creature[] slots, VarHandle count, Creature creature) {
+        for (int i = 0; i < slots.length; ++i)
+            if (SLOT.getAcquire(slots, i) == creature && SLOT.compareAndSet(slots, i, creature, (Creature) null)) {
+                COUNTER.getAndAdd(census, Census.index(creature), -1);
+                SpatialIndex.add(counts, block, creature.getSpecies(), -1);
+                unreserve(count, slots.length);
+                return true;
+            }
+
+        return false;
+    }
+
+    /**
+     * Returns the first occupied slot.
+     *
+     * @param slots The slots to search.
+     * @return      The creature in the first occupied slot, or null if every slot is empty.
+     */
+    private static Creature first(Creature[] slots) {
+        for (int i = 0; i < slots.length; ++i) {
+            Creature creature = (Creature) SLOT.getAcquire(slots, i);
+            if (creature != null)
+                return creature;
+        }
+
+        return null;
     }
 
     /**
@@ -59,21 +318,25 @@ public class WorldCell {
      * @param plant     The plant to add.
      * @return          True if the plant was added, false otherwise.
      */
-    public synchronized boolean addPlant(Creature plant) {
-        if (!hasSpaceFor(plant))
+    public boolean addPlant(Creature plant) {
+        if (!reserve(PLANT_COUNT, plants.length))
             return false;
-        
-        plants.add(plant);
-        plant.setPosition(this);
 
+        place(plants, plant);
         return true;
     }
 
-    public synchronized boolean hasSpaceFor(Creature creature) {
+    /**
+     * Checks if the cell has a free slot for the given creature, with a single atomic read.
+     *
+     * @param creature  The creature to check for.
+     * @return          True if a creature of the same kind could be added, otherwise false.
+     */
+    public boolean hasSpaceFor(Creature creature) {
         if (creature instanceof Animal)    
-            return animals.size() < PROPERTIES.get("CELL_ANIMALS");
+            return animalCount < CELL_ANIMALS;
         if (creature instanceof Plant)
-            return plants.size() < PROPERTIES.get("CELL_PLANTS");
+            return plantCount < CELL_PLANTS;
         
         return false;
     }
@@ -84,104 +347,292 @@ public class WorldCell {
      * @param animal    The animal to add.
      * @return          True if the animal was added, false otherwise.
      */
-    public synchronized boolean addAnimal(Creature animal) {
-        if (!hasSpaceFor(animal))
+    public boolean addAnimal(Creature animal) {
+        if (!reserve(ANIMAL_COUNT, animals.length))
             return false;
 
-        animals.add(animal);
-        animal.setPosition(this);
-        
+        place(animals, animal);
         return true;
     }
 
+    /**
+     * Moves an animal from one cell to another as a single atomic step.
+     * Both cell locks are held for the whole move, so it cannot interleave with another move, a meal or a flood
+     * of either cell. A slot in the destination is claimed before the animal leaves the source,
+     * so the animal is never lost when the destination fills up in the meantime.
+     * The locks are always taken in coordinate order, first by x and then by y, so two opposite moves
+     * between the same cells cannot deadlock. The creature lock, if held, must have been taken first.
+     *
+     * @param animal        The animal to move.
+     * @param source        The cell the animal is in.
+     * @param destination   The cell to move the animal to.
+     * @return              True if the animal was moved, false if it was not in the source or the destination is full.
+     */
+    public static boolean moveAnimal(Creature animal, WorldCell source, WorldCell destination) {
+        if (source == destination)
+            return false;
+
+        boolean sourceFirst = source.x < destination.x || (source.x == destination.x && source.y < destination.y);
+        WorldCell first = sourceFirst ? source : destination;
+        WorldCell second = sourceFirst ? destination : source;
+
+        first.lock.lock();
+        try {
+            second.lock.lock();
+            try {
+                if (!destination.reserve(ANIMAL_COUNT, destination.animals.length))
+                    return false;
+
+                if (!source.release(source.animals, ANIMAL_COUNT, animal)) {
+                    destination.unreserve(ANIMAL_COUNT, destination.animals.length);
+                    return false;
+                }
+
+                destination.place(destination.animals, animal);
+                return true;
+            } finally {
+                second.lock.unlock();
+            }
+        } finally {
+            first.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a creature from the cell without taking any lock.
+     *
+     * @param creature  The creature to remove.
+     */
     public void removeCreature(Creature creature) {
-        if (plants.contains(creature))
-            plants.remove(creature);
-        else if (animals.contains(creature))
-            animals.remove(creature);
+        if (creature instanceof Animal)
+            release(animals, ANIMAL_COUNT, creature);
+        else
+            release(plants, PLANT_COUNT, creature);
+    }
+
+    /**
+     * Marks a creature of the cell as an adult and moves it from the child to the adult count,
+     * both under the cell lock.
+     *
+     * @param creature      The creature growing up.
+     * @param markAdult     Sets the adult flag of the creature.
+     * @return              True if the creature was found in the cell, false if the caller still has to set the flag.
+     */
+    public boolean growUp(Creature creature, Runnable markAdult) {
+        lock.lock();
+        try {
+            Creature[] slots = creature instanceof Animal ? animals : plants;
+
+            for (int i = 0; i < slots.length; ++i)
+                if (SLOT.getAcquire(slots, i) == creature) {
+                    markAdult.run();
+                    COUNTER.getAndAdd(census, Census.index(creature.getSpecies(), Census.CHILD), -1);
+                    COUNTER.getAndAdd(census, Census.index(creature.getSpecies(), Census.ADULT), 1);
+                    return true;
+                }
+
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns one counter of the census of the cell.
+     *
+     * @param index The index of the counter, see {@link Census#index}.
+     * @return      The number of occupants of that species and stage.
+     */
+    public int getCensus(int index) {
+        return (int) COUNTER.getAcquire(census, index);
+    }
+
+    /**
+     * Appends the animals of the cell to a list, without taking any lock.
+     *
+     * @param residents The list to append the animals to.
+     */
+    public void collectAnimals(List<Creature> residents) {
+        for (int i = 0; i < animals.length; ++i) {
+            Creature animal = (Creature) SLOT.getAcquire(animals, i);
+            if (animal != null)
+                residents.add(animal);
+        }
+    }
+
+    /**
+     * Appends the plants of the cell to a list, without taking any lock.
+     *
+     * @param residents The list to append the plants to.
+     */
+    public void collectPlants(List<Creature> residents) {
+        for (int i = 0; i < plants.length; ++i) {
+            Creature plant = (Creature) SLOT.getAcquire(plants, i);
+            if (plant != null)
+                residents.add(plant);
+        }
+    }
+
+    /**
+     * Appends the creatures of a species in the cell to a list, without taking any lock.
+     *
+     * @param species   The species of the creatures.
+     * @param residents The list to append the creatures to.
+     */
+    public void collect(Species species, List<Creature> residents) {
+        Creature[] slots = species == Species.PLANT ? plants : animals;
+
+        for (int i = 0; i < slots.length; ++i) {
+            Creature creature = (Creature) SLOT.getAcquire(slots, i);
+            if (creature != null && creature.getSpecies() == species)
+                residents.add(creature);
+        }
     }
 
     /**
      * Retrieves information about the types and stages of creatures present in the world cell.
+     * Built from the census counters; prefer {@link #getCensus} or {@link World#copyCensus}, which do not allocate.
      *
      * @return The HashMap containing information about creatures in the world cell.
      */
-    public synchronized HashMap<String, HashMap<String, Integer>> getCreatures() {
+    public HashMap<String, HashMap<String, Integer>> getCreatures() {
         HashMap<String, HashMap<String, Integer>> creatures = new HashMap<>();
-        
-        HashMap<String, Integer> plantStages = new HashMap<>();
-        plantStages.put("CHILD", 0);
-        plantStages.put("ADULT", 0);
-
-        synchronized (plants) {
-            for (Creature plant : plants)
-                if (plant.getIsAdult() != null) 
-                    plantStages.put("ADULT", plantStages.get("ADULT") + 1);
-                else
-                    plantStages.put("CHILD", plantStages.get("CHILD") + 1);
+
+        for (Species species : Species.values()) {
+            HashMap<String, Integer> stages = new HashMap<>();
+            stages.put("CHILD", getCensus(Census.index(species, Census.CHILD)));
+            stages.put("ADULT", getCensus(Census.index(species, Census.ADULT)));
+
+            creatures.put(species.name(), stages);
         }
-        
-        HashMap<String, Integer> predStages = new HashMap<>();
-        predStages.put("CHILD", 0);
-        predStages.put("ADULT", 0);
-        
-        HashMap<String, Integer> herbStages = new HashMap<>();
-        herbStages.put("CHILD", 0);
-        herbStages.put("ADULT", 0);
-        
-        creatures.put("PLANT", plantStages);
-        creatures.put("PRED", predStages);
-        creatures.put("HERB", herbStages);
-        
+
         return creatures;
     }
 
-
     /**
      * Adds water to the cell. If the new water level exceeds the maximum cell water level,
      * the water level is reset to the added water quantity plus a base amount (5).
+     * Removing water never floods the cell, so feeding plants never kill other creatures.
      *
      * @param waterQuantity     The quantity of water to add.
      */
-     public synchronized void rain(int waterQuantity) {
-        if (waterLevel.addAndGet(waterQuantity) > MAX_CELL_WATER_LEVEL) {
-            for (Creature animal : animals)
-                animal.killCreature();
-            for (Creature plant : plants) 
-                plant.killCreature();
+    public void rain(int waterQuantity) {
+        if ((int) WATER.getAndAdd(water, waterIndex, waterQuantity) + waterQuantity > MAX_CELL_WATER_LEVEL
+                && waterQuantity > 0)
+            flood(waterQuantity);
+    }
 
-            waterLevel.set(waterQuantity);
+    /**
+     * Adds water to a run of cells of one chunk, which share a water grid, and floods the cells that overflow.
+     * The water levels are updated in one pass over the grid; the cells themselves are only touched when they flood.
+     *
+     * @param cells         The cells of the chunk.
+     * @param from          The index of the first cell of the run.
+     * @param to            The index after the last cell of the run.
+     * @param waterQuantity The quantity of water to add to every cell.
+     */
+    static void rain(WorldCell[] cells, int from, int to, int waterQuantity) {
+        int[] water = cells[from].water;
 
-        } 
-        else 
-            waterLevel.addAndGet(waterQuantity);
+        for (int i = from; i < to; ++i)
+            if ((int) WATER.getAndAdd(water, i, waterQuantity) + waterQuantity > MAX_CELL_WATER_LEVEL
+                    && waterQuantity > 0)
+                cells[i].flood(waterQuantity);
     }
 
-    public synchronized void eatPlant(Animal animal) {
-        if (plants.isEmpty()) 
-            return;
+    /**
+     * Adds the changes computed for a water grid to its water levels.
+     * The levels are changed atomically, so rain and plants drinking in the meantime are not lost.
+     *
+     * @param water The water grid.
+     * @param delta The change of every water level of the grid.
+     */
+    static void addWater(int[] water, int[] delta) {
+        for (int i = 0; i < water.length; ++i)
+            if (delta[i] != 0)
+                WATER.getAndAdd(water, i, delta[i]);
+    }
 
-        Creature plant = plants.get(0);
-        int attack = Animal.getProperty("ATTACK");
-        int defence = Plant.getProperty("DEFENCE");
+    /**
+     * Kills every occupant of an overflowing cell and resets its water level to the rain quantity plus a base amount.
+     * Drowned creatures are killed after the cell lock has been released,
+     * because killing a creature takes its lock and the creature lock is always taken first.
+     *
+     * @param waterQuantity The quantity of water that made the cell overflow.
+     */
+    private void flood(int waterQuantity) {
+        List<Creature> drowned = new ArrayList<>(CELL_ANIMALS + CELL_PLANTS);
+
+        lock.lock();
+        try {
+            if (getWaterLevel() <= MAX_CELL_WATER_LEVEL)
+                return;
 
-        if (attack > defence) {
-            plants.remove(plant);
-            animal.setCreatureCharacteristic("ENERGY", animal.getCreatureCharacteristic("ENERGY") + attack - defence);
+            collectAnimals(drowned);
+            collectPlants(drowned);
+
+            WATER.setVolatile(water, waterIndex, waterQuantity + CELL_WATER);
+        } finally {
+            lock.unlock();
+        }
+
+        for (Creature creature : drowned) {
+            Species species = creature.getSpecies();
+            MetricsRegistry metrics = creature.getWorld().getMetrics();
+
+            if (creature.killCreature(this))
+                metrics.count(Counter.FLOOD, species);
         }
     }
 
-    public synchronized void eatAnimal(Animal animal) {
-        if (animals.isEmpty()) 
-            return;
+    /**
+     * Lets an animal eat the first plant of the cell if its attack beats the plant's defence.
+     * The plant is killed after the cell lock has been released, as in {@link #flood}, and the animal
+     * only gains energy if it was still there to be killed.
+     *
+     * @param animal    The animal feeding in the cell.
+     */
+    public void eatPlant(Animal animal) {
+        eat(animal, plants);
+    }
 
-        Creature target = animals.get(0);
-        int attack = Animal.getProperty("ATTACK");
-        int defence = Animal.getProperty("DEFENCE");
-        
-        if (attack > defence) {
-            animals.remove(target);
-            animal.setCreatureCharacteristic("ENERGY", animal.getCreatureCharacteristic("ENERGY") + attack - defence);
+    /**
+     * Lets an animal eat the first animal of the cell if its attack beats the prey's defence.
+     * The prey is killed after the cell lock has been released, as in {@link #flood}, and the animal
+     * only gains energy if the prey was still there to be killed.
+     *
+     * @param animal    The animal feeding in the cell.
+     */
+    public void eatAnimal(Animal animal) {
+        eat(animal, animals);
+    }
+
+    /**
+     * Lets an animal eat the first creature of some slots of the cell, see {@link #eatPlant} and {@link #eatAnimal}.
+     *
+     * @param animal    The animal feeding in the cell.
+     * @param slots     The slots holding the prey.
+     */
+    private void eat(Animal animal, Creature[] slots) {
+        Creature prey;
+        int gain;
+
+        lock.lock();
+        try {
+            prey = first(slots);
+            if (prey == null || prey == animal)
+                return;
+
+            gain = animal.getCreatureCharacteristic(Trait.ATTACK) - prey.getCreatureCharacteristic(Trait.DEFENCE);
+            if (gain <= 0)
+                return;
+        } finally {
+            lock.unlock();
+        }
+
+        if (prey.killCreature(this)) {
+            animal.setCreatureCharacteristic(Trait.ENERGY, animal.getCreatureCharacteristic(Trait.ENERGY) + gain);
+            animal.getWorld().getMetrics().count(Counter.FEED, animal.getSpecies());
         }
     }
 
@@ -191,7 +642,34 @@ public class WorldCell {
      * @return  The current water level.
      */
     public int getWaterLevel() {
-        return waterLevel.get();
+        return (int) WATER.getVolatile(water, waterIndex);
+    }
+
+    /**
+     * Returns the water grid holding the water level of the cell, shared by the cells of its chunk.
+     *
+     * @return  The water grid of the cell.
+     */
+    int[] getWaterGrid() {
+        return water;
+    }
+
+    /**
+     * Returns the occupant counts shared by the cells of the chunk.
+     *
+     * @return  The counts of the chunk.
+     */
+    int[] getCounts() {
+        return counts;
+    }
+
+    /**
+     * Returns the free-capacity bitmaps shared by the cells of the chunk.
+     *
+     * @return  The bitmaps of the chunk, the one for plants followed by the one for animals.
+     */
+    long[] getFreeBitmaps() {
+        return free;
     }
 
     public int getX() {
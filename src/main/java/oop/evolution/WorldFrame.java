@@ -0,0 +1,313 @@
+package oop.evolution;
+
+/**
+ * A snapshot of the world taken at the end of a step, read by the renderer and other observers.
+ * <p>
+ * The cells are snapshotted chunk by chunk, keyed like the {@link ChunkedBoard}: only the chunks the board has
+ * materialized have a {@link Chunk}, and every cell of the other chunks holds no creature and the initial water
+ * level, so a frame of a huge and mostly empty board costs one reference per empty chunk.
+ * <p>
+ * The world keeps two frames and fills the one that is not published, then publishes it through
+ * a volatile reference. Readers take the latest frame without locking and only ever see a complete,
+ * self-consistent world. A frame is reused for writing two epochs after it was published:
+ * a reader that may hold a frame that long compares {@link #getEpoch()} before and after reading
+ * and reads again when it changed.
+ */
+public final class WorldFrame {
+    /**
+     * The epoch of the frame, or -1 while the world is writing it.
+     */
+    private volatile long epoch;
+
+    /**
+     * True if it was day when the frame was taken.
+     */
+    private boolean day;
+
+    /**
+     * The x-coordinate of the upper left cell of the last rain during the epoch.
+     */
+    private int rainX;
+
+    /**
+     * The y-coordinate of the upper left cell of the last rain during the epoch.
+     */
+    private int rainY;
+
+    /**
+     * The size of the area of the last rain during the epoch, or 0 if it did not rain.
+     */
+    private int rainArea;
+
+    /**
+     * The number of plants in the world.
+     */
+    private int plants;
+
+    /**
+     * The number of animals in the world.
+     */
+    private int animals;
+
+    /**
+     * The total water level of the cells of the board.
+     */
+    private long totalWater;
+
+    /**
+     * The lowest water level of a cell of the board.
+     */
+    private int minWater;
+
+    /**
+     * The highest water level of a cell of the board.
+     */
+    private int maxWater;
+
+    /**
+     * The number of cells on each side of the board.
+     */
+    private final int boardSize;
+
+    /**
+     * The number of chunks on each side of the board.
+     */
+    private final int chunksPerSide;
+
+    /**
+     * The water level of the cells of the chunks that have no snapshot.
+     */
+    private final int emptyWater;
+
+    /**
+     * The snapshots of the chunks, indexed like the chunks of the board, or null for a chunk that was not
+     * materialized when the frame was taken.
+     */
+    private final Chunk[] chunks;
+
+    /**
+     * Constructs an empty frame of a board.
+     *
+     * @param boardSize     The number of cells on each side of the board.
+     * @param chunksPerSide The number of chunks on each side of the board.
+     * @param emptyWater    The water level of the cells of the chunks that have not been materialized.
+     */
+    WorldFrame(int boardSize, int chunksPerSide, int emptyWater) {
+        this.boardSize = boardSize;
+        this.chunksPerSide = chunksPerSide;
+        this.emptyWater = emptyWater;
+        this.chunks = new Chunk[chunksPerSide * chunksPerSide];
+    }
+
+    /**
+     * Marks the frame as being written.
+     */
+    void invalidate() {
+        epoch = -1;
+    }
+
+    /**
+     * Fills the scalar values of the frame. The cells are filled chunk by chunk through {@link #chunkToFill}.
+     *
+     * @param day       True if it is day.
+     * @param rainX     The x-coordinate of the last rain.
+     * @param rainY     The y-coordinate of the last rain.
+     * @param rainArea  The size of the area of the last rain, or 0.
+     * @param plants    The number of plants.
+     * @param animals   The number of animals.
+     */
+    void fill(boolean day, int rainX, int rainY, int rainArea, int plants, int animals) {
+        this.day = day;
+        this.rainX = rainX;
+        this.rainY = rainY;
+        this.rainArea = rainArea;
+        this.plants = plants;
+        this.animals = animals;
+    }
+
+    /**
+     * Fills the water statistics of the frame.
+     *
+     * @param totalWater    The total water level of the cells.
+     * @param minWater      The lowest water level of a cell.
+     * @param maxWater      The highest water level of a cell.
+     */
+    void fillWater(long totalWater, int minWater, int maxWater) {
+        this.totalWater = totalWater;
+        this.minWater = minWater;
+        this.maxWater = maxWater;
+    }
+
+    /**
+     * Publishes the values written to the frame under the given epoch.
+     *
+     * @param epoch The epoch of the frame.
+     */
+    void publish(long epoch) {
+        this.epoch = epoch;
+    }
+
+    /**
+     * Returns the snapshot of a chunk for the world to fill, creating it the first time the chunk is materialized.
+     *
+     * @param chunkX    The x-coordinate of the chunk.
+     * @param chunkY    The y-coordinate of the chunk.
+     * @return          The snapshot of the chunk owned by the frame.
+     */
+    Chunk chunkToFill(int chunkX, int chunkY) {
+        int index = chunkX * chunksPerSide + chunkY;
+
+        if (chunks[index] == null)
+            chunks[index] = new Chunk();
+
+        return chunks[index];
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getChunksPerSide() {
+        return chunksPerSide;
+    }
+
+    public int getEmptyWater() {
+        return emptyWater;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public boolean isDay() {
+        return day;
+    }
+
+    public int getRainX() {
+        return rainX;
+    }
+
+    public int getRainY() {
+        return rainY;
+    }
+
+    public int getRainArea() {
+        return rainArea;
+    }
+
+    public int getPlants() {
+        return plants;
+    }
+
+    public int getAnimals() {
+        return animals;
+    }
+
+    public long getTotalWater() {
+        return totalWater;
+    }
+
+    public int getMinWater() {
+        return minWater;
+    }
+
+    public int getMaxWater() {
+        return maxWater;
+    }
+
+    /**
+     * Returns the snapshot of a chunk.
+     *
+     * @param chunkX    The x-coordinate of the chunk.
+     * @param chunkY    The y-coordinate of the chunk.
+     * @return          The snapshot of the chunk, or null if every cell of the chunk holds no creature
+     *                  and the {@linkplain #getEmptyWater() initial water level}.
+     */
+    public Chunk getChunk(int chunkX, int chunkY) {
+        return chunks[chunkX * chunksPerSide + chunkY];
+    }
+
+    /**
+     * Returns the water level of one cell. Prefer iterating the chunks to read a whole board.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @return  The water level of the cell.
+     */
+    public int getWater(int x, int y) {
+        Chunk chunk = getChunk(x >>> ChunkedBoard.CHUNK_BITS, y >>> ChunkedBoard.CHUNK_BITS);
+        return chunk == null ? emptyWater : chunk.getWater(Chunk.offset(x, y));
+    }
+
+    /**
+     * Returns one census counter of one cell. Prefer iterating the chunks to read a whole board.
+     *
+     * @param index The index of the counter, see {@link Census#index}.
+     * @param x     The x-coordinate of the cell.
+     * @param y     The y-coordinate of the cell.
+     * @return      The number of creatures of that species and stage in the cell.
+     */
+    public int getCount(int index, int x, int y) {
+        Chunk chunk = getChunk(x >>> ChunkedBoard.CHUNK_BITS, y >>> ChunkedBoard.CHUNK_BITS);
+        return chunk == null ? 0 : chunk.getCount(index, Chunk.offset(x, y));
+    }
+
+    /**
+     * The snapshot of the cells of one materialized chunk. The cell at offset (i, j) within the chunk is at
+     * offset {@code i * CHUNK_SIZE + j}, like in the {@link ChunkedBoard}. The cells of a chunk on the edge
+     * of the board that lie beyond the edge are not part of the board.
+     */
+    public static final class Chunk {
+        /**
+         * The number of cells of a chunk.
+         */
+        private static final int CELLS = ChunkedBoard.CHUNK_SIZE * ChunkedBoard.CHUNK_SIZE;
+
+        /**
+         * The water level of every cell of the chunk.
+         */
+        final int[] water = new int[CELLS];
+
+        /**
+         * The census counters of every cell of the chunk, the counters of a cell at {@code offset * Census.SIZE}.
+         */
+        final int[] census = new int[CELLS * Census.SIZE];
+
+        /**
+         * Constructs an empty chunk snapshot, filled by the world.
+         */
+        private Chunk() { }
+
+        /**
+         * Returns the offset of a cell within its chunk.
+         *
+         * @param x The x-coordinate of the cell.
+         * @param y The y-coordinate of the cell.
+         * @return  The offset of the cell.
+         */
+        public static int offset(int x, int y) {
+            return ((x & (ChunkedBoard.CHUNK_SIZE - 1)) << ChunkedBoard.CHUNK_BITS) | (y & (ChunkedBoard.CHUNK_SIZE - 1));
+        }
+
+        /**
+         * Returns the water level of one cell of the chunk.
+         *
+         * @param offset    The offset of the cell within the chunk.
+         * @return          The water level of the cell.
+         */
+        public int getWater(int offset) {
+            return water[offset];
+        }
+
+        /**
+         * Returns one census counter of one cell of the chunk.
+         *
+         * @param index     The index of the counter, see {@link Census#index}.
+         * @param offset    The offset of the cell within the chunk.
+         * @return          The number of creatures of that species and stage in the cell.
+         */
+        public int getCount(int index, int offset) {
+            return census[offset * Census.SIZE + index];
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package oop.evolution.config;
+
+import java.util.Collections;
+import java.util.Map;
+
+import oop.evolution.Customizable;
+
+/**
+ * The typed, immutable configuration of the simulation.
+ * Every properties file is read once from the classpath when this class is initialized and validated right away,
+ * so a broken file fails at startup instead of in the middle of a run. Hot paths read the {@code static final}
+ * records through their final fields, which the JIT can constant-fold.
+ */
+public final class Config {
+    /**
+     * The raw values of 'world.properties', kept for lookups by key.
+     */
+    private static final Map<String, Integer> WORLD_PROPERTIES = Collections.unmodifiableMap(Customizable.loadResource("/world.properties"));
+
+    /**
+     * The configuration of the world.
+     */
+    public static final WorldConfig WORLD = WorldConfig.from(WORLD_PROPERTIES);
+    /**
+     * The configuration of the plants.
+     */
+    public static final CreatureConfig PLANTS = CreatureConfig.from(Customizable.loadResource("/creatures/plants.properties"));
+    /**
+     * The configuration of the herbivorouses.
+     */
+    public static final CreatureConfig HERBIVOROUSES = CreatureConfig.from(Customizable.loadResource("/creatures/herbivorouses.properties"));
+    /**
+     * The configuration of the predators.
+     */
+    public static final CreatureConfig PREDATORS = CreatureConfig.from(Customizable.loadResource("/creatures/predators.properties"));
+    /**
+     * The configuration of the creator.
+     */
+    public static final CreatorConfig CREATOR = CreatorConfig.from(Customizable.loadResource("/creatures/creator.properties"));
+    /**
+     * The configuration of the weather.
+     */
+    public static final WeatherConfig WEATHER = WeatherConfig.from(Customizable.loadResource("/environment/weather.properties"));
+    /**
+     * The configuration of the hydrology.
+     */
+    public static final HydrologyConfig HYDROLOGY = HydrologyConfig.from(Customizable.loadResource("/environment/hydrology.properties"));
+    /**
+     * The configuration of the day and night cycle.
+     */
+    public static final DayAndNightConfig DAY_AND_NIGHT = DayAndNightConfig.from(Customizable.loadResource("/environment/day_and_night.properties"));
+    /**
+     * The configuration of the headless renderer.
+     */
+    public static final RenderConfig RENDER = RenderConfig.from(Customizable.loadResource("/draw/render.properties"));
+    /**
+     * The configuration of the event journal.
+     */
+    public static final JournalConfig JOURNAL = JournalConfig.from(Customizable.loadResource("/journal/journal.properties"));
+    /**
+     * The configuration of the simulation metrics.
+     */
+    public static final MetricsConfig METRICS = MetricsConfig.from(Customizable.loadResource("/metrics/metrics.properties"));
+    /**
+     * The configuration of the local status server.
+     */
+    public static final ServerConfig SERVER = ServerConfig.from(Customizable.loadResource("/server/server.properties"));
+
+    static {
+        if (WEATHER.rainArea() > WORLD.boardSize())
+            throw new IllegalArgumentException("Property RAIN_AREA must not exceed BOARD_SIZE");
+    }
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private Config() { }
+
+    /**
+     * Retrieves a value of 'world.properties' by its key.
+     *
+     * @param key                       The key of the property.
+     * @return                          The value of the property.
+     * @throws IllegalArgumentException If the key does not exist in the properties.
+     */
+    public static Integer getWorldProperty(String key) {
+        if (!WORLD_PROPERTIES.containsKey(key))
+            throw new IllegalArgumentException("Invalid key: " + key);
+
+        return WORLD_PROPERTIES.get(key);
+    }
+}
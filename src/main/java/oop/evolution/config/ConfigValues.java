@@ -0,0 +1,65 @@
+package oop.evolution.config;
+
+import java.util.Map;
+
+/**
+ * Helper methods reading and validating values of a properties file while building a configuration record.
+ */
+final class ConfigValues {
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private ConfigValues() { }
+
+    /**
+     * Returns a required value of a properties file.
+     *
+     * @param properties                The values of the properties file.
+     * @param key                       The key of the value.
+     * @return                          The value of the key.
+     * @throws IllegalArgumentException If the key is missing.
+     */
+    static int require(Map<String, Integer> properties, String key) {
+        Integer value = properties.get(key);
+        if (value == null)
+            throw new IllegalArgumentException("Missing property: " + key);
+
+        return value;
+    }
+
+    /**
+     * Returns an optional value of a properties file.
+     *
+     * @param properties    The values of the properties file.
+     * @param key           The key of the value.
+     * @param defaultValue  The value used when the key is missing.
+     * @return              The value of the key, or the default value.
+     */
+    static int optional(Map<String, Integer> properties, String key, int defaultValue) {
+        return properties.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * Checks that a value is strictly positive.
+     *
+     * @param key                       The key of the value, used in the error message.
+     * @param value                     The value to check.
+     * @throws IllegalArgumentException If the value is not positive.
+     */
+    static void requirePositive(String key, int value) {
+        if (value <= 0)
+            throw new IllegalArgumentException("Property " + key + " must be positive: " + value);
+    }
+
+    /**
+     * Checks that a value is not negative.
+     *
+     * @param key                       The key of the value, used in the error message.
+     * @param value                     The value to check.
+     * @throws IllegalArgumentException If the value is negative.
+     */
+    static void requireNonNegative(String key, int value) {
+        if (value < 0)
+            throw new IllegalArgumentException("Property " + key + " must not be negative: " + value);
+    }
+}
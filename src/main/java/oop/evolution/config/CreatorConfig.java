@@ -0,0 +1,45 @@
+package oop.evolution.config;
+
+import java.util.Map;
+
+import static oop.evolution.config.ConfigValues.*;
+
+/**
+ * The typed configuration of the creator, loaded from 'creator.properties'.
+ *
+ * @param plant             The number of plants created per round.
+ * @param nightHerb         The number of nocturnal herbivorouses created per round.
+ * @param dayHerb           The number of diurnal herbivorouses created per round.
+ * @param nightPred         The number of nocturnal predators created per round.
+ * @param dayPred           The number of diurnal predators created per round.
+ * @param creationPeriod    The pause between two creations in milliseconds.
+ */
+public record CreatorConfig(int plant, int nightHerb, int dayHerb, int nightPred, int dayPred, int creationPeriod) {
+    /**
+     * Validates the values of the configuration.
+     */
+    public CreatorConfig {
+        requireNonNegative("PLANT", plant);
+        requireNonNegative("NIGHT_HERB", nightHerb);
+        requireNonNegative("DAY_HERB", dayHerb);
+        requireNonNegative("NIGHT_PRED", nightPred);
+        requireNonNegative("DAY_PRED", dayPred);
+        requirePositive("CREATION_PERIOD", creationPeriod);
+    }
+
+    /**
+     * Builds the configuration from the values of a properties file.
+     *
+     * @param properties    The values of the properties file.
+     * @return              The creator configuration.
+     */
+    static CreatorConfig from(Map<String, Integer> properties) {
+        return new CreatorConfig(
+                require(properties, "PLANT"),
+                require(properties, "NIGHT_HERB"),
+                require(properties, "DAY_HERB"),
+                require(properties, "NIGHT_PRED"),
+                require(properties, "DAY_PRED"),
+                require(properties, "CREATION_PERIOD"));
+    }
+}
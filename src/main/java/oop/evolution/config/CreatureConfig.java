@@ -0,0 +1,86 @@
+package oop.evolution.config;
+
+import java.util.Map;
+
+import oop.evolution.creatures.Trait;
+
+import static oop.evolution.config.ConfigValues.*;
+
+/**
+ * The typed configuration of a species, loaded from 'plants.properties', 'herbivorouses.properties'
+ * or 'predators.properties'. {@code ATTACK} and {@code INACTIVE_GROW_WITH} are optional and default to 0.
+ *
+ * @param growPeriod        The period of the grow process in milliseconds.
+ * @param evolvePeriod      The period of the evolve process in milliseconds.
+ * @param replicatePeriod   The period of the replicate process in milliseconds.
+ * @param feedPeriod        The period of the feed process in milliseconds.
+ * @param growWith          The size gained per grow step while active.
+ * @param inactiveGrowWith  The size gained per grow step while inactive.
+ * @param energyIncrease    The energy gained per feed step.
+ * @param defence           The initial defence.
+ * @param attack            The initial attack.
+ * @param size              The size of a newborn.
+ * @param energy            The energy of a newborn.
+ * @param adultSize         The size at which a creature becomes an adult.
+ */
+public record CreatureConfig(int growPeriod, int evolvePeriod, int replicatePeriod, int feedPeriod, int growWith,
+                             int inactiveGrowWith, int energyIncrease, int defence, int attack, int size, int energy,
+                             int adultSize) {
+    /**
+     * Validates the values of the configuration.
+     */
+    public CreatureConfig {
+        requirePositive("GROW_PERIOD", growPeriod);
+        requirePositive("EVOLVE_PERIOD", evolvePeriod);
+        requirePositive("REPLICATE_PERIOD", replicatePeriod);
+        requirePositive("FEED_PERIOD", feedPeriod);
+        requireNonNegative("GROW_WITH", growWith);
+        requireNonNegative("INACTIVE_GROW_WITH", inactiveGrowWith);
+        requireNonNegative("ENERGY_INCREASE", energyIncrease);
+        requireNonNegative("DEFENCE", defence);
+        requireNonNegative("ATTACK", attack);
+        requireNonNegative("SIZE", size);
+        requireNonNegative("ENERGY", energy);
+        requirePositive("ADULT_SIZE", adultSize);
+    }
+
+    /**
+     * Returns the value a newborn of the species starts with for the given trait.
+     *
+     * @param trait The trait.
+     * @return      The initial value of the trait.
+     */
+    public int initial(Trait trait) {
+        return switch (trait) {
+            case ENERGY -> energy;
+            case SIZE -> size;
+            case GROW_WITH -> growWith;
+            case INACTIVE_GROW_WITH -> inactiveGrowWith;
+            case ENERGY_INCREASE -> energyIncrease;
+            case DEFENCE -> defence;
+            case ATTACK -> attack;
+        };
+    }
+
+    /**
+     * Builds the configuration from the values of a properties file.
+     *
+     * @param properties    The values of the properties file.
+     * @return              The species configuration.
+     */
+    static CreatureConfig from(Map<String, Integer> properties) {
+        return new CreatureConfig(
+                require(properties, "GROW_PERIOD"),
+                require(properties, "EVOLVE_PERIOD"),
+                require(properties, "REPLICATE_PERIOD"),
+                require(properties, "FEED_PERIOD"),
+                require(properties, "GROW_WITH"),
+                optional(properties, "INACTIVE_GROW_WITH", 0),
+                require(properties, "ENERGY_INCREASE"),
+                require(properties, "DEFENCE"),
+                optional(properties, "ATTACK", 0),
+                require(properties, "SIZE"),
+                require(properties, "ENERGY"),
+                require(properties, "ADULT_SIZE"));
+    }
+}
@@ -0,0 +1,29 @@
+package oop.evolution.config;
+
+import java.util.Map;
+
+import static oop.evolution.config.ConfigValues.*;
+
+/**
+ * The typed configuration of the day and night cycle, loaded from 'day_and_night.properties'.
+ *
+ * @param dayDuration   The duration of a day, and of a night, in milliseconds.
+ */
+public record DayAndNightConfig(int dayDuration) {
+    /**
+     * Validates the values of the configuration.
+     */
+    public DayAndNightConfig {
+        requirePositive("DAY_DURATION", dayDuration);
+    }
+
+    /**
+     * Builds the configuration from the values of a properties file.
+     *
+     * @param properties    The values of the properties file.
+     * @return              The day and night configuration.
+     */
+    static DayAndNightConfig from(Map<String, Integer> properties) {
+        return new DayAndNightConfig(require(properties, "DAY_DURATION"));
+    }
+}
@@ -0,0 +1,41 @@
+package oop.evolution.config;
+
+import java.util.Map;
+
+import static oop.evolution.config.ConfigValues.*;
+
+/**
+ * The typed configuration of the hydrology, loaded from 'hydrology.properties'.
+ *
+ * @param diffusionRate     The percentage of the difference with its neighbours a cell evens out per step, at most 25.
+ * @param evaporationRate   The percentage of its water a cell loses per step, at most 100.
+ */
+public record HydrologyConfig(int diffusionRate, int evaporationRate) {
+    /**
+     * The largest diffusion rate for which the stencil stays stable.
+     */
+    public static final int MAX_DIFFUSION_RATE = 25;
+
+    /**
+     * Validates the values of the configuration.
+     */
+    public HydrologyConfig {
+        requireNonNegative("DIFFUSION_RATE", diffusionRate);
+        requireNonNegative("EVAPORATION_RATE", evaporationRate);
+
+        if (diffusionRate > MAX_DIFFUSION_RATE)
+            throw new IllegalArgumentException("Property DIFFUSION_RATE must be at most " + MAX_DIFFUSION_RATE + ": " + diffusionRate);
+        if (evaporationRate > 100)
+            throw new IllegalArgumentException("Property EVAPORATION_RATE must be at most 100: " + evaporationRate);
+    }
+
+    /**
+     * Builds the configuration from the values of a properties file.
+     *
+     * @param properties    The values of the properties file.
+     * @return              The hydrology configuration.
+     */
+    static HydrologyConfig from(Map<String, Integer> properties) {
+        return new HydrologyConfig(require(properties, "DIFFUSION_RATE"), require(properties, "EVAPORATION_RATE"));
+    }
+}
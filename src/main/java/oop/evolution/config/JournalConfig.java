@@ -0,0 +1,30 @@
+package oop.evolution.config;
+
+import java.util.Map;
+
+import static oop.evolution.config.ConfigValues.*;
+
+/**
+ * The typed configuration of the event journal, loaded from 'journal.properties'.
+ *
+ * @param enabled       True if the world records its events, from {@code JOURNAL_ENABLED} being 1.
+ * @param segmentSize   The size of a journal segment file in kilobytes.
+ */
+public record JournalConfig(boolean enabled, int segmentSize) {
+    /**
+     * Validates the values of the configuration.
+     */
+    public JournalConfig {
+        requirePositive("SEGMENT_SIZE", segmentSize);
+    }
+
+    /**
+     * Builds the configuration from the values of a properties file.
+     *
+     * @param properties    The values of the properties file.
+     * @return              The journal configuration.
+     */
+    static JournalConfig from(Map<String, Integer> properties) {
+        return new JournalConfig(require(properties, "JOURNAL_ENABLED") != 0, require(properties, "SEGMENT_SIZE"));
+    }
+}
@@ -0,0 +1,36 @@
+package oop.evolution.config;
+
+import java.util.Map;
+
+import static oop.evolution.config.ConfigValues.*;
+
+/**
+ * The typed configuration of the simulation metrics, loaded from 'metrics.properties'.
+ *
+ * @param enabled           True if the world keeps metrics, from {@code METRICS_ENABLED} being 1.
+ * @param sampleInterval    The simulated milliseconds between two samples written to the metrics file.
+ * @param timingSampleBits  The life process steps timed are one in {@code 2^TIMING_SAMPLE_BITS}, at most 30.
+ */
+public record MetricsConfig(boolean enabled, int sampleInterval, int timingSampleBits) {
+    /**
+     * Validates the values of the configuration.
+     */
+    public MetricsConfig {
+        requirePositive("SAMPLE_INTERVAL", sampleInterval);
+        requireNonNegative("TIMING_SAMPLE_BITS", timingSampleBits);
+
+        if (timingSampleBits > 30)
+            throw new IllegalArgumentException("Property TIMING_SAMPLE_BITS must be at most 30: " + timingSampleBits);
+    }
+
+    /**
+     * Builds the configuration from the values of a properties file.
+     *
+     * @param properties    The values of the properties file.
+     * @return              The metrics configuration.
+     */
+    static MetricsConfig from(Map<String, Integer> properties) {
+        return new MetricsConfig(require(properties, "METRICS_ENABLED") != 0, require(properties, "SAMPLE_INTERVAL"),
+                require(properties, "TIMING_SAMPLE_BITS"));
+    }
+}
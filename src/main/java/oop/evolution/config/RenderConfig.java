@@ -0,0 +1,31 @@
+package oop.evolution.config;
+
+import java.util.Map;
+
+import static oop.evolution.config.ConfigValues.*;
+
+/**
+ * The typed configuration of the headless renderer, loaded from 'render.properties'.
+ *
+ * @param renderEvery   The number of world steps between two rendered frames, or 0 to render no frames.
+ * @param cellSize      The number of pixels on each side of a cell.
+ */
+public record RenderConfig(int renderEvery, int cellSize) {
+    /**
+     * Validates the values of the configuration.
+     */
+    public RenderConfig {
+        requireNonNegative("RENDER_EVERY", renderEvery);
+        requirePositive("CELL_SIZE", cellSize);
+    }
+
+    /**
+     * Builds the configuration from the values of a properties file.
+     *
+     * @param properties    The values of the properties file.
+     * @return              The render configuration.
+     */
+    static RenderConfig from(Map<String, Integer> properties) {
+        return new RenderConfig(require(properties, "RENDER_EVERY"), require(properties, "CELL_SIZE"));
+    }
+}
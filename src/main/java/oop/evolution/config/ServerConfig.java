@@ -0,0 +1,43 @@
+package oop.evolution.config;
+
+import java.util.Map;
+
+import static oop.evolution.config.ConfigValues.*;
+
+/**
+ * The typed configuration of the local status server and of the frame stream, loaded from 'server.properties'.
+ *
+ * @param enabled       True if the world serves its statistics and controls, from {@code SERVER_ENABLED} being 1.
+ * @param port          The port of the server on the loopback interface, or 0 for any free port.
+ * @param eventInterval The wall-clock milliseconds between two checks for a new frame to send to event streams
+ *                      and to frame stream viewers.
+ * @param streamEnabled True if the world streams its frames to viewers, from {@code STREAM_ENABLED} being 1.
+ * @param streamPort    The port of the frame stream, or 0 for any free port.
+ */
+public record ServerConfig(boolean enabled, int port, int eventInterval, boolean streamEnabled, int streamPort) {
+    /**
+     * Validates the values of the configuration.
+     */
+    public ServerConfig {
+        requireNonNegative("PORT", port);
+        requirePositive("EVENT_INTERVAL", eventInterval);
+        requireNonNegative("STREAM_PORT", streamPort);
+
+        if (port > 65535)
+            throw new IllegalArgumentException("Property PORT must be at most 65535: " + port);
+        if (streamPort > 65535)
+            throw new IllegalArgumentException("Property STREAM_PORT must be at most 65535: " + streamPort);
+    }
+
+    /**
+     * Builds the configuration from the values of a properties file.
+     *
+     * @param properties    The values of the properties file.
+     * @return              The server configuration.
+     */
+    static ServerConfig from(Map<String, Integer> properties) {
+        return new ServerConfig(require(properties, "SERVER_ENABLED") != 0, require(properties, "PORT"),
+                require(properties, "EVENT_INTERVAL"), require(properties, "STREAM_ENABLED") != 0,
+                require(properties, "STREAM_PORT"));
+    }
+}
@@ -0,0 +1,43 @@
+package oop.evolution.config;
+
+import java.util.Map;
+
+import static oop.evolution.config.ConfigValues.*;
+
+/**
+ * The typed configuration of the weather, loaded from 'weather.properties'.
+ *
+ * @param rainMaxValue      The maximum quantity of water a rain adds to a cell.
+ * @param rainArea          The maximum side of the square area a rain falls on.
+ * @param rainMaxInterval   The maximum pause between two rains in milliseconds, at least 1000.
+ */
+public record WeatherConfig(int rainMaxValue, int rainArea, int rainMaxInterval) {
+    /**
+     * The minimum pause between two rains in milliseconds.
+     */
+    public static final int RAIN_MIN_INTERVAL = 1000;
+
+    /**
+     * Validates the values of the configuration.
+     */
+    public WeatherConfig {
+        requirePositive("RAIN_MAX_VALUE", rainMaxValue);
+        requirePositive("RAIN_AREA", rainArea);
+
+        if (rainMaxInterval < RAIN_MIN_INTERVAL)
+            throw new IllegalArgumentException("Property RAIN_MAX_INTERVAL must be at least " + RAIN_MIN_INTERVAL + ": " + rainMaxInterval);
+    }
+
+    /**
+     * Builds the configuration from the values of a properties file.
+     *
+     * @param properties    The values of the properties file.
+     * @return              The weather configuration.
+     */
+    static WeatherConfig from(Map<String, Integer> properties) {
+        return new WeatherConfig(
+                require(properties, "RAIN_MAX_VALUE"),
+                require(properties, "RAIN_AREA"),
+                require(properties, "RAIN_MAX_INTERVAL"));
+    }
+}
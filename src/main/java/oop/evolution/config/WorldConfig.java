@@ -0,0 +1,74 @@
+package oop.evolution.config;
+
+import java.util.Map;
+
+import oop.evolution.scheduler.ExecutionMode;
+
+import static oop.evolution.config.ConfigValues.*;
+
+/**
+ * The typed configuration of the world, loaded from 'world.properties'.
+ *
+ * @param boardSize         The number of cells on each side of the board.
+ * @param cellPlants        The maximum number of plants in one cell.
+ * @param cellAnimals       The maximum number of animals in one cell.
+ * @param cellWater         The initial water level of a cell.
+ * @param maxPlants         The maximum number of plants in the world.
+ * @param maxAnimals        The maximum number of animals in the world.
+ * @param maxCellWaterLevel The water level above which a cell floods.
+ * @param schedulerWorkers  The number of worker threads of the scheduler.
+ * @param schedulerTick     The length of one scheduler tick in simulated milliseconds.
+ * @param executionMode     The way the life processes are executed.
+ * @param stepPeriod        The period of one world step in simulated milliseconds.
+ * @param tileSize          The number of cells on each side of a tile stepped in parallel.
+ * @param seed              The seed every random stream of the world is derived from, or 0 to pick one at startup.
+ * @param fastForward       True to run the scheduler as fast as possible instead of following the wall clock.
+ */
+public record WorldConfig(int boardSize, int cellPlants, int cellAnimals, int cellWater, int maxPlants, int maxAnimals,
+                          int maxCellWaterLevel, int schedulerWorkers, int schedulerTick, ExecutionMode executionMode,
+                          int stepPeriod, int tileSize, int seed, boolean fastForward) {
+    /**
+     * Validates the values of the configuration.
+     */
+    public WorldConfig {
+        requirePositive("BOARD_SIZE", boardSize);
+        requirePositive("CELL_PLANTS", cellPlants);
+        requirePositive("CELL_ANIMALS", cellAnimals);
+        requireNonNegative("CELL_WATER", cellWater);
+        requireNonNegative("MAX_PLANTS", maxPlants);
+        requireNonNegative("MAX_ANIMALS", maxAnimals);
+        requirePositive("MAX_CELL_WATER_LEVEL", maxCellWaterLevel);
+        requirePositive("SCHEDULER_WORKERS", schedulerWorkers);
+        requirePositive("SCHEDULER_TICK", schedulerTick);
+        requirePositive("STEP_PERIOD", stepPeriod);
+        requirePositive("TILE_SIZE", tileSize);
+
+        if (fastForward && executionMode != ExecutionMode.SCHEDULED)
+            throw new IllegalArgumentException("Property FAST_FORWARD requires EXECUTION_MODE "
+                    + ExecutionMode.SCHEDULED.ordinal());
+    }
+
+    /**
+     * Builds the configuration from the values of a properties file.
+     *
+     * @param properties    The values of the properties file.
+     * @return              The world configuration.
+     */
+    static WorldConfig from(Map<String, Integer> properties) {
+        return new WorldConfig(
+                require(properties, "BOARD_SIZE"),
+                require(properties, "CELL_PLANTS"),
+                require(properties, "CELL_ANIMALS"),
+                require(properties, "CELL_WATER"),
+                require(properties, "MAX_PLANTS"),
+                require(properties, "MAX_ANIMALS"),
+                require(properties, "MAX_CELL_WATER_LEVEL"),
+                require(properties, "SCHEDULER_WORKERS"),
+                require(properties, "SCHEDULER_TICK"),
+                ExecutionMode.fromProperty(require(properties, "EXECUTION_MODE")),
+                require(properties, "STEP_PERIOD"),
+                require(properties, "TILE_SIZE"),
+                optional(properties, "SEED", 0),
+                optional(properties, "FAST_FORWARD", 0) != 0);
+    }
+}
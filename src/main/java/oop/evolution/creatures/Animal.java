@@ -2,8 +2,14 @@ package oop.evolution.creatures;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 import oop.evolution.World;
+import oop.evolution.WorldCell;
+import oop.evolution.config.Config;
+import oop.evolution.config.CreatureConfig;
+import oop.evolution.journal.EventType;
+import oop.evolution.metrics.Counter;
 
 /**
  * The Animal class represents an animal in the evolution simulation.
@@ -13,14 +19,14 @@ public non-sealed class Animal extends Creature {
     /**
      * The evolution characteristics for animals.
      */
-    protected static final ArrayList<String> EVOLUTION_CHARACTERISTICS = new ArrayList<>();
+    protected static final ArrayList<Trait> EVOLUTION_CHARACTERISTICS = new ArrayList<>();
 
     static {
-        EVOLUTION_CHARACTERISTICS.add("GROW_WITH");
-        EVOLUTION_CHARACTERISTICS.add("INACTIVE_GROW_WITH");
-        EVOLUTION_CHARACTERISTICS.add("ENERGY_INCREASE");
-        EVOLUTION_CHARACTERISTICS.add("DEFENCE");
-        EVOLUTION_CHARACTERISTICS.add("ATTACK");
+        EVOLUTION_CHARACTERISTICS.add(Trait.GROW_WITH);
+        EVOLUTION_CHARACTERISTICS.add(Trait.INACTIVE_GROW_WITH);
+        EVOLUTION_CHARACTERISTICS.add(Trait.ENERGY_INCREASE);
+        EVOLUTION_CHARACTERISTICS.add(Trait.DEFENCE);
+        EVOLUTION_CHARACTERISTICS.add(Trait.ATTACK);
     }
 
     /**
@@ -30,6 +36,15 @@ public non-sealed class Animal extends Creature {
         super();
     }
 
+    /**
+     * Constructs a new Animal with default properties in the given world.
+     *
+     * @param world The world the Animal lives in.
+     */
+    public Animal(World world) {
+        super(world);
+    }
+
     /**
      * Constructs a new Animal inheriting properties from a parent Animal.
      *
@@ -40,72 +55,95 @@ public non-sealed class Animal extends Creature {
     }
 
     /**
-     * Retrieves the value associated with the specified key in the PROPERTIES map.
+     * Retrieves the configuration of the species. Plain animals behave like herbivorouses.
      *
-     * @param key   The key whose associated value is to be returned.
-     * @return      The value associated with the specified key.
+     * @return  The species configuration.
      */
-    public static Integer getProperty(String key) {
-        return PROPERTIES.get(key);
+    @Override
+    public CreatureConfig getConfig() {
+        return Config.HERBIVOROUSES;
     }
 
+    /**
+     * Retrieves the species of the animal. Plain animals are counted as herbivorouses.
+     *
+     * @return  The species of the animal.
+     */
     @Override
-    protected synchronized void grow() {
-        int energy = creatureCharacteristics.get("ENERGY");
-        int growWith = this instanceof AnimalType ? getGrowWith() : PROPERTIES.get("GROW_WITH");
-        int adultSize = PROPERTIES.get("ADULT_SIZE");
+    public Species getSpecies() {
+        return Species.HERB;
+    }
 
-        if (energy > 0) {
-            creatureCharacteristics.put("SIZE", creatureCharacteristics.get("SIZE") + growWith);
-            creatureCharacteristics.put("ENERGY", energy - 1);
+    @Override
+    protected void grow() {
+        int growWith = getGrowWith();
+        int adultSize = getConfig().adultSize();
 
-            if (creatureCharacteristics.get("SIZE") >= adultSize)
-                isAdult.set(true);
+        if (population.get(id, Trait.ENERGY) > 0) {
+            population.add(id, Trait.ENERGY, -1);
+
+            if (population.add(id, Trait.SIZE, growWith) >= adultSize)
+                becomeAdult();
         }
     }
 
     /**
-     * Gets the growth value for the animal. This method should be implemented if the Animal class implements AnimalType interface.
+     * Gets the growth value for the animal. Animals implementing the AnimalType interface grow slower while inactive.
      *
      * @return  The growth value for the animal.
      */
     public int getGrowWith() {
-        return PROPERTIES.get("GROW_WITH");
+        if (this instanceof AnimalType animalType && !animalType.isActive())
+            return getConfig().inactiveGrowWith();
+
+        return getConfig().growWith();
     }
 
     /**
-     * Attempts to move the animal to an adjacent cell up to 10 times in 1 second.
-     * Terminates execution if unsuccessful.
+     * Moves the animal to the given neighbouring cell if there is room for it, under the creature lock,
+     * so the move cannot interleave with the animal being killed. A caller holding the animal from before
+     * it died and was reused cannot move it further than a neighbouring cell.
+     *
+     * @param destination   The cell to move to.
+     * @return              True if the animal was moved, otherwise false.
      */
-    protected synchronized void move() {
-        for (int attempts = 0; attempts < 10; attempts++) {
-            if (World.getInstance().moveToNeighbourCell(this))
-                return;
-
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return;
+    public boolean moveTo(WorldCell destination) {
+        ReentrantLock held = lock;
+        int life = getGeneration();
+
+        held.lock();
+        try {
+            WorldCell source = getPosition();
+            if (!isLiving() || getGeneration() != life || source == null
+                    || Math.abs(source.getX() - destination.getX()) + Math.abs(source.getY() - destination.getY()) != 1)
+                return false;
+
+            if (!WorldCell.moveAnimal(this, source, destination)) {
+                metrics.count(Counter.FAILED_MOVE, getSpecies());
+                return false;
             }
+
+            journal.record(EventType.MOVE, id, destination.getX(), destination.getY(), source.getX(), source.getY());
+            metrics.count(Counter.MOVE, getSpecies());
+            return true;
+        } finally {
+            held.unlock();
         }
     }
 
     @Override
-    protected synchronized void evolve() { }
+    protected void evolve() { }
 
     @Override
-    protected synchronized void replicate() {
-        if (isAdult.get() && creatureCharacteristics.get("ENERGY") > 0 && canReplicate() && isActive()) {
-            Animal newAnimal = new Animal(this);
-
-            creatureCharacteristics.put("SIZE", PROPERTIES.get("SIZE"));
-            creatureCharacteristics.put("ENERGY", PROPERTIES.get("ENERGY"));
+    protected void replicate() {
+        if (isAdult() && population.get(id, Trait.ENERGY) > 0 && isActive() && giveBirth()) {
+            population.set(id, Trait.SIZE, getConfig().size());
+            population.set(id, Trait.ENERGY, getConfig().energy());
         }
     }
 
     @Override
-    protected synchronized void feed() { }
+    protected void feed() { }
 
     /**
      * Checks if the animal is in its active period.
@@ -117,17 +155,8 @@ public non-sealed class Animal extends Creature {
         return true;
     }
 
-    /**
-     * Checks if the animal can replicate.
-     *
-     * @return  True if the animal can replicate, otherwise false.
-     */
-    private boolean canReplicate() {
-        return position.get() != null && position.get().hasSpaceFor(this);
-    }
-
     @Override
-    public List<String> getEvolutionCharacteristics() {
+    public List<Trait> getEvolutionCharacteristics() {
         return EVOLUTION_CHARACTERISTICS;
     }
 }
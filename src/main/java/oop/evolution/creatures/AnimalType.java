@@ -1,6 +1,7 @@
 package oop.evolution.creatures;
 
-import java.lang.reflect.Method;
+import oop.evolution.World;
+import oop.evolution.config.CreatureConfig;
 
 /**
  * The AnimalType interface defines behaviors specific to animals in the evolution simulation.
@@ -14,19 +15,26 @@ public interface AnimalType {
      */
     boolean isActive();
 
+    /**
+     * Gets the world the animal lives in.
+     *
+     * @return  The world of the animal.
+     */
+    World getWorld();
+
+    /**
+     * Gets the configuration of the species of the animal.
+     *
+     * @return  The species configuration.
+     */
+    CreatureConfig getConfig();
+
     /**
      * Gets the growth value for the animal.
      *
      * @return  The growth value for the animal.
      */
     default int getGrowWith() {
-        try {
-            String propertyName = isActive() ? "GROW_WITH" : "INACTIVE_GROW_WITH";
-            Method method = this.getClass().getMethod("getProperty", String.class);
-
-            return (Integer) method.invoke(null, propertyName);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to get grow value", e);
-        }
+        return isActive() ? getConfig().growWith() : getConfig().inactiveGrowWith();
     }
 }
@@ -1,102 +1,80 @@
 package oop.evolution.creatures;
 
-import java.util.HashMap;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import oop.evolution.Customizable;
 import oop.evolution.World;
+import oop.evolution.config.Config;
+import oop.evolution.config.CreatorConfig;
 
 /**
- * The Creator class is responsible for adding plants to the world at specified intervals.
- * It implements the Customizable interface and represents a thread.
+ * The Creator class is responsible for adding plants and animals to the world at specified intervals.
+ * It is repeated by the clock of the world and adds one round of plants, diurnal and nocturnal herbivores
+ * and diurnal and nocturnal predators in the configured numbers at a time, spawning every kind in bulk
+ * into random cells that have room for it.
  */
-public class Creator implements Customizable, Runnable {
+public class Creator implements Customizable {
     /**
-     * The properties loaded from the properties file.
+     * The configuration of the creator.
      */
-    private static final HashMap<String, Integer> PROPERTIES = Customizable.loadProperties("src/main/resources/creatures/creator.properties");
+    private static final CreatorConfig CONFIG = Config.CREATOR;
+
+    /**
+     * The kinds of creatures added during a round, in order.
+     */
+    private static final CreatureKind[] KINDS = { CreatureKind.PLANT, CreatureKind.DIURNAL_HERBIVOROUS,
+            CreatureKind.NOCTURNAL_HERBIVOROUS, CreatureKind.DIURNAL_PREDATOR, CreatureKind.NOCTURNAL_PREDATOR };
     
     /**
-     * The world instance to add plants to.
+     * The world instance to add creatures to.
      */
     private final World world;
 
     /**
-     * Constructor for the Creator class.
+     * The random stream choosing the cells, split from the stream of the world.
      */
-    public Creator() {
-        this.world = World.getInstance();
-    }
+    private final SplittableRandom random;
 
     /**
-     * The run method adds a plant to a random free cell in the world if the maximum number of plants is not reached.
-     * Then it sleeps for the specified creation period.
+     * The number of creatures of each kind added during a round, indexed like {@link #KINDS}.
      */
-    @Override
-    public void run() {
-        Random random = new Random();
-
-        while (true) {
-            try {
-                int plantCount = PROPERTIES.get("PLANT");
-                for (int i = 0; i < plantCount; i++) {
-                    if (world.getPlantNumber().get() < World.getProperty("MAX_PLANTS")) {
-                        int x = random.nextInt(World.getProperty("BOARD_SIZE"));
-                        int y = random.nextInt(World.getProperty("BOARD_SIZE"));
-
-                        Plant newPlant = new Plant();
-                        world.addPlant(newPlant, x, y);
-                        Thread.sleep(PROPERTIES.get("CREATION_PERIOD"));
-                    }
-                }
-
-                int dayHerbCount = PROPERTIES.get("DAY_HERB");
-                for (int i = 0; i < dayHerbCount; i++) {
-                    if (world.addWorldAnimal(new DiurnalHerbivorous())) {
-                        int x = random.nextInt(World.getProperty("BOARD_SIZE"));
-                        int y = random.nextInt(World.getProperty("BOARD_SIZE"));
-
-                        world.addAnimal(new DiurnalHerbivorous(), x, y);
-                        Thread.sleep(PROPERTIES.get("CREATION_PERIOD"));
-                    }
-                }
-
-                int nightHerbCount = PROPERTIES.get("NIGHT_HERB");
-                for (int i = 0; i < nightHerbCount; i++) {
-                    if (world.addWorldAnimal(new NocturnalHerbivorous())) {
-                        int x = random.nextInt(World.getProperty("BOARD_SIZE"));
-                        int y = random.nextInt(World.getProperty("BOARD_SIZE"));
+    private final int[] counts = { CONFIG.plant(), CONFIG.dayHerb(), CONFIG.nightHerb(), CONFIG.dayPred(),
+            CONFIG.nightPred() };
 
-                        world.addAnimal(new NocturnalHerbivorous(), x, y);
-                        Thread.sleep(PROPERTIES.get("CREATION_PERIOD"));
-                    }
-                }
+    /**
+     * Constructs a creator adding creatures to the shared world.
+     */
+    public Creator() {
+        this(World.getInstance());
+    }
 
-                int dayPredCount = PROPERTIES.get("DAY_PRED");
-                for (int i = 0; i < dayPredCount; i++) {
-                    if (world.addWorldAnimal(new DiurnalPredator())) {
-                        int x = random.nextInt(World.getProperty("BOARD_SIZE"));
-                        int y = random.nextInt(World.getProperty("BOARD_SIZE"));
+    /**
+     * Constructs a creator adding creatures to the given world.
+     *
+     * @param world The world to add creatures to.
+     */
+    public Creator(World world) {
+        this.world = world;
+        this.random = world.newRandom();
+    }
 
-                        world.addAnimal(new DiurnalPredator(), x, y);
-                        Thread.sleep(PROPERTIES.get("CREATION_PERIOD"));
-                    }
-                }
+    /**
+     * Adds one round of creatures, skipping the kinds whose limit is reached, see {@link World#spawn(CreatureKind,
+     * int, SplittableRandom)}.
+     *
+     * @return  The delay before the next round in simulated milliseconds: one creation period per creature
+     *          of a round, so creatures keep being added at the configured rate.
+     */
+    public long create() {
+        int round = 0;
 
-                int nightPredCount = PROPERTIES.get("NIGHT_PRED");
-                for (int i = 0; i < nightPredCount; i++) {
-                    if (world.addWorldAnimal(new NocturnalPredator())) {
-                        int x = random.nextInt(World.getProperty("BOARD_SIZE"));
-                        int y = random.nextInt(World.getProperty("BOARD_SIZE"));
+        for (int i = 0; i < KINDS.length; ++i) {
+            round += counts[i];
 
-                        world.addAnimal(new NocturnalPredator(), x, y);
-                        Thread.sleep(PROPERTIES.get("CREATION_PERIOD"));
-                    }
-                }
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
+            if (counts[i] > 0)
+                world.spawn(KINDS[i], counts[i], random);
         }
+
+        return CONFIG.creationPeriod() * Math.max(round, 1);
     }
 }
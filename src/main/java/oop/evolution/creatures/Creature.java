@@ -1,102 +1,210 @@
 package oop.evolution.creatures;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantLock;
 
 import oop.evolution.World;
 import oop.evolution.WorldCell;
+import oop.evolution.config.CreatureConfig;
+import oop.evolution.journal.EventJournal;
+import oop.evolution.journal.EventType;
+import oop.evolution.metrics.Counter;
+import oop.evolution.metrics.LifeProcess;
+import oop.evolution.metrics.MetricsRegistry;
+import oop.evolution.scheduler.Cancellable;
+import oop.evolution.scheduler.SimulationClock;
 
 /**
  * The abstract base class for all creatures in the evolution simulation.
  * This class defines common behavior and attributes for creatures.
+ * <p>
+ * The characteristics, the adult flag and the position of a creature live in the {@link PopulationStore},
+ * but each creature still schedules its own life processes: grow, evolve, replicate and feed are four
+ * activities of its own on the clock of the world, not passes over the columns. Besides its columns in the store,
+ * a living creature therefore holds this object with its random stream, an array of four
+ * {@link Cancellable}s, and per process a repeated activity with the lambda it runs: a
+ * {@link oop.evolution.scheduler.ScheduledEvent} on the wheel in scheduled mode, or a thread of its own
+ * in the thread modes. The lock is a stripe shared with other ids of the store.
  */
 public abstract sealed class Creature permits Plant, Animal {
     /**
-     * The properties shared by all creature instances.
+     * The world the creature lives in.
      */
-    protected static final HashMap<String, Integer> PROPERTIES = new HashMap<>();
+    protected final World world;
 
     /**
-     * The characteristics specific to each creature instance.
+     * The store holding the characteristics, the adult flag and the position of the creature.
      */
-    protected ConcurrentHashMap<String, Integer> creatureCharacteristics = new ConcurrentHashMap<>();
+    protected final PopulationStore population;
 
     /**
-     * Flag indicating whether the creature is an adult or not.
+     * The id of the creature in the population store. A new id is given to the creature every time
+     * it is taken from the pool of its world.
      */
-    protected AtomicBoolean isAdult = new AtomicBoolean();
+    protected int id;
 
     /**
-     * Thread for simulating growth process of the creature.
+     * The activities repeated by the clock of the world driving the grow, evolve, replicate and feed processes,
+     * or null while the creature has not been activated.
      */
-    protected Thread growThread;
+    protected volatile Cancellable[] lifeEvents;
 
     /**
-     * Thread for simulating evolution process of the creature.
+     * Flag to indicate if the life processes should stop.
      */
-    protected Thread evolveThread;
+    private volatile boolean stopRequested = false;
 
     /**
-     * Thread for simulating replication process of the creature.
+     * The number of times the creature has been taken from the pool. Activities and references
+     * of a previous life compare it to the generation they started with, so they never act on the next life.
      */
-    protected Thread replicateThread;
+    private volatile int generation = 0;
 
     /**
-     * Thread for simulating feeding process of the creature.
+     * The lock guarding the characteristics of the creature, a stripe shared with other ids of the store.
+     * A {@link ReentrantLock} is used instead of {@code synchronized} so that a life process
+     * blocking while holding it does not pin the carrier thread of a virtual thread.
+     * It may be held while taking a cell lock, never the other way around.
+     * It changes with the id, so callers read it once and check {@link #generation} once they hold it.
      */
-    protected Thread feedThread;
+    protected ReentrantLock lock;
 
     /**
-     * Flag to indicate if growth process should stop.
+     * The random stream of the creature. It is split from the stream of the world, or from the stream
+     * of the parent for an offspring, and only used while holding the lock of the creature.
      */
-    private volatile boolean growStopRequested = false;
+    protected SplittableRandom random;
 
     /**
-     * Flag to indicate if evolution process should stop.
+     * The journal of the world the creature lives in, recording its birth, moves and death.
      */
-    private volatile boolean evolveStopRequested = false;
+    protected final EventJournal journal;
 
     /**
-     * Flag to indicate if replication process should stop.
+     * The metrics of the world the creature lives in.
      */
-    private volatile boolean replicateStopRequested = false;
+    protected final MetricsRegistry metrics;
 
     /**
-     * Flag to indicate if feeding process should stop.
+     * The number of life process steps the creature has run, choosing the steps whose duration is measured.
+     * Only read and written under the creature lock.
      */
-    private volatile boolean feedStopRequested = false;
+    private int steps = 0;
 
     /**
-     * The position of the creature in the world.
+     * The offspring placed by the running life process step and waiting to be activated once the creature lock
+     * is released, or null. Only read and written under the creature lock.
      */
-    protected AtomicReference<WorldCell> position = new AtomicReference<>();
+    private Creature born;
 
     /**
-     * Default constructor for creating a creature.
-     * Initializes creature characteristics with default properties and starts its life processes.
+     * The generation of {@link #born} when it was placed. Only read and written under the creature lock.
+     */
+    private int bornGeneration;
+
+    /**
+     * Default constructor for creating a creature in the shared world.
+     * Initializes creature characteristics with default properties. The creature stays inert until it is activated.
      */
     public Creature() {
-        creatureCharacteristics.putAll(PROPERTIES);
-            
-        startLiving();
+        this(World.getInstance());
+    }
+
+    /**
+     * Constructor for creating a creature in the given world.
+     * Initializes creature characteristics with default properties. The creature stays inert until it is activated.
+     *
+     * @param world The world the creature lives in.
+     */
+    public Creature(World world) {
+        this.world = world;
+        this.population = world.getPopulation();
+        this.journal = world.getJournal();
+        this.metrics = world.getMetrics();
+
+        renew();
     }
 
     /**
      * Constructor for creating a creature with parent characteristics.
-     * Initializes creature characteristics with parent's characteristics and starts its life processes.
+     * Initializes creature characteristics with parent's characteristics. The creature stays inert
+     * until it is activated.
      *
      * @param parent    The parent creature whose characteristics to inherit.
      */
     public Creature(Creature parent) {
-        creatureCharacteristics.putAll(PROPERTIES);
-        creatureCharacteristics.putAll(parent.creatureCharacteristics);
-        
-        if (parent instanceof Plant && parent.position.get().addPlant(this))
-            startLiving();
+        this.world = parent.world;
+        this.population = parent.population;
+        this.journal = parent.journal;
+        this.metrics = parent.metrics;
+
+        renew(parent);
+    }
+
+    /**
+     * Gives the creature a new id with the default characteristics of its species, as a new creature.
+     */
+    void renew() {
+        begin(world.newRandom());
+        initializeCharacteristics();
+    }
+
+    /**
+     * Gives the creature a new id with the characteristics of a parent, as a new offspring.
+     *
+     * @param parent    The parent creature whose characteristics to inherit.
+     */
+    void renew(Creature parent) {
+        begin(parent.random.split());
+        population.copyTraits(parent.id, id);
+    }
+
+    /**
+     * Starts a new life of the creature, with a new id and random stream and no life processes.
+     *
+     * @param random    The random stream of the new life.
+     */
+    private void begin(SplittableRandom random) {
+        this.id = population.allocate();
+        this.lock = population.lockFor(id);
+        this.random = random;
+        this.lifeEvents = null;
+        this.generation = generation + 1;
+        this.stopRequested = false;
+    }
+
+    /**
+     * Fills the trait columns of the creature with the initial values of its species.
+     */
+    private void initializeCharacteristics() {
+        CreatureConfig config = getConfig();
+
+        for (Trait trait : Trait.values())
+            population.set(id, trait, config.initial(trait));
+    }
+
+    /**
+     * Abstract method to get the species the creature is counted as in the census.
+     *
+     * @return The species of the creature.
+     */
+    public abstract Species getSpecies();
+
+    /**
+     * Abstract method to get the configuration of the species of the creature.
+     *
+     * @return The species configuration.
+     */
+    public abstract CreatureConfig getConfig();
+
+    /**
+     * Retrieves the world the creature lives in.
+     *
+     * @return  The world of the creature.
+     */
+    public World getWorld() {
+        return world;
     }
 
     /**
@@ -105,11 +213,15 @@ public abstract sealed class Creature permits Plant, Animal {
      * @param newPosition   The new position of the creature.
      */
     public void setPosition(WorldCell newPosition) {
-        this.position.set(newPosition);
+        population.setPosition(id, newPosition);
     }
 
     public WorldCell getPosition() {
-        return position.get();
+        return population.getPosition(id);
+    }
+
+    public int getId() {
+        return id;
     }
 
     /**
@@ -117,7 +229,7 @@ public abstract sealed class Creature permits Plant, Animal {
      *
      * @return A list of characteristics that can evolve for the creature.
      */
-    protected abstract List<String> getEvolutionCharacteristics();
+    protected abstract List<Trait> getEvolutionCharacteristics();
 
     /**
      * Abstract method representing the growth process of the creature.
@@ -129,13 +241,12 @@ public abstract sealed class Creature permits Plant, Animal {
      * Abstract method representing the evolution process of the creature.
      * Subclasses must implement this method to define creature evolution behavior.
      */
-    protected synchronized void evolve() {
-        if (!isAdult.get()) 
+    protected void evolve() {
+        if (!isAdult()) 
             return;
 
-        Random random = new Random();
-        String characteristicToEvolve = getEvolutionCharacteristics().get(random.nextInt(getEvolutionCharacteristics().size()));
-        creatureCharacteristics.put(characteristicToEvolve, creatureCharacteristics.get(characteristicToEvolve) + 1);
+        Trait characteristicToEvolve = getEvolutionCharacteristics().get(random.nextInt(getEvolutionCharacteristics().size()));
+        population.add(id, characteristicToEvolve, 1);
     }
 
     /**
@@ -151,94 +262,273 @@ public abstract sealed class Creature permits Plant, Animal {
     protected abstract void feed();
 
     /**
-     * Starts the life processes of the creature by creating and starting threads for each process.
-     * Each process runs in an infinite loop, executing its corresponding method and then sleeping for 1000 milliseconds.
+     * Starts the life processes of the creature, once it has been placed in a cell.
+     * Between the placement and this call the creature may have been killed by another thread, recycled and
+     * taken from the pool again, so the caller passes the generation it read before placing the creature and
+     * nothing is started for another life. The check and the start run under the creature lock, which excludes
+     * a concurrent kill, so it must not be called while holding the lock of another creature.
+     *
+     * @param expectedGeneration    The generation of the creature when it was placed, see {@link #getGeneration()}.
+     * @return                      True if the life processes were started, false if that life has ended
+     *                              or its processes were started already.
+     */
+    public boolean activate(int expectedGeneration) {
+        ReentrantLock held = lock;
+
+        held.lock();
+        try {
+            if (stopRequested || generation != expectedGeneration || lifeEvents != null)
+                return false;
+
+            startLiving();
+            return true;
+        } finally {
+            held.unlock();
+        }
+    }
+
+    /**
+     * Starts the life processes of the creature on the clock of the world.
+     * In scheduled mode each process is a periodic event on the world's scheduler,
+     * otherwise each process runs in a loop on its own platform or virtual thread.
      */
     protected void startLiving() {
-        growThread = new Thread(() -> {
-            while (!growStopRequested)
-                try {
-                    Thread.sleep(PROPERTIES.get("GROW_PERIOD"));
-                    grow();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-        });
-        growThread.start();
-
-        evolveThread = new Thread(() -> {
-            while (!evolveStopRequested)
-                try {
-                    Thread.sleep(PROPERTIES.get("EVOLVE_PERIOD"));
-                    evolve();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-        });
-        evolveThread.start();
-
-        replicateThread = new Thread(() -> {
-            while (!replicateStopRequested)
-                try {
-                    Thread.sleep(PROPERTIES.get("REPLICATE_PERIOD"));
-                    replicate();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-        });
-        replicateThread.start();
-
-        feedThread = new Thread(() -> {
-            while (!feedStopRequested)
-                try {
-                    Thread.sleep(PROPERTIES.get("FEED_PERIOD"));
-                    feed();
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
-        });
-        feedThread.start();
-    }
-
-    /**
-     * Stops the life processes of the creature by interrupting all threads associated with it.
+        SimulationClock clock = world.getClock();
+        CreatureConfig config = getConfig();
+
+        lifeEvents = new Cancellable[] {
+            live(clock, LifeProcess.GROW, this::grow, config.growPeriod()),
+            live(clock, LifeProcess.EVOLVE, this::evolve, config.evolvePeriod()),
+            live(clock, LifeProcess.REPLICATE, this::replicate, config.replicatePeriod()),
+            live(clock, LifeProcess.FEED, this::feed, config.feedPeriod())
+        };
+    }
+
+    /**
+     * Repeats a life process every period until the creature is killed.
+     *
+     * @param clock         The clock repeating the process.
+     * @param lifeProcess   The life process, naming the activity and its latency histogram.
+     * @param process       The life process to run.
+     * @param period        The period of the process in simulated milliseconds.
+     * @return              The repeated process, cancelled when the creature is killed.
+     */
+    private Cancellable live(SimulationClock clock, LifeProcess lifeProcess, Runnable process, int period) {
+        ReentrantLock held = lock;
+        int life = generation;
+
+        return clock.repeat(lifeProcess.name().toLowerCase(), period,
+                () -> step(held, life, lifeProcess, process) ? period : -1);
+    }
+
+    /**
+     * Runs one step of a life process under the creature lock, unless the life it was started for has ended.
+     * Checking under the lock guarantees that no step touches the id after it has been released.
+     * The steps chosen by the metrics of the world are timed. An offspring placed by the step is activated
+     * once the lock has been released, since no thread holds two lock stripes at once.
+     *
+     * @param held          The lock of the life the process was started for.
+     * @param life          The generation the process was started for.
+     * @param lifeProcess   The life process, for its latency histogram.
+     * @param process       The life process to run.
+     * @return              True if the process should run again, false once the creature has been killed.
+     */
+    private boolean step(ReentrantLock held, int life, LifeProcess lifeProcess, Runnable process) {
+        Creature offspring;
+        int offspringGeneration;
+        boolean again;
+
+        held.lock();
+        try {
+            if (stopRequested || generation != life)
+                return false;
+
+            if (metrics.isTimed(++steps)) {
+                long start = System.nanoTime();
+                process.run();
+                metrics.recordLatency(lifeProcess, getSpecies(), System.nanoTime() - start);
+            } else
+                process.run();
+
+            again = !stopRequested;
+            offspring = born;
+            offspringGeneration = bornGeneration;
+            born = null;
+        } finally {
+            held.unlock();
+        }
+
+        if (offspring != null)
+            offspring.activate(offspringGeneration);
+
+        return again;
+    }
+
+    /**
+     * Places an offspring of the creature in its cell, if the cell has room. The offspring is activated by
+     * the running step once the creature lock has been released.
+     * The room is checked before the offspring is taken from the pool, so a full cell costs nothing.
+     * Called by the replicate process, under the creature lock.
+     *
+     * @return  True if an offspring was born, otherwise false.
+     */
+    protected boolean giveBirth() {
+        WorldCell cell = getPosition();
+        if (cell == null || !cell.hasSpaceFor(this))
+            return false;
+
+        CreaturePool pool = world.getCreaturePool();
+        Creature offspring = pool.obtain(this);
+        int offspringId = offspring.id;
+        int offspringGeneration = offspring.generation;
+
+        if (!world.place(offspring, cell.getX(), cell.getY())) {
+            offspring.discard(offspringGeneration);
+            return false;
+        }
+
+        born = offspring;
+        bornGeneration = offspringGeneration;
+        journal.record(EventType.BIRTH, offspringId, cell.getX(), cell.getY(), id, getSpecies().ordinal());
+        metrics.count(Counter.BIRTH, getSpecies());
+        return true;
+    }
+
+    /**
+     * Stops the life processes of the creature by cancelling their activities on the clock,
+     * removes it from its cell and from the world, releases its id in the population store
+     * and gives the creature back to the pool of its world.
+     * Must not be called while holding a cell lock.
      */
     public void killCreature() {
-        growStopRequested = true;
-        evolveStopRequested = true;
-        replicateStopRequested = true;
-        feedStopRequested = true;
+        kill(null);
+    }
+
+    /**
+     * Kills the creature if it is still in the given cell. Used for creatures collected from a cell
+     * and killed after its lock has been released, which may have died and been reused meanwhile.
+     * Must not be called while holding a cell lock.
+     *
+     * @param cell  The cell the creature was collected from.
+     * @return      True if the creature was killed, false if it had left the cell or died already.
+     */
+    public boolean killCreature(WorldCell cell) {
+        return kill(cell);
+    }
+
+    /**
+     * Kills the creature, see {@link #killCreature()}.
+     *
+     * @param expected  The cell the creature must be in, or null to kill it wherever it is.
+     * @return          True if the creature was killed, otherwise false.
+     */
+    private boolean kill(WorldCell expected) {
+        ReentrantLock held = lock;
+        int life = generation;
+
+        held.lock();
+        try {
+            if (stopRequested || generation != life)
+                return false;
+
+            WorldCell currentPosition = getPosition();
+            if (expected != null && currentPosition != expected)
+                return false;
+
+            stopRequested = true;
+
+            Cancellable[] events = lifeEvents;
+            if (events != null)
+                for (Cancellable event : events)
+                    event.cancel();
 
-        growThread.interrupt();
-        evolveThread.interrupt();
-        replicateThread.interrupt();
-        feedThread.interrupt();
+            if (currentPosition != null)
+                currentPosition.removeCreature(this);
 
-        WorldCell currentPosition = position.get();
-        if (currentPosition != null)
-            currentPosition.removeCreature(this);
+            journal.record(EventType.DEATH, id, currentPosition == null ? -1 : currentPosition.getX(),
+                    currentPosition == null ? -1 : currentPosition.getY(), getSpecies().ordinal(), 0);
 
-        World.getInstance().removeCreature(this);
+            world.removeCreature(this);
+            population.release(id);
+            metrics.count(Counter.DEATH, getSpecies());
+        } finally {
+            held.unlock();
+        }
+
+        world.getCreaturePool().recycle(this);
+        return true;
+    }
+
+    /**
+     * Gives back a creature that was never placed: releases its id and returns it to the pool of its world.
+     * Unlike {@link #killCreature()}, it takes no lock, does not touch the counts of the world and records no death,
+     * as no other thread has seen the creature. Like {@link #activate(int)}, it does nothing if the given life
+     * has ended or been activated, so a stale handle never gives back the next life of the creature.
+     *
+     * @param expectedGeneration    The generation of the creature when it was taken from the pool.
+     */
+    public void discard(int expectedGeneration) {
+        if (stopRequested || generation != expectedGeneration || lifeEvents != null)
+            return;
+
+        stopRequested = true;
+        population.release(id);
+        world.getCreaturePool().recycle(this);
+    }
+
+    /**
+     * Returns the generation of the creature, which changes every time it is taken from the pool.
+     *
+     * @return  The generation of the current life.
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Marks the creature as an adult. While the creature is in a cell, the flag is set by the cell
+     * together with its census, so the creature is never counted in both stages or in neither.
+     */
+    protected void becomeAdult() {
+        if (isAdult())
+            return;
+
+        WorldCell cell = getPosition();
+        if (cell == null || !cell.growUp(this, () -> population.setAdult(id, true)))
+            population.setAdult(id, true);
+    }
+
+    /**
+     * Checks if the creature has not been killed. The answer cannot change while the creature lock is held.
+     *
+     * @return  True if the creature is still living, otherwise false.
+     */
+    protected boolean isLiving() {
+        return !stopRequested;
     }
 
     /**
      * Gets the adult status of the creature.
      *
-     * @return  The adult status of the creature as an AtomicBoolean.
+     * @return  True if the creature is an adult, otherwise false.
      */
-    public AtomicBoolean getIsAdult() {
-        return isAdult;
+    public boolean isAdult() {
+        return population.isAdult(id);
+    }
+
+    public void setCreatureCharacteristic(Trait type, int newValue) {
+        population.set(id, type, newValue);
+    }
+
+    public int getCreatureCharacteristic(Trait type) {
+        return population.get(id, type);
     }
 
     public void setCreatureCharacteristic(String type, int newValue) {
-        creatureCharacteristics.put(type, newValue);
+        setCreatureCharacteristic(Trait.valueOf(type), newValue);
     }
 
     public int getCreatureCharacteristic(String type) {
-        return creatureCharacteristics.get(type);
-    }   
+        return getCreatureCharacteristic(Trait.valueOf(type));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package oop.evolution.creatures;
+
+import java.util.function.Function;
+
+import oop.evolution.World;
+
+/**
+ * Enum representing the concrete classes of creatures, used to write them to a checkpoint and create them again.
+ * The ordinals are stored in checkpoints, so new kinds must be added at the end.
+ */
+public enum CreatureKind {
+    PLANT(Plant.class, Plant::new, parent -> new Plant((Plant) parent)),
+    ANIMAL(Animal.class, Animal::new, parent -> new Animal((Animal) parent)),
+    HERBIVOROUS(Herbivorous.class, Herbivorous::new, parent -> new Herbivorous((Herbivorous) parent)),
+    DIURNAL_HERBIVOROUS(DiurnalHerbivorous.class, DiurnalHerbivorous::new,
+            parent -> new DiurnalHerbivorous((DiurnalHerbivorous) parent)),
+    NOCTURNAL_HERBIVOROUS(NocturnalHerbivorous.class, NocturnalHerbivorous::new,
+            parent -> new NocturnalHerbivorous((NocturnalHerbivorous) parent)),
+    PREDATOR(Predator.class, Predator::new, parent -> new Predator((Predator) parent)),
+    DIURNAL_PREDATOR(DiurnalPredator.class, DiurnalPredator::new,
+            parent -> new DiurnalPredator((DiurnalPredator) parent)),
+    NOCTURNAL_PREDATOR(NocturnalPredator.class, NocturnalPredator::new,
+            parent -> new NocturnalPredator((NocturnalPredator) parent));
+
+    /**
+     * The kinds, indexed by ordinal.
+     */
+    private static final CreatureKind[] KINDS = values();
+
+    /**
+     * The class of the creatures of this kind.
+     */
+    private final Class<? extends Creature> type;
+
+    /**
+     * The constructor of a new creature of this kind with default properties in a world.
+     */
+    private final Function<World, Creature> constructor;
+
+    /**
+     * The constructor of a new offspring of this kind inheriting the characteristics of its parent.
+     */
+    private final Function<Creature, Creature> offspring;
+
+    CreatureKind(Class<? extends Creature> type, Function<World, Creature> constructor,
+            Function<Creature, Creature> offspring) {
+        this.type = type;
+        this.constructor = constructor;
+        this.offspring = offspring;
+    }
+
+    /**
+     * Creates a new creature of this kind with default properties in the shared world.
+     * It is inert until it is placed and activated.
+     *
+     * @return  The new creature.
+     */
+    public Creature create() {
+        return create(World.getInstance());
+    }
+
+    /**
+     * Creates a new creature of this kind with default properties in the given world.
+     * It is inert until it is placed and activated.
+     *
+     * @param world The world the creature lives in.
+     * @return      The new creature.
+     */
+    public Creature create(World world) {
+        return constructor.apply(world);
+    }
+
+    /**
+     * Creates a new offspring of a parent of this kind, inheriting its characteristics and world.
+     * It is inert until it is placed and activated.
+     *
+     * @param parent    The parent, of this kind.
+     * @return          The new offspring.
+     */
+    public Creature createOffspring(Creature parent) {
+        return offspring.apply(parent);
+    }
+
+    /**
+     * Returns the kind of a creature.
+     *
+     * @param creature                  The creature.
+     * @return                          The kind of its class.
+     * @throws IllegalArgumentException If the class of the creature has no kind.
+     */
+    public static CreatureKind of(Creature creature) {
+        for (CreatureKind kind : KINDS)
+            if (kind.type == creature.getClass())
+                return kind;
+
+        throw new IllegalArgumentException("Unsupported creature class: " + creature.getClass().getName());
+    }
+
+    /**
+     * Returns the kind with the given ordinal.
+     *
+     * @param ordinal                   The ordinal of the kind.
+     * @return                          The kind.
+     * @throws IllegalArgumentException If there is no kind with that ordinal.
+     */
+    public static CreatureKind fromOrdinal(int ordinal) {
+        if (ordinal < 0 || ordinal >= KINDS.length)
+            throw new IllegalArgumentException("Invalid creature kind: " + ordinal);
+
+        return KINDS[ordinal];
+    }
+}
@@ -0,0 +1,215 @@
+package oop.evolution.creatures;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import oop.evolution.World;
+
+/**
+ * Recycles the creatures of a world. A killed creature is a handle without an id, so instead of being left
+ * to the garbage collector it is kept, by kind, and given a new id and fresh characteristics the next time
+ * a creature of its kind is born.
+ * <p>
+ * The creatures of a kind are handed out again in the order they died, so the handle that died last is the last
+ * to be reused, leaving the references other threads may still hold to it time to notice that it died.
+ * Creatures returned while the pool of their kind is full are dropped.
+ */
+public final class CreaturePool {
+    /**
+     * The maximum number of creatures kept per kind.
+     */
+    public static final int CAPACITY = 1 << 12;
+
+    /**
+     * The world the creatures of the pool live in.
+     */
+    private final World world;
+
+    /**
+     * The dead creatures of every kind, indexed by kind ordinal.
+     */
+    private final Queue<Creature>[] pooled;
+
+    /**
+     * The number of creatures of every kind in the pool, indexed by kind ordinal.
+     */
+    private final AtomicInteger[] sizes;
+
+    /**
+     * The number of creatures constructed because the pool of their kind was empty.
+     */
+    private final LongAdder allocated = new LongAdder();
+
+    /**
+     * The number of creatures handed out again from the pool.
+     */
+    private final LongAdder reused = new LongAdder();
+
+    /**
+     * The number of creatures returned to the pool.
+     */
+    private final LongAdder recycled = new LongAdder();
+
+    /**
+     * The number of creatures dropped because the pool of their kind was full.
+     */
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Constructs an empty pool for the creatures of a world.
+     *
+     * @param world The world the creatures live in.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CreaturePool(World world) {
+        int kinds = CreatureKind.values().length;
+
+        this.world = world;
+        this.pooled = new Queue[kinds];
+        this.sizes = new AtomicInteger[kinds];
+
+        for (int i = 0; i < kinds; ++i) {
+            pooled[i] = new ConcurrentLinkedQueue<>();
+            sizes[i] = new AtomicInteger(0);
+        }
+    }
+
+    /**
+     * Returns an inert creature of the given kind with default characteristics,
+     * reused from the pool if possible.
+     *
+     * @param kind  The kind of the creature.
+     * @return      The creature, to be placed and then activated, or discarded.
+     */
+    public Creature obtain(CreatureKind kind) {
+        Creature creature = poll(kind);
+
+        if (creature == null) {
+            allocated.increment();
+            return kind.create(world);
+        }
+
+        creature.renew();
+        return creature;
+    }
+
+    /**
+     * Returns an inert offspring of a parent with the characteristics of the parent,
+     * reused from the pool if possible. It must be called under the lock of the parent.
+     *
+     * @param parent    The parent of the offspring.
+     * @return          The offspring, to be placed and then activated, or discarded.
+     */
+    public Creature obtain(Creature parent) {
+        CreatureKind kind = CreatureKind.of(parent);
+        Creature creature = poll(kind);
+
+        if (creature == null) {
+            allocated.increment();
+            return kind.createOffspring(parent);
+        }
+
+        creature.renew(parent);
+        return creature;
+    }
+
+    /**
+     * Takes a dead creature of the given kind from the pool.
+     *
+     * @param kind  The kind of the creature.
+     * @return      The creature, or null if the pool of the kind is empty.
+     */
+    private Creature poll(CreatureKind kind) {
+        Creature creature = pooled[kind.ordinal()].poll();
+
+        if (creature != null) {
+            sizes[kind.ordinal()].decrementAndGet();
+            reused.increment();
+        }
+
+        return creature;
+    }
+
+    /**
+     * Returns a dead creature to the pool, unless the pool of its kind is full.
+     * Called once the creature has released its id.
+     *
+     * @param creature  The dead creature.
+     */
+    void recycle(Creature creature) {
+        int kind = CreatureKind.of(creature).ordinal();
+
+        if (sizes[kind].incrementAndGet() > CAPACITY) {
+            sizes[kind].decrementAndGet();
+            dropped.increment();
+            return;
+        }
+
+        pooled[kind].add(creature);
+        recycled.increment();
+    }
+
+    /**
+     * Returns the number of creatures constructed because the pool of their kind was empty.
+     *
+     * @return  The number of allocations.
+     */
+    public long getAllocated() {
+        return allocated.sum();
+    }
+
+    /**
+     * Returns the number of creatures handed out again from the pool.
+     *
+     * @return  The number of reuses.
+     */
+    public long getReused() {
+        return reused.sum();
+    }
+
+    /**
+     * Returns the number of creatures returned to the pool.
+     *
+     * @return  The number of recycled creatures.
+     */
+    public long getRecycled() {
+        return recycled.sum();
+    }
+
+    /**
+     * Returns the number of dead creatures dropped because the pool of their kind was full.
+     *
+     * @return  The number of dropped creatures.
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the share of the creatures handed out that were reused rather than allocated.
+     *
+     * @return  The reuse rate between 0 and 1, or 0 if no creature has been handed out.
+     */
+    public double getReuseRate() {
+        long reuses = reused.sum();
+        long total = reuses + allocated.sum();
+
+        return total == 0 ? 0 : (double) reuses / total;
+    }
+
+    /**
+     * Returns the number of dead creatures waiting in the pool.
+     *
+     * @return  The number of pooled creatures.
+     */
+    public int size() {
+        int total = 0;
+
+        for (AtomicInteger size : sizes)
+            total += size.get();
+
+        return total;
+    }
+}
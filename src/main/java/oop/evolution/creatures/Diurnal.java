@@ -1,7 +1,5 @@
 package oop.evolution.creatures;
 
-import oop.evolution.World;
-
 /**
  * The Diurnal interface represents an animal type that is active during the day.
  * It extends the AnimalType interface and defines the isActive method to return true during the day and false at night.
@@ -15,6 +13,6 @@ public interface Diurnal extends AnimalType {
      */
     @Override
     default boolean isActive() {
-        return World.getInstance().getTime().isDay();
+        return getWorld().getTime().isDay();
     }
 }
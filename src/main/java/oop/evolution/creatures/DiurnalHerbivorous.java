@@ -1,5 +1,7 @@
 package oop.evolution.creatures;
 
+import oop.evolution.World;
+
 /**
  * The DiurnalHerbivorous class represents a herbivorous animal that is active during the day.
  * It inherits from the Herbivorous class and implements the Diurnal interface.
@@ -13,6 +15,15 @@ public class DiurnalHerbivorous extends Herbivorous implements Diurnal {
         super();
     }
 
+    /**
+     * Constructs a new DiurnalHerbivorous with default properties in the given world.
+     *
+     * @param world The world the DiurnalHerbivorous lives in.
+     */
+    public DiurnalHerbivorous(World world) {
+        super(world);
+    }
+
     /**
      * Constructs a new DiurnalHerbivorous inheriting properties from a parent DiurnalHerbivorous.
      * 
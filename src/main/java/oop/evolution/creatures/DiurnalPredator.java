@@ -1,5 +1,7 @@
 package oop.evolution.creatures;
 
+import oop.evolution.World;
+
 /**
  * The DiurnalPredator class represents a predator animal that is active during the day.
  * It inherits from the Predator class and implements the Diurnal interface.
@@ -13,6 +15,15 @@ public class DiurnalPredator extends Predator implements Diurnal {
         super();
     }
 
+    /**
+     * Constructs a new DiurnalPredator with default properties in the given world.
+     *
+     * @param world The world the DiurnalPredator lives in.
+     */
+    public DiurnalPredator(World world) {
+        super(world);
+    }
+
     /**
      * Constructs a new DiurnalPredator inheriting properties from a parent DiurnalPredator.
      * 
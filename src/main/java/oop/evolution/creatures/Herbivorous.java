@@ -1,8 +1,9 @@
 package oop.evolution.creatures;
 
-import java.util.HashMap;
-
 import oop.evolution.Customizable;
+import oop.evolution.World;
+import oop.evolution.config.Config;
+import oop.evolution.config.CreatureConfig;
 
 /**
  * The Herbivorous class represents a herbivorous animal in the evolution simulation.
@@ -10,11 +11,6 @@ import oop.evolution.Customizable;
  */
 public class Herbivorous extends Animal implements Customizable {
 
-    /**
-     * The properties loaded from the properties file.
-     */
-    private static final HashMap<String, Integer> PROPERTIES = Customizable.loadProperties("src/main/resources/creatures/herbivorouses.properties");
-
     /**
      * Constructs a new Herbivorous with default properties.
      */
@@ -22,6 +18,15 @@ public class Herbivorous extends Animal implements Customizable {
         super();
     }
 
+    /**
+     * Constructs a new Herbivorous with default properties in the given world.
+     *
+     * @param world The world the Herbivorous lives in.
+     */
+    public Herbivorous(World world) {
+        super(world);
+    }
+
     /**
      * Constructs a new Herbivorous inheriting properties from a parent Herbivorous.
      *
@@ -31,23 +36,33 @@ public class Herbivorous extends Animal implements Customizable {
         super(parent);
     }
 
+    /**
+     * Retrieves the configuration of the herbivorouses.
+     *
+     * @return  The species configuration.
+     */
+    @Override
+    public CreatureConfig getConfig() {
+        return Config.HERBIVOROUSES;
+    }
+
     @Override
-    protected synchronized void grow() {
+    protected void grow() {
         super.grow();
     }
 
     @Override
-    protected synchronized void evolve() {
+    protected void evolve() {
         super.evolve();
     }
 
     @Override
-    protected synchronized void replicate() {
+    protected void replicate() {
         super.replicate();
     }
 
     @Override
-    protected synchronized void feed() {
+    protected void feed() {
         super.feed();
     }
 }
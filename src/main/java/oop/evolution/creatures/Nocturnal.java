@@ -1,7 +1,5 @@
 package oop.evolution.creatures;
 
-import oop.evolution.World;
-
 /**
  * The Nocturnal interface represents an animal type that is active during the night.
  * It extends the AnimalType interface and defines the isActive method to return true at night and false during the day.
@@ -15,6 +13,6 @@ public interface Nocturnal extends AnimalType {
      */
     @Override
     default boolean isActive() {
-        return !World.getInstance().getTime().isDay();
+        return !getWorld().getTime().isDay();
     }
 }
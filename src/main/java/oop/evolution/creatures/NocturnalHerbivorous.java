@@ -1,5 +1,7 @@
 package oop.evolution.creatures;
 
+import oop.evolution.World;
+
 /**
  * The NocturnalHerbivorous class represents a herbivorous animal that is active during the night.
  * It inherits from the Herbivorous class and implements the Nocturnal interface.
@@ -13,6 +15,15 @@ public class NocturnalHerbivorous extends Herbivorous implements Nocturnal {
         super();
     }
 
+    /**
+     * Constructs a new NocturnalHerbivorous with default properties in the given world.
+     *
+     * @param world The world the NocturnalHerbivorous lives in.
+     */
+    public NocturnalHerbivorous(World world) {
+        super(world);
+    }
+
     /**
      * Constructs a new NocturnalHerbivorous inheriting properties from a parent NocturnalHerbivorous.
      * 
@@ -1,5 +1,7 @@
 package oop.evolution.creatures;
 
+import oop.evolution.World;
+
 /**
  * The NocturnalPredator class represents a predator animal that is active during the night.
  * It inherits from the Predator class and implements the Nocturnal interface.
@@ -13,6 +15,15 @@ public class NocturnalPredator extends Predator implements Nocturnal {
         super();
     }
 
+    /**
+     * Constructs a new NocturnalPredator with default properties in the given world.
+     *
+     * @param world The world the NocturnalPredator lives in.
+     */
+    public NocturnalPredator(World world) {
+        super(world);
+    }
+
     /**
      * Constructs a new NocturnalPredator inheriting properties from a parent NocturnalPredator.
      * 
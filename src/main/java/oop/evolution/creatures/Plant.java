@@ -1,37 +1,29 @@
 package oop.evolution.creatures;
 
 import java.util.ArrayList;
-import java.util.Random;
 
-import oop.evolution.Customizable;
 import oop.evolution.WorldCell;
 import oop.evolution.World;
+import oop.evolution.config.Config;
+import oop.evolution.config.CreatureConfig;
+import oop.evolution.metrics.Counter;
 
 /**
  * Represents a plant creature in the evolution simulation.
  * The plant grows, evolves, replicates, and feeds according to defined properties.
  */
 public final class Plant extends Creature {
-    static {    
-        PROPERTIES.putAll(Customizable.loadProperties("src/main/resources/creatures/plants.properties"));
-    }
-
     /**
      * The evolution characteristics for plants.
      */
-    protected static final ArrayList<String> EVOLUTION_CHARACTERISTICS = new ArrayList<>();
+    protected static final ArrayList<Trait> EVOLUTION_CHARACTERISTICS = new ArrayList<>();
 
     static {
-        EVOLUTION_CHARACTERISTICS.add("GROW_WITH");
-        EVOLUTION_CHARACTERISTICS.add("ENERGY_INCREASE");
-        EVOLUTION_CHARACTERISTICS.add("DEFENCE");
+        EVOLUTION_CHARACTERISTICS.add(Trait.GROW_WITH);
+        EVOLUTION_CHARACTERISTICS.add(Trait.ENERGY_INCREASE);
+        EVOLUTION_CHARACTERISTICS.add(Trait.DEFENCE);
     }
 
-    /**
-     * Random number generator for evolution purposes.
-     */
-    private final Random random = new Random();
-
     /**
      * Constructs a new Plant with default properties.
      */
@@ -39,6 +31,15 @@ public final class Plant extends Creature {
         super();
     }
 
+    /**
+     * Constructs a new Plant with default properties in the given world.
+     *
+     * @param world The world the Plant lives in.
+     */
+    public Plant(World world) {
+        super(world);
+    }
+
     /**
      * Constructs a new Plant inheriting properties from a parent Plant.
      *
@@ -49,77 +50,71 @@ public final class Plant extends Creature {
     }
 
     /**
-     * Retrieves the value associated with the specified key in the PROPERTIES map.
+     * Retrieves the configuration of the plants.
+     *
+     * @return  The plant configuration.
+     */
+    @Override
+    public CreatureConfig getConfig() {
+        return Config.PLANTS;
+    }
+
+    /**
+     * Retrieves the species of the plant.
      *
-     * @param key   The key whose associated value is to be returned.
-     * @return      The value associated with the specified key.
+     * @return  The plant species.
      */
-    public static Integer getProperty(String key) {
-        return PROPERTIES.get(key);
+    @Override
+    public Species getSpecies() {
+        return Species.PLANT;
     }
 
     @Override
-    protected synchronized void grow() {
-        int energy = creatureCharacteristics.get("ENERGY");
-        int growWith = PROPERTIES.get("GROW_WITH");
-        int adultSize = PROPERTIES.get("ADULT_SIZE");
+    protected void grow() {
+        int growWith = Config.PLANTS.growWith();
+        int adultSize = Config.PLANTS.adultSize();
 
-        if (energy > 0) {
-            if (isDay() == false)
-                growWith /= 2;
+        if (isDay() == false)
+            growWith /= 2;
 
-            creatureCharacteristics.put("SIZE", creatureCharacteristics.get("SIZE") + growWith);
-            creatureCharacteristics.put("ENERGY", energy - 1);
+        if (population.get(id, Trait.ENERGY) > 0) {
+            population.add(id, Trait.ENERGY, -1);
 
-            if (creatureCharacteristics.get("SIZE") >= adultSize)
-                isAdult.set(true);
+            if (population.add(id, Trait.SIZE, growWith) >= adultSize)
+                becomeAdult();
         }
     }
 
     @Override
-    protected synchronized void evolve() {
-        if (isAdult.get()) {
-            String[] characteristics = {"GROW_WITH", "ENERGY_INCREASE", "DEFENCE"};
-            
-            String characteristicToEvolve = characteristics[random.nextInt(characteristics.length)];
-            creatureCharacteristics.put(characteristicToEvolve, creatureCharacteristics.get(characteristicToEvolve) + 1);
-        }
+    protected void evolve() {
+        if (!isAdult())
+            return;
+
+        Trait characteristicToEvolve = EVOLUTION_CHARACTERISTICS.get(random.nextInt(EVOLUTION_CHARACTERISTICS.size()));
+        population.add(id, characteristicToEvolve, 1);
     }
 
     @Override
-    protected synchronized void replicate() {
-        if (isAdult.get() && creatureCharacteristics.get("ENERGY") > 0 && canReplicate()) {
-            Plant newPlant = new Plant(this);
-            
-            creatureCharacteristics.put("SIZE", PROPERTIES.get("SIZE"));
-            creatureCharacteristics.put("ENERGY", PROPERTIES.get("ENERGY"));
+    protected void replicate() {
+        if (isAdult() && population.get(id, Trait.ENERGY) > 0 && giveBirth()) {
+            population.set(id, Trait.SIZE, Config.PLANTS.size());
+            population.set(id, Trait.ENERGY, Config.PLANTS.energy());
         }
     }
 
     @Override
-    protected synchronized void feed() {
-        WorldCell currentCell = position.get();
+    protected void feed() {
+        WorldCell currentCell = getPosition();
         
         if (currentCell != null && isDay() && currentCell.getWaterLevel() > 0) {
-            int energyIncrease = PROPERTIES.get("ENERGY_INCREASE");
+            int energyIncrease = Config.PLANTS.energyIncrease();
             
-            creatureCharacteristics.put("ENERGY", creatureCharacteristics.get("ENERGY") + energyIncrease);
+            population.add(id, Trait.ENERGY, energyIncrease);
             currentCell.rain(-1);
+            metrics.count(Counter.FEED, Species.PLANT);
         }
     }
 
-     /**
-     * Checks if the plant can replicate in the current cell.
-     * For simplicity, this method assumes that the cell has a method to check if it can add a new plant.
-     *
-     * @return {@code true} if the plant can replicate, otherwise {@code false}.
-     */
-    private boolean canReplicate() {
-        WorldCell currentCell = position.get();
-        
-        return currentCell != null && currentCell.addPlant(this);
-    }
-
     /**
      * Determines whether it is currently night time.
      * For simplicity, this method is currently a stub and should be implemented based on actual time logic.
@@ -127,11 +122,11 @@ public final class Plant extends Creature {
      * @return {@code true} if it is night time, otherwise {@code false}.
      */
     private boolean isDay() {
-        return World.getInstance().getTime().isDay();
+        return world.getTime().isDay();
     }
 
     @Override
-    public ArrayList<String> getEvolutionCharacteristics() {
+    public ArrayList<Trait> getEvolutionCharacteristics() {
         return EVOLUTION_CHARACTERISTICS;
     }
 }
\ No newline at end of file
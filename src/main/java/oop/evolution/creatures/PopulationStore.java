@@ -0,0 +1,326 @@
+package oop.evolution.creatures;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import oop.evolution.WorldCell;
+
+/**
+ * A structure-of-arrays store holding the state of every creature in the world.
+ * Each {@link Trait} lives in its own primitive {@code int} column indexed by creature id,
+ * next to a column of flags and a column of positions, so the state of a creature is a few array slots
+ * instead of a hash map. The creatures still schedule their life processes one by one, see {@link Creature}.
+ * <p>
+ * The columns are split into fixed-size pages that never move once allocated,
+ * so growing the store never loses a concurrent write. Ids of dead creatures are kept
+ * on a free list and handed out again before new ids are used.
+ */
+public final class PopulationStore {
+    /**
+     * The number of bits of an id selecting the slot within a page.
+     */
+    private static final int PAGE_BITS = 12;
+
+    /**
+     * The number of creatures held by one page.
+     */
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    /**
+     * The mask selecting the slot within a page.
+     */
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    /**
+     * The number of lock stripes shared by all creatures.
+     */
+    private static final int LOCK_STRIPES = 256;
+
+    /**
+     * The flag bit set when a creature is an adult.
+     */
+    private static final int ADULT = 1;
+
+    /**
+     * The trait columns of the store.
+     */
+    private static final Trait[] TRAITS = Trait.values();
+
+    /**
+     * Atomic access to the elements of an {@code int} column.
+     */
+    private static final VarHandle INT = MethodHandles.arrayElementVarHandle(int[].class);
+
+    /**
+     * Atomic access to the elements of the position column.
+     */
+    private static final VarHandle POSITION = MethodHandles.arrayElementVarHandle(WorldCell[].class);
+
+    /**
+     * One page of the columns.
+     */
+    private static final class Page {
+        /**
+         * The trait columns, indexed by trait ordinal and slot.
+         */
+        final int[][] traits = new int[TRAITS.length][PAGE_SIZE];
+
+        /**
+         * The flag column.
+         */
+        final int[] flags = new int[PAGE_SIZE];
+
+        /**
+         * The position column.
+         */
+        final WorldCell[] positions = new WorldCell[PAGE_SIZE];
+    }
+
+    /**
+     * The pages of the store. Replaced by a longer copy when the store grows.
+     */
+    private volatile Page[] pages = new Page[0];
+
+    /**
+     * The stack of released ids.
+     */
+    private int[] freeList = new int[PAGE_SIZE];
+
+    /**
+     * The number of ids on the free list.
+     */
+    private int freeCount = 0;
+
+    /**
+     * The lowest id that has never been handed out.
+     */
+    private int nextId = 0;
+
+    /**
+     * The lock guarding the allocation of ids and pages.
+     */
+    private final ReentrantLock allocationLock = new ReentrantLock();
+
+    /**
+     * The locks guarding the characteristics of the creatures, shared by stripes of ids.
+     */
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    /**
+     * The number of live creatures in the store.
+     */
+    private final AtomicInteger size = new AtomicInteger(0);
+
+    {
+        for (int i = 0; i < LOCK_STRIPES; ++i)
+            locks[i] = new ReentrantLock();
+    }
+
+    /**
+     * Allocates an id for a new creature. Every column of the id starts at zero.
+     *
+     * @return  The id of the new creature.
+     */
+    public int allocate() {
+        allocationLock.lock();
+        try {
+            int id;
+
+            if (freeCount > 0)
+                id = freeList[--freeCount];
+            else {
+                id = nextId++;
+
+                if ((id >>> PAGE_BITS) >= pages.length) {
+                    Page[] grown = Arrays.copyOf(pages, pages.length + 1);
+                    grown[pages.length] = new Page();
+                    pages = grown;
+                }
+            }
+
+            size.incrementAndGet();
+            return id;
+        } finally {
+            allocationLock.unlock();
+        }
+    }
+
+    /**
+     * Releases the id of a dead creature, clearing its columns so the id can be reused.
+     *
+     * @param id    The id to release.
+     */
+    public void release(int id) {
+        Page page = page(id);
+        int slot = id & PAGE_MASK;
+
+        for (int[] column : page.traits)
+            INT.setRelease(column, slot, 0);
+        INT.setRelease(page.flags, slot, 0);
+        POSITION.setRelease(page.positions, slot, (WorldCell) null);
+
+        allocationLock.lock();
+        try {
+            if (freeCount == freeList.length)
+                freeList = Arrays.copyOf(freeList, freeCount * 2);
+
+            freeList[freeCount++] = id;
+            size.decrementAndGet();
+        } finally {
+            allocationLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the page holding the given id.
+     *
+     * @param id    The id of the creature.
+     * @return      The page of the id.
+     */
+    private Page page(int id) {
+        return pages[id >>> PAGE_BITS];
+    }
+
+    /**
+     * Returns the value of a trait.
+     *
+     * @param id    The id of the creature.
+     * @param trait The trait to read.
+     * @return      The value of the trait.
+     */
+    public int get(int id, Trait trait) {
+        return (int) INT.getAcquire(page(id).traits[trait.ordinal()], id & PAGE_MASK);
+    }
+
+    /**
+     * Sets the value of a trait.
+     *
+     * @param id    The id of the creature.
+     * @param trait The trait to write.
+     * @param value The new value of the trait.
+     */
+    public void set(int id, Trait trait, int value) {
+        INT.setRelease(page(id).traits[trait.ordinal()], id & PAGE_MASK, value);
+    }
+
+    /**
+     * Atomically adds to the value of a trait.
+     *
+     * @param id    The id of the creature.
+     * @param trait The trait to update.
+     * @param delta The amount to add.
+     * @return      The new value of the trait.
+     */
+    public int add(int id, Trait trait, int delta) {
+        return (int) INT.getAndAdd(page(id).traits[trait.ordinal()], id & PAGE_MASK, delta) + delta;
+    }
+
+    /**
+     * Copies every trait of one creature to another.
+     *
+     * @param from  The id of the creature to copy from.
+     * @param to    The id of the creature to copy to.
+     */
+    public void copyTraits(int from, int to) {
+        for (Trait trait : TRAITS)
+            set(to, trait, get(from, trait));
+    }
+
+    /**
+     * Checks if a creature is an adult.
+     *
+     * @param id    The id of the creature.
+     * @return      True if the creature is an adult, otherwise false.
+     */
+    public boolean isAdult(int id) {
+        return ((int) INT.getAcquire(page(id).flags, id & PAGE_MASK) & ADULT) != 0;
+    }
+
+    /**
+     * Marks a creature as an adult or a child.
+     *
+     * @param id    The id of the creature.
+     * @param adult True to mark the creature as an adult.
+     */
+    public void setAdult(int id, boolean adult) {
+        INT.setRelease(page(id).flags, id & PAGE_MASK, adult ? ADULT : 0);
+    }
+
+    /**
+     * Returns the cell a creature is in.
+     *
+     * @param id    The id of the creature.
+     * @return      The cell of the creature, or null if it has not been placed.
+     */
+    public WorldCell getPosition(int id) {
+        return (WorldCell) POSITION.getAcquire(page(id).positions, id & PAGE_MASK);
+    }
+
+    /**
+     * Sets the cell a creature is in.
+     *
+     * @param id        The id of the creature.
+     * @param position  The new cell of the creature.
+     */
+    public void setPosition(int id, WorldCell position) {
+        POSITION.setRelease(page(id).positions, id & PAGE_MASK, position);
+    }
+
+    /**
+     * Returns the lock guarding the characteristics of a creature.
+     *
+     * @param id    The id of the creature.
+     * @return      The lock stripe of the id.
+     */
+    public ReentrantLock lockFor(int id) {
+        return locks[id & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Takes every lock stripe, in order, which waits for the running life process steps and holds back the next ones.
+     * No other thread ever holds two stripes, so taking them all cannot deadlock.
+     * Used to copy a consistent state of the whole population.
+     */
+    public void lockAll() {
+        for (ReentrantLock stripe : locks)
+            stripe.lock();
+    }
+
+    /**
+     * Releases every lock stripe taken by {@link #lockAll()}.
+     */
+    public void unlockAll() {
+        for (int i = LOCK_STRIPES - 1; i >= 0; --i)
+            locks[i].unlock();
+    }
+
+    /**
+     * Returns the number of live creatures in the store.
+     *
+     * @return  The number of allocated ids.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Sums a trait over every id that has ever been handed out, one page column at a time.
+     * Released ids hold zero, so only live creatures contribute.
+     *
+     * @param trait The trait to sum.
+     * @return      The sum of the trait over the population.
+     */
+    public long sum(Trait trait) {
+        Page[] snapshot = pages;
+        long sum = 0;
+
+        for (Page page : snapshot)
+            for (int value : page.traits[trait.ordinal()])
+                sum += value;
+
+        return sum;
+    }
+}
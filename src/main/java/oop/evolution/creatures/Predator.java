@@ -1,8 +1,9 @@
 package oop.evolution.creatures;
 
-import java.util.HashMap;
-
 import oop.evolution.Customizable;
+import oop.evolution.World;
+import oop.evolution.config.Config;
+import oop.evolution.config.CreatureConfig;
 
 /**
  * The Predator class represents a predator animal in the evolution simulation.
@@ -10,11 +11,6 @@ import oop.evolution.Customizable;
  */
 public class Predator extends Animal implements Customizable {
 
-    /**
-     * The properties loaded from the properties file.
-     */
-    private static final HashMap<String, Integer> PROPERTIES = Customizable.loadProperties("src/main/resources/creatures/predators.properties");
-
     /**
      * Constructs a new Predator with default properties.
      */
@@ -22,6 +18,15 @@ public class Predator extends Animal implements Customizable {
         super();
     }
 
+    /**
+     * Constructs a new Predator with default properties in the given world.
+     *
+     * @param world The world the Predator lives in.
+     */
+    public Predator(World world) {
+        super(world);
+    }
+
     /**
      * Constructs a new Predator inheriting properties from a parent Predator.
      *
@@ -31,23 +36,43 @@ public class Predator extends Animal implements Customizable {
         super(parent);
     }
 
+    /**
+     * Retrieves the configuration of the predators.
+     *
+     * @return  The species configuration.
+     */
+    @Override
+    public CreatureConfig getConfig() {
+        return Config.PREDATORS;
+    }
+
+    /**
+     * Retrieves the species of the predator.
+     *
+     * @return  The predator species.
+     */
+    @Override
+    public Species getSpecies() {
+        return Species.PRED;
+    }
+
     @Override
-    protected synchronized void grow() {
+    protected void grow() {
         super.grow();
     }
 
     @Override
-    protected synchronized void evolve() {
+    protected void evolve() {
         super.evolve();
     }
 
     @Override
-    protected synchronized void replicate() {
+    protected void replicate() {
         super.replicate();
     }
 
     @Override
-    protected synchronized void feed() {
+    protected void feed() {
         super.feed();
     }
 }
@@ -0,0 +1,11 @@
+package oop.evolution.creatures;
+
+/**
+ * Enum representing the species counted by the census of the world.
+ * Plain animals are counted as herbivorouses, since they behave like them.
+ */
+public enum Species {
+    PLANT,
+    HERB,
+    PRED
+}
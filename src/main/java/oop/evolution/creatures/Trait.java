@@ -0,0 +1,15 @@
+package oop.evolution.creatures;
+
+/**
+ * Enum representing the numeric characteristics of a creature.
+ * Every trait is stored in its own column of the {@link PopulationStore}.
+ */
+public enum Trait {
+    ENERGY,
+    SIZE,
+    GROW_WITH,
+    INACTIVE_GROW_WITH,
+    ENERGY_INCREASE,
+    DEFENCE,
+    ATTACK
+}
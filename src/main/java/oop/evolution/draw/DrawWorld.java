@@ -1,15 +1,29 @@
 package oop.evolution.draw;
 
+import oop.evolution.Census;
+import oop.evolution.ChunkedBoard;
 import oop.evolution.World;
+import oop.evolution.WorldFrame;
+import oop.evolution.config.Config;
+import oop.evolution.creatures.Species;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.HashMap;
 
 public class DrawWorld extends JFrame {
+    /**
+     * The world whose frames are drawn.
+     */
+    private final World world;
+
     public DrawWorld() {
+        this(World.getInstance());
+    }
+
+    public DrawWorld(World world) {
+        this.world = world;
 
         setTitle("Evolution");
         setSize(1000, 1020);
@@ -31,7 +45,7 @@ public class DrawWorld extends JFrame {
         SwingUtilities.invokeLater(new Runnable() {
             @Override
             public void run() {
-                new DrawWorld().setVisible(true);
+                new DrawWorld(world).setVisible(true);
             }
         });
     }
@@ -57,7 +71,7 @@ public class DrawWorld extends JFrame {
             return new Color(red, green, blue);
         }
 
-        private void drawCreatures(Graphics2D g2d, int offsetI, int offsetJ, HashMap<String, HashMap<String, Integer>> creatures){
+        private void drawCreatures(Graphics2D g2d, int offsetI, int offsetJ, WorldFrame.Chunk chunk, int cell){
             int size = 16;
             int border = 2;
 
@@ -67,7 +81,7 @@ public class DrawWorld extends JFrame {
 
             // Draw child plants
             g2d.setColor(getColor("#bcab6c"));
-            for(int i=0; i<creatures.get("PLANT").get("CHILD"); i++){
+            for(int i=0; i<chunk.getCount(Census.index(Species.PLANT, Census.CHILD), cell); i++){
                 g2d.fillOval(tmpOffsetI+border, offsetJ+border, size, size);
                 tmpOffsetI += size+2*border;
                 counter += 1;
@@ -79,7 +93,7 @@ public class DrawWorld extends JFrame {
             }
             // Draw adult plants
             g2d.setColor(getColor("#525031"));
-            for(int i=0; i<creatures.get("PLANT").get("ADULT"); i++){
+            for(int i=0; i<chunk.getCount(Census.index(Species.PLANT, Census.ADULT), cell); i++){
                 g2d.fillOval(tmpOffsetI+border, offsetJ+border, size, size);
                 tmpOffsetI += size+2*border;
                 counter += 1;
@@ -91,7 +105,7 @@ public class DrawWorld extends JFrame {
             }
             // Draw child herbs
             g2d.setColor(getColor("#bcab6c"));
-            for(int i=0; i<creatures.get("HERB").get("CHILD"); i++){
+            for(int i=0; i<chunk.getCount(Census.index(Species.HERB, Census.CHILD), cell); i++){
                 g2d.fillRect(tmpOffsetI+border, offsetJ+border, size, size);
                 tmpOffsetI += size+2*border;
                 counter += 1;
@@ -103,7 +117,7 @@ public class DrawWorld extends JFrame {
             }
             // Draw adult herbs
             g2d.setColor(getColor("#525031"));
-            for(int i=0; i<creatures.get("HERB").get("ADULT"); i++){
+            for(int i=0; i<chunk.getCount(Census.index(Species.HERB, Census.ADULT), cell); i++){
                 g2d.fillRect(tmpOffsetI+border, offsetJ+border, size, size);
                 tmpOffsetI += size+2*border;
                 counter += 1;
@@ -115,7 +129,7 @@ public class DrawWorld extends JFrame {
             }
             // Draw child pred
             g2d.setColor(getColor("#c67e50"));
-            for(int i=0; i<creatures.get("PRED").get("CHILD"); i++){
+            for(int i=0; i<chunk.getCount(Census.index(Species.PRED, Census.CHILD), cell); i++){
                 g2d.fillRect(tmpOffsetI+border, offsetJ+border, size, size);
                 tmpOffsetI += size+2*border;
                 counter += 1;
@@ -127,7 +141,7 @@ public class DrawWorld extends JFrame {
             }
             // Draw adult pred
             g2d.setColor(getColor("#753630"));
-            for(int i=0; i<creatures.get("PRED").get("ADULT"); i++){
+            for(int i=0; i<chunk.getCount(Census.index(Species.PRED, Census.ADULT), cell); i++){
                 g2d.fillRect(tmpOffsetI+border, offsetJ+border, size, size);
                 tmpOffsetI += size+2*border;
                 counter += 1;
@@ -147,14 +161,18 @@ public class DrawWorld extends JFrame {
             Graphics2D g2d = (Graphics2D) g;
             g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1f));
 
+            // Take the latest frame published by the simulation, without blocking it
+            WorldFrame frame = world.getFrame();
+            long epoch = frame.getEpoch();
+
             // Set background color
-            if(World.getInstance().getTime().isDay()){
+            if(frame.isDay()){
                 g2d.setColor(Color.WHITE);
             }
             else
                 g2d.setColor(getColor("#d0d8c1"));
 
-            int cellNumber = World.getProperty("BOARD_SIZE");
+            int cellNumber = Config.WORLD.boardSize();
             int cellSize = (getWidth() - 50) / cellNumber;
             int offset = (getWidth() - cellSize*cellNumber) / 2;
 
@@ -162,11 +180,9 @@ public class DrawWorld extends JFrame {
             int boardSize = cellNumber * cellSize;
             g2d.fillRect(offset, offset, boardSize, boardSize);
 
-            HashMap<String, Integer> lastRain = World.getInstance().getLastRain();
-            if(lastRain.get("AREA") != 0){
+            if(frame.getRainArea() != 0){
                 g2d.setColor(getColor("#7e95a1"));
-                g2d.fillRect((lastRain.get("X")*cellSize + offset), (lastRain.get("Y")*cellSize + offset), lastRain.get("AREA")*cellSize, lastRain.get("AREA")*cellSize);
-                World.getInstance().setLastRain(0,0,0);
+                g2d.fillRect((frame.getRainX()*cellSize + offset), (frame.getRainY()*cellSize + offset), frame.getRainArea()*cellSize, frame.getRainArea()*cellSize);
             }
             g2d.setColor(Color.BLACK);
 
@@ -175,12 +191,23 @@ public class DrawWorld extends JFrame {
                 g2d.drawLine(offset, i, boardSize + offset, i);
             }
 
-            HashMap<String, HashMap<String, Integer>>[][] creatures = World.getInstance().getCreatures();
-            for(int i=0; i<cellNumber; i++)
-                for(int j=0; j<cellNumber; j++) {
-                    drawCreatures(g2d, i * cellSize +offset, j * cellSize +offset, creatures[i][j]);
+            // Only the chunks with a snapshot hold creatures
+            for(int chunkX=0; chunkX<frame.getChunksPerSide(); chunkX++)
+                for(int chunkY=0; chunkY<frame.getChunksPerSide(); chunkY++) {
+                    WorldFrame.Chunk chunk = frame.getChunk(chunkX, chunkY);
+                    if(chunk == null)
+                        continue;
+
+                    for(int i=chunkX*ChunkedBoard.CHUNK_SIZE; i<Math.min(cellNumber, (chunkX+1)*ChunkedBoard.CHUNK_SIZE); i++)
+                        for(int j=chunkY*ChunkedBoard.CHUNK_SIZE; j<Math.min(cellNumber, (chunkY+1)*ChunkedBoard.CHUNK_SIZE); j++) {
+                            drawCreatures(g2d, i * cellSize +offset, j * cellSize +offset, chunk, WorldFrame.Chunk.offset(i, j));
+                        }
                 }
 
+            // The frame was reused by the simulation while drawing it, draw the latest one
+            if(frame.getEpoch() != epoch)
+                repaint();
+
         }
     }
 }
\ No newline at end of file
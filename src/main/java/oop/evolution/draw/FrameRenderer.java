@@ -0,0 +1,260 @@
+package oop.evolution.draw;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import oop.evolution.Census;
+import oop.evolution.ChunkedBoard;
+import oop.evolution.WorldFrame;
+import oop.evolution.creatures.Species;
+
+/**
+ * Draws world frames off-screen, with the same board, rain overlay and creature glyphs as {@link DrawWorld}.
+ * The pixels are written straight into the raster of the image instead of going through {@code Graphics2D},
+ * and the board is split into stripes of rows that are drawn in parallel. Every stripe only writes its own
+ * rows of pixels, so the stripes never touch the same memory.
+ * <p>
+ * Like in {@link DrawWorld}, the x-coordinate of a cell is horizontal and the y-coordinate is vertical.
+ * Cells too small to hold four glyphs per row are filled with the colour of their most prominent occupant.
+ * Creatures are only looked up in the chunks the frame holds a snapshot of.
+ */
+public class FrameRenderer {
+    /**
+     * The number of glyphs drawn in a row of a cell.
+     */
+    private static final int GLYPHS_PER_ROW = 4;
+
+    /**
+     * The number of board rows drawn by one stripe.
+     */
+    private static final int STRIPE_ROWS = 8;
+
+    /**
+     * The background of the board during the day.
+     */
+    private static final int DAY = 0xffffff;
+
+    /**
+     * The background of the board during the night.
+     */
+    private static final int NIGHT = 0xd0d8c1;
+
+    /**
+     * The colour of the last rain.
+     */
+    private static final int RAIN = 0x7e95a1;
+
+    /**
+     * The colour of the grid lines.
+     */
+    private static final int GRID = 0x000000;
+
+    /**
+     * The census counters in drawing order: child and adult plants, herbivorouses and predators.
+     */
+    private static final int[] COUNTERS = {
+        Census.index(Species.PLANT, Census.CHILD), Census.index(Species.PLANT, Census.ADULT),
+        Census.index(Species.HERB, Census.CHILD), Census.index(Species.HERB, Census.ADULT),
+        Census.index(Species.PRED, Census.CHILD), Census.index(Species.PRED, Census.ADULT)
+    };
+
+    /**
+     * The colour of each counter, in drawing order.
+     */
+    private static final int[] COLOURS = {0xbcab6c, 0x525031, 0xbcab6c, 0x525031, 0xc67e50, 0x753630};
+
+    /**
+     * True for each counter drawn as a circle, false for a square.
+     */
+    private static final boolean[] ROUND = {true, true, false, false, false, false};
+
+    /**
+     * The number of cells on each side of the board.
+     */
+    private final int boardSize;
+
+    /**
+     * The number of pixels on each side of a cell.
+     */
+    private final int cellSize;
+
+    /**
+     * The number of pixels on each side of the square holding one glyph.
+     */
+    private final int stride;
+
+    /**
+     * The empty space around a glyph within its square.
+     */
+    private final int border;
+
+    /**
+     * The pixels of a circular glyph, row by row.
+     */
+    private final boolean[] circle;
+
+    /**
+     * Constructs a new renderer for a board.
+     *
+     * @param boardSize The number of cells on each side of the board.
+     * @param cellSize  The number of pixels on each side of a cell.
+     */
+    public FrameRenderer(int boardSize, int cellSize) {
+        if (boardSize <= 0 || cellSize <= 0 || (long) boardSize * cellSize > Short.MAX_VALUE)
+            throw new IllegalArgumentException("Invalid image size");
+
+        this.boardSize = boardSize;
+        this.cellSize = cellSize;
+        this.stride = cellSize / GLYPHS_PER_ROW;
+        this.border = stride / 10;
+
+        int glyph = stride - 2 * border;
+        this.circle = new boolean[Math.max(glyph, 0) * Math.max(glyph, 0)];
+
+        double radius = glyph / 2.0;
+        for (int i = 0; i < glyph; ++i)
+            for (int j = 0; j < glyph; ++j) {
+                double dx = j + 0.5 - radius;
+                double dy = i + 0.5 - radius;
+                circle[i * glyph + j] = dx * dx + dy * dy <= radius * radius;
+            }
+    }
+
+    /**
+     * Creates an image of the right size for this renderer.
+     *
+     * @return  A new image.
+     */
+    public BufferedImage newImage() {
+        return new BufferedImage(boardSize * cellSize, boardSize * cellSize, BufferedImage.TYPE_INT_RGB);
+    }
+
+    /**
+     * Draws a frame into an image created by {@link #newImage}.
+     *
+     * @param frame The frame to draw.
+     * @param image The image to draw into.
+     */
+    public void render(WorldFrame frame, BufferedImage image) {
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        int stripes = (boardSize + STRIPE_ROWS - 1) / STRIPE_ROWS;
+
+        IntStream.range(0, stripes).parallel().forEach(stripe -> renderStripe(frame, pixels, stripe * STRIPE_ROWS,
+                Math.min(boardSize, (stripe + 1) * STRIPE_ROWS)));
+    }
+
+    /**
+     * Draws the board rows of one stripe.
+     *
+     * @param frame     The frame to draw.
+     * @param pixels    The pixels of the image.
+     * @param fromY     The first board row of the stripe.
+     * @param toY       The board row after the last row of the stripe.
+     */
+    private void renderStripe(WorldFrame frame, int[] pixels, int fromY, int toY) {
+        int width = boardSize * cellSize;
+        int background = frame.isDay() ? DAY : NIGHT;
+        int rainX = frame.getRainX();
+        int rainY = frame.getRainY();
+        int rainArea = frame.getRainArea();
+
+        for (int y = fromY; y < toY; ++y) {
+            boolean rainRow = rainArea > 0 && y >= rainY && y < rainY + rainArea;
+
+            for (int x = 0; x < boardSize; ++x) {
+                int colour = rainRow && x >= rainX && x < rainX + rainArea ? RAIN : background;
+                fillRect(pixels, width, x * cellSize, y * cellSize, cellSize, cellSize, colour);
+
+                if (x > 0)
+                    fillRect(pixels, width, x * cellSize, y * cellSize, 1, cellSize, GRID);
+                if (y > 0)
+                    fillRect(pixels, width, x * cellSize, y * cellSize, cellSize, 1, GRID);
+
+                WorldFrame.Chunk chunk = frame.getChunk(x >>> ChunkedBoard.CHUNK_BITS, y >>> ChunkedBoard.CHUNK_BITS);
+                if (chunk != null)
+                    drawCreatures(chunk, pixels, width, x, y);
+            }
+        }
+    }
+
+    /**
+     * Draws the creatures of one cell, in the order and colours of {@link DrawWorld}.
+     *
+     * @param chunk     The snapshot of the chunk of the cell.
+     * @param pixels    The pixels of the image.
+     * @param width     The width of the image.
+     * @param x         The x-coordinate of the cell.
+     * @param y         The y-coordinate of the cell.
+     */
+    private void drawCreatures(WorldFrame.Chunk chunk, int[] pixels, int width, int x, int y) {
+        int cell = WorldFrame.Chunk.offset(x, y);
+        int left = x * cellSize;
+        int top = y * cellSize;
+
+        if (stride - 2 * border <= 0) {
+            for (int k = COUNTERS.length - 1; k >= 0; --k)
+                if (chunk.getCount(COUNTERS[k], cell) > 0) {
+                    fillRect(pixels, width, left, top, cellSize, cellSize, COLOURS[k]);
+                    return;
+                }
+            return;
+        }
+
+        int glyph = stride - 2 * border;
+        int drawn = 0;
+
+        for (int k = 0; k < COUNTERS.length; ++k)
+            for (int n = chunk.getCount(COUNTERS[k], cell); n > 0; --n, ++drawn) {
+                int glyphLeft = left + (drawn % GLYPHS_PER_ROW) * stride + border;
+                int glyphTop = top + (drawn / GLYPHS_PER_ROW) * stride + border;
+
+                if (glyphTop + glyph > top + cellSize)
+                    return;
+
+                if (ROUND[k])
+                    fillCircle(pixels, width, glyphLeft, glyphTop, glyph, COLOURS[k]);
+                else
+                    fillRect(pixels, width, glyphLeft, glyphTop, glyph, glyph, COLOURS[k]);
+            }
+    }
+
+    /**
+     * Fills a rectangle of pixels with a colour.
+     *
+     * @param pixels    The pixels of the image.
+     * @param width     The width of the image.
+     * @param left      The first column of the rectangle.
+     * @param top       The first row of the rectangle.
+     * @param w         The width of the rectangle.
+     * @param h         The height of the rectangle.
+     * @param colour    The colour to fill with.
+     */
+    private static void fillRect(int[] pixels, int width, int left, int top, int w, int h, int colour) {
+        for (int row = top; row < top + h; ++row) {
+            int start = row * width + left;
+            Arrays.fill(pixels, start, start + w, colour);
+        }
+    }
+
+    /**
+     * Fills a circular glyph with a colour.
+     *
+     * @param pixels    The pixels of the image.
+     * @param width     The width of the image.
+     * @param left      The first column of the glyph.
+     * @param top       The first row of the glyph.
+     * @param glyph     The size of the glyph.
+     * @param colour    The colour to fill with.
+     */
+    private void fillCircle(int[] pixels, int width, int left, int top, int glyph, int colour) {
+        for (int i = 0; i < glyph; ++i) {
+            int start = (top + i) * width + left;
+
+            for (int j = 0; j < glyph; ++j)
+                if (circle[i * glyph + j])
+                    pixels[start + j] = colour;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package oop.evolution.draw;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import javax.imageio.ImageIO;
+
+import oop.evolution.WorldFrame;
+
+/**
+ * Records every N-th frame published by the world as a numbered PNG file, without a display.
+ * Frames are drawn by a {@link FrameRenderer} right when they are published, while they are guaranteed
+ * to be unchanged, and the slow PNG encoding runs on a single background thread.
+ * Two images are used in turn; when the encoder falls behind, the frame is skipped instead of
+ * holding up the simulation.
+ */
+public class PngSequenceRecorder implements Consumer<WorldFrame> {
+    /**
+     * The number of images drawn and encoded in turn.
+     */
+    private static final int IMAGES = 2;
+
+    /**
+     * The directory the PNG files are written to.
+     */
+    private final File directory;
+
+    /**
+     * The number of epochs between two recorded frames.
+     */
+    private final int every;
+
+    /**
+     * The renderer drawing the frames.
+     */
+    private final FrameRenderer renderer;
+
+    /**
+     * The images that are not being encoded.
+     */
+    private final BlockingQueue<BufferedImage> freeImages = new ArrayBlockingQueue<>(IMAGES);
+
+    /**
+     * The thread encoding the images.
+     */
+    private final ExecutorService encoder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "png-encoder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The number of frames written.
+     */
+    private final AtomicLong written = new AtomicLong(0);
+
+    /**
+     * The number of frames skipped because the encoder was behind.
+     */
+    private final AtomicLong skipped = new AtomicLong(0);
+
+    /**
+     * Constructs a new recorder.
+     *
+     * @param directory The directory to write the PNG files to. It is created if needed.
+     * @param every     The number of epochs between two recorded frames.
+     * @param renderer  The renderer drawing the frames.
+     */
+    public PngSequenceRecorder(File directory, int every, FrameRenderer renderer) {
+        if (every <= 0)
+            throw new IllegalArgumentException("Invalid frame interval: " + every);
+        if (!directory.isDirectory() && !directory.mkdirs())
+            throw new IllegalArgumentException("Cannot create directory: " + directory);
+
+        this.directory = directory;
+        this.every = every;
+        this.renderer = renderer;
+
+        for (int i = 0; i < IMAGES; ++i)
+            freeImages.add(renderer.newImage());
+    }
+
+    /**
+     * Draws the frame if its epoch is due and hands it to the encoder.
+     *
+     * @param frame The frame that has just been published.
+     */
+    @Override
+    public void accept(WorldFrame frame) {
+        long epoch = frame.getEpoch();
+        if (epoch % every != 0)
+            return;
+
+        BufferedImage image = freeImages.poll();
+        if (image == null) {
+            skipped.incrementAndGet();
+            return;
+        }
+
+        renderer.render(frame, image);
+        encoder.execute(() -> write(image, epoch));
+    }
+
+    /**
+     * Encodes an image as a PNG file named after its epoch, and gives the image back.
+     *
+     * @param image The image to encode.
+     * @param epoch The epoch of the frame drawn in the image.
+     */
+    private void write(BufferedImage image, long epoch) {
+        try {
+            ImageIO.write(image, "png", new File(directory, String.format("frame-%08d.png", epoch)));
+            written.incrementAndGet();
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            freeImages.add(image);
+        }
+    }
+
+    /**
+     * Stops the encoder after the pending frames have been written.
+     */
+    public void shutdown() {
+        encoder.shutdown();
+    }
+
+    public long getWrittenFrames() {
+        return written.get();
+    }
+
+    public long getSkippedFrames() {
+        return skipped.get();
+    }
+}
@@ -1,35 +1,47 @@
 package oop.evolution.environment;
 
-import java.util.HashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import oop.evolution.Customizable;
+import oop.evolution.config.Config;
+import oop.evolution.journal.EventJournal;
+import oop.evolution.journal.EventType;
 
 /**
  * A class representing the day and night cycle in the world.
- * It implements the Runnable interface to be executed as a separate thread.
+ * It is repeated by the clock of the world, toggling between day and night after every day duration.
  */
-public class DayAndNight implements Runnable, Customizable {
+public class DayAndNight implements Customizable {
     /**
-     * The properties loaded from the day and night properties file.
+     * The duration of a day in simulated milliseconds.
      */
-    private static final HashMap<String, Integer> PROPERTIES = Customizable.loadProperties("src/main/resources/environment/day_and_night.properties");
+    private static final int DAY_DURATION = Config.DAY_AND_NIGHT.dayDuration();
 
     /**
-     * The duration of a day in milliseconds.
+     * Atomic boolean representing whether it is currently day or night.
      */
-    private static final int DAY_DURATION = PROPERTIES.get("DAY_DURATION");
+    private final AtomicBoolean isDay;
 
     /**
-     * Atomic boolean representing whether it is currently day or night.
+     * The journal recording every change between day and night.
      */
-    private final AtomicBoolean isDay;
+    private final EventJournal journal;
 
     /**
      * Constructs a DayAndNight object with initial state set to day.
      */
     public DayAndNight() {
+        this(EventJournal.DISABLED);
+    }
+
+    /**
+     * Constructs a DayAndNight object with initial state set to day, recording its changes in a journal.
+     *
+     * @param journal   The journal recording the changes between day and night.
+     */
+    public DayAndNight(EventJournal journal) {
         this.isDay = new AtomicBoolean(true);
+        this.journal = journal;
     }
 
     /**
@@ -42,19 +54,24 @@ public class DayAndNight implements Runnable, Customizable {
     }
 
     /**
-     * The run method that executes the day and night cycle.
-     * It runs in an infinite loop, toggling between day and night at regular intervals.
-     */
-    @Override
-    public void run() {
-        while (true)
-            try {
-                isDay.set(!isDay.get());
-                Thread.sleep((long) DAY_DURATION);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                e.printStackTrace();
-                break;
-            }
+     * Sets whether it is day, used when a checkpoint is restored.
+     *
+     * @param day   True for day, false for night.
+     */
+    public void setDay(boolean day) {
+        isDay.set(day);
+    }
+
+    /**
+     * Toggles between day and night.
+     *
+     * @return  The delay before the next toggle in simulated milliseconds.
+     */
+    public long toggle() {
+        boolean day = !isDay.get();
+        isDay.set(day);
+        journal.record(day ? EventType.DAY : EventType.NIGHT, 0, 0, 0, 0, 0);
+
+        return DAY_DURATION;
     }
 }
\ No newline at end of file
@@ -1,38 +1,77 @@
 package oop.evolution.environment;
 
-import java.util.HashMap;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import oop.evolution.Customizable;
 import oop.evolution.World;
+import oop.evolution.config.Config;
+import oop.evolution.config.WeatherConfig;
 
 /**
  * A class representing the weather simulation in the world.
- * It implements the Runnable interface to be executed as a separate thread.
+ * It is repeated by the clock of the world, raining once after every random interval.
  */
-public class Weather implements Runnable, Customizable {
-    /**
-     * The properties loaded from the weather properties file.
-     */
-    private static final HashMap<String, Integer> PROPERTIES = Customizable.loadProperties("src/main/resources/environment/weather.properties");
-
+public class Weather implements Customizable {
     /**
      * The maximum value of rain quantity.
      */
-    private static final int RAIN_MAX_VALUE = PROPERTIES.get("RAIN_MAX_VALUE");
+    private static final int RAIN_MAX_VALUE = Config.WEATHER.rainMaxValue();
     /**
      * The size of the area where rain can fall.
      */
-    private static final int RAIN_AREA = PROPERTIES.get("RAIN_AREA");
+    private static final int RAIN_AREA = Config.WEATHER.rainArea();
     /**
-     * The maximum interval between rain occurrences.
+     * The maximum interval between rain occurrences in simulated milliseconds.
      */
-    private static final int RAIN_MAX_INTERVAL = PROPERTIES.get("RAIN_MAX_INTERVAL");
+    private static final int RAIN_MAX_INTERVAL = Config.WEATHER.rainMaxInterval();
+
+    /**
+     * The world the rain falls on, or null for the shared world.
+     */
+    private final World world;
 
     /**
      * Random number generator for generating random rain amounts and intervals.
      */
-    private final Random random = new Random();
+    private final SplittableRandom random;
+
+    /**
+     * Constructs a weather of the shared world with a random seed.
+     */
+    public Weather() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Constructs a weather of the shared world drawing from the given random stream.
+     *
+     * @param random    The random stream of the weather, only used by the rain activity.
+     */
+    public Weather(SplittableRandom random) {
+        this(null, random);
+    }
+
+    /**
+     * Constructs a weather of the given world drawing from the given random stream.
+     *
+     * @param world     The world the rain falls on, or null for the shared world as it is when it rains.
+     * @param random    The random stream of the weather, only used by the rain activity.
+     */
+    public Weather(World world, SplittableRandom random) {
+        this.world = world;
+        this.random = random;
+    }
+
+    /**
+     * Rains on a random area of the world and draws the interval before the next rain.
+     *
+     * @return  The delay before the next rain in simulated milliseconds.
+     */
+    public long fall() {
+        rain();
+
+        return random.nextInt(WeatherConfig.RAIN_MIN_INTERVAL, RAIN_MAX_INTERVAL + 1);
+    }
 
     /**
      * Simulates rain falling on random cells within the world.
@@ -41,33 +80,14 @@ public class Weather implements Runnable, Customizable {
         int rainAmount = random.nextInt(RAIN_MAX_VALUE) + 1;
         int areaSize = random.nextInt(RAIN_AREA) + 1;
 
-        int boardSize = World.getProperty("BOARD_SIZE");
+        int boardSize = Config.WORLD.boardSize();
         int maxPosition = boardSize - areaSize;
 
         int startX = random.nextInt(maxPosition + 1);
         int startY = random.nextInt(maxPosition + 1);
 
-        for (int x = startX; x < startX + areaSize; x++)
-            for (int y = startY; y < startY + areaSize; y++)
-                World.getInstance().rainOnCell(x, y, rainAmount);
-
-        World.getInstance().setLastRain(startX, startY, areaSize);
-    }
-
-    /**
-     * The run method that executes the weather simulation.
-     * It runs in an infinite loop, generating rain at random intervals.
-     */
-    @Override
-    public void run() {
-        while (true)
-            try {
-                rain();
-                Thread.sleep(random.nextInt(1000, RAIN_MAX_INTERVAL + 1));
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                e.printStackTrace();
-                break;
-            }
+        World target = world != null ? world : World.getInstance();
+        target.rainOnArea(startX, startY, areaSize, areaSize, rainAmount);
+        target.setLastRain(startX, startY, areaSize);
     }
 }
\ No newline at end of file
@@ -0,0 +1,347 @@
+package oop.evolution.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * An append-only journal of the events of a run, written as fixed-width binary records
+ * into memory-mapped segment files named {@code journal-000000.bin}, {@code journal-000001.bin}, ...
+ * <p>
+ * Every thread fills its own buffer of records without any synchronization. A full buffer claims the next
+ * region of the journal with a single atomic add and is copied into the mapped segment holding that region,
+ * so threads only meet once per {@link #BUFFER_RECORDS} events. The regions have the size of a buffer and
+ * the segments are a multiple of it, so a region never spans two segments. A segment is unmapped as soon as
+ * all of its regions have been written.
+ * <p>
+ * A thread that ends before the journal is closed packs its last records into an overflow buffer shared by
+ * all threads, which claims a region once it is full, so threads recording a few events each do not leave
+ * a mostly empty region behind. A buffer written out when the journal is closed leaves the rest of its region
+ * as zeros, which readers skip.
+ * The events of one thread are in order; the events of different threads are interleaved region by region,
+ * so a reader needing a global order sorts by {@link JournalReader#getTime()}.
+ * <p>
+ * The time of a record comes from a clock given to the journal. The world uses its epoch, which is cheap to read
+ * and the same on every replay of a seeded run; reading {@link System#nanoTime()} for every record costs
+ * as much as the rest of the record.
+ */
+public final class EventJournal implements Closeable {
+    /**
+     * The number of bytes of a record: the time, the type, the subject, x, y and two arguments.
+     */
+    public static final int RECORD_SIZE = 32;
+
+    /**
+     * The number of records in the buffer of a thread.
+     */
+    public static final int BUFFER_RECORDS = 128;
+
+    /**
+     * The number of bytes of a buffer, and of a region of the journal.
+     */
+    static final int BUFFER_SIZE = RECORD_SIZE * BUFFER_RECORDS;
+
+    /**
+     * The byte order of the records.
+     */
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    /**
+     * The journal that records nothing, used when the world does not keep a journal.
+     */
+    public static final EventJournal DISABLED = new EventJournal();
+
+    /**
+     * The directory of the segment files, or null for the disabled journal.
+     */
+    private final Path directory;
+
+    /**
+     * The number of bytes of a segment.
+     */
+    private final long segmentSize;
+
+    /**
+     * The clock giving the time of the records, or null for the disabled journal.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * The position in the journal of the next region to claim.
+     */
+    private final AtomicLong position = new AtomicLong(0);
+
+    /**
+     * The segments that still have regions to be written, by index.
+     */
+    private final ConcurrentHashMap<Integer, Segment> segments = new ConcurrentHashMap<>();
+
+    /**
+     * The buffer of each thread, or null while the thread has recorded nothing.
+     */
+    private final ThreadLocal<ByteBuffer> buffer = new ThreadLocal<>();
+
+    /**
+     * The buffers of the threads that have recorded events, by thread, written out when the journal is closed.
+     * Keyed by thread, so a thread ending among many others forgets its buffer without searching for it.
+     */
+    private final ConcurrentHashMap<Thread, ByteBuffer> buffers = new ConcurrentHashMap<>();
+
+    /**
+     * The buffer the threads ending before the journal is closed pack their last records into.
+     * Only used while holding {@link #overflowLock}.
+     */
+    private final ByteBuffer overflow = ByteBuffer.allocate(BUFFER_SIZE).order(ORDER);
+
+    /**
+     * The lock guarding {@link #overflow}. A {@link ReentrantLock} so that a virtual thread waiting for it
+     * does not pin its carrier.
+     */
+    private final ReentrantLock overflowLock = new ReentrantLock();
+
+    /**
+     * True once the journal has been closed.
+     */
+    private volatile boolean closed = false;
+
+    /**
+     * Constructs the disabled journal.
+     */
+    private EventJournal() {
+        this.directory = null;
+        this.segmentSize = 0;
+        this.clock = null;
+    }
+
+    /**
+     * Opens a new journal in the given directory.
+     *
+     * @param directory     The directory of the segment files. It is created if needed.
+     * @param segmentSize   The number of bytes of a segment, a multiple of {@link #BUFFER_SIZE}.
+     * @param clock         The clock giving the time of the records.
+     * @throws IOException  If the directory cannot be created.
+     */
+    public EventJournal(Path directory, long segmentSize, LongSupplier clock) throws IOException {
+        if (segmentSize <= 0 || segmentSize % BUFFER_SIZE != 0 || segmentSize > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Records an event. Does nothing if the journal is disabled or closed.
+     *
+     * @param type      The type of the event.
+     * @param subject   The creature or quantity the event is about, see {@link EventType}.
+     * @param x         The x-coordinate of the event.
+     * @param y         The y-coordinate of the event.
+     * @param first     The first argument of the event.
+     * @param second    The second argument of the event.
+     */
+    public void record(EventType type, int subject, int x, int y, int first, int second) {
+        if (directory == null || closed)
+            return;
+
+        ByteBuffer records = buffer.get();
+        if (records == null)
+            records = newBuffer();
+
+        int offset = records.position();
+
+        records.putLong(offset, clock.getAsLong())
+                .putInt(offset + 8, type.code())
+                .putInt(offset + 12, subject)
+                .putInt(offset + 16, x)
+                .putInt(offset + 20, y)
+                .putInt(offset + 24, first)
+                .putInt(offset + 28, second)
+                .position(offset + RECORD_SIZE);
+
+        if (!records.hasRemaining())
+            write(records);
+    }
+
+    /**
+     * Packs the records of the buffer of the current thread into the shared overflow buffer and forgets the buffer.
+     * A thread that stops recording before the journal is closed calls it when it ends, so its last events
+     * are kept and its buffer can be collected. Does nothing if the thread has recorded nothing.
+     */
+    public void release() {
+        if (directory == null)
+            return;
+
+        ByteBuffer records = buffer.get();
+        if (records == null)
+            return;
+
+        buffer.remove();
+        buffers.remove(Thread.currentThread());
+
+        if (records.position() > 0)
+            pack(records);
+    }
+
+    /**
+     * Writes out the buffers of all threads and unmaps the segments.
+     * It must be called after the threads recording events have stopped.
+     */
+    @Override
+    public void close() {
+        if (directory == null || closed)
+            return;
+
+        closed = true;
+
+        for (ByteBuffer records : buffers.values())
+            if (records.position() > 0)
+                write(records);
+
+        overflowLock.lock();
+        try {
+            if (overflow.position() > 0)
+                write(overflow);
+        } finally {
+            overflowLock.unlock();
+        }
+
+        for (Segment segment : segments.values())
+            segment.map.force();
+
+        segments.clear();
+        buffers.clear();
+    }
+
+    /**
+     * Returns the directory of the segment files.
+     *
+     * @return  The directory of the journal, or null for the disabled journal.
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns true if the journal records events.
+     *
+     * @return  False for the disabled journal, otherwise true.
+     */
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    /**
+     * Creates the buffer of the current thread and registers it for {@link #close()}.
+     *
+     * @return  The new buffer.
+     */
+    private ByteBuffer newBuffer() {
+        ByteBuffer records = ByteBuffer.allocate(BUFFER_SIZE).order(ORDER);
+        buffer.set(records);
+        buffers.put(Thread.currentThread(), records);
+        return records;
+    }
+
+    /**
+     * Appends the records of a buffer to the overflow buffer, writing the overflow buffer out whenever it fills up,
+     * and empties the buffer. The records are dropped if the journal has been closed meanwhile.
+     *
+     * @param records   The buffer to pack.
+     */
+    private void pack(ByteBuffer records) {
+        int length = records.position();
+
+        overflowLock.lock();
+        try {
+            if (closed)
+                return;
+
+            int copied = Math.min(length, overflow.remaining());
+            overflow.put(records.array(), 0, copied);
+
+            if (!overflow.hasRemaining()) {
+                write(overflow);
+                overflow.put(records.array(), copied, length - copied);
+            }
+        } finally {
+            overflowLock.unlock();
+        }
+
+        records.clear();
+    }
+
+    /**
+     * Copies the records of a buffer into the next region of the journal and empties the buffer.
+     *
+     * @param records   The buffer to write.
+     */
+    private void write(ByteBuffer records) {
+        long claimed = position.getAndAdd(BUFFER_SIZE);
+        int index = (int) (claimed / segmentSize);
+        Segment segment = segments.computeIfAbsent(index, this::map);
+
+        segment.map.put((int) (claimed % segmentSize), records, 0, records.position());
+        records.clear();
+
+        if (segment.written.addAndGet(BUFFER_SIZE) == segmentSize)
+            segments.remove(index);
+    }
+
+    /**
+     * Creates and maps a segment file.
+     *
+     * @param index The index of the segment.
+     * @return      The mapped segment.
+     */
+    private Segment map(int index) {
+        Path file = directory.resolve(segmentName(index));
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return new Segment(channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map journal segment: " + file, e);
+        }
+    }
+
+    /**
+     * Returns the file name of a segment.
+     *
+     * @param index The index of the segment.
+     * @return      The file name.
+     */
+    static String segmentName(int index) {
+        return String.format("journal-%06d.bin", index);
+    }
+
+    /**
+     * A mapped segment file with the number of bytes of its regions written so far.
+     */
+    private static final class Segment {
+        /**
+         * The mapping of the whole file.
+         */
+        private final MappedByteBuffer map;
+
+        /**
+         * The number of bytes of the regions written into the segment.
+         */
+        private final AtomicLong written = new AtomicLong(0);
+
+        Segment(MappedByteBuffer map) {
+            this.map = map;
+        }
+    }
+}
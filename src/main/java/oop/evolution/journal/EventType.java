@@ -0,0 +1,60 @@
+package oop.evolution.journal;
+
+/**
+ * The kinds of events recorded in the journal, with the meaning of the fields of their records.
+ * Every record also holds the time of the event, given by the clock of the journal.
+ */
+public enum EventType {
+    /**
+     * A creature was born. The subject is the new creature, x and y are the cell of the parent,
+     * the first argument is the parent and the second argument is the ordinal of the species.
+     */
+    BIRTH,
+    /**
+     * A creature died. The subject is the creature, x and y are its cell, or -1 if it was in none,
+     * and the first argument is the ordinal of the species.
+     */
+    DEATH,
+    /**
+     * An animal moved. The subject is the animal, x and y are the destination cell,
+     * and the arguments are the x and y coordinates of the source cell.
+     */
+    MOVE,
+    /**
+     * Rain fell on a rectangle. The subject is the quantity of water, x and y are the upper left cell,
+     * and the arguments are the width and the height of the rectangle.
+     */
+    RAIN,
+    /**
+     * The day began. No field is used.
+     */
+    DAY,
+    /**
+     * The night began. No field is used.
+     */
+    NIGHT;
+
+    /**
+     * The event types by code.
+     */
+    private static final EventType[] VALUES = values();
+
+    /**
+     * Returns the code of the type in a record. Codes start at 1, so an unwritten record, full of zeros, has none.
+     *
+     * @return  The code of the type.
+     */
+    int code() {
+        return ordinal() + 1;
+    }
+
+    /**
+     * Returns the type with the given code.
+     *
+     * @param code  The code of the type.
+     * @return      The event type, or null if the code is 0 or unknown.
+     */
+    static EventType fromCode(int code) {
+        return code > 0 && code <= VALUES.length ? VALUES[code - 1] : null;
+    }
+}
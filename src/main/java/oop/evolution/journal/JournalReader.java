@@ -0,0 +1,137 @@
+package oop.evolution.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streams the events of a journal back, segment by segment, without copying them.
+ * The reader is a cursor over the mapped segment files: {@link #next()} moves it to the next recorded event
+ * and the getters read the fields of that event straight from the mapping.
+ * <pre>
+ * try (JournalReader reader = new JournalReader(directory)) {
+ *     while (reader.next())
+ *         if (reader.getType() == EventType.DEATH)
+ *             ...
+ * }
+ * </pre>
+ */
+public final class JournalReader implements Closeable {
+    /**
+     * The directory of the segment files.
+     */
+    private final Path directory;
+
+    /**
+     * The index of the segment being read.
+     */
+    private int segment = -1;
+
+    /**
+     * The mapping of the segment being read, or null before the first segment.
+     */
+    private MappedByteBuffer map;
+
+    /**
+     * The offset of the current record in the segment being read.
+     */
+    private int offset = -EventJournal.RECORD_SIZE;
+
+    /**
+     * Constructs a reader over the journal in the given directory, positioned before the first event.
+     *
+     * @param directory The directory of the segment files.
+     */
+    public JournalReader(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Moves to the next recorded event, skipping the unwritten parts of the segments.
+     *
+     * @return              True if there is an event, false at the end of the journal.
+     * @throws IOException  If a segment cannot be read.
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            int following = offset + EventJournal.RECORD_SIZE;
+
+            if (map == null || following + EventJournal.RECORD_SIZE > map.limit()) {
+                if (!openSegment(segment + 1))
+                    return false;
+
+                offset = -EventJournal.RECORD_SIZE;
+                continue;
+            }
+
+            offset = following;
+            if (map.getInt(offset + 8) != 0)
+                return true;
+        }
+    }
+
+    /**
+     * Maps a segment file for reading.
+     *
+     * @param index         The index of the segment.
+     * @return              True if the segment exists, otherwise false.
+     * @throws IOException  If the segment cannot be read.
+     */
+    private boolean openSegment(int index) throws IOException {
+        Path file = directory.resolve(EventJournal.segmentName(index));
+        if (!Files.exists(file))
+            return false;
+
+        try (FileChannel channel = FileChannel.open(file)) {
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            map.order(EventJournal.ORDER);
+        }
+
+        segment = index;
+        return true;
+    }
+
+    /**
+     * Returns the time of the current event.
+     *
+     * @return  The time given by the clock of the journal when the event was recorded.
+     */
+    public long getTime() {
+        return map.getLong(offset);
+    }
+
+    public EventType getType() {
+        return EventType.fromCode(map.getInt(offset + 8));
+    }
+
+    public int getSubject() {
+        return map.getInt(offset + 12);
+    }
+
+    public int getX() {
+        return map.getInt(offset + 16);
+    }
+
+    public int getY() {
+        return map.getInt(offset + 20);
+    }
+
+    public int getFirstArgument() {
+        return map.getInt(offset + 24);
+    }
+
+    public int getSecondArgument() {
+        return map.getInt(offset + 28);
+    }
+
+    /**
+     * Releases the mapping of the segment being read.
+     */
+    @Override
+    public void close() {
+        map = null;
+    }
+}
@@ -0,0 +1,31 @@
+package oop.evolution.metrics;
+
+/**
+ * The events counted by the {@link MetricsRegistry}, each per species.
+ */
+public enum Counter {
+    /**
+     * An offspring was placed next to its parent.
+     */
+    BIRTH,
+    /**
+     * A creature was killed.
+     */
+    DEATH,
+    /**
+     * An animal moved to a neighbouring cell.
+     */
+    MOVE,
+    /**
+     * An animal tried to move to a neighbouring cell that was full.
+     */
+    FAILED_MOVE,
+    /**
+     * A creature fed: a plant drew water from its cell or an animal ate a plant or an animal.
+     */
+    FEED,
+    /**
+     * A creature drowned in a flooded cell.
+     */
+    FLOOD
+}
@@ -0,0 +1,131 @@
+package oop.evolution.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free log-linear histogram of durations in nanoseconds.
+ * <p>
+ * Every power of two is split into {@link #SUB_BUCKETS} linear buckets, so a value is recorded with a relative error
+ * of at most 1/8 in one of a fixed number of buckets covering every positive {@code long}. Recording a value
+ * finds its bucket with a few shifts and adds to it atomically: no allocation, no lock and no resizing,
+ * whatever the values. Values below zero are recorded as zero.
+ * <p>
+ * Reading walks the buckets without stopping the writers, so a percentile read while values are recorded
+ * may miss the latest of them.
+ */
+public final class LatencyHistogram {
+    /**
+     * The number of bits of a value below its highest one bit selecting its bucket.
+     */
+    static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * The number of linear buckets per power of two.
+     */
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The number of buckets, enough for every positive {@code long}.
+     */
+    static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * The number of values recorded in every bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration in nanoseconds.
+     */
+    public void record(long nanos) {
+        counts.getAndIncrement(index(nanos));
+    }
+
+    /**
+     * Returns the bucket of a value. The values below {@link #SUB_BUCKETS} have a bucket each;
+     * above, the bucket is given by the position of the highest one bit and the bits right below it.
+     *
+     * @param value The value.
+     * @return      The index of its bucket.
+     */
+    static int index(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) Math.max(0, value);
+
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Returns the largest value recorded in a bucket.
+     *
+     * @param index The index of the bucket.
+     * @return      The highest value of the bucket.
+     */
+    static long highestValue(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long lowest = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return  The number of values.
+     */
+    public long count() {
+        long total = 0;
+
+        for (int i = 0; i < BUCKETS; ++i)
+            total += counts.get(i);
+
+        return total;
+    }
+
+    /**
+     * Returns the value at or below which lie the given percentage of the values recorded,
+     * as the highest value of the bucket holding it.
+     *
+     * @param percentile    The percentile, between 0 and 100.
+     * @return              The value at the percentile, or 0 if nothing has been recorded.
+     */
+    public long percentile(double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("Invalid percentile: " + percentile);
+
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+
+        for (int i = 0; i < BUCKETS; ++i)
+            total += snapshot[i] = counts.get(i);
+
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; ++i) {
+            seen += snapshot[i];
+            if (seen >= rank && snapshot[i] > 0)
+                return highestValue(i);
+        }
+
+        return 0;
+    }
+
+    /**
+     * Returns the highest value of the bucket of the largest value recorded.
+     *
+     * @return  The largest value, or 0 if nothing has been recorded.
+     */
+    public long max() {
+        for (int i = BUCKETS - 1; i >= 0; --i)
+            if (counts.get(i) > 0)
+                return highestValue(i);
+
+        return 0;
+    }
+}
@@ -0,0 +1,11 @@
+package oop.evolution.metrics;
+
+/**
+ * The life processes of a creature whose steps are timed by the {@link MetricsRegistry}.
+ */
+public enum LifeProcess {
+    GROW,
+    EVOLVE,
+    REPLICATE,
+    FEED
+}
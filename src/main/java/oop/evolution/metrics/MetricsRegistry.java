@@ -0,0 +1,148 @@
+package oop.evolution.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import oop.evolution.creatures.Species;
+
+/**
+ * The metrics of a world: a count of every {@link Counter} and a {@link LatencyHistogram} of the steps
+ * of every {@link LifeProcess}, per species.
+ * <p>
+ * The cost is bounded by design. Counting adds to a {@link LongAdder}, which stripes itself across cells
+ * as soon as threads contend, so it costs one uncontended atomic add and never blocks. Reading the clock
+ * costs about as much as a short step, so only one step in {@code 2^timingSampleBits} of every creature
+ * is timed, chosen by a counter of the creature rather than a random draw, which keeps seeded runs the same.
+ * The disabled registry, used by worlds keeping no metrics, only checks a final flag.
+ */
+public final class MetricsRegistry {
+    /**
+     * The species the metrics are kept for.
+     */
+    private static final Species[] SPECIES = Species.values();
+
+    /**
+     * The registry that keeps nothing, used when the world keeps no metrics.
+     */
+    public static final MetricsRegistry DISABLED = new MetricsRegistry(false, 0);
+
+    /**
+     * True if the registry keeps metrics.
+     */
+    private final boolean enabled;
+
+    /**
+     * The mask selecting the steps to time: a step is timed when its number has none of these bits set.
+     */
+    private final int timingMask;
+
+    /**
+     * The counters, indexed by counter ordinal and species ordinal.
+     */
+    private final LongAdder[] counters = new LongAdder[Counter.values().length * SPECIES.length];
+
+    /**
+     * The latency histograms, indexed by life process ordinal and species ordinal.
+     */
+    private final LatencyHistogram[] latencies = new LatencyHistogram[LifeProcess.values().length * SPECIES.length];
+
+    /**
+     * Constructs a registry keeping metrics.
+     *
+     * @param timingSampleBits  The steps timed are one in {@code 2^timingSampleBits}.
+     */
+    public MetricsRegistry(int timingSampleBits) {
+        this(true, timingSampleBits);
+    }
+
+    /**
+     * Constructs a registry.
+     *
+     * @param enabled           True if the registry keeps metrics.
+     * @param timingSampleBits  The steps timed are one in {@code 2^timingSampleBits}.
+     */
+    private MetricsRegistry(boolean enabled, int timingSampleBits) {
+        if (timingSampleBits < 0 || timingSampleBits > 30)
+            throw new IllegalArgumentException("Invalid timing sample bits: " + timingSampleBits);
+
+        this.enabled = enabled;
+        this.timingMask = (1 << timingSampleBits) - 1;
+
+        for (int i = 0; i < counters.length; ++i)
+            counters[i] = new LongAdder();
+        for (int i = 0; i < latencies.length; ++i)
+            latencies[i] = new LatencyHistogram();
+    }
+
+    /**
+     * Counts an event. Does nothing if the registry is disabled.
+     *
+     * @param counter   The counter of the event.
+     * @param species   The species of the creature the event is about.
+     */
+    public void count(Counter counter, Species species) {
+        if (enabled)
+            counters[counter.ordinal() * SPECIES.length + species.ordinal()].increment();
+    }
+
+    /**
+     * Returns the number of events counted.
+     *
+     * @param counter   The counter of the events.
+     * @param species   The species of the creatures the events are about.
+     * @return          The number of events, 0 if the registry is disabled.
+     */
+    public long get(Counter counter, Species species) {
+        return counters[counter.ordinal() * SPECIES.length + species.ordinal()].sum();
+    }
+
+    /**
+     * Checks if a step of a life process should be timed.
+     *
+     * @param step  The number of the step among the steps of the creature.
+     * @return      True if the step should be timed, false always if the registry is disabled.
+     */
+    public boolean isTimed(int step) {
+        return enabled && (step & timingMask) == 0;
+    }
+
+    /**
+     * Records the duration of a timed step of a life process.
+     *
+     * @param process   The life process.
+     * @param species   The species of the creature.
+     * @param nanos     The duration of the step in nanoseconds.
+     */
+    public void recordLatency(LifeProcess process, Species species, long nanos) {
+        if (enabled)
+            latencies[process.ordinal() * SPECIES.length + species.ordinal()].record(nanos);
+    }
+
+    /**
+     * Returns the histogram of the durations of the timed steps of a life process.
+     *
+     * @param process   The life process.
+     * @param species   The species of the creatures.
+     * @return          The latency histogram, empty if the registry is disabled.
+     */
+    public LatencyHistogram getLatency(LifeProcess process, Species species) {
+        return latencies[process.ordinal() * SPECIES.length + species.ordinal()];
+    }
+
+    /**
+     * Returns true if the registry keeps metrics.
+     *
+     * @return  False for the disabled registry, otherwise true.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the number of steps of a creature per timed step.
+     *
+     * @return  The timing sample rate, a power of two.
+     */
+    public int getTimingSampleRate() {
+        return timingMask + 1;
+    }
+}
@@ -0,0 +1,111 @@
+package oop.evolution.metrics;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.LongSupplier;
+
+import oop.evolution.creatures.Species;
+
+/**
+ * Writes samples of a {@link MetricsRegistry} to a local CSV file, one row per species and sample.
+ * A row holds the time of the sample, the species, the totals of every {@link Counter} so far and,
+ * for every {@link LifeProcess}, the number of timed steps and their 50th, 99th percentile and maximum
+ * durations in nanoseconds. The values are cumulative, so the rate over an interval is the difference
+ * between two rows.
+ * <p>
+ * Samples are taken by an activity of the clock of the world and a last one when the file is closed,
+ * so both are synchronized.
+ */
+public final class MetricsReporter implements Closeable {
+    /**
+     * The registry to sample.
+     */
+    private final MetricsRegistry metrics;
+
+    /**
+     * The clock giving the time of the samples.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * The writer of the metrics file.
+     */
+    private final BufferedWriter writer;
+
+    /**
+     * Creates the metrics file, replacing any previous one, and writes its header.
+     *
+     * @param metrics       The registry to sample.
+     * @param file          The metrics file.
+     * @param clock         The clock giving the time of the samples.
+     * @throws IOException  If the file cannot be written.
+     */
+    public MetricsReporter(MetricsRegistry metrics, Path file, LongSupplier clock) throws IOException {
+        this.metrics = metrics;
+        this.clock = clock;
+        this.writer = Files.newBufferedWriter(file);
+
+        StringBuilder header = new StringBuilder("time,species");
+        for (Counter counter : Counter.values())
+            header.append(',').append(counter.name().toLowerCase());
+        for (LifeProcess process : LifeProcess.values()) {
+            String name = process.name().toLowerCase();
+            header.append(',').append(name).append("_timed,").append(name).append("_p50_ns,")
+                    .append(name).append("_p99_ns,").append(name).append("_max_ns");
+        }
+
+        writer.write(header.toString());
+        writer.newLine();
+        writer.flush();
+    }
+
+    /**
+     * Writes one row per species with the current values of the registry.
+     *
+     * @throws UncheckedIOException If the file cannot be written.
+     */
+    public synchronized void sample() {
+        long time = clock.getAsLong();
+        StringBuilder row = new StringBuilder();
+
+        try {
+            for (Species species : Species.values()) {
+                row.setLength(0);
+                row.append(time).append(',').append(species.name());
+
+                for (Counter counter : Counter.values())
+                    row.append(',').append(metrics.get(counter, species));
+
+                for (LifeProcess process : LifeProcess.values()) {
+                    LatencyHistogram latency = metrics.getLatency(process, species);
+                    row.append(',').append(latency.count()).append(',').append(latency.percentile(50))
+                            .append(',').append(latency.percentile(99)).append(',').append(latency.max());
+                }
+
+                writer.write(row.toString());
+                writer.newLine();
+            }
+
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write the metrics file", e);
+        }
+    }
+
+    /**
+     * Writes a last sample and closes the metrics file.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            sample();
+            writer.close();
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package oop.evolution.scheduler;
+
+/**
+ * An activity of the simulation that can be stopped, such as a {@link ScheduledEvent}
+ * or an activity repeated by a {@link SimulationClock}.
+ */
+public interface Cancellable {
+    /**
+     * Stops the activity. A run that is already in progress completes, but the activity never runs again.
+     */
+    void cancel();
+
+    /**
+     * Checks if the activity has been cancelled.
+     *
+     * @return  True if the activity has been cancelled, otherwise false.
+     */
+    boolean isCancelled();
+}
@@ -0,0 +1,89 @@
+package oop.evolution.scheduler;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Enum representing the ways the life processes of the creatures and the environment runnables can be executed.
+ * The mode is selected by the {@code EXECUTION_MODE} key of 'world.properties', using the ordinal of the constant.
+ */
+public enum ExecutionMode {
+    /**
+     * Life processes are periodic events on the world's {@link Scheduler}.
+     */
+    SCHEDULED,
+    /**
+     * Every life process runs on its own platform thread.
+     */
+    PLATFORM_THREADS,
+    /**
+     * Every life process runs on its own virtual thread.
+     * Falls back to platform threads when the running JDK does not support virtual threads.
+     */
+    VIRTUAL_THREADS;
+
+    /**
+     * The virtual thread factory, or null if the running JDK does not support virtual threads.
+     */
+    private static final ThreadFactory VIRTUAL_FACTORY = createVirtualFactory();
+
+    /**
+     * Returns the mode with the given property value.
+     *
+     * @param value                     The ordinal of the mode.
+     * @return                          The execution mode.
+     * @throws IllegalArgumentException If the value does not name a mode.
+     */
+    public static ExecutionMode fromProperty(int value) {
+        if (value < 0 || value >= values().length)
+            throw new IllegalArgumentException("Invalid execution mode: " + value);
+
+        return values()[value];
+    }
+
+    /**
+     * Creates an unstarted thread for the given runnable.
+     * Virtual threads are used in {@link #VIRTUAL_THREADS} mode when available, platform threads otherwise.
+     *
+     * @param runnable  The runnable to execute.
+     * @param name      The name of the thread.
+     * @return          The new thread.
+     */
+    public Thread newThread(Runnable runnable, String name) {
+        Thread thread;
+
+        if (this == VIRTUAL_THREADS && VIRTUAL_FACTORY != null)
+            thread = VIRTUAL_FACTORY.newThread(runnable);
+        else {
+            thread = new Thread(runnable);
+            thread.setDaemon(true);
+        }
+        thread.setName(name);
+
+        return thread;
+    }
+
+    /**
+     * Checks if this mode actually runs on virtual threads in the current JDK.
+     *
+     * @return  True if threads of this mode are virtual, otherwise false.
+     */
+    public boolean isVirtual() {
+        return this == VIRTUAL_THREADS && VIRTUAL_FACTORY != null;
+    }
+
+    /**
+     * Looks up {@code Thread.ofVirtual().factory()} reflectively, so the project still compiles and runs on JDK 17.
+     *
+     * @return  The virtual thread factory, or null if it is not available.
+     */
+    private static ThreadFactory createVirtualFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package oop.evolution.scheduler;
+
+import java.util.function.LongSupplier;
+
+/**
+ * A single action registered in the {@link Scheduler}.
+ * The action returns the delay before its next run, or a negative delay if it should not run again,
+ * so one-shot, periodic and variable-rate events are all the same kind of event. The event object itself is what
+ * travels through the wheel slots and the worker queue, so dispatching it does not allocate.
+ */
+public final class ScheduledEvent implements Runnable, Cancellable {
+    /**
+     * The scheduler that owns this event.
+     */
+    private final Scheduler scheduler;
+
+    /**
+     * The action executed when the event is due, returning the delay before its next run in milliseconds.
+     */
+    private final LongSupplier task;
+
+    /**
+     * The order in which the event was created. Events due on the same tick are dispatched in this order.
+     */
+    final long sequence;
+
+    /**
+     * The last delay in ticks, used again if the action fails, or 0 if a failed event should not run again.
+     */
+    private long delayTicks;
+
+    /**
+     * The absolute tick at which the event is due.
+     */
+    long deadline;
+
+    /**
+     * The next event in the same wheel slot. Only touched by the timer thread.
+     */
+    ScheduledEvent next;
+
+    /**
+     * Flag indicating whether the event has been cancelled.
+     */
+    private volatile boolean cancelled = false;
+
+    /**
+     * Constructs a new event.
+     *
+     * @param scheduler     The scheduler that owns the event.
+     * @param task          The action to execute, returning the delay before its next run in milliseconds.
+     * @param sequence      The order in which the event was created.
+     * @param deadline      The absolute tick at which the event is first due.
+     * @param delayTicks    The delay in ticks used again if the action fails, or 0.
+     */
+    ScheduledEvent(Scheduler scheduler, LongSupplier task, long sequence, long deadline, long delayTicks) {
+        this.scheduler = scheduler;
+        this.task = task;
+        this.sequence = sequence;
+        this.deadline = deadline;
+        this.delayTicks = delayTicks;
+    }
+
+    /**
+     * Cancels the event. A run that is already in progress completes, but the event is never dispatched again.
+     */
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Checks if the event has been cancelled.
+     *
+     * @return  True if the event has been cancelled, otherwise false.
+     */
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Runs the task on a worker thread and hands the event back to the scheduler if it should run again.
+     */
+    @Override
+    public void run() {
+        try {
+            if (cancelled)
+                return;
+
+            try {
+                long delayMillis = task.getAsLong();
+                delayTicks = delayMillis < 0 ? 0 : scheduler.toTicks(delayMillis);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+
+            if (delayTicks > 0 && !cancelled) {
+                deadline += delayTicks;
+                scheduler.submit(this);
+            }
+        } finally {
+            scheduler.finished();
+        }
+    }
+}
@@ -0,0 +1,497 @@
+package oop.evolution.scheduler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * A discrete-event scheduler that runs the actions of the simulation on a small fixed pool of worker threads.
+ * Events are kept on a hierarchical {@link TimingWheel} that is advanced by a single timer thread once per tick.
+ * Due events are handed to the workers, so the number of threads does not depend on the number of creatures.
+ * Events due on the same tick are dispatched in the order they were created.
+ * <p>
+ * In real-time mode a tick lasts its length of wall-clock time. In fast-forward mode the timer moves on to the next
+ * tick as soon as every event of the current tick has completed, so the simulation runs as fast as the workers allow.
+ * With a single worker both modes run the same events in the same order.
+ */
+public class Scheduler implements SimulationClock {
+    /**
+     * The timing wheel holding the pending events. Only accessed by the timer thread.
+     */
+    private final TimingWheel wheel = new TimingWheel();
+
+    /**
+     * The events submitted from other threads that have not been put on the wheel yet.
+     */
+    private final ConcurrentLinkedQueue<ScheduledEvent> inbox = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The pool of worker threads executing the due events.
+     */
+    private final ExecutorService workers;
+
+    /**
+     * The length of one tick in milliseconds.
+     */
+    private final int tickMillis;
+
+    /**
+     * True if the timer moves on as soon as the events of a tick have completed, false to follow the wall clock.
+     */
+    private final boolean fastForward;
+
+    /**
+     * The thread advancing the timing wheel.
+     */
+    private final Thread timer;
+
+    /**
+     * The total number of dispatched events.
+     */
+    private final LongAdder dispatched = new LongAdder();
+
+    /**
+     * The number of dispatched events that have not completed yet.
+     */
+    private final AtomicInteger running = new AtomicInteger();
+
+    /**
+     * The number of events created so far, giving the sequence of the next event.
+     */
+    private final AtomicLong created = new AtomicLong();
+
+    /**
+     * The due events of the tick being dispatched. Only accessed by the timer thread.
+     */
+    private final List<ScheduledEvent> due = new ArrayList<>();
+
+    /**
+     * The number of events dispatched during the last full second.
+     */
+    private volatile long eventsPerSecond = 0;
+
+    /**
+     * The number of simulated seconds elapsed during the last full second.
+     */
+    private volatile double simulatedSecondsPerSecond = 0;
+
+    /**
+     * The tick reached by the timer thread, published for other threads.
+     */
+    private volatile long currentTick = 0;
+
+    /**
+     * Flag to indicate if the scheduler should stop.
+     */
+    private volatile boolean stopRequested = false;
+
+    /**
+     * Flag indicating whether the timer thread has been asked to stop advancing the wheel.
+     */
+    private volatile boolean paused = false;
+
+    /**
+     * The tick the timer thread advances the wheel to while paused, moved forward by {@link #step}.
+     */
+    private volatile long stepTarget = 0;
+
+    /**
+     * Constructs a new real-time scheduler. The scheduler does not run events until it is started.
+     *
+     * @param workerCount   The number of worker threads.
+     * @param tickMillis    The length of one tick in milliseconds.
+     */
+    public Scheduler(int workerCount, int tickMillis) {
+        this(workerCount, tickMillis, false);
+    }
+
+    /**
+     * Constructs a new scheduler. The scheduler does not run events until it is started.
+     *
+     * @param workerCount   The number of worker threads.
+     * @param tickMillis    The length of one tick in simulated milliseconds.
+     * @param fastForward   True to run ticks as fast as possible, false to follow the wall clock.
+     */
+    public Scheduler(int workerCount, int tickMillis, boolean fastForward) {
+        if (workerCount <= 0 || tickMillis <= 0)
+            throw new IllegalArgumentException("Invalid scheduler configuration");
+
+        this.tickMillis = tickMillis;
+        this.fastForward = fastForward;
+
+        AtomicInteger workerNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "scheduler-worker-" + workerNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.timer = new Thread(fastForward ? this::runFastForward : this::runTimer, "scheduler-timer");
+        this.timer.setDaemon(true);
+    }
+
+    /**
+     * Starts the timer thread.
+     */
+    public void start() {
+        timer.start();
+    }
+
+    /**
+     * Stops the timer thread and the workers. Pending events are dropped.
+     */
+    public void shutdown() {
+        stopRequested = true;
+        timer.interrupt();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Stops the timer thread from advancing the wheel after the current tick. Running events complete,
+     * and events are still accepted, they just wait on the wheel until the scheduler is resumed or stepped.
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    /**
+     * Lets the timer thread advance the wheel again. A real-time scheduler follows the wall clock from the current
+     * tick on, so it does not rush through the time it was paused for.
+     */
+    public void resume() {
+        paused = false;
+        LockSupport.unpark(timer);
+    }
+
+    /**
+     * Lets a paused scheduler advance by the given simulated time, at its usual pace, and pause again.
+     *
+     * @param millis                    The simulated time to advance by, in milliseconds.
+     * @throws IllegalStateException    If the scheduler is not paused.
+     */
+    public synchronized void step(long millis) {
+        if (!paused)
+            throw new IllegalStateException("Only a paused scheduler can be stepped");
+
+        stepTarget = Math.max(stepTarget, currentTick) + toTicks(millis);
+        LockSupport.unpark(timer);
+    }
+
+    /**
+     * Checks if the scheduler has been paused.
+     *
+     * @return  True if the timer thread only advances the wheel when stepped, otherwise false.
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Schedules a one-shot event.
+     *
+     * @param task          The action to execute.
+     * @param delayMillis   The delay in milliseconds.
+     * @return              The scheduled event, which can be used to cancel it.
+     */
+    public ScheduledEvent schedule(Runnable task, long delayMillis) {
+        return submit(() -> {
+            task.run();
+            return -1;
+        }, toTicks(delayMillis), 0);
+    }
+
+    /**
+     * Schedules a periodic event. The next run is scheduled only after the previous run has completed,
+     * so runs of the same event never overlap.
+     *
+     * @param task          The action to execute.
+     * @param periodMillis  The period in milliseconds, also used as the initial delay.
+     * @return              The scheduled event, which can be used to cancel it.
+     */
+    public ScheduledEvent scheduleAtFixedRate(Runnable task, long periodMillis) {
+        long periodTicks = toTicks(periodMillis);
+
+        return submit(() -> {
+            task.run();
+            return periodMillis;
+        }, periodTicks, periodTicks);
+    }
+
+    /**
+     * Schedules an event that runs after a delay and again after every delay it returns.
+     * A run that fails is followed by another run after the previous delay.
+     */
+    @Override
+    public ScheduledEvent repeat(String name, long delayMillis, LongSupplier activity) {
+        long delayTicks = toTicks(delayMillis);
+
+        return submit(activity, delayTicks, delayTicks);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return currentTick * tickMillis;
+    }
+
+    /**
+     * Creates a new event and hands it to the timer thread.
+     *
+     * @param task          The action to execute, returning the delay before its next run in milliseconds.
+     * @param delayTicks    The delay before the first run in ticks.
+     * @param retryTicks    The delay in ticks used again if the action fails, or 0.
+     * @return              The scheduled event.
+     */
+    private ScheduledEvent submit(LongSupplier task, long delayTicks, long retryTicks) {
+        ScheduledEvent event = new ScheduledEvent(this, task, created.getAndIncrement(), currentTick + delayTicks,
+                retryTicks);
+        submit(event);
+
+        return event;
+    }
+
+    /**
+     * Hands an event to the timer thread.
+     *
+     * @param event The event to put on the wheel.
+     */
+    void submit(ScheduledEvent event) {
+        inbox.offer(event);
+    }
+
+    /**
+     * Converts milliseconds to a whole number of ticks, at least one.
+     *
+     * @param millis    The duration in milliseconds.
+     * @return          The duration in ticks.
+     */
+    long toTicks(long millis) {
+        return Math.max(1, (millis + tickMillis - 1) / tickMillis);
+    }
+
+    /**
+     * The timer loop. It advances the wheel once per tick, catching up if it falls behind,
+     * and refreshes the dispatch rate once per second.
+     */
+    private void runTimer() {
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        long start = System.nanoTime();
+        long nextRateUpdate = start + TimeUnit.SECONDS.toNanos(1);
+        long dispatchedAtLastUpdate = 0;
+        long tickAtLastUpdate = 0;
+
+        while (!stopRequested) {
+            long now = System.nanoTime();
+
+            if (paused) {
+                if (currentTick < stepTarget)
+                    advance();
+
+                // Follow the wall clock again from the current tick on resume, without catching up on the pause
+                start = now - wheel.getCurrentTick() * tickNanos;
+            } else {
+                long targetTick = (now - start) / tickNanos;
+
+                while (wheel.getCurrentTick() < targetTick)
+                    advance();
+            }
+
+            if (now >= nextRateUpdate) {
+                updateRates(dispatchedAtLastUpdate, tickAtLastUpdate);
+                dispatchedAtLastUpdate = dispatched.sum();
+                tickAtLastUpdate = currentTick;
+                nextRateUpdate += TimeUnit.SECONDS.toNanos(1);
+            }
+
+            LockSupport.parkNanos(start + (wheel.getCurrentTick() + 1) * tickNanos - System.nanoTime());
+        }
+    }
+
+    /**
+     * The fast-forward timer loop. It waits for the events of the current tick to complete and then advances
+     * the wheel at once, so empty ticks take no time. It only parks for a tick when no event is pending at all.
+     */
+    private void runFastForward() {
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        long nextRateUpdate = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        long dispatchedAtLastUpdate = 0;
+        long tickAtLastUpdate = 0;
+
+        while (!stopRequested) {
+            while (running.get() > 0 && !stopRequested)
+                LockSupport.park(this);
+
+            if ((paused && currentTick >= stepTarget) || (wheel.size() == 0 && inbox.isEmpty()))
+                LockSupport.parkNanos(tickNanos);
+            else
+                advance();
+
+            long now = System.nanoTime();
+            if (now >= nextRateUpdate) {
+                updateRates(dispatchedAtLastUpdate, tickAtLastUpdate);
+                dispatchedAtLastUpdate = dispatched.sum();
+                tickAtLastUpdate = currentTick;
+                nextRateUpdate = now + TimeUnit.SECONDS.toNanos(1);
+            }
+        }
+    }
+
+    /**
+     * Puts the submitted events on the wheel, moves it to the next tick and dispatches the due events
+     * to the workers in the order they were created.
+     */
+    private void advance() {
+        advance(this::dispatch);
+    }
+
+    /**
+     * Puts the submitted events on the wheel, moves it to the next tick and hands the due events
+     * to a dispatcher in the order they were created.
+     *
+     * @param dispatcher    The consumer running or dispatching the due events.
+     */
+    private void advance(Consumer<ScheduledEvent> dispatcher) {
+        drainInbox();
+        wheel.advance(due::add);
+        currentTick = wheel.getCurrentTick();
+
+        if (due.size() > 1)
+            due.sort(Comparator.comparingLong(event -> event.sequence));
+        for (ScheduledEvent event : due)
+            dispatcher.accept(event);
+        due.clear();
+    }
+
+    /**
+     * Runs the events on the calling thread, tick after tick, until the given simulated time has been reached.
+     * No thread is started and no tick waits for the wall clock, so the run only depends on the events themselves.
+     * It is used to run many worlds at once on a shared pool instead of giving each one its own timer and workers.
+     *
+     * @param millis                    The simulated time to reach, in milliseconds.
+     * @throws IllegalStateException    If the scheduler has been started.
+     */
+    public void runUntil(long millis) {
+        if (timer.getState() != Thread.State.NEW)
+            throw new IllegalStateException("Cannot run a started scheduler on the calling thread");
+
+        long targetTick = millis / tickMillis;
+        while (currentTick < targetTick)
+            advance(this::runInline);
+    }
+
+    /**
+     * Refreshes the rates at the end of a second.
+     *
+     * @param dispatchedBefore  The number of events dispatched before the second.
+     * @param tickBefore        The tick reached before the second.
+     */
+    private void updateRates(long dispatchedBefore, long tickBefore) {
+        eventsPerSecond = dispatched.sum() - dispatchedBefore;
+        simulatedSecondsPerSecond = (currentTick - tickBefore) * tickMillis / 1000.0;
+    }
+
+    /**
+     * Moves the submitted events onto the wheel.
+     */
+    private void drainInbox() {
+        ScheduledEvent event;
+        while ((event = inbox.poll()) != null)
+            if (!event.isCancelled())
+                wheel.insert(event);
+    }
+
+    /**
+     * Hands a due event to the worker pool. The event is dropped if the scheduler has been shut down meanwhile.
+     *
+     * @param event The due event.
+     */
+    private void dispatch(ScheduledEvent event) {
+        dispatched.increment();
+        running.incrementAndGet();
+
+        try {
+            workers.execute(event);
+        } catch (RejectedExecutionException e) {
+            running.decrementAndGet();
+        }
+    }
+
+    /**
+     * Runs a due event on the calling thread.
+     *
+     * @param event The due event.
+     */
+    private void runInline(ScheduledEvent event) {
+        dispatched.increment();
+        running.incrementAndGet();
+        event.run();
+    }
+
+    /**
+     * Called by an event when its run has completed. Wakes up the fast-forward timer after the last running event.
+     */
+    void finished() {
+        if (running.decrementAndGet() == 0 && fastForward)
+            LockSupport.unpark(timer);
+    }
+
+    /**
+     * Returns the number of events dispatched during the last full second.
+     *
+     * @return  The dispatch rate in events per second.
+     */
+    public long getEventsPerSecond() {
+        return eventsPerSecond;
+    }
+
+    @Override
+    public double getSimulatedSecondsPerSecond() {
+        return simulatedSecondsPerSecond;
+    }
+
+    /**
+     * Returns the total number of events dispatched since the scheduler was started.
+     *
+     * @return  The number of dispatched events.
+     */
+    public long getDispatchedEvents() {
+        return dispatched.sum();
+    }
+
+    /**
+     * Returns the number of events waiting on the wheel, as seen by the timer thread.
+     *
+     * @return  The number of pending events.
+     */
+    public int getPendingEvents() {
+        return wheel.size() + inbox.size();
+    }
+
+    /**
+     * Returns the length of one tick in milliseconds.
+     *
+     * @return  The tick length.
+     */
+    public int getTickMillis() {
+        return tickMillis;
+    }
+
+    /**
+     * Checks if the scheduler runs in fast-forward mode.
+     *
+     * @return  True if ticks run as fast as possible, false if they follow the wall clock.
+     */
+    public boolean isFastForward() {
+        return fastForward;
+    }
+}
@@ -0,0 +1,36 @@
+package oop.evolution.scheduler;
+
+import java.util.function.LongSupplier;
+
+/**
+ * The clock every timed activity of the simulation runs on: the world steps, the day and night cycle, the weather,
+ * the creator and the life processes of the creatures. All periods of the properties files are simulated
+ * milliseconds. A real-time clock lets one simulated millisecond last one millisecond, while the
+ * {@link Scheduler} in fast-forward mode moves on to the next due activity as soon as the current ones are done.
+ */
+public interface SimulationClock {
+    /**
+     * Returns the simulated time elapsed since the clock was started.
+     *
+     * @return  The simulated time in milliseconds.
+     */
+    long currentTimeMillis();
+
+    /**
+     * Runs an activity after a delay, and again after every delay it returns,
+     * until it returns a negative delay or it is cancelled.
+     *
+     * @param name          The name of the activity, used for its thread where there is one.
+     * @param delayMillis   The delay before the first run, in simulated milliseconds.
+     * @param activity      The activity, returning the delay before its next run in simulated milliseconds.
+     * @return              The repeated activity, which can be used to cancel it.
+     */
+    Cancellable repeat(String name, long delayMillis, LongSupplier activity);
+
+    /**
+     * Returns how fast the simulation runs, measured over the last full second.
+     *
+     * @return  The number of simulated seconds per wall-clock second.
+     */
+    double getSimulatedSecondsPerSecond();
+}
@@ -0,0 +1,105 @@
+package oop.evolution.scheduler;
+
+import java.util.function.LongSupplier;
+
+/**
+ * The real-time clock of the thread based execution modes. Every repeated activity gets its own platform
+ * or virtual thread, which sleeps for the delays returned by the activity.
+ */
+public final class ThreadClock implements SimulationClock {
+    /**
+     * The execution mode creating the threads.
+     */
+    private final ExecutionMode mode;
+
+    /**
+     * The action run by every thread when its activity ends.
+     */
+    private final Runnable onExit;
+
+    /**
+     * The time the clock was created, from {@link System#nanoTime()}.
+     */
+    private final long start = System.nanoTime();
+
+    /**
+     * Constructs a new real-time clock.
+     *
+     * @param mode      The execution mode creating the threads, one of the thread based modes.
+     * @param onExit    The action run by every thread when its activity ends.
+     */
+    public ThreadClock(ExecutionMode mode, Runnable onExit) {
+        if (mode == ExecutionMode.SCHEDULED)
+            throw new IllegalArgumentException("Invalid execution mode for a thread clock: " + mode);
+
+        this.mode = mode;
+        this.onExit = onExit;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    /**
+     * Starts a thread sleeping for the delay and then running the activity in a loop.
+     * Cancelling the activity interrupts its thread.
+     */
+    @Override
+    public Cancellable repeat(String name, long delayMillis, LongSupplier activity) {
+        Repetition repetition = new Repetition();
+        repetition.thread = mode.newThread(() -> loop(repetition, delayMillis, activity), name);
+        repetition.thread.start();
+
+        return repetition;
+    }
+
+    @Override
+    public double getSimulatedSecondsPerSecond() {
+        return 1;
+    }
+
+    /**
+     * The body of the thread of an activity.
+     *
+     * @param repetition    The handle of the activity.
+     * @param delayMillis   The delay before the first run.
+     * @param activity      The activity.
+     */
+    private void loop(Repetition repetition, long delayMillis, LongSupplier activity) {
+        try {
+            for (long delay = delayMillis; delay >= 0 && !repetition.cancelled; delay = activity.getAsLong())
+                Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            onExit.run();
+        }
+    }
+
+    /**
+     * The handle of an activity running on its own thread.
+     */
+    private static final class Repetition implements Cancellable {
+        /**
+         * The thread running the activity.
+         */
+        private Thread thread;
+
+        /**
+         * Flag indicating whether the activity has been cancelled.
+         */
+        private volatile boolean cancelled = false;
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            thread.interrupt();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
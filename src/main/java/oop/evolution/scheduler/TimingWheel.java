@@ -0,0 +1,176 @@
+package oop.evolution.scheduler;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel holding the pending {@link ScheduledEvent}s.
+ * Every level has 64 slots and each slot of a level covers 64 slots of the level below,
+ * so four levels cover 2^24 ticks. Events further away are parked in an overflow list.
+ * Inserting an event and advancing by one tick are both constant time.
+ * The wheel is not thread-safe, it is only ever touched by the scheduler's timer thread.
+ */
+final class TimingWheel {
+    /**
+     * The number of bits of the tick used to index a slot on one level.
+     */
+    private static final int SLOT_BITS = 6;
+
+    /**
+     * The number of slots on one level.
+     */
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    /**
+     * The mask selecting the slot index on one level.
+     */
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    /**
+     * The number of levels of the wheel.
+     */
+    private static final int LEVELS = 4;
+
+    /**
+     * The heads of the event lists, indexed by level and slot.
+     */
+    private final ScheduledEvent[][] slots = new ScheduledEvent[LEVELS][SLOTS];
+
+    /**
+     * The events that are too far in the future to fit on the top level.
+     */
+    private ScheduledEvent overflow;
+
+    /**
+     * The tick that is currently being processed.
+     */
+    private long currentTick;
+
+    /**
+     * The number of events on the wheel, including cancelled ones that have not been dropped yet.
+     */
+    private int size;
+
+    /**
+     * Returns the tick that is currently being processed.
+     *
+     * @return  The current tick.
+     */
+    long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Returns the number of events on the wheel.
+     *
+     * @return  The number of pending events.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Puts an event on the wheel. Events whose deadline has already passed are due on the next tick.
+     *
+     * @param event The event to insert.
+     */
+    void insert(ScheduledEvent event) {
+        place(event, currentTick + 1);
+    }
+
+    /**
+     * Puts an event on the wheel, due no earlier than the given tick.
+     *
+     * @param event     The event to insert.
+     * @param earliest  The earliest tick the event may be due on.
+     */
+    private void place(ScheduledEvent event, long earliest) {
+        long deadline = Math.max(event.deadline, earliest);
+        long delta = deadline - currentTick;
+        ++size;
+
+        for (int level = 0; level < LEVELS; ++level)
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                int slot = (int) (deadline >>> (SLOT_BITS * level)) & SLOT_MASK;
+                event.next = slots[level][slot];
+                slots[level][slot] = event;
+                return;
+            }
+
+        event.next = overflow;
+        overflow = event;
+    }
+
+    /**
+     * Moves the wheel to the next tick and hands every due, non-cancelled event to the dispatcher.
+     * Higher levels are cascaded into lower ones when the lower level wraps around.
+     *
+     * @param dispatcher    The consumer receiving the due events.
+     */
+    void advance(Consumer<ScheduledEvent> dispatcher) {
+        ++currentTick;
+
+        for (int level = 1; level < LEVELS; ++level) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0)
+                break;
+
+            cascade(level, (int) (currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+
+            if (level == LEVELS - 1 && ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK) == 0) {
+                ScheduledEvent event = overflow;
+                overflow = null;
+                int removed = reinsert(event);
+                size -= removed;
+            }
+        }
+
+        int slot = (int) currentTick & SLOT_MASK;
+        ScheduledEvent event = slots[0][slot];
+        slots[0][slot] = null;
+
+        while (event != null) {
+            ScheduledEvent next = event.next;
+            event.next = null;
+            --size;
+
+            if (!event.isCancelled())
+                dispatcher.accept(event);
+            event = next;
+        }
+    }
+
+    /**
+     * Empties a slot of a higher level and inserts its events again relative to the current tick.
+     *
+     * @param level The level of the slot.
+     * @param slot  The index of the slot.
+     */
+    private void cascade(int level, int slot) {
+        ScheduledEvent event = slots[level][slot];
+        slots[level][slot] = null;
+        int removed = reinsert(event);
+        size -= removed;
+    }
+
+    /**
+     * Inserts every non-cancelled event of a detached list again and drops the cancelled ones.
+     * Events that are due on the current tick land in the level 0 slot that is drained next.
+     * The callers subtract the result only after the call, as the inserted events count themselves in.
+     *
+     * @param event The head of the list.
+     * @return      The number of events taken out of the list.
+     */
+    private int reinsert(ScheduledEvent event) {
+        int removed = 0;
+
+        while (event != null) {
+            ScheduledEvent next = event.next;
+            event.next = null;
+            ++removed;
+
+            if (!event.isCancelled())
+                place(event, currentTick);
+            event = next;
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,79 @@
+package oop.evolution.server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * A pool of direct buffers of one size, so encoding a frame for the viewers allocates nothing once the pool is warm.
+ * It is owned by the thread of the {@link FrameStreamServer} and is not thread-safe.
+ */
+final class BufferPool {
+    /**
+     * The size of every buffer of the pool in bytes.
+     */
+    private final int bufferSize;
+
+    /**
+     * The number of idle buffers kept at most; buffers released beyond it are left to the garbage collector.
+     */
+    private final int capacity;
+
+    /**
+     * The idle buffers, the most recently released first.
+     */
+    private final ArrayDeque<ByteBuffer> idle = new ArrayDeque<>();
+
+    /**
+     * The number of buffers allocated so far.
+     */
+    private long allocated = 0;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param bufferSize    The size of every buffer in bytes.
+     * @param capacity      The number of idle buffers kept at most.
+     */
+    BufferPool(int bufferSize, int capacity) {
+        if (bufferSize < 16 || capacity < 0)
+            throw new IllegalArgumentException("Invalid buffer pool configuration");
+
+        this.bufferSize = bufferSize;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Takes an idle buffer, or allocates one if none is left.
+     *
+     * @return  A cleared buffer.
+     */
+    ByteBuffer acquire() {
+        ByteBuffer buffer = idle.pollFirst();
+        if (buffer != null)
+            return buffer;
+
+        ++allocated;
+        return ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Gives a buffer back to the pool. It must not be used afterwards.
+     *
+     * @param buffer    The buffer, taken from this pool.
+     */
+    void release(ByteBuffer buffer) {
+        buffer.clear();
+
+        if (idle.size() < capacity)
+            idle.addFirst(buffer);
+    }
+
+    /**
+     * Returns the number of buffers allocated so far.
+     *
+     * @return  The number of allocated buffers.
+     */
+    long getAllocated() {
+        return allocated;
+    }
+}
@@ -0,0 +1,240 @@
+package oop.evolution.server;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Rebuilds the board from the messages of a {@link FrameStreamServer}, for viewers written in Java.
+ * <p>
+ * Every message starts with its length as a 4-byte big-endian integer, which does not count itself, followed by
+ * a type byte and the epoch of the frame as a varint. Varints are unsigned, in 7-bit groups, the lowest first,
+ * with the high bit set on all but the last byte. A cell is written as its water level and then its census counters
+ * in the order of {@link oop.evolution.Census}, all varints.
+ * <p>
+ * The cells are sent chunk by chunk, in the order of the chunks of {@link oop.evolution.ChunkedBoard}: the chunk at
+ * (chunkX, chunkY) comes before the chunk at (chunkX, chunkY + 1), and the last chunk of a row of chunks before the
+ * first chunk of the next row. Within a chunk, the cells that lie on the board are sent row by row, the cell at
+ * offset (i, j) at index {@code i * columns + j}, where {@code columns} is the number of cells of the chunk
+ * on the board along the y-axis.
+ * <ul>
+ *     <li>A keyframe, type 0, holds the size of the board, the size of a chunk and the number of census counters
+ *     per cell, and then every cell, as runs: the length of a run followed by the cell that repeats.</li>
+ *     <li>A delta, type 1, holds the cells that changed since the previous message, as runs: the number of cells
+ *     skipped since the end of the previous run, the length of the run and the cell that repeats.</li>
+ * </ul>
+ * A stream starts with a keyframe, and a viewer that falls behind is sent a new keyframe.
+ */
+public class FrameDecoder {
+    /**
+     * The length of a side of the board, or -1 before the first keyframe.
+     */
+    private int boardSize = -1;
+
+    /**
+     * The length of a side of a chunk.
+     */
+    private int chunkSize;
+
+    /**
+     * The epoch of the last message.
+     */
+    private long epoch = -1;
+
+    /**
+     * The water level of every cell, in the order the cells are sent.
+     */
+    private int[] water;
+
+    /**
+     * The census counters of every cell, indexed by counter and then by cell in the order the cells are sent.
+     */
+    private int[][] census;
+
+    /**
+     * Reads the next message from a blocking channel.
+     *
+     * @param channel       The channel.
+     * @return              The message without its length, ready to be decoded, or null at the end of the stream.
+     * @throws IOException  If the channel cannot be read or ends within a message.
+     */
+    public static ByteBuffer read(ReadableByteChannel channel) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        if (!readFully(channel, length))
+            return null;
+
+        ByteBuffer message = ByteBuffer.allocate(length.flip().getInt());
+        if (!readFully(channel, message))
+            throw new EOFException("The stream ended within a message");
+
+        return message.flip();
+    }
+
+    /**
+     * Fills a buffer from a blocking channel.
+     *
+     * @param channel       The channel.
+     * @param buffer        The buffer to fill.
+     * @return              True if the buffer was filled, false if the stream ended before the first byte.
+     * @throws IOException  If the channel cannot be read or ends within the buffer.
+     */
+    private static boolean readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            if (channel.read(buffer) < 0) {
+                if (buffer.position() == 0)
+                    return false;
+
+                throw new EOFException("The stream ended within a message");
+            }
+
+        return true;
+    }
+
+    /**
+     * Applies a message to the board.
+     *
+     * @param message                   The message without its length.
+     * @throws IllegalArgumentException If the message is not a valid keyframe or delta.
+     * @throws IllegalStateException    If the message is a delta and no keyframe has been decoded yet.
+     */
+    public void decode(ByteBuffer message) {
+        byte type = message.get();
+        epoch = readVarint(message);
+
+        if (type == FrameEncoder.KEYFRAME) {
+            boardSize = (int) readVarint(message);
+            chunkSize = (int) readVarint(message);
+            int counters = (int) readVarint(message);
+
+            if (boardSize <= 0 || chunkSize <= 0)
+                throw new IllegalArgumentException("Invalid keyframe of a board of " + boardSize
+                        + " cells in chunks of " + chunkSize);
+
+            water = new int[boardSize * boardSize];
+            census = new int[counters][boardSize * boardSize];
+
+            for (int cell = 0; cell < water.length; )
+                cell = readRun(message, cell);
+        } else if (type == FrameEncoder.DELTA) {
+            if (boardSize < 0)
+                throw new IllegalStateException("A delta cannot be decoded before a keyframe");
+
+            for (int cell = 0; message.hasRemaining(); )
+                cell = readRun(message, cell + (int) readVarint(message));
+        } else
+            throw new IllegalArgumentException("Invalid message type: " + type);
+    }
+
+    /**
+     * Reads a run of cells holding the same values.
+     *
+     * @param message   The message.
+     * @param cell      The first cell of the run.
+     * @return          The cell after the run.
+     */
+    private int readRun(ByteBuffer message, int cell) {
+        int run = (int) readVarint(message);
+        if (run <= 0 || cell + run > water.length)
+            throw new IllegalArgumentException("Invalid run of " + run + " cells at cell " + cell);
+
+        int level = (int) readVarint(message);
+        for (int[] counters : census) {
+            int count = (int) readVarint(message);
+            for (int i = cell; i < cell + run; ++i)
+                counters[i] = count;
+        }
+
+        for (int i = cell; i < cell + run; ++i)
+            water[i] = level;
+
+        return cell + run;
+    }
+
+    /**
+     * Reads a varint.
+     *
+     * @param message   The message.
+     * @return          The value.
+     */
+    private static long readVarint(ByteBuffer message) {
+        long value = 0;
+
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte next = message.get();
+            value |= (long) (next & 0x7F) << shift;
+
+            if (next >= 0)
+                return value;
+        }
+
+        throw new IllegalArgumentException("Invalid varint");
+    }
+
+    /**
+     * Checks if a keyframe has been decoded.
+     *
+     * @return  True if the board is known, otherwise false.
+     */
+    public boolean hasKeyframe() {
+        return boardSize >= 0;
+    }
+
+    /**
+     * Returns the length of a side of the board.
+     *
+     * @return  The board size, or -1 before the first keyframe.
+     */
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    /**
+     * Returns the epoch of the frame of the last message.
+     *
+     * @return  The epoch.
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    /**
+     * Returns the water level of a cell.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @return  The water level.
+     */
+    public int getWater(int x, int y) {
+        return water[cell(x, y)];
+    }
+
+    /**
+     * Returns one census counter of a cell.
+     *
+     * @param index The index of the counter, see {@link oop.evolution.Census#index}.
+     * @param x     The x-coordinate of the cell.
+     * @param y     The y-coordinate of the cell.
+     * @return      The number of creatures of that species and stage in the cell.
+     */
+    public int getCount(int index, int x, int y) {
+        return census[index][cell(x, y)];
+    }
+
+    /**
+     * Returns the index of a cell in the order the cells are sent. The rows of chunks before the one of the cell
+     * are full height, and the chunks before it in its row of chunks are full width.
+     *
+     * @param x The x-coordinate of the cell.
+     * @param y The y-coordinate of the cell.
+     * @return  The index of the cell.
+     */
+    private int cell(int x, int y) {
+        int originX = x - x % chunkSize;
+        int originY = y - y % chunkSize;
+        int rows = Math.min(chunkSize, boardSize - originX);
+        int columns = Math.min(chunkSize, boardSize - originY);
+
+        return originX * boardSize + originY * rows + (x - originX) * columns + y - originY;
+    }
+}
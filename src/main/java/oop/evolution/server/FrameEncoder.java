@@ -0,0 +1,436 @@
+package oop.evolution.server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import oop.evolution.Census;
+import oop.evolution.ChunkedBoard;
+import oop.evolution.World;
+import oop.evolution.WorldFrame;
+
+/**
+ * Encodes the frames of a world into the messages of the {@link FrameStreamServer}, in the format read by
+ * {@link FrameDecoder}. The encoder keeps the state of the board last sent chunk by chunk, like the frames,
+ * with the water level and census of a cell packed into one {@code long}, so a delta is found by comparing
+ * the arrays of the chunks that have a snapshot. The chunks without one are skipped, so a quiet and mostly
+ * empty board costs little to capture and encode however large it is.
+ * Water levels above 65535 and counts above 255 are sent clamped.
+ */
+final class FrameEncoder {
+    /**
+     * The type of a message holding every cell of the board.
+     */
+    static final byte KEYFRAME = 0;
+
+    /**
+     * The type of a message holding the cells changed since the previous message.
+     */
+    static final byte DELTA = 1;
+
+    /**
+     * The number of bits of the water level in a packed cell.
+     */
+    private static final int WATER_BITS = 16;
+
+    /**
+     * The number of bits of a census counter in a packed cell.
+     */
+    private static final int COUNT_BITS = 8;
+
+    /**
+     * The mask of a census counter in a packed cell.
+     */
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    /**
+     * The largest number of bytes a varint of a long takes.
+     */
+    private static final int MAX_VARINT_BYTES = 10;
+
+    /**
+     * The number of cells of a chunk.
+     */
+    private static final int CHUNK_CELLS = ChunkedBoard.CHUNK_SIZE * ChunkedBoard.CHUNK_SIZE;
+
+    /**
+     * The length of a side of the board.
+     */
+    private final int boardSize;
+
+    /**
+     * The number of chunks on each side of the board.
+     */
+    private final int chunksPerSide;
+
+    /**
+     * The pool the buffers of the messages are taken from.
+     */
+    private final BufferPool pool;
+
+    /**
+     * The packed cells last sent, indexed by chunk and then by offset within the chunk,
+     * or null for a chunk whose cells were all {@link #empty}.
+     */
+    private long[][] state;
+
+    /**
+     * The packed cells of the frame captured last, not yet committed to {@link #state}.
+     */
+    private long[][] next;
+
+    /**
+     * The packed value of the cells of the chunks without a snapshot.
+     */
+    private long empty;
+
+    /**
+     * The epoch of {@link #state}, or -1 before the first frame has been committed.
+     */
+    private long epoch = -1;
+
+    /**
+     * The epoch of {@link #next}.
+     */
+    private long capturedEpoch = -1;
+
+    /**
+     * Creates an encoder for a board.
+     *
+     * @param boardSize The length of a side of the board.
+     * @param pool      The pool the buffers of the messages are taken from.
+     */
+    FrameEncoder(int boardSize, BufferPool pool) {
+        if (WATER_BITS + Census.SIZE * COUNT_BITS > Long.SIZE)
+            throw new IllegalStateException("Too many census counters to pack a cell");
+
+        this.boardSize = boardSize;
+        this.chunksPerSide = (boardSize + ChunkedBoard.CHUNK_SIZE - 1) >>> ChunkedBoard.CHUNK_BITS;
+        this.pool = pool;
+        this.state = new long[chunksPerSide * chunksPerSide][];
+        this.next = new long[chunksPerSide * chunksPerSide][];
+    }
+
+    /**
+     * Captures the latest frame of a world if it is newer than the state last committed. The frame is read
+     * without locking and captured again later if the world reused it meanwhile. Only the chunks the frame
+     * holds a snapshot of are packed.
+     *
+     * @param world The world.
+     * @return      True if a newer frame was captured, to pass to {@link #encodeDelta} or {@link #commit}.
+     */
+    boolean capture(World world) {
+        WorldFrame frame = world.getFrame();
+        long frameEpoch = frame.getEpoch();
+
+        if (frameEpoch < 0 || frameEpoch == epoch)
+            return false;
+
+        empty = pack(frame.getEmptyWater(), null, 0);
+
+        for (int chunkX = 0; chunkX < chunksPerSide; ++chunkX)
+            for (int chunkY = 0; chunkY < chunksPerSide; ++chunkY) {
+                int index = chunkX * chunksPerSide + chunkY;
+                WorldFrame.Chunk chunk = frame.getChunk(chunkX, chunkY);
+
+                if (chunk == null) {
+                    next[index] = null;
+                    continue;
+                }
+
+                if (next[index] == null)
+                    next[index] = new long[CHUNK_CELLS];
+
+                for (int offset = 0; offset < CHUNK_CELLS; ++offset)
+                    next[index][offset] = pack(chunk.getWater(offset), chunk, offset);
+            }
+
+        capturedEpoch = frameEpoch;
+        return frame.getEpoch() == frameEpoch;
+    }
+
+    /**
+     * Packs the water level and census counters of a cell into one {@code long}.
+     *
+     * @param water     The water level of the cell.
+     * @param chunk     The snapshot of the chunk of the cell, or null for a cell without creatures.
+     * @param offset    The offset of the cell within its chunk.
+     * @return          The packed cell.
+     */
+    private static long pack(int water, WorldFrame.Chunk chunk, int offset) {
+        long packed = Math.max(0, Math.min(water, (1 << WATER_BITS) - 1));
+
+        if (chunk != null)
+            for (int index = 0; index < Census.SIZE; ++index)
+                packed |= Math.min(chunk.getCount(index, offset), COUNT_MASK) << (WATER_BITS + index * COUNT_BITS);
+
+        return packed;
+    }
+
+    /**
+     * Makes the captured frame the state last sent, without encoding it.
+     */
+    void commit() {
+        long[][] previous = state;
+        state = next;
+        next = previous;
+        epoch = capturedEpoch;
+    }
+
+    /**
+     * Encodes the cells of the captured frame that differ from the state last sent, as runs of changed cells
+     * holding the same values, and commits the captured frame. The chunks without a snapshot in both are skipped.
+     *
+     * @return  The delta message.
+     */
+    Message encodeDelta() {
+        Writer writer = new Writer(DELTA, capturedEpoch);
+        int first = 0;
+        int last = 0;
+
+        for (int chunkX = 0; chunkX < chunksPerSide; ++chunkX)
+            for (int chunkY = 0; chunkY < chunksPerSide; ++chunkY) {
+                int index = chunkX * chunksPerSide + chunkY;
+                int columns = columns(chunkY);
+                int cells = columns(chunkX) * columns;
+                long[] sent = state[index];
+                long[] captured = next[index];
+
+                for (int cell = 0; (sent != null || captured != null) && cell < cells; ) {
+                    long packed = cell(captured, cell, columns);
+
+                    if (cell(sent, cell, columns) == packed) {
+                        ++cell;
+                        continue;
+                    }
+
+                    int run = 1;
+                    while (cell + run < cells && cell(captured, cell + run, columns) == packed
+                            && cell(sent, cell + run, columns) != packed)
+                        ++run;
+
+                    writer.writeVarint(first + cell - last);
+                    writer.writeVarint(run);
+                    writer.writeCell(packed);
+
+                    cell += run;
+                    last = first + cell;
+                }
+
+                first += cells;
+            }
+
+        commit();
+        return writer.finish();
+    }
+
+    /**
+     * Encodes every cell of the state last sent, as runs of cells holding the same values.
+     * A chunk without a snapshot extends the current run at once when it holds the same values.
+     *
+     * @return  The keyframe message.
+     */
+    Message encodeKeyframe() {
+        Writer writer = new Writer(KEYFRAME, epoch);
+        writer.writeVarint(boardSize);
+        writer.writeVarint(ChunkedBoard.CHUNK_SIZE);
+        writer.writeVarint(Census.SIZE);
+
+        long packed = empty;
+        int run = 0;
+
+        for (int chunkX = 0; chunkX < chunksPerSide; ++chunkX)
+            for (int chunkY = 0; chunkY < chunksPerSide; ++chunkY) {
+                int columns = columns(chunkY);
+                int cells = columns(chunkX) * columns;
+                long[] sent = state[chunkX * chunksPerSide + chunkY];
+
+                if (sent == null && packed == empty) {
+                    run += cells;
+                    continue;
+                }
+
+                for (int cell = 0; cell < cells; ++cell) {
+                    long value = cell(sent, cell, columns);
+
+                    if (value != packed && run > 0) {
+                        writer.writeVarint(run);
+                        writer.writeCell(packed);
+                        run = 0;
+                    }
+
+                    packed = value;
+                    ++run;
+                }
+            }
+
+        if (run > 0) {
+            writer.writeVarint(run);
+            writer.writeCell(packed);
+        }
+
+        return writer.finish();
+    }
+
+    /**
+     * Returns the number of cells of the board along one side of a chunk, less than the chunk size
+     * for the chunks on the far edges of the board.
+     *
+     * @param chunk The x- or y-coordinate of the chunk.
+     * @return      The number of cells of the chunk on the board along that side.
+     */
+    private int columns(int chunk) {
+        return Math.min(ChunkedBoard.CHUNK_SIZE, boardSize - (chunk << ChunkedBoard.CHUNK_BITS));
+    }
+
+    /**
+     * Returns a packed cell of a chunk, addressed in the order the cells of the chunk are sent.
+     *
+     * @param packed    The packed cells of the chunk, or null if every cell is {@link #empty}.
+     * @param cell      The index of the cell among the cells of the chunk on the board.
+     * @param columns   The number of columns of the chunk on the board.
+     * @return          The packed cell.
+     */
+    private long cell(long[] packed, int cell, int columns) {
+        return packed == null ? empty : packed[((cell / columns) << ChunkedBoard.CHUNK_BITS) + cell % columns];
+    }
+
+    /**
+     * Checks if a frame has been committed, so a keyframe can be encoded.
+     *
+     * @return  True if the encoder holds the state of a frame, otherwise false.
+     */
+    boolean hasState() {
+        return epoch >= 0;
+    }
+
+    /**
+     * An encoded message: a 4-byte length followed by the message itself, spread over pooled buffers that are
+     * ready to be read. A message shared by several viewers is retained by each of them, and its buffers go back
+     * to the pool once the last one has released it.
+     */
+    final class Message {
+        /**
+         * The buffers holding the message, in order.
+         */
+        private final List<ByteBuffer> buffers = new ArrayList<>(1);
+
+        /**
+         * The number of holders of the message.
+         */
+        private int references = 0;
+
+        /**
+         * Adds a holder of the message.
+         */
+        void retain() {
+            ++references;
+        }
+
+        /**
+         * Removes a holder of the message, and gives the buffers back to the pool after the last one.
+         */
+        void release() {
+            if (--references == 0)
+                for (ByteBuffer buffer : buffers)
+                    pool.release(buffer);
+        }
+
+        /**
+         * Returns the buffers holding the message. They must only be read through duplicates.
+         *
+         * @return  The buffers, in order.
+         */
+        List<ByteBuffer> getBuffers() {
+            return buffers;
+        }
+
+        /**
+         * Returns the size of the message, including its length.
+         *
+         * @return  The size in bytes.
+         */
+        int size() {
+            int size = 0;
+            for (ByteBuffer buffer : buffers)
+                size += buffer.limit();
+
+            return size;
+        }
+    }
+
+    /**
+     * Writes a message into pooled buffers, taking a new buffer whenever the current one could overflow.
+     */
+    private final class Writer {
+        /**
+         * The message being written.
+         */
+        private final Message message = new Message();
+
+        /**
+         * The buffer being written.
+         */
+        private ByteBuffer current;
+
+        /**
+         * Starts a message, reserving its length.
+         *
+         * @param type          The type of the message.
+         * @param messageEpoch  The epoch of the frame of the message.
+         */
+        Writer(byte type, long messageEpoch) {
+            current = pool.acquire();
+            message.buffers.add(current);
+
+            current.putInt(0);
+            current.put(type);
+            writeVarint(messageEpoch);
+        }
+
+        /**
+         * Writes a non-negative value in 7-bit groups, the lowest first, with the high bit set on all but the last.
+         *
+         * @param value The value.
+         */
+        void writeVarint(long value) {
+            if (current.remaining() < MAX_VARINT_BYTES) {
+                current.flip();
+                current = pool.acquire();
+                message.buffers.add(current);
+            }
+
+            while ((value & ~0x7FL) != 0) {
+                current.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            current.put((byte) value);
+        }
+
+        /**
+         * Writes the water level and then the census counters of a packed cell, as varints.
+         *
+         * @param packed    The packed cell.
+         */
+        void writeCell(long packed) {
+            writeVarint(packed & ((1 << WATER_BITS) - 1));
+
+            for (int index = 0; index < Census.SIZE; ++index)
+                writeVarint((packed >>> (WATER_BITS + index * COUNT_BITS)) & COUNT_MASK);
+        }
+
+        /**
+         * Completes the message by filling in its length.
+         *
+         * @return  The message, ready to be read.
+         */
+        Message finish() {
+            current.flip();
+
+            ByteBuffer first = message.buffers.get(0);
+            first.putInt(0, message.size() - Integer.BYTES);
+
+            return message;
+        }
+    }
+}
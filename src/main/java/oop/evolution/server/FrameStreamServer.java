@@ -0,0 +1,386 @@
+package oop.evolution.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import oop.evolution.World;
+
+/**
+ * A non-blocking server streaming the frames of a world to remote viewers, listening on the loopback interface only.
+ * A viewer is sent a keyframe of the whole board when it connects, and then one delta per frame holding only
+ * the cells whose water level or census changed, in the format described by {@link FrameDecoder}.
+ * <p>
+ * A single thread runs the selector, captures the frames and encodes them. Each frame is encoded once, into
+ * pooled direct buffers shared by every viewer, so a quiet world costs each viewer a few bytes per frame.
+ * Frames are read without locking, so viewers never hold up the simulation. A viewer that does not keep up
+ * has its backlog dropped and is sent a new keyframe instead.
+ */
+public class FrameStreamServer implements Closeable {
+    /**
+     * The number of messages queued for a viewer beyond which its backlog is replaced by a keyframe.
+     */
+    private static final int MAX_BACKLOG = 4;
+
+    /**
+     * The size of the pooled buffers the messages are encoded into.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The number of idle buffers kept in the pool.
+     */
+    private static final int POOLED_BUFFERS = 64;
+
+    /**
+     * The world streamed.
+     */
+    private final World world;
+
+    /**
+     * The wall-clock milliseconds between two checks for a new frame.
+     */
+    private final int eventInterval;
+
+    /**
+     * The channel accepting viewers.
+     */
+    private final ServerSocketChannel server;
+
+    /**
+     * The selector of the server and viewer channels.
+     */
+    private final Selector selector;
+
+    /**
+     * The encoder of the frames, owned by the stream thread.
+     */
+    private final FrameEncoder encoder;
+
+    /**
+     * The connected viewers, owned by the stream thread.
+     */
+    private final List<Viewer> viewers = new ArrayList<>();
+
+    /**
+     * The thread running the selector.
+     */
+    private final Thread thread;
+
+    /**
+     * Flag indicating whether the server has been asked to stop.
+     */
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a server for a world, listening on the given port of the loopback interface.
+     * It accepts no viewer until it is started.
+     *
+     * @param world         The world to stream.
+     * @param boardSize     The length of a side of the board of the world.
+     * @param port          The port to listen on, or 0 for any free port.
+     * @param eventInterval The wall-clock milliseconds between two checks for a new frame.
+     * @throws IOException  If the port cannot be bound.
+     */
+    public FrameStreamServer(World world, int boardSize, int port, int eventInterval) throws IOException {
+        if (eventInterval <= 0)
+            throw new IllegalArgumentException("Invalid event interval: " + eventInterval);
+
+        this.world = world;
+        this.eventInterval = eventInterval;
+        this.encoder = new FrameEncoder(boardSize, new BufferPool(BUFFER_SIZE, POOLED_BUFFERS));
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+
+        this.thread = new Thread(this::run, "frame-stream");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts accepting viewers and streaming frames to them.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Stops the server and disconnects the viewers.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        selector.wakeup();
+
+        try {
+            if (thread.isAlive())
+                thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return  The port.
+     */
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    /**
+     * The selector loop: accepts viewers, notices the ones that went away, writes what the network accepts
+     * and sends the new frames, checking for one at least every event interval.
+     */
+    private void run() {
+        try {
+            while (!closed) {
+                selector.select(eventInterval);
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    if (!key.isValid())
+                        continue;
+                    if (key.isAcceptable())
+                        accept();
+                    else {
+                        if (key.isReadable())
+                            read((Viewer) key.attachment());
+                        if (key.isValid() && key.isWritable())
+                            flush((Viewer) key.attachment());
+                    }
+                }
+
+                if (!viewers.isEmpty())
+                    publish();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            for (Viewer viewer : new ArrayList<>(viewers))
+                drop(viewer);
+
+            try {
+                server.close();
+                selector.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Accepts a pending viewer, which is sent a keyframe by the next {@link #publish()}.
+     *
+     * @throws IOException  If the viewer cannot be registered.
+     */
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null)
+            return;
+
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+        Viewer viewer = new Viewer(channel);
+        viewer.key = channel.register(selector, SelectionKey.OP_READ, viewer);
+        viewers.add(viewer);
+    }
+
+    /**
+     * Discards what a viewer sent, and drops it once it has closed its side of the connection.
+     *
+     * @param viewer    The viewer.
+     */
+    private void read(Viewer viewer) {
+        ByteBuffer discarded = ByteBuffer.allocate(256);
+
+        try {
+            if (viewer.channel.read(discarded) < 0)
+                drop(viewer);
+        } catch (IOException e) {
+            drop(viewer);
+        }
+    }
+
+    /**
+     * Sends the latest frame as a delta to the viewers that are in sync, if it is new,
+     * and a keyframe to the viewers that need one.
+     */
+    private void publish() {
+        if (encoder.capture(world)) {
+            boolean inSync = false;
+            for (Viewer viewer : viewers)
+                inSync |= !viewer.needsKeyframe;
+
+            if (inSync) {
+                FrameEncoder.Message delta = encoder.encodeDelta();
+                delta.retain();
+
+                for (Viewer viewer : new ArrayList<>(viewers))
+                    if (!viewer.needsKeyframe)
+                        send(viewer, delta);
+
+                delta.release();
+            } else
+                encoder.commit();
+        }
+
+        if (!encoder.hasState())
+            return;
+
+        FrameEncoder.Message keyframe = null;
+        for (Viewer viewer : new ArrayList<>(viewers))
+            if (viewer.needsKeyframe) {
+                if (keyframe == null) {
+                    keyframe = encoder.encodeKeyframe();
+                    keyframe.retain();
+                }
+
+                viewer.needsKeyframe = false;
+                send(viewer, keyframe);
+            }
+
+        if (keyframe != null)
+            keyframe.release();
+    }
+
+    /**
+     * Queues a message for a viewer and writes as much as the network accepts. When the viewer is too far behind,
+     * the messages it has not started receiving are dropped and it is marked as needing a keyframe instead.
+     *
+     * @param viewer    The viewer.
+     * @param message   The message.
+     */
+    private void send(Viewer viewer, FrameEncoder.Message message) {
+        if (viewer.queue.size() >= MAX_BACKLOG) {
+            FrameEncoder.Message started = viewer.current != null || viewer.index > 0 ? viewer.queue.pollFirst() : null;
+
+            while (!viewer.queue.isEmpty())
+                viewer.queue.pollFirst().release();
+            if (started != null)
+                viewer.queue.addFirst(started);
+
+            viewer.needsKeyframe = true;
+            return;
+        }
+
+        message.retain();
+        viewer.queue.addLast(message);
+        flush(viewer);
+    }
+
+    /**
+     * Writes the queued messages of a viewer until the network stops accepting them,
+     * and asks to be told when it accepts more.
+     *
+     * @param viewer    The viewer.
+     */
+    private void flush(Viewer viewer) {
+        try {
+            while (!viewer.queue.isEmpty()) {
+                FrameEncoder.Message head = viewer.queue.peekFirst();
+
+                if (viewer.current == null)
+                    viewer.current = head.getBuffers().get(viewer.index).duplicate();
+
+                viewer.channel.write(viewer.current);
+                if (viewer.current.hasRemaining()) {
+                    viewer.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+
+                viewer.current = null;
+                if (++viewer.index == head.getBuffers().size()) {
+                    viewer.index = 0;
+                    viewer.queue.pollFirst().release();
+                }
+            }
+
+            viewer.key.interestOps(SelectionKey.OP_READ);
+        } catch (IOException e) {
+            drop(viewer);
+        }
+    }
+
+    /**
+     * Disconnects a viewer and releases the messages queued for it.
+     *
+     * @param viewer    The viewer.
+     */
+    private void drop(Viewer viewer) {
+        if (!viewers.remove(viewer))
+            return;
+
+        while (!viewer.queue.isEmpty())
+            viewer.queue.pollFirst().release();
+
+        try {
+            viewer.channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * A connected viewer and the messages queued for it.
+     */
+    private static final class Viewer {
+        /**
+         * The channel of the viewer.
+         */
+        private final SocketChannel channel;
+
+        /**
+         * The messages queued for the viewer, the one being written first.
+         */
+        private final ArrayDeque<FrameEncoder.Message> queue = new ArrayDeque<>();
+
+        /**
+         * The selection key of the channel.
+         */
+        private SelectionKey key;
+
+        /**
+         * The index of the buffer of the first queued message being written.
+         */
+        private int index = 0;
+
+        /**
+         * The view of the buffer being written, or null between buffers.
+         */
+        private ByteBuffer current;
+
+        /**
+         * Flag indicating whether the next message sent to the viewer must be a keyframe.
+         */
+        private boolean needsKeyframe = true;
+
+        /**
+         * Creates a viewer that has not been sent anything yet.
+         *
+         * @param channel   The channel of the viewer.
+         */
+        Viewer(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package oop.evolution.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import oop.evolution.World;
+import oop.evolution.config.Config;
+import oop.evolution.scheduler.ExecutionMode;
+
+/**
+ * A local HTTP server to watch and control a world without a display, listening on the loopback interface only.
+ * <ul>
+ *     <li>{@code GET /stats} returns the {@link WorldStats} of the world as JSON.</li>
+ *     <li>{@code GET /events} streams the statistics as server-sent events, one per new frame.</li>
+ *     <li>{@code POST /pause}, {@code POST /resume} and {@code POST /step?millis=...} pause the world, resume it and
+ *     let a paused world run for the given simulated time, one step period by default.</li>
+ * </ul>
+ * Requests are handled on virtual threads when the JDK supports them, see {@link ExecutionMode#newThread}, so
+ * an open event stream costs no platform thread. Statistics are only ever taken from the frames of the world,
+ * never from its cells, so polling the server does not slow the simulation down.
+ */
+public class StatusServer implements Closeable {
+    /**
+     * The number of event intervals without a new frame after which a comment is sent to keep a stream open,
+     * and to notice clients that went away while the world is paused.
+     */
+    private static final int KEEP_ALIVE_INTERVALS = 30;
+
+    /**
+     * The world served.
+     */
+    private final World world;
+
+    /**
+     * The wall-clock milliseconds between two checks for a new frame to send to event streams.
+     */
+    private final int eventInterval;
+
+    /**
+     * The underlying HTTP server.
+     */
+    private final HttpServer server;
+
+    /**
+     * The latest statistics taken, shared by every request so the totals of a frame are computed once.
+     */
+    private volatile WorldStats latest;
+
+    /**
+     * Creates a server for a world, listening on the given port of the loopback interface. It serves nothing
+     * until it is started.
+     *
+     * @param world         The world to serve.
+     * @param port          The port to listen on, or 0 for any free port.
+     * @param eventInterval The wall-clock milliseconds between two checks for a new frame to send to event streams.
+     * @throws IOException  If the port cannot be bound.
+     */
+    public StatusServer(World world, int port, int eventInterval) throws IOException {
+        if (eventInterval <= 0)
+            throw new IllegalArgumentException("Invalid event interval: " + eventInterval);
+
+        this.world = world;
+        this.eventInterval = eventInterval;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+
+        AtomicInteger requestNumber = new AtomicInteger();
+        Executor executor = runnable -> ExecutionMode.VIRTUAL_THREADS
+                .newThread(runnable, "status-server-" + requestNumber.incrementAndGet()).start();
+
+        server.setExecutor(executor);
+        server.createContext("/stats", this::stats);
+        server.createContext("/events", this::events);
+        server.createContext("/pause", exchange -> control(exchange, world::pause));
+        server.createContext("/resume", exchange -> control(exchange, world::resume));
+        server.createContext("/step", this::step);
+    }
+
+    /**
+     * Starts serving requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server, closing the open event streams.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return  The port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Takes the current statistics of the world, reusing the totals of the latest statistics for the same frame.
+     *
+     * @return  The statistics.
+     */
+    private WorldStats takeStats() {
+        WorldStats stats = WorldStats.of(world, latest);
+        latest = stats;
+        return stats;
+    }
+
+    /**
+     * Handles {@code GET /stats}.
+     *
+     * @param exchange      The exchange.
+     * @throws IOException  If the response cannot be sent.
+     */
+    private void stats(HttpExchange exchange) throws IOException {
+        if (requireMethod(exchange, "GET"))
+            send(exchange, 200, takeStats().toJson());
+    }
+
+    /**
+     * Handles {@code GET /events}, sending the statistics whenever the world has published a new frame
+     * until the client goes away or the server is stopped.
+     *
+     * @param exchange      The exchange.
+     * @throws IOException  If the response headers cannot be sent.
+     */
+    private void events(HttpExchange exchange) throws IOException {
+        if (!requireMethod(exchange, "GET"))
+            return;
+
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+
+        try (OutputStream body = exchange.getResponseBody()) {
+            long epoch = -1;
+            int idle = 0;
+
+            while (true) {
+                WorldStats stats = takeStats();
+
+                if (stats.epoch() != epoch) {
+                    epoch = stats.epoch();
+                    idle = 0;
+                    body.write(("event: stats\ndata: " + stats.toJson() + "\n\n").getBytes(StandardCharsets.UTF_8));
+                    body.flush();
+                } else if (++idle == KEEP_ALIVE_INTERVALS) {
+                    idle = 0;
+                    body.write(":\n\n".getBytes(StandardCharsets.UTF_8));
+                    body.flush();
+                }
+
+                Thread.sleep(eventInterval);
+            }
+        } catch (IOException e) {
+            // The client went away
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Handles {@code POST /step}, letting a paused world run for the simulated time given by the {@code millis}
+     * parameter, one step period by default.
+     *
+     * @param exchange      The exchange.
+     * @throws IOException  If the response cannot be sent.
+     */
+    private void step(HttpExchange exchange) throws IOException {
+        if (!requireMethod(exchange, "POST"))
+            return;
+
+        String query = exchange.getRequestURI().getQuery();
+        long millis = Config.WORLD.stepPeriod();
+
+        if (query != null)
+            for (String parameter : query.split("&"))
+                if (parameter.startsWith("millis="))
+                    try {
+                        millis = Long.parseLong(parameter.substring("millis=".length()));
+                    } catch (NumberFormatException e) {
+                        millis = 0;
+                    }
+
+        if (millis <= 0) {
+            send(exchange, 400, error("Invalid millis"));
+            return;
+        }
+
+        long steppedMillis = millis;
+        run(exchange, () -> world.advance(steppedMillis));
+    }
+
+    /**
+     * Handles a {@code POST} control command.
+     *
+     * @param exchange      The exchange.
+     * @param command       The command to run on the world.
+     * @throws IOException  If the response cannot be sent.
+     */
+    private void control(HttpExchange exchange, Runnable command) throws IOException {
+        if (requireMethod(exchange, "POST"))
+            run(exchange, command);
+    }
+
+    /**
+     * Runs a control command and answers with the paused state of the world,
+     * or with 409 if the world cannot be controlled.
+     *
+     * @param exchange      The exchange.
+     * @param command       The command to run on the world.
+     * @throws IOException  If the response cannot be sent.
+     */
+    private void run(HttpExchange exchange, Runnable command) throws IOException {
+        try {
+            command.run();
+            send(exchange, 200, "{\"paused\":" + world.isPaused() + "}");
+        } catch (IllegalStateException e) {
+            send(exchange, 409, error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Answers with 405 unless the request uses the given method.
+     *
+     * @param exchange      The exchange.
+     * @param method        The method of the endpoint.
+     * @return              True if the request uses the method, false if it has been answered.
+     * @throws IOException  If the response cannot be sent.
+     */
+    private static boolean requireMethod(HttpExchange exchange, String method) throws IOException {
+        if (method.equals(exchange.getRequestMethod()))
+            return true;
+
+        exchange.getResponseHeaders().set("Allow", method);
+        send(exchange, 405, error("Method not allowed"));
+        return false;
+    }
+
+    /**
+     * Sends a JSON response and closes the exchange.
+     *
+     * @param exchange      The exchange.
+     * @param status        The status code.
+     * @param json          The JSON body.
+     * @throws IOException  If the response cannot be sent.
+     */
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Writes an error message as a JSON object.
+     *
+     * @param message   The message, which must not need escaping.
+     * @return          The JSON text.
+     */
+    private static String error(String message) {
+        return "{\"error\":\"" + message + "\"}";
+    }
+}
@@ -0,0 +1,127 @@
+package oop.evolution.server;
+
+import oop.evolution.Census;
+import oop.evolution.ChunkedBoard;
+import oop.evolution.World;
+import oop.evolution.WorldFrame;
+import oop.evolution.config.Config;
+import oop.evolution.creatures.Species;
+import oop.evolution.scheduler.Scheduler;
+
+/**
+ * The statistics of a world served by the {@link StatusServer}, taken from the latest frame of the world
+ * and from the rates of its clock. Frames are read without locking, so taking statistics never holds up
+ * the simulation, and the totals of a frame are only computed once, whoever asks for them.
+ *
+ * @param epoch                     The epoch of the frame the statistics were taken from.
+ * @param simulatedMillis           The simulated time of the world.
+ * @param day                       True if it was day in the frame.
+ * @param paused                    True if the world is paused.
+ * @param plants                    The number of plants in the frame.
+ * @param animals                   The number of animals in the frame.
+ * @param census                    The number of creatures per species and stage, indexed like {@link Census}.
+ * @param totalWater                The total water level of the cells in the frame.
+ * @param minWater                  The lowest water level of a cell in the frame.
+ * @param maxWater                  The highest water level of a cell in the frame.
+ * @param cells                     The number of cells of the board.
+ * @param simulatedSecondsPerSecond The number of simulated seconds per wall-clock second.
+ * @param ticksPerSecond            The number of scheduler ticks per wall-clock second.
+ * @param eventsPerSecond           The number of events dispatched by the scheduler per wall-clock second.
+ */
+public record WorldStats(long epoch, long simulatedMillis, boolean day, boolean paused, int plants, int animals,
+                         int[] census, long totalWater, int minWater, int maxWater, int cells,
+                         double simulatedSecondsPerSecond, double ticksPerSecond, long eventsPerSecond) {
+    /**
+     * Takes the statistics of a world. The totals of the latest frame are copied from the previous statistics
+     * when they were taken from the same frame, and summed over the board otherwise.
+     *
+     * @param world     The world.
+     * @param previous  The statistics taken before, or null.
+     * @return          The statistics of the world.
+     */
+    public static WorldStats of(World world, WorldStats previous) {
+        Scheduler scheduler = world.getScheduler();
+        double simulatedSecondsPerSecond = world.getClock().getSimulatedSecondsPerSecond();
+        double ticksPerSecond = simulatedSecondsPerSecond * 1000 / scheduler.getTickMillis();
+        long simulatedMillis = world.getClock().currentTimeMillis();
+        boolean paused = world.isPaused();
+        int cells = Config.WORLD.boardSize() * Config.WORLD.boardSize();
+
+        while (true) {
+            WorldFrame frame = world.getFrame();
+            long epoch = frame.getEpoch();
+
+            if (epoch < 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            if (previous != null && previous.epoch == epoch)
+                return new WorldStats(epoch, simulatedMillis, previous.day, paused, previous.plants, previous.animals,
+                        previous.census, previous.totalWater, previous.minWater, previous.maxWater, cells,
+                        simulatedSecondsPerSecond, ticksPerSecond, scheduler.getEventsPerSecond());
+
+            int[] census = new int[Census.SIZE];
+            for (int chunkX = 0; chunkX < frame.getChunksPerSide(); ++chunkX)
+                for (int chunkY = 0; chunkY < frame.getChunksPerSide(); ++chunkY) {
+                    WorldFrame.Chunk chunk = frame.getChunk(chunkX, chunkY);
+                    if (chunk == null)
+                        continue;
+
+                    for (int offset = 0; offset < ChunkedBoard.CHUNK_SIZE * ChunkedBoard.CHUNK_SIZE; ++offset)
+                        for (int index = 0; index < Census.SIZE; ++index)
+                            census[index] += chunk.getCount(index, offset);
+                }
+
+            WorldStats stats = new WorldStats(epoch, simulatedMillis, frame.isDay(), paused, frame.getPlants(),
+                    frame.getAnimals(), census, frame.getTotalWater(), frame.getMinWater(), frame.getMaxWater(), cells,
+                    simulatedSecondsPerSecond, ticksPerSecond, scheduler.getEventsPerSecond());
+
+            // The frame was reused by the world while reading it, read the latest one
+            if (frame.getEpoch() == epoch)
+                return stats;
+        }
+    }
+
+    /**
+     * Returns the number of creatures of a species at a stage.
+     *
+     * @param species   The species.
+     * @param stage     The stage, {@link Census#CHILD} or {@link Census#ADULT}.
+     * @return          The number of creatures.
+     */
+    public int count(Species species, int stage) {
+        return census[Census.index(species, stage)];
+    }
+
+    /**
+     * Writes the statistics as a JSON object.
+     *
+     * @return  The JSON text.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(512);
+
+        json.append("{\"epoch\":").append(epoch)
+                .append(",\"simulatedMillis\":").append(simulatedMillis)
+                .append(",\"phase\":\"").append(day ? "day" : "night")
+                .append("\",\"paused\":").append(paused)
+                .append(",\"population\":{\"plants\":").append(plants)
+                .append(",\"animals\":").append(animals)
+                .append(",\"species\":{");
+
+        for (Species species : Species.values())
+            json.append(species.ordinal() == 0 ? "" : ",")
+                    .append('"').append(species.name()).append("\":{\"child\":").append(count(species, Census.CHILD))
+                    .append(",\"adult\":").append(count(species, Census.ADULT)).append('}');
+
+        return json.append("}},\"water\":{\"total\":").append(totalWater)
+                .append(",\"mean\":").append(cells == 0 ? 0 : (double) totalWater / cells)
+                .append(",\"min\":").append(minWater)
+                .append(",\"max\":").append(maxWater)
+                .append("},\"rate\":{\"simulatedSecondsPerSecond\":").append(simulatedSecondsPerSecond)
+                .append(",\"ticksPerSecond\":").append(ticksPerSecond)
+                .append(",\"eventsPerSecond\":").append(eventsPerSecond)
+                .append("}}").toString();
+    }
+}
@@ -0,0 +1,132 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import oop.evolution.Census;
+import oop.evolution.Checkpoint;
+import oop.evolution.ChunkedBoard;
+import oop.evolution.World;
+import oop.evolution.creatures.Creature;
+import oop.evolution.creatures.DiurnalPredator;
+import oop.evolution.creatures.Plant;
+import oop.evolution.creatures.Species;
+import oop.evolution.creatures.Trait;
+import oop.evolution.journal.EventType;
+import oop.evolution.journal.JournalReader;
+
+/**
+ * A class containing unit tests for the {@link Checkpoint} class.
+ */
+public class CheckpointTest {
+    /**
+     * Tests that a board written to a checkpoint and read back is restored with its water, its creatures,
+     * their traits and their stages.
+     *
+     * @param directory     The temporary directory of the checkpoint.
+     * @throws Exception    If the checkpoint cannot be written or read.
+     */
+    @Test
+    public void testRoundTrip(@TempDir Path directory) throws Exception {
+        ChunkedBoard board = new ChunkedBoard(200);
+        board.rain(0, 0, 10, 10, 7);
+
+        DiurnalPredator predator = new DiurnalPredator();
+        predator.setCreatureCharacteristic(Trait.ATTACK, 42);
+        World.getInstance().getPopulation().setAdult(predator.getId(), true);
+        assertTrue(board.get(3, 4).addAnimal(predator));
+        assertTrue(board.get(70, 60).addPlant(new Plant()));
+
+        Path file = directory.resolve("world.checkpoint");
+        Checkpoint.capture(board, false, 12, 99).write(file);
+        Checkpoint checkpoint = Checkpoint.read(file);
+
+        assertFalse(checkpoint.isDay());
+        assertEquals(12, checkpoint.getEpoch());
+        assertEquals(99, checkpoint.getRandomSeed());
+        assertEquals(2, checkpoint.getChunkCount());
+        assertEquals(2, checkpoint.getCreatureCount());
+
+        ChunkedBoard restored = new ChunkedBoard(200);
+        checkpoint.restoreWater(restored);
+        assertEquals(2, checkpoint.restoreCreatures(restored, creature -> { }));
+
+        assertEquals(12, restored.peek(5, 5).getWaterLevel());
+        assertEquals(5, restored.peek(70, 60).getWaterLevel());
+        assertEquals(1, restored.peek(3, 4).getCensus(Census.index(Species.PRED, Census.ADULT)));
+        assertEquals(1, restored.peek(70, 60).getCensus(Census.index(Species.PLANT, Census.CHILD)));
+
+        List<Creature> animals = new ArrayList<>();
+        restored.peek(3, 4).collectAnimals(animals);
+        assertEquals(DiurnalPredator.class, animals.get(0).getClass());
+        assertEquals(42, animals.get(0).getCreatureCharacteristic(Trait.ATTACK));
+    }
+
+    /**
+     * Tests that a file that is not a checkpoint is rejected.
+     *
+     * @param directory     The temporary directory of the file.
+     * @throws Exception    If the file cannot be written.
+     */
+    @Test
+    public void testInvalidFile(@TempDir Path directory) throws Exception {
+        Path file = Files.write(directory.resolve("world.checkpoint"), new byte[64]);
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> Checkpoint.read(file));
+        assertEquals("Invalid checkpoint: " + file, exception.getMessage());
+    }
+
+    /**
+     * Tests that a checkpoint of a world nobody reads frames from stores the number of steps run,
+     * and that a world restored from it goes on stamping its journal records from there.
+     *
+     * @param directory     The temporary directory of the checkpoint and the journal.
+     * @throws Exception    If the checkpoint or the journal cannot be written or read.
+     */
+    @Test
+    public void testEpochRoundTrip(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("world.checkpoint");
+        World world = new World(1);
+
+        try {
+            for (int i = 0; i < 3; ++i)
+                world.step();
+
+            world.checkpoint(file).get();
+        } finally {
+            world.getScheduler().shutdown();
+        }
+
+        assertEquals(3, Checkpoint.read(file).getEpoch());
+
+        Path journal = directory.resolve("journal");
+        World restored = new World(1, journal);
+
+        try {
+            restored.restore(file);
+            assertEquals(3, restored.getFrame().getEpoch());
+
+            restored.rainOnCell(0, 0, 1);
+            restored.step();
+            restored.rainOnCell(0, 0, 1);
+        } finally {
+            restored.getJournal().close();
+            restored.getScheduler().shutdown();
+        }
+
+        try (JournalReader reader = new JournalReader(journal)) {
+            assertTrue(reader.next());
+            assertEquals(EventType.RAIN, reader.getType());
+            assertEquals(3, reader.getTime());
+
+            assertTrue(reader.next());
+            assertEquals(4, reader.getTime());
+            assertFalse(reader.next());
+        }
+    }
+}
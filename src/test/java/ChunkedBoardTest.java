@@ -0,0 +1,67 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import oop.evolution.Census;
+import oop.evolution.ChunkedBoard;
+import oop.evolution.WorldCell;
+import oop.evolution.creatures.Plant;
+
+/**
+ * A class containing unit tests for the {@link ChunkedBoard} class.
+ */
+public class ChunkedBoardTest {
+    /**
+     * Tests that reading a huge board does not materialize any chunk.
+     */
+    @Test
+    public void testPeekDoesNotMaterialize() {
+        ChunkedBoard board = new ChunkedBoard(20000);
+
+        assertEquals(5, board.peek(19999, 12345).getWaterLevel());
+        assertSame(board.peek(0, 0), board.peek(19999, 19999));
+        assertNull(board.getChunk(0, 0));
+        assertEquals(0, board.getMaterializedChunks());
+    }
+
+    /**
+     * Tests that writing to a cell materializes exactly its chunk, with the right coordinates.
+     */
+    @Test
+    public void testGetMaterializesOneChunk() {
+        ChunkedBoard board = new ChunkedBoard(20000);
+        WorldCell cell = board.get(130, 70);
+
+        assertEquals(130, cell.getX());
+        assertEquals(70, cell.getY());
+        assertSame(cell, board.get(130, 70));
+        assertSame(cell, board.peek(130, 70));
+        assertEquals(1, board.getMaterializedChunks());
+        assertNotNull(board.getChunk(130 / ChunkedBoard.CHUNK_SIZE, 70 / ChunkedBoard.CHUNK_SIZE));
+    }
+
+    /**
+     * Tests that rain over a rectangle spanning several chunks reaches every cell of it, and only those,
+     * and that it floods the cells that overflow.
+     */
+    @Test
+    public void testRainAcrossChunks() {
+        ChunkedBoard board = new ChunkedBoard(200);
+        Plant plant = new Plant();
+        assertTrue(board.get(70, 60).addPlant(plant));
+        board.get(70, 60).rain(10);
+
+        board.rain(60, 50, 20, 30, 10);
+
+        assertEquals(4, board.getMaterializedChunks());
+        for (int x = 55; x < 85; ++x)
+            for (int y = 45; y < 85; ++y) {
+                boolean inside = x >= 60 && x < 80 && y >= 50 && y < 80;
+                if (x != 70 || y != 60)
+                    assertEquals(inside ? 15 : 5, board.peek(x, y).getWaterLevel());
+            }
+
+        assertEquals(15, board.peek(70, 60).getWaterLevel());
+        assertEquals(0, board.peek(70, 60).getCensus(Census.index(plant)));
+    }
+}
@@ -0,0 +1,55 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import oop.evolution.World;
+import oop.evolution.config.Config;
+import oop.evolution.config.CreatureConfig;
+import oop.evolution.config.WeatherConfig;
+import oop.evolution.config.WorldConfig;
+import oop.evolution.scheduler.ExecutionMode;
+
+/**
+ * A class containing unit tests for the typed configuration in {@link Config}.
+ */
+public class ConfigTest {
+    /**
+     * Tests that the typed world configuration holds the values of 'world.properties'.
+     */
+    @Test
+    public void testWorldConfigMatchesProperties() {
+        assertEquals(World.getProperty("BOARD_SIZE"), Config.WORLD.boardSize());
+        assertEquals(World.getProperty("CELL_ANIMALS"), Config.WORLD.cellAnimals());
+        assertEquals(World.getProperty("MAX_CELL_WATER_LEVEL"), Config.WORLD.maxCellWaterLevel());
+    }
+
+    /**
+     * Tests that every species has a complete configuration.
+     */
+    @Test
+    public void testSpeciesConfigsAreLoaded() {
+        assertEquals(2000, Config.PLANTS.growPeriod());
+        assertEquals(0, Config.PLANTS.attack());
+        assertEquals(3, Config.HERBIVOROUSES.attack());
+        assertEquals(4, Config.PREDATORS.attack());
+    }
+
+    /**
+     * Tests that invalid values are rejected when a configuration is built.
+     */
+    @Test
+    public void testInvalidValuesAreRejected() {
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            new CreatureConfig(0, 1, 1, 1, 1, 0, 1, 1, 0, 1, 1, 1);
+        });
+        assertEquals("Property GROW_PERIOD must be positive: 0", exception.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            new WeatherConfig(5, 7, 500);
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            new WorldConfig(10, 3, 2, 5, 50, 50, 20, 4, 10, ExecutionMode.PLATFORM_THREADS, 1000, 64, 0, true);
+        });
+    }
+}
@@ -0,0 +1,134 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import oop.evolution.Census;
+import oop.evolution.World;
+import oop.evolution.WorldCell;
+import oop.evolution.config.Config;
+import oop.evolution.creatures.Creature;
+import oop.evolution.creatures.CreatureKind;
+import oop.evolution.creatures.CreaturePool;
+import oop.evolution.creatures.Species;
+import oop.evolution.creatures.Trait;
+
+/**
+ * A class containing unit tests for the {@link CreaturePool} class.
+ */
+public class CreaturePoolTest {
+    /**
+     * Tests that a killed creature is handed out again with a fresh id and default characteristics,
+     * and that the pool counts the allocation and the reuse.
+     */
+    @Test
+    public void testKilledCreatureIsReused() {
+        World world = new World(7);
+        CreaturePool pool = world.getCreaturePool();
+        Creature plant = pool.obtain(CreatureKind.PLANT);
+
+        assertTrue(world.spawn(plant, 3, 3));
+        plant.setCreatureCharacteristic(Trait.DEFENCE, 99);
+        plant.killCreature();
+
+        assertEquals(1, pool.getRecycled());
+        assertEquals(0, world.getPlantNumber().get());
+
+        Creature reused = pool.obtain(CreatureKind.PLANT);
+
+        assertSame(plant, reused);
+        assertNull(reused.getPosition());
+        assertEquals(Config.PLANTS.initial(Trait.DEFENCE), reused.getCreatureCharacteristic(Trait.DEFENCE));
+        assertEquals(1, pool.getAllocated());
+        assertEquals(1, pool.getReused());
+        assertEquals(0.5, pool.getReuseRate());
+    }
+
+    /**
+     * Tests that a creature that does not fit is discarded without being counted by the world.
+     */
+    @Test
+    public void testCreatureThatDoesNotFitIsDiscarded() {
+        World world = new World(7);
+        CreaturePool pool = world.getCreaturePool();
+
+        for (int i = 0; i < Config.WORLD.cellPlants(); ++i)
+            assertTrue(world.spawn(pool.obtain(CreatureKind.PLANT), 5, 5));
+
+        Creature extra = pool.obtain(CreatureKind.PLANT);
+        int life = extra.getGeneration();
+        assertFalse(world.spawn(extra, 5, 5));
+        extra.discard(life);
+
+        assertEquals(Config.WORLD.cellPlants(), world.getPlantNumber().get());
+        assertEquals(1, pool.size());
+        assertSame(extra, pool.obtain(CreatureKind.PLANT));
+    }
+
+    /**
+     * Tests that a reference kept from a previous life cannot kill the creature in its next life.
+     */
+    @Test
+    public void testStaleReferenceDoesNotKillNextLife() {
+        World world = new World(7);
+        CreaturePool pool = world.getCreaturePool();
+        Creature animal = pool.obtain(CreatureKind.DIURNAL_HERBIVOROUS);
+
+        assertTrue(world.spawn(animal, 1, 1));
+        WorldCell first = animal.getPosition();
+        animal.killCreature();
+
+        assertSame(animal, pool.obtain(CreatureKind.DIURNAL_HERBIVOROUS));
+        assertTrue(world.spawn(animal, 8, 8));
+
+        animal.killCreature(first);
+
+        WorldCell second = animal.getPosition();
+        assertNotNull(second);
+        assertEquals(1, second.getCensus(Census.index(Species.HERB, Census.CHILD)));
+    }
+
+    /**
+     * Tests that a creature killed and taken from the pool again between its placement and its activation
+     * is not activated for its new life, which can then still be discarded.
+     */
+    @Test
+    public void testActivationOfEndedLifeDoesNothing() {
+        World world = new World(7);
+        CreaturePool pool = world.getCreaturePool();
+        Creature plant = pool.obtain(CreatureKind.PLANT);
+        int placedLife = plant.getGeneration();
+        int pending = world.getScheduler().getPendingEvents();
+
+        assertTrue(world.place(plant, 2, 2));
+        plant.killCreature();
+        assertSame(plant, pool.obtain(CreatureKind.PLANT));
+        int renewedLife = plant.getGeneration();
+
+        assertFalse(plant.activate(placedLife));
+        assertEquals(pending, world.getScheduler().getPendingEvents());
+
+        long recycled = pool.getRecycled();
+        plant.discard(placedLife);
+        assertEquals(recycled, pool.getRecycled());
+
+        plant.discard(renewedLife);
+        assertEquals(recycled + 1, pool.getRecycled());
+        assertFalse(plant.activate(renewedLife));
+    }
+
+    /**
+     * Tests that a placed creature is activated once, for the life it was placed with.
+     */
+    @Test
+    public void testActivationStartsLifeOnce() {
+        World world = new World(7);
+        Creature plant = world.getCreaturePool().obtain(CreatureKind.PLANT);
+        int life = plant.getGeneration();
+        int pending = world.getScheduler().getPendingEvents();
+
+        assertTrue(world.place(plant, 2, 2));
+        assertTrue(plant.activate(life));
+        assertFalse(plant.activate(life));
+        assertEquals(pending + 4, world.getScheduler().getPendingEvents());
+    }
+}
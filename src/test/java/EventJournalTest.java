@@ -0,0 +1,160 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import oop.evolution.World;
+import oop.evolution.journal.EventJournal;
+import oop.evolution.journal.EventType;
+import oop.evolution.journal.JournalReader;
+
+/**
+ * A class containing unit tests for the {@link EventJournal} and {@link JournalReader} classes.
+ */
+public class EventJournalTest {
+    /**
+     * Tests that the events of several threads are read back once each, in order per thread,
+     * across several segments.
+     *
+     * @param directory     The temporary directory of the journal.
+     * @throws Exception    If the journal cannot be written or read.
+     */
+    @Test
+    public void testEventsAreReadBack(@TempDir Path directory) throws Exception {
+        int threads = 3;
+        int events = 1000;
+        EventJournal journal = new EventJournal(directory, 4L * EventJournal.RECORD_SIZE * EventJournal.BUFFER_RECORDS,
+                () -> 9);
+
+        Thread[] writers = new Thread[threads];
+        for (int t = 0; t < threads; ++t) {
+            int thread = t;
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < events; ++i)
+                    journal.record(EventType.MOVE, thread, i, -i, 7, 8);
+                journal.release();
+            });
+            writers[t].start();
+        }
+
+        for (Thread writer : writers)
+            writer.join();
+        journal.record(EventType.RAIN, 5, 1, 2, 3, 4);
+        journal.close();
+
+        int[] next = new int[threads];
+        int rains = 0;
+
+        try (JournalReader reader = new JournalReader(directory)) {
+            while (reader.next())
+                if (reader.getType() == EventType.RAIN) {
+                    assertEquals(9, reader.getTime());
+                    assertEquals(5, reader.getSubject());
+                    assertEquals(4, reader.getSecondArgument());
+                    ++rains;
+                } else {
+                    assertEquals(EventType.MOVE, reader.getType());
+                    int thread = reader.getSubject();
+                    assertEquals(next[thread], reader.getX());
+                    assertEquals(-next[thread], reader.getY());
+                    assertEquals(7, reader.getFirstArgument());
+                    ++next[thread];
+                }
+        }
+
+        assertEquals(1, rains);
+        for (int t = 0; t < threads; ++t)
+            assertEquals(events, next[t]);
+    }
+
+    /**
+     * Tests that threads recording a few events each and ending before the journal is closed share regions,
+     * instead of each taking a region of its own, and that their events are all read back.
+     *
+     * @param directory     The temporary directory of the journal.
+     * @throws Exception    If the journal cannot be written or read.
+     */
+    @Test
+    public void testReleasedThreadsArePacked(@TempDir Path directory) throws Exception {
+        int threads = 300;
+        EventJournal journal = new EventJournal(directory, 4L * EventJournal.RECORD_SIZE * EventJournal.BUFFER_RECORDS,
+                () -> 1);
+
+        for (int t = 0; t < threads; ++t) {
+            int thread = t;
+            Thread writer = new Thread(() -> {
+                journal.record(EventType.MOVE, thread, 0, 0, 0, 0);
+                journal.record(EventType.MOVE, thread, 1, 0, 0, 0);
+                journal.release();
+            });
+            writer.start();
+            writer.join();
+        }
+
+        journal.release();
+        journal.close();
+
+        int[] seen = new int[threads];
+        int events = 0;
+
+        try (JournalReader reader = new JournalReader(directory)) {
+            while (reader.next()) {
+                assertEquals(seen[reader.getSubject()]++, reader.getX());
+                ++events;
+            }
+        }
+
+        assertEquals(2 * threads, events);
+        assertTrue(Files.exists(directory.resolve("journal-000001.bin")));
+        assertFalse(Files.exists(directory.resolve("journal-000002.bin")));
+    }
+
+    /**
+     * Tests that the records of a world nobody reads frames from are stamped with the number of steps before them.
+     *
+     * @param directory     The temporary directory of the journal.
+     * @throws Exception    If the journal cannot be written or read.
+     */
+    @Test
+    public void testRecordTimesFollowSteps(@TempDir Path directory) throws Exception {
+        int steps = 5;
+        World world = new World(1, directory);
+
+        try {
+            for (int i = 0; i < steps; ++i) {
+                world.rainOnCell(0, 0, i + 1);
+                world.step();
+            }
+        } finally {
+            world.getJournal().close();
+            world.getScheduler().shutdown();
+        }
+
+        int rains = 0;
+
+        try (JournalReader reader = new JournalReader(directory)) {
+            while (reader.next()) {
+                assertEquals(EventType.RAIN, reader.getType());
+                assertEquals(rains + 1, reader.getSubject());
+                assertEquals(rains, reader.getTime());
+                ++rains;
+            }
+        }
+
+        assertEquals(steps, rains);
+    }
+
+    /**
+     * Tests that the disabled journal writes nothing.
+     */
+    @Test
+    public void testDisabledJournal() {
+        EventJournal.DISABLED.record(EventType.DAY, 0, 0, 0, 0, 0);
+
+        assertFalse(EventJournal.DISABLED.isEnabled());
+        assertNull(EventJournal.DISABLED.getDirectory());
+    }
+}
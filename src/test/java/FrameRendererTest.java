@@ -0,0 +1,54 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.lang.reflect.Field;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import oop.evolution.World;
+import oop.evolution.WorldFrame;
+import oop.evolution.creatures.Plant;
+import oop.evolution.draw.FrameRenderer;
+
+/**
+ * A class containing unit tests for the {@link FrameRenderer} class.
+ */
+public class FrameRendererTest {
+    private World world;
+
+    /**
+     * Resets the singleton instance of the World class before each test.
+     *
+     * @throws Exception    If there's an error during the process of resetting the singleton instance.
+     */
+    @BeforeEach
+    public void resetSingleton() throws Exception {
+        Field instance = World.class.getDeclaredField("instance");
+        instance.setAccessible(true);
+        instance.set(null, null);
+        world = World.getInstance();
+    }
+
+    /**
+     * Tests that the rain overlay, the grid and a plant glyph are drawn where {@code DrawWorld} would draw them.
+     */
+    @Test
+    public void testRenderDrawsBoard() {
+        world.addPlant(new Plant(), 0, 0);
+        world.getFrame();
+        world.setLastRain(2, 3, 1);
+        world.step();
+
+        WorldFrame frame = world.getFrame();
+        FrameRenderer renderer = new FrameRenderer(10, 40);
+        BufferedImage image = renderer.newImage();
+        renderer.render(frame, image);
+
+        assertEquals(400, image.getWidth());
+        assertEquals(0xbcab6c, image.getRGB(5, 5) & 0xffffff);
+        assertEquals(0x7e95a1, image.getRGB(2 * 40 + 20, 3 * 40 + 20) & 0xffffff);
+        assertEquals(0x000000, image.getRGB(40, 20) & 0xffffff);
+        assertEquals(frame.isDay() ? 0xffffff : 0xd0d8c1, image.getRGB(300, 300) & 0xffffff);
+    }
+}
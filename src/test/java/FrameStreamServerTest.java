@@ -0,0 +1,111 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import oop.evolution.Census;
+import oop.evolution.World;
+import oop.evolution.WorldFrame;
+import oop.evolution.server.FrameDecoder;
+import oop.evolution.server.FrameStreamServer;
+
+/**
+ * A class containing unit tests for the {@link FrameStreamServer} class.
+ */
+public class FrameStreamServerTest {
+    private World world;
+
+    private FrameStreamServer server;
+
+    private SocketChannel viewer;
+
+    /**
+     * Starts a server on a free port for an independent world and connects a viewer before each test.
+     *
+     * @throws IOException  If the server cannot be started or connected to.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        world = new World(1);
+        world.step();
+
+        server = new FrameStreamServer(world, World.getProperty("BOARD_SIZE"), 0, 10);
+        server.start();
+        viewer = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+    }
+
+    /**
+     * Disconnects the viewer and stops the server and the scheduler of the world after each test.
+     *
+     * @throws IOException  If the viewer cannot be closed.
+     */
+    @AfterEach
+    public void cleanup() throws IOException {
+        viewer.close();
+        server.close();
+        world.getScheduler().shutdown();
+    }
+
+    /**
+     * Tests that a viewer is first sent a keyframe of the whole board matching the latest frame.
+     *
+     * @throws IOException  If the stream cannot be read.
+     */
+    @Test
+    public void testViewerStartsWithKeyframe() throws IOException {
+        FrameDecoder decoder = new FrameDecoder();
+        decoder.decode(FrameDecoder.read(viewer));
+
+        assertTrue(decoder.hasKeyframe());
+        assertEquals(World.getProperty("BOARD_SIZE"), decoder.getBoardSize());
+        assertMatches(world.getFrame(), decoder);
+    }
+
+    /**
+     * Tests that the deltas keep a viewer in sync, and that a quiet frame costs only a few bytes.
+     *
+     * @throws IOException  If the stream cannot be read.
+     */
+    @Test
+    public void testDeltasKeepViewerInSync() throws IOException {
+        FrameDecoder decoder = new FrameDecoder();
+        decoder.decode(FrameDecoder.read(viewer));
+
+        world.rainOnArea(0, 0, 3, 3, 7);
+        world.step();
+        decoder.decode(FrameDecoder.read(viewer));
+        assertMatches(world.getFrame(), decoder);
+
+        world.step();
+        ByteBuffer quiet = FrameDecoder.read(viewer);
+        decoder.decode(quiet);
+        assertMatches(world.getFrame(), decoder);
+        assertTrue(quiet.remaining() < 64, "A quiet frame took " + quiet.remaining() + " bytes");
+    }
+
+    /**
+     * Checks that a decoded board holds the water levels and census counters of a frame.
+     *
+     * @param frame     The frame.
+     * @param decoder   The decoder.
+     */
+    private static void assertMatches(WorldFrame frame, FrameDecoder decoder) {
+        assertEquals(frame.getEpoch(), decoder.getEpoch());
+
+        for (int x = 0; x < decoder.getBoardSize(); ++x)
+            for (int y = 0; y < decoder.getBoardSize(); ++y) {
+                assertEquals(frame.getWater(x, y), decoder.getWater(x, y), "water of cell " + x + ", " + y);
+
+                for (int index = 0; index < Census.SIZE; ++index)
+                    assertEquals(frame.getCount(index, x, y), decoder.getCount(index, x, y),
+                            "count of cell " + x + ", " + y);
+            }
+    }
+}
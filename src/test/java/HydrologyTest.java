@@ -0,0 +1,80 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import oop.evolution.ChunkedBoard;
+import oop.evolution.Hydrology;
+
+/**
+ * A class containing unit tests for the {@link Hydrology} class.
+ */
+public class HydrologyTest {
+    /**
+     * Tests that water spreads to the four neighbours of a cell, across a chunk edge,
+     * without any water being lost when nothing evaporates.
+     */
+    @Test
+    public void testDiffusionConservesWater() {
+        ChunkedBoard board = new ChunkedBoard(100);
+        board.get(63, 10).rain(40);
+        board.get(64, 10);
+
+        int before = totalWater(board);
+        new Hydrology(board, 25, 0, new ForkJoinPool(2)).step();
+
+        assertEquals(5, board.peek(63, 10).getWaterLevel());
+        assertEquals(15, board.peek(62, 10).getWaterLevel());
+        assertEquals(15, board.peek(64, 10).getWaterLevel());
+        assertEquals(15, board.peek(63, 9).getWaterLevel());
+        assertEquals(15, board.peek(63, 11).getWaterLevel());
+        assertEquals(5, board.peek(62, 9).getWaterLevel());
+        assertEquals(before, totalWater(board));
+    }
+
+    /**
+     * Tests that a chunk that has not been materialized neither gives nor takes water.
+     */
+    @Test
+    public void testMissingChunkIsAnEdge() {
+        ChunkedBoard board = new ChunkedBoard(100);
+        board.get(63, 10).rain(40);
+
+        new Hydrology(board, 25, 0, new ForkJoinPool(2)).step();
+
+        assertEquals(15, board.peek(63, 10).getWaterLevel());
+        assertEquals(5, board.peek(64, 10).getWaterLevel());
+        assertEquals(1, board.getMaterializedChunks());
+    }
+
+    /**
+     * Tests that every cell loses its share of water when it evaporates.
+     */
+    @Test
+    public void testEvaporation() {
+        ChunkedBoard board = new ChunkedBoard(10);
+        board.get(0, 0);
+
+        new Hydrology(board, 10, 20, new ForkJoinPool(2)).step();
+
+        for (int x = 0; x < 10; ++x)
+            for (int y = 0; y < 10; ++y)
+                assertEquals(4, board.peek(x, y).getWaterLevel());
+    }
+
+    /**
+     * Sums the water levels of the cells of a board.
+     *
+     * @param board The board.
+     * @return      The total water of the board.
+     */
+    private static int totalWater(ChunkedBoard board) {
+        int total = 0;
+        for (int x = 0; x < board.size(); ++x)
+            for (int y = 0; y < board.size(); ++y)
+                total += board.peek(x, y).getWaterLevel();
+
+        return total;
+    }
+}
@@ -0,0 +1,47 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import oop.evolution.metrics.LatencyHistogram;
+
+/**
+ * A class containing unit tests for the {@link LatencyHistogram} class.
+ */
+public class LatencyHistogramTest {
+    /**
+     * Tests that small values are recorded exactly and that larger values stay within an eighth of their bucket.
+     */
+    @Test
+    public void testPercentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (long value = 1; value <= 1000; ++value)
+            histogram.record(value);
+
+        assertEquals(1000, histogram.count());
+        assertEquals(1, histogram.percentile(0));
+        assertEquals(500, histogram.percentile(50), 500 / 8.0);
+        assertEquals(990, histogram.percentile(99), 990 / 8.0);
+        assertTrue(histogram.max() >= 1000);
+        assertTrue(histogram.max() <= 1000 + 1000 / 8);
+    }
+
+    /**
+     * Tests that an empty histogram reads as zero and that extreme values are accepted.
+     */
+    @Test
+    public void testEmptyAndExtremeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.percentile(99));
+        assertEquals(0, histogram.max());
+
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(2, histogram.count());
+        assertEquals(0, histogram.percentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.max());
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(101));
+    }
+}
@@ -0,0 +1,56 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import oop.evolution.creatures.Species;
+import oop.evolution.metrics.Counter;
+import oop.evolution.metrics.LifeProcess;
+import oop.evolution.metrics.MetricsRegistry;
+
+/**
+ * A class containing unit tests for the {@link MetricsRegistry} class.
+ */
+public class MetricsRegistryTest {
+    /**
+     * Tests that events are counted per counter and species, and that the disabled registry counts nothing.
+     */
+    @Test
+    public void testCountsPerSpecies() {
+        MetricsRegistry metrics = new MetricsRegistry(0);
+
+        metrics.count(Counter.MOVE, Species.HERB);
+        metrics.count(Counter.MOVE, Species.HERB);
+        metrics.count(Counter.MOVE, Species.PRED);
+        metrics.count(Counter.FLOOD, Species.PLANT);
+
+        assertEquals(2, metrics.get(Counter.MOVE, Species.HERB));
+        assertEquals(1, metrics.get(Counter.MOVE, Species.PRED));
+        assertEquals(1, metrics.get(Counter.FLOOD, Species.PLANT));
+        assertEquals(0, metrics.get(Counter.FLOOD, Species.HERB));
+
+        MetricsRegistry.DISABLED.count(Counter.MOVE, Species.HERB);
+        assertEquals(0, MetricsRegistry.DISABLED.get(Counter.MOVE, Species.HERB));
+    }
+
+    /**
+     * Tests that one step in 2^bits is timed, and none by the disabled registry.
+     */
+    @Test
+    public void testTimingSampleRate() {
+        MetricsRegistry metrics = new MetricsRegistry(4);
+        int timed = 0;
+
+        for (int step = 1; step <= 1600; ++step)
+            if (metrics.isTimed(step)) {
+                metrics.recordLatency(LifeProcess.GROW, Species.PLANT, 100);
+                ++timed;
+            }
+
+        assertEquals(16, metrics.getTimingSampleRate());
+        assertEquals(100, timed);
+        assertEquals(100, metrics.getLatency(LifeProcess.GROW, Species.PLANT).count());
+        assertEquals(0, metrics.getLatency(LifeProcess.FEED, Species.PLANT).count());
+        assertFalse(MetricsRegistry.DISABLED.isTimed(0));
+        assertThrows(IllegalArgumentException.class, () -> new MetricsRegistry(31));
+    }
+}
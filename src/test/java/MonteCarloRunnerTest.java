@@ -0,0 +1,52 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import oop.evolution.MonteCarloRunner;
+
+/**
+ * A class containing unit tests for the {@link MonteCarloRunner} class.
+ */
+public class MonteCarloRunnerTest {
+    /**
+     * Tests that the same base seed gives the same results whatever the parallelism.
+     */
+    @Test
+    public void testRunsAreReproducible() {
+        MonteCarloRunner sequential = new MonteCarloRunner(1);
+        MonteCarloRunner parallel = new MonteCarloRunner(4);
+
+        try {
+            List<MonteCarloRunner.Result> expected = sequential.run(6, 42, 30_000);
+            List<MonteCarloRunner.Result> actual = parallel.run(6, 42, 30_000);
+
+            assertEquals(6, actual.size());
+            for (int i = 0; i < expected.size(); ++i) {
+                assertEquals(expected.get(i).seed(), actual.get(i).seed());
+                assertEquals(30_000, actual.get(i).simulatedMillis());
+                assertArrayEquals(expected.get(i).census(), actual.get(i).census());
+            }
+        } finally {
+            sequential.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    /**
+     * Tests that every run gets a world of its own.
+     */
+    @Test
+    public void testRunsAreIndependent() {
+        MonteCarloRunner runner = new MonteCarloRunner(2);
+
+        try {
+            List<MonteCarloRunner.Result> results = runner.run(4, 7, 10_000);
+
+            assertEquals(4, results.stream().mapToLong(MonteCarloRunner.Result::seed).distinct().count());
+        } finally {
+            runner.shutdown();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import oop.evolution.creatures.PopulationStore;
+import oop.evolution.creatures.Trait;
+
+/**
+ * A class containing unit tests for the {@link PopulationStore} class.
+ */
+public class PopulationStoreTest {
+    private PopulationStore store;
+
+    /**
+     * Creates an empty store before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        store = new PopulationStore();
+    }
+
+    /**
+     * Tests that a freshly allocated id starts with every column at zero.
+     */
+    @Test
+    public void testAllocateStartsEmpty() {
+        int id = store.allocate();
+
+        assertEquals(1, store.size());
+        assertEquals(0, store.get(id, Trait.ENERGY));
+        assertFalse(store.isAdult(id));
+        assertNull(store.getPosition(id));
+    }
+
+    /**
+     * Tests that traits are read back as written and that {@code add} returns the new value.
+     */
+    @Test
+    public void testSetAndAdd() {
+        int id = store.allocate();
+        store.set(id, Trait.SIZE, 2);
+
+        assertEquals(5, store.add(id, Trait.SIZE, 3));
+        assertEquals(5, store.get(id, Trait.SIZE));
+    }
+
+    /**
+     * Tests that a released id is cleared and handed out again.
+     */
+    @Test
+    public void testReleasedIdIsReused() {
+        int id = store.allocate();
+        store.set(id, Trait.ENERGY, 10);
+        store.setAdult(id, true);
+        store.release(id);
+
+        int reused = store.allocate();
+
+        assertEquals(id, reused);
+        assertEquals(0, store.get(reused, Trait.ENERGY));
+        assertFalse(store.isAdult(reused));
+    }
+
+    /**
+     * Tests that the store grows past a single page without losing values.
+     */
+    @Test
+    public void testGrowsAcrossPages() {
+        int count = 10000;
+        for (int i = 0; i < count; ++i)
+            store.set(store.allocate(), Trait.ENERGY, 1);
+
+        assertEquals(count, store.size());
+        assertEquals(count, store.sum(Trait.ENERGY));
+    }
+}
@@ -0,0 +1,201 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import oop.evolution.scheduler.ScheduledEvent;
+import oop.evolution.scheduler.Scheduler;
+
+/**
+ * A class containing unit tests for the {@link Scheduler} class.
+ */
+public class SchedulerTest {
+    private Scheduler scheduler;
+
+    /**
+     * Creates and starts a scheduler with two workers and a 10 ms tick before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        scheduler = new Scheduler(2, 10);
+        scheduler.start();
+    }
+
+    /**
+     * Stops the scheduler after each test.
+     */
+    @AfterEach
+    public void cleanup() {
+        scheduler.shutdown();
+    }
+
+    /**
+     * Tests that a periodic event is dispatched repeatedly.
+     *
+     * @throws Exception    If the test thread is interrupted.
+     */
+    @Test
+    public void testPeriodicEventRunsRepeatedly() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        scheduler.scheduleAtFixedRate(counter::incrementAndGet, 20);
+
+        Thread.sleep(500);
+
+        assertTrue(counter.get() >= 10, "Expected the event to run at least 10 times.");
+    }
+
+    /**
+     * Tests that a one-shot event is dispatched exactly once.
+     *
+     * @throws Exception    If the test thread is interrupted.
+     */
+    @Test
+    public void testOneShotEventRunsOnce() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        scheduler.schedule(counter::incrementAndGet, 20);
+
+        Thread.sleep(300);
+
+        assertEquals(1, counter.get());
+    }
+
+    /**
+     * Tests that a cancelled event is never dispatched again.
+     *
+     * @throws Exception    If the test thread is interrupted.
+     */
+    @Test
+    public void testCancelledEventStops() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        ScheduledEvent event = scheduler.scheduleAtFixedRate(counter::incrementAndGet, 20);
+
+        Thread.sleep(200);
+        event.cancel();
+        Thread.sleep(100);
+        int runs = counter.get();
+        Thread.sleep(300);
+
+        assertTrue(event.isCancelled());
+        assertEquals(runs, counter.get());
+    }
+
+    /**
+     * Tests that events cascaded from the second level of the wheel are still counted as pending,
+     * and no longer once they have run.
+     *
+     * @throws Exception    If the test thread is interrupted.
+     */
+    @Test
+    public void testPendingEventsCountedAfterCascade() throws Exception {
+        CountDownLatch ran = new CountDownLatch(3);
+        for (int delay : new int[] {1000, 1100, 1200})
+            scheduler.schedule(ran::countDown, delay);
+
+        Thread.sleep(800);
+        assertEquals(3, scheduler.getPendingEvents());
+
+        assertTrue(ran.await(10, TimeUnit.SECONDS), "Expected the events to run within 10 seconds.");
+        assertEquals(0, scheduler.getPendingEvents());
+    }
+
+    /**
+     * Tests that a fast-forward scheduler with one worker runs the same events in the same order
+     * as a real-time scheduler with one worker.
+     *
+     * @throws Exception    If the test thread is interrupted.
+     */
+    @Test
+    public void testFastForwardMatchesRealTime() throws Exception {
+        assertEquals(record(new Scheduler(1, 5)), record(new Scheduler(1, 5, true)));
+    }
+
+    /**
+     * Tests that a fast-forward scheduler reaches an event an hour of simulated time away within seconds.
+     *
+     * @throws Exception    If the test thread is interrupted.
+     */
+    @Test
+    public void testFastForwardSkipsWaiting() throws Exception {
+        Scheduler fastForward = new Scheduler(1, 10, true);
+        CountDownLatch done = new CountDownLatch(1);
+
+        try {
+            fastForward.schedule(done::countDown, TimeUnit.HOURS.toMillis(1));
+            fastForward.start();
+
+            assertTrue(done.await(10, TimeUnit.SECONDS), "Expected the event to run within 10 seconds.");
+            assertEquals(TimeUnit.HOURS.toMillis(1), fastForward.currentTimeMillis());
+        } finally {
+            fastForward.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a paused scheduler only advances when stepped, by exactly the stepped time,
+     * and that it cannot be stepped once resumed.
+     *
+     * @throws Exception    If the test thread is interrupted.
+     */
+    @Test
+    public void testPausedSchedulerOnlyAdvancesWhenStepped() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        scheduler.scheduleAtFixedRate(counter::incrementAndGet, 10);
+
+        scheduler.pause();
+        Thread.sleep(50);
+        long paused = scheduler.currentTimeMillis();
+        int runs = counter.get();
+
+        Thread.sleep(200);
+        assertEquals(paused, scheduler.currentTimeMillis());
+        assertEquals(runs, counter.get());
+
+        scheduler.step(100);
+        Thread.sleep(500);
+        assertEquals(paused + 100, scheduler.currentTimeMillis());
+        assertEquals(runs + 10, counter.get());
+
+        scheduler.resume();
+        assertThrows(IllegalStateException.class, () -> scheduler.step(100));
+        Thread.sleep(200);
+        assertTrue(scheduler.currentTimeMillis() > paused + 100, "Expected the scheduler to run again.");
+    }
+
+    /**
+     * Records the names of the first 30 runs of three activities with different periods on a scheduler.
+     *
+     * @param clock         The scheduler, which is started and shut down.
+     * @return              The names of the runs in the order they ran.
+     * @throws Exception    If the test thread is interrupted.
+     */
+    private static List<String> record(Scheduler clock) throws Exception {
+        List<String> runs = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch recorded = new CountDownLatch(30);
+
+        try {
+            for (int period : new int[] {10, 15, 25})
+                clock.repeat("every-" + period, period, () -> {
+                    runs.add("every-" + period);
+                    recorded.countDown();
+                    return period;
+                });
+            clock.start();
+
+            assertTrue(recorded.await(10, TimeUnit.SECONDS), "Expected 30 runs within 10 seconds.");
+        } finally {
+            clock.shutdown();
+        }
+
+        synchronized (runs) {
+            return new ArrayList<>(runs.subList(0, 30));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import oop.evolution.ChunkedBoard;
+import oop.evolution.SpatialIndex;
+import oop.evolution.WorldCell;
+import oop.evolution.creatures.Animal;
+import oop.evolution.creatures.Creature;
+import oop.evolution.creatures.Plant;
+import oop.evolution.creatures.Predator;
+import oop.evolution.creatures.Species;
+
+/**
+ * A class containing unit tests for the {@link SpatialIndex} class.
+ */
+public class SpatialIndexTest {
+    /**
+     * Tests that the nearest creature of a species is found across chunk and block borders,
+     * and that creatures of other species or beyond the radius are ignored.
+     */
+    @Test
+    public void testNearest() {
+        ChunkedBoard board = new ChunkedBoard(300);
+        SpatialIndex index = new SpatialIndex(board);
+        Animal far = new Animal();
+        Animal near = new Animal();
+
+        assertTrue(board.get(100, 100).addAnimal(far));
+        assertTrue(board.get(66, 60).addAnimal(near));
+        assertTrue(board.get(62, 62).addAnimal(new Predator()));
+
+        assertSame(near, index.nearest(Species.HERB, 62, 62, 10));
+        assertSame(far, index.nearest(Species.HERB, 98, 97, 10));
+        assertNull(index.nearest(Species.HERB, 200, 200, 50));
+        assertNull(index.nearest(Species.PLANT, 62, 62, 299));
+        assertNull(index.nearest(Species.HERB, 62, 62, 3));
+    }
+
+    /**
+     * Tests that a rectangle query returns exactly the creatures of the species inside it, clipped to the board.
+     */
+    @Test
+    public void testCollectRectangle() {
+        ChunkedBoard board = new ChunkedBoard(200);
+        SpatialIndex index = new SpatialIndex(board);
+
+        assertTrue(board.get(0, 0).addPlant(new Plant()));
+        assertTrue(board.get(63, 64).addPlant(new Plant()));
+        assertTrue(board.get(64, 63).addPlant(new Plant()));
+        assertTrue(board.get(150, 150).addPlant(new Plant()));
+        assertTrue(board.get(63, 64).addAnimal(new Animal()));
+
+        List<Creature> found = new ArrayList<>();
+
+        assertEquals(3, index.collect(Species.PLANT, -10, -10, 80, 80, found));
+        assertEquals(3, found.size());
+        for (Creature creature : found)
+            assertEquals(Species.PLANT, creature.getSpecies());
+
+        assertEquals(1, index.collect(Species.PLANT, 100, 100, 500, 500, found));
+        assertEquals(0, index.collect(Species.PLANT, 1, 1, 60, 60, new ArrayList<>()));
+    }
+
+    /**
+     * Tests that the index follows creatures moving between cells and leaving the board.
+     */
+    @Test
+    public void testFollowsMovesAndRemovals() {
+        ChunkedBoard board = new ChunkedBoard(200);
+        SpatialIndex index = new SpatialIndex(board);
+        Animal animal = new Animal();
+        WorldCell source = board.get(10, 10);
+
+        assertTrue(source.addAnimal(animal));
+        assertTrue(WorldCell.moveAnimal(animal, source, board.get(130, 10)));
+
+        assertNull(index.nearest(Species.HERB, 10, 10, 20));
+        assertSame(animal, index.nearest(Species.HERB, 120, 10, 20));
+
+        board.get(130, 10).removeCreature(animal);
+
+        assertNull(index.nearest(Species.HERB, 120, 10, 20));
+        assertEquals(0, index.collect(Species.HERB, 0, 0, 200, 200, new ArrayList<>()));
+    }
+}
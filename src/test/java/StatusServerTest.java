@@ -0,0 +1,97 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import oop.evolution.World;
+import oop.evolution.server.StatusServer;
+
+/**
+ * A class containing unit tests for the {@link StatusServer} class.
+ */
+public class StatusServerTest {
+    private World world;
+
+    private StatusServer server;
+
+    /**
+     * Starts a server on a free port for an independent world before each test.
+     *
+     * @throws IOException  If the server cannot be started.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        world = new World(1);
+        server = new StatusServer(world, 0, 10);
+        server.start();
+    }
+
+    /**
+     * Stops the server and the scheduler of the world after each test.
+     */
+    @AfterEach
+    public void cleanup() {
+        server.close();
+        world.getScheduler().shutdown();
+    }
+
+    /**
+     * Tests that the statistics are served as JSON taken from the latest frame.
+     *
+     * @throws IOException  If the request fails.
+     */
+    @Test
+    public void testStatsAreServedAsJson() throws IOException {
+        world.step();
+
+        String stats = request("GET", "/stats", 200);
+        assertTrue(stats.startsWith("{\"epoch\":" + world.getFrame().getEpoch() + ","), stats);
+        assertTrue(stats.contains("\"paused\":false"), stats);
+        assertTrue(stats.contains("\"water\":{\"total\":" + world.getFrame().getTotalWater()), stats);
+    }
+
+    /**
+     * Tests that the world is paused, stepped and resumed, and that invalid commands are rejected.
+     *
+     * @throws IOException  If a request fails.
+     */
+    @Test
+    public void testControlCommands() throws IOException {
+        assertEquals("{\"paused\":true}", request("POST", "/pause", 200));
+        assertEquals("{\"paused\":true}", request("POST", "/step?millis=100", 200));
+        request("POST", "/step?millis=abc", 400);
+        request("GET", "/pause", 405);
+
+        assertEquals("{\"paused\":false}", request("POST", "/resume", 200));
+        request("POST", "/step", 409);
+    }
+
+    /**
+     * Sends a request to the server and checks the status of the response.
+     *
+     * @param method        The method of the request.
+     * @param path          The path and query of the request.
+     * @param status        The expected status.
+     * @return              The body of the response.
+     * @throws IOException  If the request fails.
+     */
+    private String request(String method, String path, int status) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + path)
+                .openConnection();
+        connection.setRequestMethod(method);
+
+        assertEquals(status, connection.getResponseCode());
+        try (InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
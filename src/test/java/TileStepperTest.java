@@ -0,0 +1,89 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import oop.evolution.Census;
+import oop.evolution.ChunkedBoard;
+import oop.evolution.TileStepper;
+import oop.evolution.creatures.Animal;
+import oop.evolution.creatures.Creature;
+import oop.evolution.creatures.Species;
+
+/**
+ * A class containing unit tests for the {@link TileStepper} class.
+ */
+public class TileStepperTest {
+    /**
+     * Tests that stepping a board split into small tiles never loses or duplicates an animal,
+     * and that every animal is in the cell it points to.
+     */
+    @Test
+    public void testStepKeepsEveryAnimalOnce() {
+        int size = 6;
+        ChunkedBoard board = new ChunkedBoard(size);
+
+        for (int i = 0; i < size; ++i)
+            assertTrue(board.get(i, i).addAnimal(new Animal()));
+
+        TileStepper stepper = new TileStepper(board, 2, new ForkJoinPool(4));
+        assertEquals(9, stepper.getTileCount());
+
+        for (int step = 0; step < 20; ++step)
+            stepper.step();
+
+        List<Creature> residents = new ArrayList<>();
+        for (int i = 0; i < size; ++i)
+            for (int j = 0; j < size; ++j) {
+                int before = residents.size();
+                board.peek(i, j).collectAnimals(residents);
+
+                for (int k = before; k < residents.size(); ++k)
+                    assertSame(board.get(i, j), residents.get(k).getPosition());
+            }
+
+        assertEquals(size, residents.size());
+        assertEquals(size, residents.stream().distinct().count());
+    }
+
+    /**
+     * Tests that two boards stepped with the same seed on one worker end up with the animals in the same cells.
+     */
+    @Test
+    public void testSameSeedGivesSameMoves() {
+        int size = 6;
+        ChunkedBoard first = new ChunkedBoard(size);
+        ChunkedBoard second = new ChunkedBoard(size);
+
+        for (int i = 0; i < size; ++i) {
+            assertTrue(first.get(i, size - 1 - i).addAnimal(new Animal()));
+            assertTrue(second.get(i, size - 1 - i).addAnimal(new Animal()));
+        }
+
+        TileStepper firstStepper = new TileStepper(first, 2, new ForkJoinPool(1), 7);
+        TileStepper secondStepper = new TileStepper(second, 2, new ForkJoinPool(1), 7);
+
+        for (int step = 0; step < 20; ++step)
+            assertEquals(firstStepper.step(), secondStepper.step());
+
+        for (int i = 0; i < size; ++i)
+            for (int j = 0; j < size; ++j)
+                assertEquals(herbivorouses(first, i, j), herbivorouses(second, i, j));
+    }
+
+    /**
+     * Counts the herbivorouses of a cell, children and adults.
+     *
+     * @param board The board.
+     * @param x     The x-coordinate of the cell.
+     * @param y     The y-coordinate of the cell.
+     * @return      The number of herbivorouses in the cell.
+     */
+    private static int herbivorouses(ChunkedBoard board, int x, int y) {
+        return board.peek(x, y).getCensus(Census.index(Species.HERB, Census.CHILD))
+                + board.peek(x, y).getCensus(Census.index(Species.HERB, Census.ADULT));
+    }
+}
@@ -2,7 +2,14 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
 
+import oop.evolution.Census;
+import oop.evolution.World;
 import oop.evolution.WorldCell;
+import oop.evolution.creatures.Animal;
+import oop.evolution.creatures.DiurnalPredator;
+import oop.evolution.creatures.Plant;
+import oop.evolution.creatures.Species;
+import oop.evolution.creatures.Trait;
 
 /**
  * A class containING unit tests for the {@link WorldCell} class.
@@ -43,4 +50,127 @@ public class WorldCellTest {
 
         assertEquals(30, evolution.getWaterLevel());
     }
+
+    /**
+     * Tests that {@code moveAnimal} moves an animal between two cells and refuses to overfill the destination.
+     */
+    @Test
+    public void testMoveAnimal() {
+        WorldCell source = new WorldCell(1, 1);
+        WorldCell destination = new WorldCell(0, 1);
+        Animal moving = new Animal();
+
+        assertTrue(source.addAnimal(moving));
+        assertTrue(WorldCell.moveAnimal(moving, source, destination));
+        assertSame(destination, moving.getPosition());
+        assertFalse(WorldCell.moveAnimal(moving, source, destination));
+
+        Animal other = new Animal();
+        assertTrue(destination.addAnimal(new Animal()));
+        assertTrue(source.addAnimal(other));
+        assertFalse(WorldCell.moveAnimal(other, source, destination));
+        assertSame(source, other.getPosition());
+    }
+
+    /**
+     * Tests that the animal slots of a cell respect CELL_ANIMALS and are given back on removal.
+     */
+    @Test
+    public void testAnimalSlotsRespectCapacity() {
+        evolution = new WorldCell(0, 0);
+        Animal first = new Animal();
+
+        assertTrue(evolution.addAnimal(first));
+        assertTrue(evolution.addAnimal(new Animal()));
+        assertFalse(evolution.hasSpaceFor(first));
+        assertFalse(evolution.addAnimal(new Animal()));
+
+        evolution.removeCreature(first);
+
+        assertTrue(evolution.hasSpaceFor(first));
+        assertTrue(evolution.addAnimal(new Animal()));
+    }
+
+    /**
+     * Tests that the census counters follow creatures being added and removed.
+     */
+    @Test
+    public void testCensusFollowsOccupants() {
+        evolution = new WorldCell(0, 0);
+        Plant plant = new Plant();
+        DiurnalPredator predator = new DiurnalPredator();
+
+        assertTrue(evolution.addPlant(plant));
+        assertTrue(evolution.addAnimal(predator));
+        assertEquals(1, evolution.getCensus(Census.index(Species.PLANT, Census.CHILD)));
+        assertEquals(1, evolution.getCensus(Census.index(Species.PRED, Census.CHILD)));
+        assertEquals(0, evolution.getCensus(Census.index(Species.HERB, Census.CHILD)));
+
+        evolution.removeCreature(predator);
+
+        assertEquals(0, evolution.getCensus(Census.index(Species.PRED, Census.CHILD)));
+        assertEquals(1, evolution.getCreatures().get("PLANT").get("CHILD"));
+    }
+
+    /**
+     * Tests that an animal eating a plant kills it, so it leaves the world and not only the cell,
+     * and that an animal too weak to beat the defence of its prey leaves it alone.
+     */
+    @Test
+    public void testEatPlantKillsThePlant() {
+        World world = new World(1);
+        Plant plant = new Plant(world);
+        Animal animal = new Animal(world);
+
+        assertTrue(world.spawn(plant, 0, 0));
+        assertTrue(world.spawn(animal, 0, 0));
+        evolution = world.getBoard().get(0, 0);
+        int plants = world.getPlantNumber().get();
+
+        animal.setCreatureCharacteristic(Trait.ATTACK, 0);
+        evolution.eatPlant(animal);
+
+        assertSame(evolution, plant.getPosition());
+        assertEquals(1, evolution.getCensus(Census.index(Species.PLANT, Census.CHILD)));
+
+        animal.setCreatureCharacteristic(Trait.ATTACK, plant.getCreatureCharacteristic(Trait.DEFENCE) + 3);
+        int energy = animal.getCreatureCharacteristic(Trait.ENERGY);
+        evolution.eatPlant(animal);
+
+        assertEquals(0, evolution.getCensus(Census.index(Species.PLANT, Census.CHILD)));
+        assertEquals(plants - 1, world.getPlantNumber().get());
+        assertEquals(energy + 3, animal.getCreatureCharacteristic(Trait.ENERGY));
+        assertFalse(plant.killCreature(evolution));
+    }
+
+    /**
+     * Tests that an animal eating another animal kills it and that an animal never eats itself.
+     */
+    @Test
+    public void testEatAnimalKillsThePrey() {
+        World world = new World(1);
+        Animal hunter = new Animal(world);
+        Animal prey = new Animal(world);
+
+        assertTrue(world.spawn(hunter, 0, 0));
+        evolution = world.getBoard().get(0, 0);
+        hunter.setCreatureCharacteristic(Trait.ATTACK, hunter.getCreatureCharacteristic(Trait.DEFENCE) + 1);
+        evolution.eatAnimal(hunter);
+
+        assertEquals(1, evolution.getCensus(Census.index(hunter.getSpecies(), Census.CHILD)));
+
+        // Take the hunter out so the prey gets the first slot of the cell
+        evolution.removeCreature(hunter);
+        assertTrue(world.spawn(prey, 0, 0));
+        assertTrue(evolution.addAnimal(hunter));
+        prey.setCreatureCharacteristic(Trait.DEFENCE, 0);
+        hunter.setCreatureCharacteristic(Trait.ATTACK, 2);
+        int energy = hunter.getCreatureCharacteristic(Trait.ENERGY);
+        evolution.eatAnimal(hunter);
+
+        assertEquals(1, evolution.getCensus(Census.index(prey.getSpecies(), Census.CHILD)));
+        assertEquals(energy + 2, hunter.getCreatureCharacteristic(Trait.ENERGY));
+        assertFalse(prey.killCreature(evolution));
+        assertSame(evolution, hunter.getPosition());
+    }
 }
@@ -1,12 +1,22 @@
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import oop.evolution.World;
+import oop.evolution.WorldCell;
+import oop.evolution.WorldFrame;
+import oop.evolution.config.Config;
+import oop.evolution.creatures.Creature;
+import oop.evolution.creatures.CreatureKind;
 
 /**
  * A class containing unit tests for the {@link World} class.
@@ -93,4 +103,186 @@ public class WorldTest {
         });
         assertEquals("Invalid cell coordinates", exception.getMessage());
     }
+
+    /**
+     * Tests that the {@code rainOnArea} method adds water to exactly the cells of the area
+     * and rejects areas that are not within the board.
+     */
+    @Test
+    public void testRainOnArea() {
+        world.rainOnArea(2, 3, 4, 2, 10);
+
+        for (int x = 0; x < World.getProperty("BOARD_SIZE"); ++x)
+            for (int y = 0; y < World.getProperty("BOARD_SIZE"); ++y) {
+                boolean inside = x >= 2 && x < 6 && y >= 3 && y < 5;
+                assertEquals(inside ? 15 : 5, world.getCellWaterLevel(x, y));
+            }
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            world.rainOnArea(8, 0, 3, 1, 10);
+        });
+        assertEquals("Invalid rain area", exception.getMessage());
+
+        assertThrows(IllegalArgumentException.class, () -> world.rainOnArea(0, 0, 0, 1, 10));
+    }
+
+    /**
+     * Tests that a frame is published at the end of every step and that a rain is shown in exactly one frame.
+     */
+    @Test
+    public void testFramesShowRainOnce() {
+        WorldFrame first = world.getFrame();
+        world.setLastRain(1, 2, 3);
+        world.step();
+
+        WorldFrame rained = world.getFrame();
+        assertEquals(first.getEpoch() + 1, rained.getEpoch());
+        assertEquals(1, rained.getRainX());
+        assertEquals(2, rained.getRainY());
+        assertEquals(3, rained.getRainArea());
+
+        world.step();
+        assertEquals(0, world.getFrame().getRainArea());
+    }
+
+    /**
+     * Tests that the epoch counts the steps run before any reader asked for a frame.
+     */
+    @Test
+    public void testEpochCountsStepsWithoutReaders() {
+        World independent = new World(1);
+
+        try {
+            for (int i = 0; i < 3; ++i)
+                independent.step();
+
+            assertEquals(3, independent.getFrame().getEpoch());
+
+            independent.step();
+            assertEquals(4, independent.getFrame().getEpoch());
+        } finally {
+            independent.getScheduler().shutdown();
+        }
+    }
+
+    /**
+     * Tests that a bulk spawn only draws cells with a free slot, stops once every cell is full,
+     * and draws a cell again once a slot of it is freed.
+     */
+    @Test
+    public void testSpawnDrawsOnlyFreeCells() {
+        World seeded = new World(1);
+        int boardSize = Config.WORLD.boardSize();
+        Creature removed = null;
+
+        for (int x = 0; x < boardSize; ++x)
+            for (int y = 0; y < boardSize; ++y)
+                if (x != 3 || y != 4)
+                    for (int i = 0; i < Config.WORLD.cellPlants(); ++i) {
+                        removed = CreatureKind.PLANT.create(seeded);
+                        assertTrue(seeded.getBoard().get(x, y).addPlant(removed));
+                    }
+
+        assertEquals(Config.WORLD.cellPlants(), seeded.spawn(CreatureKind.PLANT, 5, new SplittableRandom(2)));
+        assertFalse(seeded.getBoard().peek(3, 4).hasSpaceFor(removed));
+        assertEquals(0, seeded.spawn(CreatureKind.PLANT, 5, new SplittableRandom(3)));
+
+        WorldCell freed = removed.getPosition();
+        freed.removeCreature(removed);
+        assertEquals(1, seeded.spawn(CreatureKind.PLANT, 5, new SplittableRandom(4)));
+        assertFalse(freed.hasSpaceFor(removed));
+    }
+
+    /**
+     * Tests that a bulk spawn stops at the population limit of the world.
+     */
+    @Test
+    public void testSpawnStopsAtLimit() {
+        World seeded = new World(1);
+
+        assertEquals(Config.WORLD.maxAnimals(), seeded.spawn(CreatureKind.HERBIVOROUS, 1000, new SplittableRandom(2)));
+        assertEquals(0, seeded.spawn(CreatureKind.PREDATOR, 1, new SplittableRandom(3)));
+        assertThrows(IllegalArgumentException.class, () -> seeded.spawn(CreatureKind.PLANT, -1, new SplittableRandom(4)));
+    }
+
+    /**
+     * Tests that plants spawned from several threads at once never take the world past its plant limit,
+     * and that a plant refused by a full cell does not keep its slot in the plant count.
+     *
+     * @throws InterruptedException If the test is interrupted while waiting for the spawning threads.
+     */
+    @Test
+    public void testConcurrentPlantSpawnsStopAtLimit() throws InterruptedException {
+        World seeded = new World(1);
+        int boardSize = Config.WORLD.boardSize();
+
+        for (int i = 0; i < Config.WORLD.cellPlants(); ++i)
+            assertTrue(seeded.spawn(seeded.getCreaturePool().obtain(CreatureKind.PLANT), 0, 0));
+
+        Creature refused = seeded.getCreaturePool().obtain(CreatureKind.PLANT);
+        int refusedLife = refused.getGeneration();
+        assertFalse(seeded.spawn(refused, 0, 0));
+        refused.discard(refusedLife);
+        assertEquals(Config.WORLD.cellPlants(), seeded.getPlantNumber().get());
+
+        int threads = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicInteger spawned = new AtomicInteger(Config.WORLD.cellPlants());
+
+        for (int t = 0; t < threads; ++t) {
+            SplittableRandom random = new SplittableRandom(t);
+
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < Config.WORLD.maxPlants(); ++i) {
+                        Creature plant = seeded.getCreaturePool().obtain(CreatureKind.PLANT);
+                        int life = plant.getGeneration();
+
+                        if (seeded.spawn(plant, random.nextInt(boardSize), random.nextInt(boardSize)))
+                            spawned.incrementAndGet();
+                        else
+                            plant.discard(life);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }).start();
+        }
+
+        start.countDown();
+        done.await();
+
+        assertEquals(Config.WORLD.maxPlants(), spawned.get());
+        assertEquals(Config.WORLD.maxPlants(), seeded.getPlantNumber().get());
+    }
+
+    /**
+     * Tests that the animal count of the world follows spawns and deaths, so killed animals free room
+     * for new ones up to the same limit.
+     */
+    @Test
+    public void testKilledAnimalsFreeRoom() {
+        World seeded = new World(1);
+        int limit = Config.WORLD.maxAnimals();
+        List<Creature> animals = new ArrayList<>();
+
+        for (int i = 0; i < limit; ++i) {
+            Creature animal = seeded.getCreaturePool().obtain(CreatureKind.HERBIVOROUS);
+            assertTrue(seeded.spawn(animal, i % Config.WORLD.boardSize(), i / Config.WORLD.boardSize()));
+            animals.add(animal);
+        }
+
+        assertFalse(seeded.hasRoomFor(CreatureKind.PREDATOR));
+
+        animals.get(0).killCreature();
+        animals.get(1).killCreature();
+
+        assertTrue(seeded.hasRoomFor(CreatureKind.PREDATOR));
+        assertEquals(2, seeded.spawn(CreatureKind.PREDATOR, 5, new SplittableRandom(2)));
+        assertFalse(seeded.hasRoomFor(CreatureKind.PREDATOR));
+    }
 }